@@ -17,6 +17,7 @@
  */
 package io.ballerina.runtime.api.utils;
 
+import io.ballerina.runtime.api.creators.ErrorCreator;
 import io.ballerina.runtime.api.types.JsonType;
 import io.ballerina.runtime.api.types.MapType;
 import io.ballerina.runtime.api.types.StructureType;
@@ -28,15 +29,21 @@ import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTable;
 import io.ballerina.runtime.internal.JsonGenerator;
 import io.ballerina.runtime.internal.JsonParser;
+import io.ballerina.runtime.internal.JsonTypeBinder;
+import io.ballerina.runtime.internal.Utf8JsonGenerator;
 import io.ballerina.runtime.internal.values.ErrorValue;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.Reader;
+import java.io.UnsupportedEncodingException;
 import java.io.Writer;
 import java.nio.charset.Charset;
 
+import static io.ballerina.runtime.internal.util.exceptions.BallerinaErrorReasons.JSON_CONVERSION_ERROR;
+
 /**
  * Class @{@link JsonParser} provides APIs to handle json values.
  *
@@ -125,6 +132,45 @@ public class JsonUtils {
         return JsonParser.parse(reader, mode);
     }
 
+    /**
+     * Parses the contents in the given {@link Reader} directly into a value of the given type, without creating the
+     * JSON value of the whole document first. Fields which are not fields of a closed record type are skipped.
+     * <p>
+     * The target type can be a basic simple type, a finite type, `json`, an open array, a map, a record, or a nilable
+     * type of any of them, including the types of the fields and members.
+     *
+     * @param reader     reader which contains the JSON content
+     * @param targetType type of the value to create
+     * @return value of the target type
+     * @throws BError for any parsing error, or if the content does not belong to the target type, in which case the
+     *                message contains the location of the mismatching value
+     */
+    public static Object parse(Reader reader, Type targetType) throws BError {
+        if (!JsonTypeBinder.isSupported(targetType)) {
+            throw ErrorCreator.createError(JSON_CONVERSION_ERROR,
+                    StringUtils.fromString("JSON content can not be parsed directly into '" + targetType + "'"));
+        }
+        return JsonTypeBinder.bind(reader, targetType, null, true);
+    }
+
+    /**
+     * Parses the contents in the given {@link InputStream} directly into a value of the given type. See
+     * {@link #parse(Reader, Type)}.
+     *
+     * @param in          input stream which contains the JSON content
+     * @param charsetName the character set name of the input stream
+     * @param targetType  type of the value to create
+     * @return value of the target type
+     * @throws BError for any parsing error, or if the content does not belong to the target type
+     */
+    public static Object parse(InputStream in, String charsetName, Type targetType) throws BError {
+        try {
+            return parse(new InputStreamReader(in, charsetName), targetType);
+        } catch (UnsupportedEncodingException e) {
+            throw ErrorCreator.createError(StringUtils.fromString("Error in parsing JSON data: " + e.getMessage()));
+        }
+    }
+
     /**
      * Parses {@link BTable} to JSON.
      *
@@ -214,13 +260,7 @@ public class JsonUtils {
      * @throws BError If error occur while serialize json construct.
      */
     public static void serialize(Object json, OutputStream out) throws BError {
-        try {
-            JsonGenerator gen = new JsonGenerator(out);
-            gen.serialize(json);
-            gen.flush();
-        } catch (IOException e) {
-            throw new ErrorValue(StringUtils.fromString(e.getMessage()), e);
-        }
+        serialize(json, out, Charset.defaultCharset());
     }
 
     /**
@@ -233,6 +273,10 @@ public class JsonUtils {
      */
     public static void serialize(Object json, OutputStream out, Charset charset) throws BError {
         try {
+            if (Utf8JsonGenerator.isUtf8(charset)) {
+                Utf8JsonGenerator.serialize(json, out);
+                return;
+            }
             JsonGenerator gen = new JsonGenerator(out, charset);
             gen.serialize(json);
             gen.flush();
@@ -241,6 +285,16 @@ public class JsonUtils {
         }
     }
 
+    /**
+     * Serialize the JSON constructs to UTF-8 bytes.
+     *
+     * @param json JSON construct
+     * @return UTF-8 bytes of the JSON string
+     */
+    public static byte[] serializeToBytes(Object json) {
+        return Utf8JsonGenerator.toBytes(json);
+    }
+
     /**
      * Serialize the JSON constructs to be written out to a given {@link Writer}.
      *
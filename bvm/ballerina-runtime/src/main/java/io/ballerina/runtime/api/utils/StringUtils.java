@@ -29,8 +29,8 @@ import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BValue;
 import io.ballerina.runtime.internal.BalStringUtils;
 import io.ballerina.runtime.internal.CycleUtils;
-import io.ballerina.runtime.internal.JsonGenerator;
 import io.ballerina.runtime.internal.TypeChecker;
+import io.ballerina.runtime.internal.Utf8JsonGenerator;
 import io.ballerina.runtime.internal.scheduling.Scheduler;
 import io.ballerina.runtime.internal.util.exceptions.BallerinaException;
 import io.ballerina.runtime.internal.values.AbstractObjectValue;
@@ -379,15 +379,7 @@ public class StringUtils {
     }
 
     private static String stringToJson(BString value) {
-        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
-        JsonGenerator gen = new JsonGenerator(byteOut);
-        try {
-            gen.writeString(value.getValue());
-            gen.flush();
-        } catch (IOException e) {
-            throw new BallerinaException("Error in converting string value to a json string: " + e.getMessage(), e);
-        }
-        return new String(byteOut.toByteArray());
+        return Utf8JsonGenerator.toJsonString(value);
     }
 
     private StringUtils() {
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.api.utils;
+
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTable;
+import io.ballerina.runtime.internal.values.TableValueImpl;
+
+/**
+ * Class {@link TableIndexUtils} provides APIs to create and use secondary indexes on table values.
+ * <p>
+ * A secondary index lets the rows having a given value in a field be found without iterating the whole table. Query
+ * expressions iterating a table with a where clause comparing a field with a constant use such an index when one
+ * exists.
+ *
+ * @since 2.0.0
+ */
+public class TableIndexUtils {
+
+    private TableIndexUtils() {
+    }
+
+    /**
+     * Creates a secondary index on a readonly field of the rows of a table. A hash index supports equality lookups,
+     * a sorted index supports relational lookups as well.
+     *
+     * @param table     table value
+     * @param fieldName name of the field
+     * @param sorted    true to create a sorted index, false to create a hash index
+     */
+    public static void createIndex(BTable<?, ?> table, BString fieldName, boolean sorted) {
+        ((TableValueImpl<?, ?>) table).addSecondaryIndex(fieldName, sorted);
+    }
+
+    /**
+     * Finds the rows whose field compares with the given value as the operator requires, using a secondary index.
+     * The result may contain rows which do not match, hence the predicate should be applied on the returned rows.
+     *
+     * @param table     table value
+     * @param fieldName name of the field
+     * @param operator  one of "==", "&lt;", "&lt;=", "&gt;" or "&gt;="
+     * @param value     value the field is compared with
+     * @return the rows in table order, or null if no index on the field supports the lookup
+     */
+    public static BArray lookup(BTable<?, ?> table, BString fieldName, BString operator, Object value) {
+        return ((TableValueImpl<?, ?>) table).getRowsFromSecondaryIndex(fieldName, operator.getValue(), value);
+    }
+}
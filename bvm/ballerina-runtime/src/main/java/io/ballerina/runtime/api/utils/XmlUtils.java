@@ -18,17 +18,21 @@
 package io.ballerina.runtime.api.utils;
 
 import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BIterator;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTable;
 import io.ballerina.runtime.api.values.BXml;
 import io.ballerina.runtime.api.values.BXmlQName;
+import io.ballerina.runtime.internal.XmlElementIterator;
 import io.ballerina.runtime.internal.XmlFactory;
 import io.ballerina.runtime.internal.XmlValidator;
 import io.ballerina.runtime.internal.values.TableValueImpl;
 import io.ballerina.runtime.internal.values.XmlQName;
 
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.charset.Charset;
 
 /**
  * Class @{@link XmlUtils} provides APIs to handle xml values.
@@ -88,6 +92,37 @@ public class XmlUtils {
         return XmlFactory.parse(reader);
     }
 
+    /**
+     * Reads the elements of a XML document matching a path one at a time, without building the whole document.
+     * The path is a list of element names separated by '/', such as "order" or "orders/order", where '*' matches
+     * any element. A path starting with '/' is matched from the root element, otherwise the path is matched at any
+     * depth. Only the subtrees of the matching elements are built, hence this can be used to process documents which
+     * are too large to be parsed into a single XML value.
+     *
+     * @param reader XML reader
+     * @param path   Path of the elements
+     * @return Iterator of the matching elements
+     * @throws BError if the path is invalid, or if the document is not well formed when iterating
+     */
+    @SuppressWarnings("unchecked")
+    public static BIterator<BXml> parseElements(Reader reader, String path) throws BError {
+        return new XmlElementIterator(reader, path);
+    }
+
+    /**
+     * Reads the elements of a XML document matching a path one at a time, without building the whole document.
+     *
+     * @param xmlStream XML input stream
+     * @param charset   Charset to be used for parsing
+     * @param path      Path of the elements
+     * @return Iterator of the matching elements
+     * @throws BError if the path is invalid, or if the document is not well formed when iterating
+     * @see #parseElements(Reader, String)
+     */
+    public static BIterator<BXml> parseElements(InputStream xmlStream, String charset, String path) throws BError {
+        return parseElements(new InputStreamReader(xmlStream, Charset.forName(charset)), path);
+    }
+
     /**
      * Converts a {@link io.ballerina.runtime.internal.values.TableValue} to {@link BXml}.
      *
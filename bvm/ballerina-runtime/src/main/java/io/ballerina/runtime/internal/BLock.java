@@ -17,13 +17,27 @@
 */
 package io.ballerina.runtime.internal;
 
+import io.ballerina.runtime.internal.scheduling.SchedulerMetrics;
 import io.ballerina.runtime.internal.scheduling.State;
 import io.ballerina.runtime.internal.scheduling.Strand;
 
 import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * {@code VarLock} represents lock object for variables in jvm.
+ * <p>
+ * The lock is held exclusively by lock statements that modify the guarded variables, and in shared mode by lock
+ * statements that only read them. Both modes are reentrant for the same strand. A blocked strand yields and retries
+ * acquiring the lock once it is unblocked.
+ * <p>
+ * A strand holding the lock exclusively may also take it in shared mode, but a strand holding it only in shared mode
+ * cannot take it exclusively: two readers doing so would wait for each other forever. The compiler never generates
+ * such an upgrade, since a lock statement is only compiled to a shared lock if its body, including any nested lock
+ * statement, does not write and does not call a function.
  *
  * @since 1.0.0
  */
@@ -33,39 +47,133 @@ public class BLock {
 
     private ArrayDeque<Strand> waitingForLock;
 
+    /**
+     * Strands holding the lock in shared mode, with their hold counts. Created on first shared use.
+     */
+    private Map<Strand, Integer> readers;
+
+    /**
+     * Strands waiting for exclusive access. New readers queue up behind them, so that writers do not starve.
+     */
+    private Set<Strand> waitingWriters;
+
+    /**
+     * Readers unblocked by a release. They may take the lock even if a writer is waiting behind them.
+     */
+    private Set<Strand> admittedReaders;
+
     public BLock() {
         this.current = new ArrayDeque<>();
         this.waitingForLock = new ArrayDeque<>();
     }
 
     public synchronized boolean lock(Strand strand) {
-        if (isLockFree() || lockedBySameContext(strand)) {
+        boolean heldByStrand = !current.isEmpty() && current.getLast() == strand;
+        if (!heldByStrand && readers != null && readers.containsKey(strand)) {
+            throw new IllegalStateException("cannot acquire a lock exclusively while holding it in shared mode");
+        }
+        if (heldByStrand || isLockFree()) {
             this.current.offerLast(strand);
+            if (waitingWriters != null) {
+                waitingWriters.remove(strand);
+            }
+            return true;
+        }
+
+        if (waitingWriters == null) {
+            waitingWriters = newStrandSet();
+        }
+        waitingWriters.add(strand);
+        block(strand);
+        return false;
+    }
+
+    public synchronized void unlock() {
+        //current cannot be empty as unlock cannot be called without lock being called first.
+        this.current.removeLast();
+        if (isLockFree()) {
+            unblockWaitingStrands();
+        }
+    }
+
+    public synchronized boolean lockRead(Strand strand) {
+        boolean heldByStrand = lockedBySameContext(strand);
+        boolean admitted = admittedReaders != null && admittedReaders.contains(strand);
+        if (heldByStrand || current.isEmpty() && (admitted || waitingWriters == null || waitingWriters.isEmpty())) {
+            if (admitted) {
+                admittedReaders.remove(strand);
+            }
+            if (readers == null) {
+                readers = new IdentityHashMap<>();
+            }
+            readers.merge(strand, 1, Integer::sum);
             return true;
         }
 
+        block(strand);
+        return false;
+    }
+
+    public synchronized void unlockRead(Strand strand) {
+        //readers cannot be empty as unlockRead cannot be called without lockRead being called first.
+        Integer count = readers.get(strand);
+        if (count == 1) {
+            readers.remove(strand);
+        } else {
+            readers.put(strand, count - 1);
+        }
+        if (isLockFree()) {
+            unblockWaitingStrands();
+        }
+    }
+
+    public synchronized boolean isLockFree() {
+        return this.current.isEmpty() && (readers == null || readers.isEmpty());
+    }
+
+    public synchronized boolean lockedBySameContext(Strand ctx) {
+        if (!this.current.isEmpty() && this.current.getLast() == ctx) {
+            return true;
+        }
+        return readers != null && readers.containsKey(ctx);
+    }
+
+    private void block(Strand strand) {
+        if (SchedulerMetrics.ENABLED) {
+            SchedulerMetrics.lockContended();
+        }
         this.waitingForLock.offerLast(strand);
 
         // Strand state change
         strand.setState(State.BLOCK_AND_YIELD);
         strand.blockedOnExtern = false;
-        return false;
     }
 
-    public synchronized void unlock() {
-        //current cannot be empty as unlock cannot be called without lock being called first.
-        this.current.removeLast();
-        if (!waitingForLock.isEmpty()) {
+    /**
+     * Unblocks the first waiting strand, or all the leading waiting readers, since they can hold the lock together.
+     */
+    private void unblockWaitingStrands() {
+        while (!waitingForLock.isEmpty()) {
             Strand strand = this.waitingForLock.removeFirst();
+            boolean writer = isWaitingWriter(strand);
+            if (!writer) {
+                if (admittedReaders == null) {
+                    admittedReaders = newStrandSet();
+                }
+                admittedReaders.add(strand);
+            }
             strand.scheduler.unblockStrand(strand);
+            if (writer || isWaitingWriter(this.waitingForLock.peekFirst())) {
+                return;
+            }
         }
     }
 
-    public boolean isLockFree() {
-        return this.current.isEmpty();
+    private boolean isWaitingWriter(Strand strand) {
+        return strand != null && waitingWriters != null && waitingWriters.contains(strand);
     }
 
-    public boolean lockedBySameContext(Strand ctx) {
-        return this.current.getLast() == ctx;
+    private static Set<Strand> newStrandSet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
     }
 }
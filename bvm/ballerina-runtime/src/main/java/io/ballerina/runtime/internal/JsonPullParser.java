@@ -0,0 +1,423 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal;
+
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.internal.values.DecimalValue;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Pull parser of a JSON document, which reads the document from a {@link Reader} as the tokens are requested instead
+ * of building a JSON value of the whole document.
+ * <p>
+ * Only the strict JSON grammar is accepted. The characters are read into a fixed size buffer, hence a document is
+ * never held in memory as a whole.
+ *
+ * @since 2.0.0
+ */
+public class JsonPullParser {
+
+    /**
+     * Tokens of a JSON document.
+     */
+    public enum Token {
+        START_OBJECT, END_OBJECT, START_ARRAY, END_ARRAY, FIELD_NAME, STRING, NUMBER, TRUE, FALSE, NULL, END_DOCUMENT
+    }
+
+    private static final int BUFFER_SIZE = 4096;
+    private static final int EOF = -1;
+
+    private static final int DOC_START_STATE = 0;
+    private static final int OBJECT_START_STATE = 1;
+    private static final int FIELD_VALUE_STATE = 2;
+    private static final int ARRAY_START_STATE = 3;
+    private static final int VALUE_END_STATE = 4;
+    private static final int DOC_END_STATE = 5;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    // Number of characters read before the current buffer, and the offset of the start of the current line, used to
+    // report the location of an error.
+    private long bufferOffset;
+    private long lineOffset;
+    private int line = 1;
+
+    private int state = DOC_START_STATE;
+    // Whether each enclosing value is an object, as opposed to an array.
+    private boolean[] objectStack = new boolean[16];
+    private int depth;
+
+    private final StringBuilder text = new StringBuilder();
+
+    public JsonPullParser(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next token of the document.
+     *
+     * @return the next token
+     * @throws BError if the document is not valid JSON, or could not be read
+     */
+    public Token next() throws BError {
+        int ch = nextNonWhitespace();
+        switch (state) {
+            case DOC_START_STATE:
+            case ARRAY_START_STATE:
+                if (state == ARRAY_START_STATE && ch == ']') {
+                    return endContainer(false);
+                }
+                return readValue(ch);
+            case OBJECT_START_STATE:
+                if (ch == '}') {
+                    return endContainer(true);
+                }
+                return readFieldName(ch);
+            case FIELD_VALUE_STATE:
+                if (ch != ':') {
+                    throw createError("expected :");
+                }
+                return readValue(nextNonWhitespace());
+            case VALUE_END_STATE:
+                if (depth == 0) {
+                    if (ch != EOF) {
+                        throw createError("expected end of JSON document");
+                    }
+                    state = DOC_END_STATE;
+                    return Token.END_DOCUMENT;
+                }
+                boolean inObject = objectStack[depth - 1];
+                if (ch == (inObject ? '}' : ']')) {
+                    return endContainer(inObject);
+                }
+                if (ch != ',') {
+                    throw createError(inObject ? "expected , or }" : "expected , or ]");
+                }
+                ch = nextNonWhitespace();
+                return inObject ? readFieldName(ch) : readValue(ch);
+            default:
+                if (ch != EOF) {
+                    throw createError("expected end of JSON document");
+                }
+                return Token.END_DOCUMENT;
+        }
+    }
+
+    /**
+     * Skips the value which starts with the given token, including the members of an object or an array.
+     *
+     * @param token the last token read
+     * @throws BError if the document is not valid JSON, or could not be read
+     */
+    public void skipValue(Token token) throws BError {
+        if (token != Token.START_OBJECT && token != Token.START_ARRAY) {
+            return;
+        }
+        int startDepth = depth - 1;
+        while (depth > startDepth) {
+            next();
+        }
+    }
+
+    /**
+     * Returns the text of the last field name, string or number token.
+     *
+     * @return text of the token, with the escape sequences of a string replaced
+     */
+    public String getText() {
+        return text.toString();
+    }
+
+    /**
+     * Returns the number of the last number token, in the same representation as {@link JsonParser} creates it.
+     *
+     * @return an int, decimal or float value
+     * @throws BError if the number can not be represented
+     */
+    public Object getNumber() throws BError {
+        String str = text.toString();
+        try {
+            if (str.charAt(0) == '-' && Double.parseDouble(str) == 0) {
+                return Double.parseDouble(str);
+            }
+            return str.indexOf('.') >= 0 ? new DecimalValue(str) : (Object) Long.parseLong(str);
+        } catch (NumberFormatException e) {
+            throw createError("unrecognized token '" + str + "'");
+        }
+    }
+
+    private Token readValue(int ch) throws BError {
+        switch (ch) {
+            case '{':
+                push(true);
+                state = OBJECT_START_STATE;
+                return Token.START_OBJECT;
+            case '[':
+                push(false);
+                state = ARRAY_START_STATE;
+                return Token.START_ARRAY;
+            case '"':
+                readString();
+                state = VALUE_END_STATE;
+                return Token.STRING;
+            case 't':
+                readLiteral("rue");
+                state = VALUE_END_STATE;
+                return Token.TRUE;
+            case 'f':
+                readLiteral("alse");
+                state = VALUE_END_STATE;
+                return Token.FALSE;
+            case 'n':
+                readLiteral("ull");
+                state = VALUE_END_STATE;
+                return Token.NULL;
+            case EOF:
+                throw createError("unexpected end of JSON document");
+            default:
+                if (ch == '-' || (ch >= '0' && ch <= '9')) {
+                    readNumber(ch);
+                    state = VALUE_END_STATE;
+                    return Token.NUMBER;
+                }
+                throw createError("unrecognized token '" + (char) ch + "'");
+        }
+    }
+
+    private Token readFieldName(int ch) throws BError {
+        if (ch != '"') {
+            throw createError("expected \"");
+        }
+        readString();
+        state = FIELD_VALUE_STATE;
+        return Token.FIELD_NAME;
+    }
+
+    private Token endContainer(boolean object) {
+        depth--;
+        state = VALUE_END_STATE;
+        return object ? Token.END_OBJECT : Token.END_ARRAY;
+    }
+
+    private void push(boolean object) {
+        if (depth == objectStack.length) {
+            objectStack = Arrays.copyOf(objectStack, depth * 2);
+        }
+        objectStack[depth++] = object;
+    }
+
+    private void readString() throws BError {
+        text.setLength(0);
+        while (true) {
+            int start = position;
+            while (position < limit) {
+                char ch = buffer[position];
+                if (ch == '"') {
+                    text.append(buffer, start, position - start);
+                    position++;
+                    return;
+                }
+                if (ch == '\\') {
+                    text.append(buffer, start, position - start);
+                    position++;
+                    readEscapedCharacter();
+                    start = position;
+                    continue;
+                }
+                if (ch < ' ') {
+                    throw createError("unescaped control character in string");
+                }
+                position++;
+            }
+            text.append(buffer, start, position - start);
+            if (!fill()) {
+                throw createError("unexpected end of JSON document");
+            }
+        }
+    }
+
+    private void readEscapedCharacter() throws BError {
+        int ch = read();
+        switch (ch) {
+            case '"':
+            case '\\':
+            case '/':
+                text.append((char) ch);
+                break;
+            case 'b':
+                text.append('\b');
+                break;
+            case 'f':
+                text.append('\f');
+                break;
+            case 'n':
+                text.append('\n');
+                break;
+            case 'r':
+                text.append('\r');
+                break;
+            case 't':
+                text.append('\t');
+                break;
+            case 'u':
+                int codeUnit = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(read(), 16);
+                    if (digit < 0) {
+                        throw createError("expected hexadecimal value of an unicode character");
+                    }
+                    codeUnit = (codeUnit << 4) | digit;
+                }
+                text.append((char) codeUnit);
+                break;
+            default:
+                throw createError("expected escaped characters");
+        }
+    }
+
+    /**
+     * Reads a number as defined by the JSON grammar, i.e. an optional minus sign, an integer part without leading
+     * zeros, and an optional fraction and exponent.
+     *
+     * @param first the first character of the number, which has been read already
+     */
+    private void readNumber(int first) throws BError {
+        text.setLength(0);
+        int ch = first;
+        if (ch == '-') {
+            text.append('-');
+            ch = read();
+            if (ch < '0' || ch > '9') {
+                throw createError("unrecognized token '" + text + "'");
+            }
+        }
+        text.append((char) ch);
+        int next = peek();
+        if (ch != '0') {
+            next = readDigits(next);
+        }
+        if (next == '.') {
+            position++;
+            text.append('.');
+            next = readRequiredDigits(peek());
+        }
+        if (next == 'e' || next == 'E') {
+            position++;
+            text.append((char) next);
+            next = peek();
+            if (next == '+' || next == '-') {
+                position++;
+                text.append((char) next);
+                next = peek();
+            }
+            next = readRequiredDigits(next);
+        }
+        if (Character.isLetterOrDigit(next) || next == '.') {
+            throw createError("unrecognized token '" + text + (char) next + "'");
+        }
+    }
+
+    private int readDigits(int ch) throws BError {
+        while (ch >= '0' && ch <= '9') {
+            position++;
+            text.append((char) ch);
+            ch = peek();
+        }
+        return ch;
+    }
+
+    private int readRequiredDigits(int ch) throws BError {
+        if (ch < '0' || ch > '9') {
+            throw createError("unrecognized token '" + text + "'");
+        }
+        return readDigits(ch);
+    }
+
+    private void readLiteral(String rest) throws BError {
+        for (int i = 0; i < rest.length(); i++) {
+            if (read() != rest.charAt(i)) {
+                throw createError("unrecognized token");
+            }
+        }
+        int ch = peek();
+        if (Character.isLetterOrDigit(ch)) {
+            throw createError("unrecognized token");
+        }
+    }
+
+    private int nextNonWhitespace() throws BError {
+        while (true) {
+            int ch = read();
+            switch (ch) {
+                case ' ':
+                case '\t':
+                case '\r':
+                    break;
+                case '\n':
+                    line++;
+                    lineOffset = bufferOffset + position;
+                    break;
+                default:
+                    return ch;
+            }
+        }
+    }
+
+    private int read() throws BError {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws BError {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws BError {
+        try {
+            bufferOffset += limit;
+            position = 0;
+            limit = 0;
+            int count = reader.read(buffer);
+            if (count <= 0) {
+                return false;
+            }
+            limit = count;
+            return true;
+        } catch (IOException e) {
+            throw ErrorCreator.createError(StringUtils.fromString("Error reading JSON: " + e.getMessage()));
+        }
+    }
+
+    private BError createError(String message) {
+        long column = bufferOffset + position - lineOffset;
+        return ErrorCreator.createError(StringUtils.fromString(message + " at line: " + line + " column: " + column));
+    }
+}
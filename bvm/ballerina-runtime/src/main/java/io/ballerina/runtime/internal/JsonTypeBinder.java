@@ -0,0 +1,361 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal;
+
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.UnionType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMapInitialValueEntry;
+import io.ballerina.runtime.api.values.BTypedesc;
+import io.ballerina.runtime.internal.JsonPullParser.Token;
+import io.ballerina.runtime.internal.scheduling.Scheduler;
+import io.ballerina.runtime.internal.values.ArrayValueImpl;
+import io.ballerina.runtime.internal.values.MapValueImpl;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static io.ballerina.runtime.internal.util.exceptions.BallerinaErrorReasons.JSON_CONVERSION_ERROR;
+
+/**
+ * Creates a value of a given type from a JSON document in a single pass over a {@link JsonPullParser}, without
+ * creating the JSON value of the document first.
+ * <p>
+ * The values are converted as `value:fromJsonWithType` converts the JSON value of the document, hence a document
+ * which can be bound gives the same value as parsing it and converting the JSON value. Only the types listed in
+ * {@link #isSupported(Type)} can be bound.
+ *
+ * @since 2.0.0
+ */
+public class JsonTypeBinder {
+
+    private final JsonPullParser parser;
+    private final BTypedesc typedesc;
+    private final boolean ignoreUnknownFields;
+
+    // Field names and array indexes leading to the value being bound, to report the location of an error.
+    private Object[] path = new Object[16];
+    private int pathLength;
+
+    private JsonTypeBinder(Reader reader, BTypedesc typedesc, boolean ignoreUnknownFields) {
+        this.parser = new JsonPullParser(reader);
+        this.typedesc = typedesc;
+        this.ignoreUnknownFields = ignoreUnknownFields;
+    }
+
+    /**
+     * Checks whether values of the given type can be bound from a JSON document. The type can be a basic simple
+     * type, a finite type, `json`, an open array, a map, a record or a nilable type of any of them.
+     *
+     * @param type target type
+     * @return true if the type and all the types it is composed of can be bound
+     */
+    public static boolean isSupported(Type type) {
+        return isSupported(type, Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    private static boolean isSupported(Type type, Set<Type> visitedTypes) {
+        switch (type.getTag()) {
+            case TypeTags.NULL_TAG:
+            case TypeTags.INT_TAG:
+            case TypeTags.BYTE_TAG:
+            case TypeTags.FLOAT_TAG:
+            case TypeTags.DECIMAL_TAG:
+            case TypeTags.STRING_TAG:
+            case TypeTags.BOOLEAN_TAG:
+            case TypeTags.FINITE_TYPE_TAG:
+            case TypeTags.JSON_TAG:
+                return true;
+            case TypeTags.UNION_TAG:
+                Type memberType = getNonNilMemberType((UnionType) type);
+                return memberType != null && isSupported(memberType, visitedTypes);
+            case TypeTags.ARRAY_TAG:
+                ArrayType arrayType = (ArrayType) type;
+                return arrayType.getState() == ArrayType.ArrayState.OPEN &&
+                        isSupported(arrayType.getElementType(), visitedTypes);
+            case TypeTags.MAP_TAG:
+                return isSupported(((MapType) type).getConstrainedType(), visitedTypes);
+            case TypeTags.RECORD_TYPE_TAG:
+                if (!visitedTypes.add(type)) {
+                    return true;
+                }
+                RecordType recordType = (RecordType) type;
+                for (Field field : recordType.getFields().values()) {
+                    if (!isSupported(field.getFieldType(), visitedTypes)) {
+                        return false;
+                    }
+                }
+                return recordType.isSealed() || isSupported(recordType.getRestFieldType(), visitedTypes);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Returns the member type of a union of a type and nil.
+     *
+     * @param unionType union type
+     * @return the type other than nil, or null if the union has more members
+     */
+    private static Type getNonNilMemberType(UnionType unionType) {
+        List<Type> memberTypes = unionType.getMemberTypes();
+        if (memberTypes.size() != 2) {
+            return null;
+        }
+        int nilIndex = -1;
+        for (int i = 0; i < 2; i++) {
+            if (memberTypes.get(i).getTag() == TypeTags.NULL_TAG) {
+                nilIndex = i;
+            }
+        }
+        return nilIndex < 0 ? null : memberTypes.get(1 - nilIndex);
+    }
+
+    /**
+     * Creates a value of the given type from the JSON document read from the given reader. The type must be
+     * {@link #isSupported(Type) supported}.
+     *
+     * @param reader              reader of the JSON document
+     * @param targetType          type of the value to create
+     * @param typedesc            typedesc used to create records of its describing type, as `fromJsonWithType` does,
+     *                            or null
+     * @param ignoreUnknownFields whether fields which are not fields of a closed record are skipped instead of
+     *                            failing the binding
+     * @return value of the target type
+     * @throws BError if the document is not valid JSON, or does not belong to the target type
+     */
+    public static Object bind(Reader reader, Type targetType, BTypedesc typedesc, boolean ignoreUnknownFields)
+            throws BError {
+        JsonTypeBinder binder = new JsonTypeBinder(reader, typedesc, ignoreUnknownFields);
+        Object value = binder.bindValue(binder.parser.next(), targetType);
+        binder.parser.next();
+        return value;
+    }
+
+    private Object bindValue(Token token, Type targetType) {
+        if (token == Token.NULL) {
+            if (targetType.isNilable()) {
+                return null;
+            }
+            throw createIncompatibleValueError(targetType);
+        }
+
+        switch (targetType.getTag()) {
+            case TypeTags.UNION_TAG:
+                return bindValue(token, getNonNilMemberType((UnionType) targetType));
+            case TypeTags.JSON_TAG:
+                return bindJson(token, targetType);
+            case TypeTags.ARRAY_TAG:
+                if (token != Token.START_ARRAY) {
+                    throw createIncompatibleValueError(targetType);
+                }
+                return bindArray((ArrayType) targetType);
+            case TypeTags.MAP_TAG:
+                if (token != Token.START_OBJECT) {
+                    throw createIncompatibleValueError(targetType);
+                }
+                return bindMap((MapType) targetType);
+            case TypeTags.RECORD_TYPE_TAG:
+                if (token != Token.START_OBJECT) {
+                    throw createIncompatibleValueError(targetType);
+                }
+                return bindRecord((RecordType) targetType);
+            default:
+                if (token == Token.START_OBJECT || token == Token.START_ARRAY) {
+                    throw createIncompatibleValueError(targetType);
+                }
+                return convertSimpleValue(readSimpleValue(token), targetType);
+        }
+    }
+
+    private Object readSimpleValue(Token token) {
+        switch (token) {
+            case STRING:
+                return StringUtils.fromString(parser.getText());
+            case NUMBER:
+                return parser.getNumber();
+            case TRUE:
+                return Boolean.TRUE;
+            default:
+                return Boolean.FALSE;
+        }
+    }
+
+    /**
+     * Converts a JSON value of a basic simple type to the target type, as `fromJsonWithType` does.
+     *
+     * @param value      string, number or boolean value
+     * @param targetType type to convert the value to
+     * @return the converted value
+     */
+    private Object convertSimpleValue(Object value, Type targetType) {
+        List<Type> convertibleTypes = TypeConverter.getConvertibleTypesFromJson(value, targetType, new ArrayList<>());
+        if (convertibleTypes.size() != 1) {
+            throw createIncompatibleValueError(targetType);
+        }
+        Type matchingType = convertibleTypes.get(0);
+        if (TypeChecker.checkIsType(value, matchingType)) {
+            return value;
+        }
+        try {
+            return TypeConverter.convertValues(matchingType, value);
+        } catch (BError e) {
+            throw createError("cannot convert the value at '" + getPath() + "' to '" + targetType + "': " +
+                                      e.getMessage());
+        }
+    }
+
+    private Object bindJson(Token token, Type jsonType) {
+        switch (token) {
+            case START_OBJECT:
+                MapValueImpl<Object, Object> map = new MapValueImpl<>(TypeCreator.createMapType(jsonType));
+                while (parser.next() != Token.END_OBJECT) {
+                    String fieldName = parser.getText();
+                    enter(fieldName);
+                    map.put(StringUtils.fromString(fieldName), bindJson(parser.next(), jsonType));
+                    exit();
+                }
+                return map;
+            case START_ARRAY:
+                ArrayValueImpl array = new ArrayValueImpl(TypeCreator.createArrayType(jsonType));
+                return bindArrayElements(array, jsonType);
+            case NULL:
+                return null;
+            default:
+                return readSimpleValue(token);
+        }
+    }
+
+    private ArrayValueImpl bindArray(ArrayType arrayType) {
+        return bindArrayElements(new ArrayValueImpl(arrayType), arrayType.getElementType());
+    }
+
+    private ArrayValueImpl bindArrayElements(ArrayValueImpl array, Type elementType) {
+        Token token;
+        int index = 0;
+        while ((token = parser.next()) != Token.END_ARRAY) {
+            enter(index++);
+            array.append(bindValue(token, elementType));
+            exit();
+        }
+        return array;
+    }
+
+    private MapValueImpl<Object, Object> bindMap(MapType mapType) {
+        MapValueImpl<Object, Object> map = new MapValueImpl<>(mapType);
+        Type constraintType = mapType.getConstrainedType();
+        while (parser.next() != Token.END_OBJECT) {
+            String fieldName = parser.getText();
+            enter(fieldName);
+            map.put(StringUtils.fromString(fieldName), bindValue(parser.next(), constraintType));
+            exit();
+        }
+        return map;
+    }
+
+    private Object bindRecord(RecordType recordType) {
+        Map<String, Field> fields = recordType.getFields();
+        Map<String, Object> values = new LinkedHashMap<>();
+        while (parser.next() != Token.END_OBJECT) {
+            String fieldName = parser.getText();
+            enter(fieldName);
+            Field field = fields.get(fieldName);
+            Token token = parser.next();
+            if (field != null) {
+                values.put(fieldName, bindValue(token, field.getFieldType()));
+            } else if (!recordType.isSealed()) {
+                values.put(fieldName, bindValue(token, recordType.getRestFieldType()));
+            } else if (ignoreUnknownFields) {
+                parser.skipValue(token);
+            } else {
+                throw createError("field '" + getPath() + "' is not a field of '" + recordType + "'");
+            }
+            exit();
+        }
+
+        for (Field field : fields.values()) {
+            if (SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.REQUIRED) &&
+                    !values.containsKey(field.getFieldName())) {
+                enter(field.getFieldName());
+                throw createError("missing required field '" + getPath() + "' of '" + recordType + "'");
+            }
+        }
+
+        // Records are created the same way as `fromJsonWithType` creates them.
+        if (typedesc != null && typedesc.getDescribingType() == recordType) {
+            BMapInitialValueEntry[] initialValues = new BMapInitialValueEntry[values.size()];
+            int i = 0;
+            for (Map.Entry<String, Object> entry : values.entrySet()) {
+                initialValues[i++] = ValueCreator.createKeyFieldEntry(StringUtils.fromString(entry.getKey()),
+                                                                      entry.getValue());
+            }
+            return typedesc.instantiate(Scheduler.getStrand(), initialValues);
+        }
+        return ValueCreator.createRecordValue(recordType.getPackage(), recordType.getName(), new HashMap<>(values));
+    }
+
+    private void enter(Object pathSegment) {
+        if (pathLength == path.length) {
+            Object[] newPath = new Object[pathLength * 2];
+            System.arraycopy(path, 0, newPath, 0, pathLength);
+            path = newPath;
+        }
+        path[pathLength++] = pathSegment;
+    }
+
+    private void exit() {
+        pathLength--;
+    }
+
+    private String getPath() {
+        StringBuilder sb = new StringBuilder("$");
+        for (int i = 0; i < pathLength; i++) {
+            if (path[i] instanceof Integer) {
+                sb.append('[').append(path[i]).append(']');
+            } else {
+                sb.append('.').append(path[i]);
+            }
+        }
+        return sb.toString();
+    }
+
+    private BError createIncompatibleValueError(Type targetType) {
+        return createError("incompatible value at '" + getPath() + "' for type '" + targetType + "'");
+    }
+
+    private static BError createError(String message) {
+        return ErrorCreator.createError(JSON_CONVERSION_ERROR, StringUtils.fromString(message));
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.internal;
+
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.observability.metrics.MetricRegistry;
+import io.ballerina.runtime.observability.metrics.PolledGauge;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memo of the results of type-only checks, i.e. whether every value of a source type belongs to a target type.
+ * <p>
+ * Such a result depends only on the two types. Types are created once when a module is initialized, hence a result is
+ * cached with the identities of the two types as the key and is reused by all strands. Only checks which walk the
+ * structure of a type are cached, as the others are cheaper than a lookup. The cache is cleared when it reaches
+ * {@link #MAX_SIZE} entries, so that the types created at runtime, e.g. by `cloneWithType`, are not held forever.
+ *
+ * @since 2.0.0
+ */
+public final class TypeCheckCache {
+
+    static final int MAX_SIZE = 4096;
+
+    private static final String METRIC_PREFIX = "ballerina_type_check_cache_";
+
+    private static final Map<TypeIdentityPair, Boolean> results = new ConcurrentHashMap<>();
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+
+    private static boolean registered;
+
+    private TypeCheckCache() {
+    }
+
+    /**
+     * Checks whether the result of checking the given types is worth caching.
+     *
+     * @param sourceType source type
+     * @param targetType target type
+     * @return true if the check walks the structure of one of the types
+     */
+    static boolean isCacheable(Type sourceType, Type targetType) {
+        return isStructuredType(sourceType.getTag()) || isStructuredType(targetType.getTag());
+    }
+
+    private static boolean isStructuredType(int typeTag) {
+        switch (typeTag) {
+            case TypeTags.RECORD_TYPE_TAG:
+            case TypeTags.OBJECT_TYPE_TAG:
+            case TypeTags.UNION_TAG:
+            case TypeTags.INTERSECTION_TAG:
+            case TypeTags.TUPLE_TAG:
+            case TypeTags.ARRAY_TAG:
+            case TypeTags.MAP_TAG:
+            case TypeTags.TABLE_TAG:
+            case TypeTags.JSON_TAG:
+            case TypeTags.STREAM_TAG:
+            case TypeTags.FUTURE_TAG:
+            case TypeTags.TYPEDESC_TAG:
+            case TypeTags.ERROR_TAG:
+            case TypeTags.FINITE_TYPE_TAG:
+            case TypeTags.XML_TAG:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Returns the cached result of checking the given types.
+     *
+     * @param sourceType source type
+     * @param targetType target type
+     * @return the cached result, or null if the types have not been checked yet
+     */
+    static Boolean get(Type sourceType, Type targetType) {
+        Boolean result = results.get(new TypeIdentityPair(sourceType, targetType));
+        if (result == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return result;
+    }
+
+    static void put(Type sourceType, Type targetType, boolean result) {
+        if (results.size() >= MAX_SIZE) {
+            results.clear();
+        }
+        results.put(new TypeIdentityPair(sourceType, targetType), result);
+    }
+
+    /**
+     * Returns the number of checks answered from the cache since the start of the program.
+     *
+     * @return number of cache hits
+     */
+    public static long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of cacheable checks which had to be computed since the start of the program.
+     *
+     * @return number of cache misses
+     */
+    public static long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Registers the hit and miss counts of the cache in the given registry. Does nothing if they are already
+     * registered.
+     *
+     * @param registry metric registry of the enabled metric provider
+     */
+    public static synchronized void register(MetricRegistry registry) {
+        if (registered) {
+            return;
+        }
+        registered = true;
+
+        PolledGauge.builder(METRIC_PREFIX + "hits_total", hits, LongAdder::sum)
+                .description("Number of type checks answered from the type check cache")
+                .register(registry);
+        PolledGauge.builder(METRIC_PREFIX + "misses_total", misses, LongAdder::sum)
+                .description("Number of cacheable type checks which had to be computed")
+                .register(registry);
+    }
+
+    /**
+     * Key of the cache, comparing the types by identity.
+     */
+    private static final class TypeIdentityPair {
+
+        private final Type sourceType;
+        private final Type targetType;
+
+        TypeIdentityPair(Type sourceType, Type targetType) {
+            this.sourceType = sourceType;
+            this.targetType = targetType;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof TypeIdentityPair)) {
+                return false;
+            }
+            TypeIdentityPair other = (TypeIdentityPair) obj;
+            return this.sourceType == other.sourceType && this.targetType == other.targetType;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(sourceType) + System.identityHashCode(targetType);
+        }
+    }
+}
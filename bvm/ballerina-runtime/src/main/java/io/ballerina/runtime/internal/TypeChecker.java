@@ -415,7 +415,7 @@ public class TypeChecker {
      */
     public static boolean checkDecimalEqual(DecimalValue lhsValue, DecimalValue rhsValue) {
         return isDecimalRealNumber(lhsValue) && isDecimalRealNumber(rhsValue) &&
-               lhsValue.decimalValue().compareTo(rhsValue.decimalValue()) == 0;
+               lhsValue.compareTo(rhsValue) == 0;
     }
 
     /**
@@ -547,7 +547,19 @@ public class TypeChecker {
      * @return flag indicating the the equivalence of the two types
      */
     public static boolean checkIsType(Type sourceType, Type targetType) {
-        return checkIsType(sourceType, targetType, (List<TypePair>) null);
+        if (sourceType == targetType || !TypeCheckCache.isCacheable(sourceType, targetType)) {
+            return checkIsType(sourceType, targetType, (List<TypePair>) null);
+        }
+
+        // Only the results of checks starting here are cached, as the result of a nested check may rely on the
+        // assumption made for a pair of types which is still being checked.
+        Boolean cachedResult = TypeCheckCache.get(sourceType, targetType);
+        if (cachedResult != null) {
+            return cachedResult;
+        }
+        boolean result = checkIsType(sourceType, targetType, (List<TypePair>) null);
+        TypeCheckCache.put(sourceType, targetType, result);
+        return result;
     }
 
     @Deprecated
@@ -681,6 +693,11 @@ public class TypeChecker {
             return checkIsType(sourceType, targetType);
         }
 
+        // Every value of the source type belongs to the target type if the types alone say so, which is cached.
+        if (unresolvedTypes == null && checkIsType(sourceType, targetType)) {
+            return true;
+        }
+
         if (targetTypeTag == TypeTags.INTERSECTION_TAG) {
             targetType = ((BIntersectionType) targetType).getEffectiveType();
             targetTypeTag = targetType.getTag();
@@ -0,0 +1,471 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal;
+
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.types.BRecordType;
+import io.ballerina.runtime.internal.util.exceptions.BallerinaException;
+import io.ballerina.runtime.internal.values.ArrayValue;
+import io.ballerina.runtime.internal.values.DecimalValue;
+import io.ballerina.runtime.internal.values.MapValueImpl;
+import io.ballerina.runtime.internal.values.StreamingJsonValue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Serializes JSON values straight to UTF-8 bytes, without going through a {@link java.io.Writer} and without
+ * creating strings for the serialized document.
+ * <p>
+ * The output is the same as the output of {@link JsonGenerator} using the UTF-8 charset, except for record values.
+ * A record value which belongs to JSON, such as a record assigned to a json variable, is written as a JSON object
+ * with its fields, whereas {@link JsonGenerator} writes nothing for it. The bytes are written to a buffer which is
+ * reused by the serializations done in the same thread, and the buffer is either flushed to an {@link OutputStream}
+ * whenever it is full or grown to hold the whole document. The encoded bytes of the declared field names of a record
+ * type are cached with the type, across serializations.
+ *
+ * @since 2.0.0
+ */
+public class Utf8JsonGenerator {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 65536;
+
+    // Number of chars of a string encoded at a time, each of which takes at most 3 bytes.
+    private static final int CHUNK_SIZE = 1024;
+
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+
+    private static final ThreadLocal<byte[]> BUFFERS = new ThreadLocal<>();
+
+    // Chars which make a string to be escaped, and the escape sequences used in such a string. These are the same
+    // as the ones of JsonGenerator.
+    private static final boolean[] ESCAPE_TRIGGERS = new boolean[93];
+    private static final byte[] ESCAPES = new byte[128];
+
+    static {
+        ESCAPE_TRIGGERS['"'] = true;
+        ESCAPE_TRIGGERS['\\'] = true;
+        ESCAPE_TRIGGERS['\b'] = true;
+        ESCAPE_TRIGGERS['\n'] = true;
+        ESCAPE_TRIGGERS['\r'] = true;
+        ESCAPE_TRIGGERS['\t'] = true;
+
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+        ESCAPES['/'] = '/';
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\r'] = 'r';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\t'] = 't';
+    }
+
+    private final OutputStream out;
+
+    private byte[] buffer;
+
+    private int position;
+
+    private boolean separatorRequired;
+
+    private boolean fieldActive;
+
+    private Utf8JsonGenerator(OutputStream out, byte[] buffer) {
+        this.out = out;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Checks whether the given charset is UTF-8, i.e. whether this generator produces the same output as a
+     * {@link JsonGenerator} using the charset.
+     *
+     * @param charset charset
+     * @return true if the charset is UTF-8
+     */
+    public static boolean isUtf8(Charset charset) {
+        return StandardCharsets.UTF_8.equals(charset);
+    }
+
+    /**
+     * Serializes a JSON value as UTF-8 to the given {@link OutputStream}.
+     *
+     * @param json JSON value
+     * @param out  output stream
+     * @throws IOException if writing to the output stream fails
+     */
+    public static void serialize(Object json, OutputStream out) throws IOException {
+        Utf8JsonGenerator gen = new Utf8JsonGenerator(out, acquireBuffer());
+        try {
+            gen.serialize(json);
+            gen.flush();
+        } finally {
+            releaseBuffer(gen.buffer);
+        }
+    }
+
+    /**
+     * Serializes a JSON value to UTF-8 bytes.
+     *
+     * @param json JSON value
+     * @return the UTF-8 bytes of the JSON string
+     */
+    public static byte[] toBytes(Object json) {
+        Utf8JsonGenerator gen = serializeToBuffer(json);
+        try {
+            return Arrays.copyOf(gen.buffer, gen.position);
+        } finally {
+            releaseBuffer(gen.buffer);
+        }
+    }
+
+    /**
+     * Serializes a JSON value to a string.
+     *
+     * @param json JSON value
+     * @return the JSON string
+     */
+    public static String toJsonString(Object json) {
+        Utf8JsonGenerator gen = serializeToBuffer(json);
+        try {
+            return new String(gen.buffer, 0, gen.position, StandardCharsets.UTF_8);
+        } finally {
+            releaseBuffer(gen.buffer);
+        }
+    }
+
+    private static Utf8JsonGenerator serializeToBuffer(Object json) {
+        Utf8JsonGenerator gen = new Utf8JsonGenerator(null, acquireBuffer());
+        try {
+            gen.serialize(json);
+        } catch (IOException e) {
+            releaseBuffer(gen.buffer);
+            throw new BallerinaException("Error in converting JSON to a string: " + e.getMessage(), e);
+        }
+        return gen;
+    }
+
+    private static byte[] acquireBuffer() {
+        byte[] buffer = BUFFERS.get();
+        if (buffer == null) {
+            return new byte[BUFFER_SIZE];
+        }
+        // Taken out of the thread local, so that a nested serialization does not use the same buffer.
+        BUFFERS.set(null);
+        return buffer;
+    }
+
+    private static void releaseBuffer(byte[] buffer) {
+        if (buffer.length <= MAX_RETAINED_BUFFER_SIZE) {
+            BUFFERS.set(buffer);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void serialize(Object json) throws IOException {
+        if (json == null) {
+            this.writeNull();
+            return;
+        }
+
+        Type type = TypeChecker.getType(json);
+        switch (type.getTag()) {
+            case TypeTags.ARRAY_TAG:
+                if (json instanceof StreamingJsonValue) {
+                    ((StreamingJsonValue) json).serialize(this);
+                    break;
+                }
+                this.writeStartArray();
+                ArrayValue jsonArray = (ArrayValue) json;
+                for (int i = 0; i < jsonArray.size(); i++) {
+                    this.serialize(jsonArray.get(i));
+                }
+                this.writeEndArray();
+                break;
+            case TypeTags.BOOLEAN_TAG:
+                this.writeBoolean((Boolean) json);
+                break;
+            case TypeTags.FLOAT_TAG:
+                this.writeNumber(((Number) json).doubleValue());
+                break;
+            case TypeTags.DECIMAL_TAG:
+                this.processValueInit();
+                this.writeAscii(((DecimalValue) json).value().toString());
+                break;
+            case TypeTags.INT_TAG:
+            case TypeTags.BYTE_TAG:
+                this.writeNumber(((Number) json).longValue());
+                break;
+            case TypeTags.MAP_TAG:
+            case TypeTags.JSON_TAG:
+                this.startObject();
+                for (Map.Entry<BString, Object> entry : ((MapValueImpl<BString, Object>) json).entrySet()) {
+                    this.writeFieldName(entry.getKey().getValue());
+                    this.serialize(entry.getValue());
+                }
+                this.endObject();
+                break;
+            case TypeTags.RECORD_TYPE_TAG:
+                BRecordType recordType = (BRecordType) type;
+                this.startObject();
+                for (Map.Entry<BString, Object> entry : ((MapValueImpl<BString, Object>) json).entrySet()) {
+                    this.writeFieldName(recordType, entry.getKey().getValue());
+                    this.serialize(entry.getValue());
+                }
+                this.endObject();
+                break;
+            case TypeTags.STRING_TAG:
+                this.processValueInit();
+                this.writeStringValue(json.toString());
+                break;
+            default:
+                break;
+        }
+    }
+
+    public void writeStartArray() throws IOException {
+        this.processValueInit();
+        this.writeByte('[');
+        this.separatorRequired = false;
+    }
+
+    public void writeEndArray() throws IOException {
+        this.writeByte(']');
+        this.separatorRequired = true;
+    }
+
+    public void flush() throws IOException {
+        if (this.out != null) {
+            this.flushBuffer();
+            this.out.flush();
+        }
+    }
+
+    private void startObject() throws IOException {
+        this.processValueInit();
+        this.writeByte('{');
+        this.separatorRequired = false;
+    }
+
+    private void endObject() throws IOException {
+        this.writeByte('}');
+        this.separatorRequired = true;
+    }
+
+    private void writeFieldName(String fieldName) throws IOException {
+        if (this.separatorRequired) {
+            this.writeSeparator();
+        }
+        this.fieldActive = true;
+        this.writeStringValue(fieldName);
+        this.writeByte(':');
+    }
+
+    private void writeFieldName(BRecordType recordType, String fieldName) throws IOException {
+        Map<String, byte[]> fieldNames = recordType.getEncodedJsonFieldNames();
+        byte[] encoded = fieldNames.get(fieldName);
+        if (encoded == null) {
+            // Rest field names are not cached, as there is no bound on them.
+            if (!recordType.getFields().containsKey(fieldName)) {
+                this.writeFieldName(fieldName);
+                return;
+            }
+            encoded = encodeFieldName(fieldName);
+            fieldNames.put(fieldName, encoded);
+        }
+
+        if (this.separatorRequired) {
+            this.writeSeparator();
+        }
+        this.fieldActive = true;
+        this.writeBytes(encoded);
+    }
+
+    private static byte[] encodeFieldName(String fieldName) throws IOException {
+        Utf8JsonGenerator gen = new Utf8JsonGenerator(null, new byte[fieldName.length() * 3 + 3]);
+        gen.writeStringValue(fieldName);
+        gen.writeByte(':');
+        return Arrays.copyOf(gen.buffer, gen.position);
+    }
+
+    private void writeNumber(long value) throws IOException {
+        this.processValueInit();
+        if (value == Long.MIN_VALUE) {
+            this.writeAscii(Long.toString(value));
+            return;
+        }
+
+        this.reserve(20);
+        if (value < 0) {
+            this.buffer[this.position++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long remaining = value / 10; remaining != 0; remaining /= 10) {
+            digits++;
+        }
+        int index = this.position + digits;
+        this.position = index;
+        do {
+            this.buffer[--index] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+    }
+
+    private void writeNumber(double value) throws IOException {
+        this.processValueInit();
+        this.writeAscii(Double.toString(value));
+    }
+
+    private void writeBoolean(boolean value) throws IOException {
+        this.processValueInit();
+        this.writeBytes(value ? TRUE : FALSE);
+    }
+
+    private void writeNull() throws IOException {
+        this.processValueInit();
+        this.writeBytes(NULL);
+    }
+
+    private void processValueInit() throws IOException {
+        if (this.fieldActive) {
+            this.fieldActive = false;
+        } else if (this.separatorRequired) {
+            this.writeSeparator();
+        }
+        this.separatorRequired = true;
+    }
+
+    private void writeSeparator() throws IOException {
+        this.reserve(2);
+        this.buffer[this.position++] = ',';
+        this.buffer[this.position++] = ' ';
+    }
+
+    private void writeStringValue(String value) throws IOException {
+        this.writeByte('"');
+        this.writeChars(value, requiresEscaping(value));
+        this.writeByte('"');
+    }
+
+    private static boolean requiresEscaping(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch < ESCAPE_TRIGGERS.length && ESCAPE_TRIGGERS[ch]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeChars(String value, boolean escape) throws IOException {
+        int length = value.length();
+        int i = 0;
+        while (i < length) {
+            int end = Math.min(length, i + CHUNK_SIZE);
+            // A surrogate pair at the end of the chunk takes one more byte than the chars of the chunk.
+            this.reserve((end - i) * 3 + 1);
+            byte[] bytes = this.buffer;
+            int pos = this.position;
+            for (; i < end; i++) {
+                char ch = value.charAt(i);
+                if (ch < 0x80) {
+                    if (escape && ESCAPES[ch] != 0) {
+                        bytes[pos++] = '\\';
+                        bytes[pos++] = ESCAPES[ch];
+                    } else {
+                        bytes[pos++] = (byte) ch;
+                    }
+                } else if (ch < 0x800) {
+                    bytes[pos++] = (byte) (0xC0 | (ch >> 6));
+                    bytes[pos++] = (byte) (0x80 | (ch & 0x3F));
+                } else if (!Character.isSurrogate(ch)) {
+                    bytes[pos++] = (byte) (0xE0 | (ch >> 12));
+                    bytes[pos++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+                    bytes[pos++] = (byte) (0x80 | (ch & 0x3F));
+                } else if (Character.isHighSurrogate(ch) && i + 1 < length &&
+                        Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(ch, value.charAt(++i));
+                    bytes[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                    bytes[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    bytes[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    bytes[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else {
+                    // An unpaired surrogate is replaced the same way the UTF-8 encoder of a writer does.
+                    bytes[pos++] = '?';
+                }
+            }
+            this.position = pos;
+        }
+    }
+
+    private void writeAscii(String value) throws IOException {
+        int length = value.length();
+        this.reserve(length);
+        for (int i = 0; i < length; i++) {
+            this.buffer[this.position++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void writeByte(char value) throws IOException {
+        this.reserve(1);
+        this.buffer[this.position++] = (byte) value;
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        if (this.out != null && bytes.length > this.buffer.length) {
+            this.flushBuffer();
+            this.out.write(bytes);
+            return;
+        }
+        this.reserve(bytes.length);
+        System.arraycopy(bytes, 0, this.buffer, this.position, bytes.length);
+        this.position += bytes.length;
+    }
+
+    /**
+     * Makes room in the buffer for the given number of bytes, either by flushing the buffer to the output stream or
+     * by growing it. The number of bytes must not exceed the buffer size when writing to an output stream.
+     */
+    private void reserve(int length) throws IOException {
+        if (this.position + length <= this.buffer.length) {
+            return;
+        }
+        if (this.out != null && length <= this.buffer.length) {
+            this.flushBuffer();
+            return;
+        }
+        int newLength = Math.max(this.buffer.length + (this.buffer.length >> 1), this.position + length);
+        this.buffer = Arrays.copyOf(this.buffer, newLength);
+    }
+
+    private void flushBuffer() throws IOException {
+        if (this.position > 0) {
+            this.out.write(this.buffer, 0, this.position);
+            this.position = 0;
+        }
+    }
+}
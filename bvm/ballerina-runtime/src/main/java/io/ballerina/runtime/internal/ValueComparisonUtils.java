@@ -160,6 +160,52 @@ public class ValueComparisonUtils {
         }
     }
 
+    /**
+     * Check if left hand side decimal value is less than right hand side decimal value.
+     *
+     * @param lhsValue The value on the left hand side
+     * @param rhsValue The value on the right hand side
+     * @return True if left hand side decimal value is less than right hand side decimal value, else false.
+     */
+    public static boolean compareValueLessThan(DecimalValue lhsValue, DecimalValue rhsValue) {
+        return compareDecimalValues(lhsValue, rhsValue) < 0;
+    }
+
+    /**
+     * Check if left hand side decimal value is less than or equal to the right hand side decimal value.
+     *
+     * @param lhsValue The value on the left hand side
+     * @param rhsValue The value on the right hand side
+     * @return True if left hand side decimal value is less than or equal to the right hand side decimal value, else
+     * false.
+     */
+    public static boolean compareValueLessThanOrEqual(DecimalValue lhsValue, DecimalValue rhsValue) {
+        return compareDecimalValues(lhsValue, rhsValue) <= 0;
+    }
+
+    /**
+     * Check if left hand side decimal value is greater than the right hand side decimal value.
+     *
+     * @param lhsValue The value on the left hand side
+     * @param rhsValue The value on the right hand side
+     * @return True if left hand side decimal value is greater than the right hand side decimal value, else false.
+     */
+    public static boolean compareValueGreaterThan(DecimalValue lhsValue, DecimalValue rhsValue) {
+        return compareDecimalValues(lhsValue, rhsValue) > 0;
+    }
+
+    /**
+     * Check if left hand side decimal value is greater than or equal to the right hand side decimal value.
+     *
+     * @param lhsValue The value on the left hand side
+     * @param rhsValue The value on the right hand side
+     * @return True if left hand side decimal value is greater than or equal to the right hand side decimal value,
+     * else false.
+     */
+    public static boolean compareValueGreaterThanOrEqual(DecimalValue lhsValue, DecimalValue rhsValue) {
+        return compareDecimalValues(lhsValue, rhsValue) >= 0;
+    }
+
     private static int compareValues(Object lhsValue, Object rhsValue) {
         return compareValues(lhsValue, rhsValue, "");
     }
@@ -226,13 +272,7 @@ public class ValueComparisonUtils {
                 case TypeTags.FLOAT_TAG:
                     return compareFloatValues((double) lhsValue, (double) rhsValue, inRelationalExpr, isAscending);
                 case TypeTags.DECIMAL_TAG:
-                    if (TypeChecker.checkDecimalEqual((DecimalValue) lhsValue, (DecimalValue) rhsValue)) {
-                        return 0;
-                    }
-                    if (checkDecimalGreaterThan((DecimalValue) lhsValue, (DecimalValue) rhsValue)) {
-                        return 1;
-                    }
-                    return -1;
+                    return compareDecimalValues((DecimalValue) lhsValue, (DecimalValue) rhsValue);
                 case TypeTags.ARRAY_TAG:
                 case TypeTags.TUPLE_TAG:
                     return compareArrayValues(lhsValue, rhsValue, lhsTypeTag, direction);
@@ -297,6 +337,16 @@ public class ValueComparisonUtils {
         return Double.compare(lhsValue, rhsValue);
     }
 
+    private static int compareDecimalValues(DecimalValue lhsValue, DecimalValue rhsValue) {
+        if (TypeChecker.checkDecimalEqual(lhsValue, rhsValue)) {
+            return 0;
+        }
+        if (checkDecimalGreaterThan(lhsValue, rhsValue)) {
+            return 1;
+        }
+        return -1;
+    }
+
     private static boolean checkDecimalGreaterThan(DecimalValue lhsValue, DecimalValue rhsValue) {
         switch (lhsValue.valueKind) {
             case POSITIVE_INFINITY:
@@ -304,7 +354,7 @@ public class ValueComparisonUtils {
             case ZERO:
             case OTHER:
                 return rhsValue.valueKind == DecimalValueKind.NEGATIVE_INFINITY || (isDecimalRealNumber(rhsValue) &&
-                        lhsValue.decimalValue().compareTo(rhsValue.decimalValue()) > 0);
+                        lhsValue.compareTo(rhsValue) > 0);
             default:
                 return false;
         }
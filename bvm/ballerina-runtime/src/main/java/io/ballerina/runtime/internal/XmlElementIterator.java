@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal;
+
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BXml;
+import io.ballerina.runtime.internal.values.IteratorValue;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+/**
+ * Iterates the elements of an XML document matching a path, without building the whole document.
+ * <p>
+ * The document is read using an {@code XMLStreamReader}. Only the subtrees of the matching elements are built, as
+ * with {@link XmlTreeBuilder}, and the rest of the content is discarded as it is read, hence documents much larger
+ * than the available memory can be processed.
+ * <p>
+ * A path is a list of element names separated by '/', each of which is either a local name or a prefixed name,
+ * where '*' as the local name matches any element. A path starting with '/' matches elements from the root element,
+ * otherwise it matches elements at any depth whose closest ancestors have the given names. Elements nested in a
+ * matching element are part of the subtree of that element, and are not returned separately.
+ *
+ * @since 2.0.0
+ */
+public class XmlElementIterator implements IteratorValue {
+
+    private static final String WILDCARD = "*";
+
+    private final XMLStreamReader xmlStreamReader;
+    private final String[] prefixes;
+    private final String[] localNames;
+    private final boolean absolute;
+    private final List<QName> openElements = new ArrayList<>();
+    private BXml nextElement;
+    private boolean closed;
+
+    public XmlElementIterator(Reader reader, String path) {
+        this.absolute = path.startsWith("/");
+        String[] names = (absolute ? path.substring(1) : path).split("/", -1);
+        this.prefixes = new String[names.length];
+        this.localNames = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i];
+            int separator = name.indexOf(':');
+            if (name.isEmpty() || separator == 0 || separator == name.length() - 1) {
+                throw ErrorCreator.createError(StringUtils.fromString("invalid xml element path: '" + path + "'"));
+            }
+            // A null prefix matches any prefix, and a null local name matches any element.
+            this.prefixes[i] = separator < 0 ? null : name.substring(0, separator);
+            String localName = name.substring(separator + 1);
+            this.localNames[i] = WILDCARD.equals(localName) ? null : localName;
+        }
+
+        try {
+            this.xmlStreamReader = XmlTreeBuilder.createXmlStreamReader(reader);
+        } catch (XMLStreamException e) {
+            throw createError(e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextElement == null && !closed) {
+            nextElement = readNextElement();
+        }
+        return nextElement != null;
+    }
+
+    @Override
+    public BXml next() {
+        if (!hasNext()) {
+            return null;
+        }
+        BXml element = nextElement;
+        nextElement = null;
+        return element;
+    }
+
+    /**
+     * Stops the iteration, releasing the resources held by the underlying XML reader. The reader given when
+     * creating the iterator is not closed.
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        nextElement = null;
+        try {
+            xmlStreamReader.close();
+        } catch (XMLStreamException e) {
+            throw createError(e);
+        }
+    }
+
+    private BXml readNextElement() {
+        try {
+            while (xmlStreamReader.hasNext()) {
+                switch (xmlStreamReader.next()) {
+                    case START_ELEMENT:
+                        QName name = xmlStreamReader.getName();
+                        openElements.add(name);
+                        if (matches()) {
+                            BXml element = new XmlTreeBuilder(xmlStreamReader).parseElement();
+                            openElements.remove(openElements.size() - 1);
+                            return element;
+                        }
+                        break;
+                    case END_ELEMENT:
+                        openElements.remove(openElements.size() - 1);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } catch (XMLStreamException e) {
+            close();
+            throw createError(e);
+        }
+        close();
+        return null;
+    }
+
+    private boolean matches() {
+        int depth = openElements.size();
+        int length = localNames.length;
+        if (absolute ? depth != length : depth < length) {
+            return false;
+        }
+        for (int i = 1; i <= length; i++) {
+            QName name = openElements.get(depth - i);
+            String localName = localNames[length - i];
+            String prefix = prefixes[length - i];
+            if ((localName != null && !localName.equals(name.getLocalPart())) ||
+                    (prefix != null && !prefix.equals(name.getPrefix()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static BError createError(XMLStreamException e) {
+        return ErrorCreator.createError(StringUtils.fromString("failed to create xml: " + e.getMessage()));
+    }
+}
@@ -79,6 +79,21 @@ public class XmlTreeBuilder {
     }
 
     public XmlTreeBuilder(Reader stringReader) {
+        this((XMLStreamReader) null);
+        try {
+            xmlStreamReader = xmlInputFactory.createXMLStreamReader(stringReader);
+        } catch (XMLStreamException e) {
+            handleXMLStreamException(e);
+        }
+    }
+
+    /**
+     * Creates a tree builder which reads from an already positioned reader. Used to build the subtree of an element
+     * through {@link #parseElement()}.
+     *
+     * @param xmlStreamReader XML stream reader
+     */
+    XmlTreeBuilder(XMLStreamReader xmlStreamReader) {
         namespaces = new HashMap<>();
         seqDeque = new ArrayDeque<>();
         siblingDeque = new ArrayDeque<>();
@@ -87,11 +102,11 @@ public class XmlTreeBuilder {
         siblingDeque.push(siblings);
         seqDeque.push(new XmlSequence(siblings));
 
-        try {
-            xmlStreamReader = xmlInputFactory.createXMLStreamReader(stringReader);
-        } catch (XMLStreamException e) {
-            handleXMLStreamException(e);
-        }
+        this.xmlStreamReader = xmlStreamReader;
+    }
+
+    static XMLStreamReader createXmlStreamReader(Reader reader) throws XMLStreamException {
+        return xmlInputFactory.createXMLStreamReader(reader);
     }
 
     private void handleXMLStreamException(Exception e) {
@@ -136,6 +151,44 @@ public class XmlTreeBuilder {
         return null;
     }
 
+    /**
+     * Builds the element the reader is positioned at, reading up to the end of the element.
+     *
+     * @return the element
+     * @throws XMLStreamException if the content is not well formed
+     */
+    BXml parseElement() throws XMLStreamException {
+        List<BXml> siblings = siblingDeque.peek();
+        siblings.clear();
+        readElement(xmlStreamReader);
+        int depth = 1;
+        while (depth > 0) {
+            switch (xmlStreamReader.next()) {
+                case START_ELEMENT:
+                    readElement(xmlStreamReader);
+                    depth++;
+                    break;
+                case END_ELEMENT:
+                    endElement();
+                    depth--;
+                    break;
+                case PROCESSING_INSTRUCTION:
+                    readPI(xmlStreamReader);
+                    break;
+                case COMMENT:
+                    readComment(xmlStreamReader);
+                    break;
+                case CDATA:
+                case CHARACTERS:
+                    readText(xmlStreamReader);
+                    break;
+                default:
+                    break;
+            }
+        }
+        return siblings.get(0);
+    }
+
     private void handleDTD(XMLStreamReader xmlStreamReader) {
         // ignore
     }
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.scheduling;
+
+/**
+ * Holds the {@link ItemGroup}s that are ready to be executed by the {@link Scheduler} worker threads.
+ *
+ * @since 2.0.0
+ */
+interface RunQueue {
+
+    /**
+     * Binds the calling thread to the given worker slot. Must be called by each worker thread before it starts
+     * taking groups from this queue.
+     *
+     * @param workerId index of the worker, in the range [0, numThreads)
+     */
+    void register(int workerId);
+
+    /**
+     * Adds a runnable group to the queue.
+     *
+     * @param group group to be executed
+     */
+    void add(ItemGroup group);
+
+    /**
+     * Adds the poison pill that terminates exactly one worker thread.
+     */
+    void addPoisonPill();
+
+    /**
+     * Retrieves the next group to be executed by the calling worker, waiting if none is available.
+     *
+     * @return next runnable group or {@link ItemGroup#POISON_PILL}
+     * @throws InterruptedException if interrupted while waiting
+     */
+    ItemGroup take() throws InterruptedException;
+
+    boolean isEmpty();
+
+    /**
+     * Scheduling policy that decides the {@link RunQueue} implementation used by a {@link Scheduler}.
+     */
+    enum Policy {
+
+        /**
+         * All workers share a single blocking queue.
+         */
+        SHARED,
+
+        /**
+         * Each worker owns a local deque and steals from the others when idle.
+         */
+        WORK_STEALING;
+
+        static Policy fromConfig(String value) {
+            if (value == null) {
+                return SHARED;
+            }
+            switch (value.trim().toLowerCase()) {
+                case "shared":
+                    return SHARED;
+                case "work-stealing":
+                case "workstealing":
+                    return WORK_STEALING;
+                default:
+                    throw new IllegalArgumentException("unknown scheduler policy '" + value +
+                            "', expected 'shared' or 'work-stealing'");
+            }
+        }
+    }
+}
@@ -38,9 +38,9 @@ import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
 import java.util.WeakHashMap;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -64,7 +64,7 @@ public class Scheduler {
     /**
      * Strands that are ready for execution.
      */
-    private BlockingQueue<ItemGroup> runnableList = new LinkedBlockingDeque<>();
+    private final RunQueue runnableList;
 
     private static final ThreadLocal<StrandHolder> strandHolder = ThreadLocal.withInitial(StrandHolder::new);
 
@@ -80,6 +80,16 @@ public class Scheduler {
 
     private static int poolSize = Runtime.getRuntime().availableProcessors() * 2;
 
+    private static String policyConf = System.getenv(RuntimeConstants.BALLERINA_SCHEDULER_POLICY_ENV_VAR);
+
+    private static String virtualThreadsConf = System.getenv(RuntimeConstants.BALLERINA_VIRTUAL_THREADS_ENV_VAR);
+
+    /**
+     * Executor that runs each scheduled group on its own virtual thread. This is null unless virtual threads are
+     * enabled through the BALLERINA_VIRTUAL_THREADS system variable and supported by the running JVM (21+).
+     */
+    private final ExecutorService virtualThreadExecutor;
+
     private Semaphore mainBlockSem;
     private ListenerRegistry listenerRegistry;
     private Map<BObject, ItemGroup> objectGroups = Collections.synchronizedMap(new WeakHashMap<>());
@@ -96,15 +106,55 @@ public class Scheduler {
         }
         this.numThreads = poolSize;
         this.immortal = immortal;
+        this.virtualThreadExecutor = createVirtualThreadExecutor();
+        this.runnableList = createRunQueue(numThreads);
         listenerRegistry = new ListenerRegistry();
     }
 
     public Scheduler(int numThreads, boolean immortal) {
         this.numThreads = numThreads;
         this.immortal = immortal;
+        this.virtualThreadExecutor = createVirtualThreadExecutor();
+        this.runnableList = createRunQueue(numThreads);
         listenerRegistry = new ListenerRegistry();
     }
 
+    private ExecutorService createVirtualThreadExecutor() {
+        if (!Boolean.parseBoolean(virtualThreadsConf)) {
+            return null;
+        }
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("jbal-strand-exec-virtual-");
+        if (executor == null) {
+            // Log and continue with platform threads
+            err.println("ballerina: virtual threads are not supported by the Java runtime, ignoring system " +
+                                "variable:" + RuntimeConstants.BALLERINA_VIRTUAL_THREADS_ENV_VAR);
+        }
+        return executor;
+    }
+
+    /**
+     * Creates the run queue according to the policy set through the BALLERINA_SCHEDULER_POLICY system variable.
+     * Default is the shared queue.
+     */
+    private RunQueue createRunQueue(int numThreads) {
+        if (virtualThreadExecutor != null) {
+            // a single dispatcher takes from the queue, hence there is nothing to steal
+            return new SharedRunQueue();
+        }
+        RunQueue.Policy policy = RunQueue.Policy.SHARED;
+        try {
+            policy = RunQueue.Policy.fromConfig(policyConf);
+        } catch (Throwable t) {
+            // Log and continue with default
+            err.println("ballerina: error occurred in scheduler while reading system variable:" +
+                                RuntimeConstants.BALLERINA_SCHEDULER_POLICY_ENV_VAR + ", " + t.getMessage());
+        }
+        if (policy == RunQueue.Policy.WORK_STEALING) {
+            return new WorkStealingRunQueue(numThreads);
+        }
+        return new SharedRunQueue();
+    }
+
     public static Strand getStrand() {
         Strand strand = strandHolder.get().strand;
         if (strand == null) {
@@ -156,10 +206,13 @@ public class Scheduler {
         SchedulerItem item = new SchedulerItem(fp.getFunction(), params, future);
         future.strand.schedulerItem = item;
         totalStrands.incrementAndGet();
+        if (SchedulerMetrics.ENABLED) {
+            SchedulerMetrics.strandStarted();
+        }
         future.strand.strandGroup = parent.strandGroup;
         parent.strandGroup.add(item);
         if (parent.strandGroup.scheduled.compareAndSet(false, true)) {
-            runnableList.add(future.strand.strandGroup);
+            addToRunQueue(future.strand.strandGroup);
         }
         return future;
     }
@@ -172,6 +225,9 @@ public class Scheduler {
         SchedulerItem item = new SchedulerItem(function, params, future);
         future.strand.schedulerItem = item;
         totalStrands.incrementAndGet();
+        if (SchedulerMetrics.ENABLED) {
+            SchedulerMetrics.strandStarted();
+        }
         ItemGroup group = objectGroups.compute(object, (o, groupInMap) -> {
             if (groupInMap == null) {
                 return new ItemGroup(item);
@@ -182,7 +238,7 @@ public class Scheduler {
         });
         future.strand.strandGroup = group;
         if (group.scheduled.compareAndSet(false, true)) {
-            runnableList.add(group);
+            addToRunQueue(group);
         }
         return future;
     }
@@ -242,10 +298,13 @@ public class Scheduler {
         SchedulerItem item = new SchedulerItem(function, params, future);
         future.strand.schedulerItem = item;
         totalStrands.incrementAndGet();
+        if (SchedulerMetrics.ENABLED) {
+            SchedulerMetrics.strandStarted();
+        }
         ItemGroup group = new ItemGroup(item);
         future.strand.strandGroup = group;
         group.scheduled.set(true);
-        runnableList.add(group);
+        addToRunQueue(group);
         return future;
     }
 
@@ -268,19 +327,34 @@ public class Scheduler {
         SchedulerItem item = new SchedulerItem(consumer, params, future);
         future.strand.schedulerItem = item;
         totalStrands.incrementAndGet();
+        if (SchedulerMetrics.ENABLED) {
+            SchedulerMetrics.strandStarted();
+        }
         ItemGroup group = new ItemGroup(item);
         future.strand.strandGroup = group;
         group.scheduled.set(true);
-        runnableList.add(group);
+        addToRunQueue(group);
         return future;
     }
 
+    private void addToRunQueue(ItemGroup group) {
+        if (SchedulerMetrics.ENABLED) {
+            SchedulerMetrics.groupQueued(group);
+        }
+        runnableList.add(group);
+    }
+
     public void start() {
+        if (virtualThreadExecutor != null) {
+            this.dispatchToVirtualThreads();
+            return;
+        }
         this.mainBlockSem = new Semaphore(-(numThreads - 1));
         for (int i = 0; i < numThreads - 1; i++) {
-            new Thread(this::runSafely, "jbal-strand-exec-" + i).start();
+            int workerId = i;
+            new Thread(() -> runSafely(workerId), "jbal-strand-exec-" + i).start();
         }
-        this.runSafely();
+        this.runSafely(numThreads - 1);
         try {
             this.mainBlockSem.acquire();
         } catch (InterruptedException e) {
@@ -291,9 +365,9 @@ public class Scheduler {
     /**
      * Defensive programming to prevent unforeseen errors.
      */
-    private void runSafely() {
+    private void runSafely(int workerId) {
         try {
-            run();
+            run(workerId);
         } catch (Throwable t) {
             RuntimeUtils.printCrashLog(t);
         }
@@ -302,9 +376,12 @@ public class Scheduler {
     /**
      * Executes tasks that are submitted to the Scheduler.
      */
-    private void run() {
+    private void run(int workerId) {
+        runnableList.register(workerId);
+        if (SchedulerMetrics.ENABLED) {
+            SchedulerMetrics.workerStarted();
+        }
         while (true) {
-            SchedulerItem item;
             ItemGroup group;
             try {
                 group = runnableList.take();
@@ -313,39 +390,109 @@ public class Scheduler {
             }
 
             if (group == POISON_PILL) {
+                if (SchedulerMetrics.ENABLED) {
+                    SchedulerMetrics.workerStopped();
+                }
                 this.mainBlockSem.release();
                 break;
             }
 
-            while (!group.items.empty()) {
-                Object result = null;
-                Throwable panic = null;
-
-                item = group.get();
+            if (SchedulerMetrics.ENABLED) {
+                SchedulerMetrics.groupDequeued(group);
+            }
+            runGroup(group);
+        }
+    }
 
+    /**
+     * Starts a virtual thread for each group that becomes runnable. A strand that blocks the thread in a Java call
+     * then only parks its own virtual thread, instead of occupying one of the {@code numThreads} workers.
+     */
+    private void dispatchToVirtualThreads() {
+        try {
+            while (true) {
+                ItemGroup group;
                 try {
-                    strandHolder.get().strand = item.future.strand;
-                    result = item.execute();
-                } catch (Throwable e) {
-                    panic = createError(e);
-                    notifyChannels(item, panic);
-
-                    if (!(panic instanceof BError)) {
-                        RuntimeUtils.printCrashLog(panic);
-                    }
-                    // Please refer #18763.
-                    // This logs cases where errors have occurred while strand is blocked.
-                    if (item.isYielded()) {
-                        RuntimeUtils.printCrashLog(panic);
+                    group = runnableList.take();
+                } catch (InterruptedException ignored) {
+                    continue;
+                }
+
+                if (group == POISON_PILL) {
+                    break;
+                }
+
+                if (SchedulerMetrics.ENABLED) {
+                    SchedulerMetrics.groupDequeued(group);
+                }
+                virtualThreadExecutor.execute(() -> {
+                    try {
+                        runGroup(group);
+                    } catch (Throwable t) {
+                        RuntimeUtils.printCrashLog(t);
                     }
-                } finally {
-                    strandHolder.get().strand = null;
+                });
+            }
+        } catch (Throwable t) {
+            RuntimeUtils.printCrashLog(t);
+        } finally {
+            virtualThreadExecutor.shutdown();
+            awaitVirtualThreads();
+        }
+    }
+
+    /**
+     * Waits for the virtual threads still running groups, so that no strand outlives the scheduler. The last strand
+     * may still be finishing when the poison pill is dispatched.
+     */
+    private void awaitVirtualThreads() {
+        try {
+            boolean terminated = false;
+            while (!terminated) {
+                terminated = virtualThreadExecutor.awaitTermination(1, TimeUnit.MINUTES);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Executes the items of the given group until none of them is runnable.
+     */
+    private void runGroup(ItemGroup group) {
+        SchedulerItem item;
+        while (!group.items.empty()) {
+            Object result = null;
+            Throwable panic = null;
+
+            item = group.get();
+
+            long startTime = SchedulerMetrics.ENABLED ? SchedulerMetrics.strandResumed() : 0;
+            try {
+                strandHolder.get().strand = item.future.strand;
+                result = item.execute();
+            } catch (Throwable e) {
+                panic = createError(e);
+                notifyChannels(item, panic);
+
+                if (!(panic instanceof BError)) {
+                    RuntimeUtils.printCrashLog(panic);
+                }
+                // Please refer #18763.
+                // This logs cases where errors have occurred while strand is blocked.
+                if (item.isYielded()) {
+                    RuntimeUtils.printCrashLog(panic);
                 }
-                postProcess(item, result, panic);
-                if (group.items.empty()) {
-                    group.scheduled.set(false);
+            } finally {
+                strandHolder.get().strand = null;
+                if (SchedulerMetrics.ENABLED) {
+                    SchedulerMetrics.strandSuspended(startTime);
                 }
             }
+            postProcess(item, result, panic);
+            if (group.items.empty()) {
+                group.scheduled.set(false);
+            }
         }
     }
 
@@ -353,6 +500,9 @@ public class Scheduler {
      * Processes the item after executing for notifying blocked items etc.
      */
     private void postProcess(SchedulerItem item, Object result, Throwable panic) {
+        if (SchedulerMetrics.ENABLED && item.isYielded()) {
+            SchedulerMetrics.strandYielded();
+        }
         switch (item.getState()) {
             case BLOCK_AND_YIELD:
                 item.future.strand.lock();
@@ -363,6 +513,9 @@ public class Scheduler {
                     break;
                 }
                 item.parked = true;
+                if (SchedulerMetrics.ENABLED) {
+                    SchedulerMetrics.strandParked(item);
+                }
                 item.future.strand.unlock();
                 break;
             case BLOCK_ON_AND_YIELD:
@@ -417,10 +570,13 @@ public class Scheduler {
 
                 cleanUp(justCompleted);
 
+                if (SchedulerMetrics.ENABLED) {
+                    SchedulerMetrics.strandCompleted();
+                }
                 int strandsLeft = totalStrands.decrementAndGet();
                 if (strandsLeft == 0) {
                     // (number of started stands - finished stands) = 0, all the work is done
-                    assert runnableList.size() == 0;
+                    assert runnableList.isEmpty();
 
                     if (!immortal) {
                         poison();
@@ -454,6 +610,9 @@ public class Scheduler {
         strand.lock();
         if (strand.schedulerItem.parked) {
             strand.schedulerItem.parked = false;
+            if (SchedulerMetrics.ENABLED) {
+                SchedulerMetrics.strandUnparked(strand.schedulerItem);
+            }
             reschedule(strand.schedulerItem);
         } else {
             // item not returned to scheduler, yet.
@@ -492,6 +651,9 @@ public class Scheduler {
 
     private void reschedule(SchedulerItem item) {
         if (!item.getState().equals(State.RUNNABLE)) {
+            if (SchedulerMetrics.ENABLED) {
+                SchedulerMetrics.strandRescheduled();
+            }
             ItemGroup group = item.future.strand.strandGroup;
             item.setState(State.RUNNABLE);
             group.add(item);
@@ -501,7 +663,7 @@ public class Scheduler {
             //  2) All others have finished
             // In this case we need to put it back in the runnable list.
             if (group.scheduled.compareAndSet(false, true)) {
-                runnableList.add(group);
+                addToRunQueue(group);
             }
         }
     }
@@ -527,7 +689,7 @@ public class Scheduler {
 
     public void poison() {
         for (int i = 0; i < numThreads; i++) {
-            runnableList.add(POISON_PILL);
+            runnableList.addPoisonPill();
         }
     }
 
@@ -583,6 +745,13 @@ class SchedulerItem {
     final FutureValue future;
     boolean parked;
 
+    /**
+     * Time this item was parked and whether it was blocked on an external call, tracked for
+     * {@link SchedulerMetrics}.
+     */
+    long parkedTime;
+    boolean parkedOnExtern;
+
     public SchedulerItem(Function function, Object[] params, FutureValue future) {
         this.future = future;
         this.function = function;
@@ -637,6 +806,11 @@ class ItemGroup {
      */
     AtomicBoolean scheduled = new AtomicBoolean(false);
 
+    /**
+     * Time this group was last added to the run queue, tracked for {@link SchedulerMetrics}.
+     */
+    long queuedTime;
+
     public static final ItemGroup POISON_PILL = new ItemGroup();
 
     public ItemGroup(SchedulerItem item) {
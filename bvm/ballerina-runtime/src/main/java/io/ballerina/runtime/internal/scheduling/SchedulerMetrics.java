@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.scheduling;
+
+import io.ballerina.runtime.api.constants.RuntimeConstants;
+import io.ballerina.runtime.observability.metrics.Gauge;
+import io.ballerina.runtime.observability.metrics.MetricRegistry;
+import io.ballerina.runtime.observability.metrics.PolledGauge;
+import io.ballerina.runtime.observability.metrics.StatisticConfig;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Instrumentation of the strand scheduler and of the lock statements.
+ * <p>
+ * Measurements are taken only if the BALLERINA_SCHEDULER_METRICS system variable is set to true. Every hook is
+ * guarded by the constant {@link #ENABLED}, so that the JIT removes them when the metrics are disabled. The values are
+ * accumulated here from the start of the program and published as metrics once a metric provider is enabled through
+ * the observability module, see {@link #register(MetricRegistry)}.
+ *
+ * @since 2.0.0
+ */
+public final class SchedulerMetrics {
+
+    public static final boolean ENABLED =
+            Boolean.parseBoolean(System.getenv(RuntimeConstants.BALLERINA_SCHEDULER_METRICS_ENV_VAR));
+
+    private static final String METRIC_PREFIX = "ballerina_scheduler_";
+    private static final double NANOS_PER_SECOND = 1_000_000_000D;
+    private static final double NANOS_PER_MILLI = 1_000_000D;
+
+    private static final StatisticConfig[] LATENCY_STATISTIC_CONFIGS = new StatisticConfig[]{
+            StatisticConfig.builder()
+                    .expiry(Duration.ofSeconds(10))
+                    .percentiles(StatisticConfig.DEFAULT.getPercentiles())
+                    .build(),
+            StatisticConfig.builder()
+                    .expiry(Duration.ofMinutes(1))
+                    .percentiles(StatisticConfig.DEFAULT.getPercentiles())
+                    .build()
+    };
+
+    private static final LongAdder queuedGroups = new LongAdder();
+    private static final LongAdder activeStrands = new LongAdder();
+    private static final LongAdder runningStrands = new LongAdder();
+    private static final LongAdder parkedStrands = new LongAdder();
+    private static final LongAdder blockedOnExternStrands = new LongAdder();
+    private static final LongAdder workerThreads = new LongAdder();
+
+    private static final LongAdder yields = new LongAdder();
+    private static final LongAdder reschedules = new LongAdder();
+    private static final LongAdder lockContentions = new LongAdder();
+    private static final LongAdder busyNanos = new LongAdder();
+
+    /**
+     * Latency summaries. These stay null until a metric provider is available, and samples taken before that are
+     * dropped.
+     */
+    private static volatile Gauge waitToRunLatency;
+    private static volatile Gauge parkLatency;
+
+    private static boolean registered;
+
+    private SchedulerMetrics() {
+    }
+
+    /**
+     * Registers the scheduler metrics in the given registry. Does nothing if the metrics are disabled or already
+     * registered.
+     *
+     * @param registry metric registry of the enabled metric provider
+     */
+    public static synchronized void register(MetricRegistry registry) {
+        if (!ENABLED || registered) {
+            return;
+        }
+        registered = true;
+
+        registerPolledGauge(registry, "run_queue_length", "Number of strand groups waiting in the run queue",
+                            queuedGroups);
+        registerPolledGauge(registry, "active_strands", "Number of strands started and not yet completed",
+                            activeStrands);
+        registerPolledGauge(registry, "running_strands", "Number of strands executing on a thread", runningStrands);
+        registerPolledGauge(registry, "parked_strands", "Number of strands blocked in BLOCK_AND_YIELD state",
+                            parkedStrands);
+        registerPolledGauge(registry, "blocked_on_extern_strands",
+                            "Number of strands blocked until an external call completes", blockedOnExternStrands);
+        registerPolledGauge(registry, "worker_threads", "Number of scheduler worker threads", workerThreads);
+
+        registerPolledGauge(registry, "yields_total", "Number of times a strand yielded its thread", yields);
+        registerPolledGauge(registry, "reschedules_total", "Number of times a yielded strand was made runnable",
+                            reschedules);
+        registerPolledGauge(registry, "lock_contentions_total",
+                            "Number of times a strand had to wait for a lock statement", lockContentions);
+        PolledGauge.builder(METRIC_PREFIX + "worker_busy_seconds_total", busyNanos,
+                            (ToDoubleFunction<LongAdder>) adder -> adder.sum() / NANOS_PER_SECOND)
+                .description("Total time the worker threads spent executing strands")
+                .register(registry);
+
+        waitToRunLatency = registerLatencyGauge(registry, "wait_to_run_latency",
+                                                "Time a strand group waited in the run queue in milliseconds");
+        parkLatency = registerLatencyGauge(registry, "park_latency",
+                                           "Time a strand was blocked before it was made runnable in milliseconds");
+    }
+
+    private static void registerPolledGauge(MetricRegistry registry, String name, String description,
+                                            LongAdder value) {
+        PolledGauge.builder(METRIC_PREFIX + name, value, LongAdder::sum)
+                .description(description)
+                .register(registry);
+    }
+
+    private static Gauge registerLatencyGauge(MetricRegistry registry, String name, String description) {
+        Gauge.Builder builder = Gauge.builder(METRIC_PREFIX + name).description(description);
+        for (StatisticConfig statisticConfig : LATENCY_STATISTIC_CONFIGS) {
+            builder.summarize(statisticConfig);
+        }
+        return builder.register(registry);
+    }
+
+    static void workerStarted() {
+        workerThreads.increment();
+    }
+
+    static void workerStopped() {
+        workerThreads.decrement();
+    }
+
+    static void strandStarted() {
+        activeStrands.increment();
+    }
+
+    static void strandCompleted() {
+        activeStrands.decrement();
+    }
+
+    static void groupQueued(ItemGroup group) {
+        group.queuedTime = System.nanoTime();
+        queuedGroups.increment();
+    }
+
+    static void groupDequeued(ItemGroup group) {
+        queuedGroups.decrement();
+        recordLatency(waitToRunLatency, group.queuedTime);
+    }
+
+    /**
+     * Called when a strand starts executing on a thread.
+     *
+     * @return start time to be passed to {@link #strandSuspended(long)}
+     */
+    static long strandResumed() {
+        runningStrands.increment();
+        return System.nanoTime();
+    }
+
+    static void strandSuspended(long startTime) {
+        busyNanos.add(System.nanoTime() - startTime);
+        runningStrands.decrement();
+    }
+
+    static void strandYielded() {
+        yields.increment();
+    }
+
+    static void strandParked(SchedulerItem item) {
+        item.parkedTime = System.nanoTime();
+        item.parkedOnExtern = item.future.strand.blockedOnExtern;
+        if (item.parkedOnExtern) {
+            blockedOnExternStrands.increment();
+        } else {
+            parkedStrands.increment();
+        }
+    }
+
+    static void strandUnparked(SchedulerItem item) {
+        if (item.parkedOnExtern) {
+            blockedOnExternStrands.decrement();
+        } else {
+            parkedStrands.decrement();
+        }
+        recordLatency(parkLatency, item.parkedTime);
+    }
+
+    static void strandRescheduled() {
+        reschedules.increment();
+    }
+
+    public static void lockContended() {
+        lockContentions.increment();
+    }
+
+    private static void recordLatency(Gauge gauge, long startTime) {
+        if (gauge != null) {
+            gauge.setValue((System.nanoTime() - startTime) / NANOS_PER_MILLI);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.scheduling;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static io.ballerina.runtime.internal.scheduling.ItemGroup.POISON_PILL;
+
+/**
+ * {@link RunQueue} where each worker thread owns a local deque.
+ * <p>
+ * Groups made runnable by a worker are pushed to the head of its own deque and popped from there (LIFO), so a newly
+ * spawned strand runs next on the same thread while its parent's data is still warm. Groups submitted from
+ * non-worker threads go to a shared injection queue. An idle worker first checks the injection queue and then steals
+ * from the tail of the other workers' deques (FIFO). Workers with nothing to do park on a condition, and producers
+ * only touch the lock when at least one worker is parked.
+ *
+ * @since 2.0.0
+ */
+class WorkStealingRunQueue implements RunQueue {
+
+    /**
+     * A worker checks the injection queue before its local deque once in this many polls, so that groups submitted
+     * from outside do not starve behind a worker that keeps itself busy.
+     */
+    private static final int GLOBAL_POLL_INTERVAL = 61;
+
+    private final Worker[] workers;
+    private final ConcurrentLinkedQueue<ItemGroup> injectionQueue = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Worker> currentWorker = new ThreadLocal<>();
+    private final AtomicInteger pendingPoisonPills = new AtomicInteger();
+
+    private final ReentrantLock idleLock = new ReentrantLock();
+    private final Condition workAvailable = idleLock.newCondition();
+    private final AtomicInteger idleWorkers = new AtomicInteger();
+
+    WorkStealingRunQueue(int numThreads) {
+        this.workers = new Worker[numThreads];
+        for (int i = 0; i < numThreads; i++) {
+            workers[i] = new Worker();
+        }
+    }
+
+    @Override
+    public void register(int workerId) {
+        currentWorker.set(workers[workerId]);
+    }
+
+    @Override
+    public void add(ItemGroup group) {
+        Worker worker = currentWorker.get();
+        if (worker != null) {
+            worker.deque.offerFirst(group);
+        } else {
+            injectionQueue.offer(group);
+        }
+        // The group is published before reading the idle count. A worker increments the count before its final
+        // check of the queues, so either it sees the group or we see it parked and wake it up.
+        if (idleWorkers.get() > 0) {
+            idleLock.lock();
+            try {
+                workAvailable.signal();
+            } finally {
+                idleLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void addPoisonPill() {
+        pendingPoisonPills.incrementAndGet();
+        idleLock.lock();
+        try {
+            workAvailable.signalAll();
+        } finally {
+            idleLock.unlock();
+        }
+    }
+
+    @Override
+    public ItemGroup take() throws InterruptedException {
+        Worker worker = currentWorker.get();
+        ItemGroup group = poll(worker);
+        if (group != null) {
+            return group;
+        }
+
+        idleLock.lockInterruptibly();
+        try {
+            idleWorkers.incrementAndGet();
+            try {
+                while ((group = poll(worker)) == null) {
+                    workAvailable.await();
+                }
+                return group;
+            } finally {
+                idleWorkers.decrementAndGet();
+            }
+        } finally {
+            idleLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        if (!injectionQueue.isEmpty()) {
+            return false;
+        }
+        for (Worker worker : workers) {
+            if (!worker.deque.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ItemGroup poll(Worker worker) {
+        ItemGroup group;
+        if (worker != null) {
+            if (++worker.polls % GLOBAL_POLL_INTERVAL == 0 && (group = injectionQueue.poll()) != null) {
+                return group;
+            }
+            if ((group = worker.deque.pollFirst()) != null) {
+                return group;
+            }
+        }
+        if ((group = injectionQueue.poll()) != null) {
+            return group;
+        }
+        if ((group = steal(worker)) != null) {
+            return group;
+        }
+        // Poison pills are handed out only after all the remaining work has been drained.
+        return takePoisonPill() ? POISON_PILL : null;
+    }
+
+    private ItemGroup steal(Worker thief) {
+        int numWorkers = workers.length;
+        int start = ThreadLocalRandom.current().nextInt(numWorkers);
+        for (int i = 0; i < numWorkers; i++) {
+            Worker victim = workers[(start + i) % numWorkers];
+            if (victim == thief) {
+                continue;
+            }
+            ItemGroup group = victim.deque.pollLast();
+            if (group != null) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    private boolean takePoisonPill() {
+        int pills;
+        do {
+            pills = pendingPoisonPills.get();
+            if (pills == 0) {
+                return false;
+            }
+        } while (!pendingPoisonPills.compareAndSet(pills, pills - 1));
+        return true;
+    }
+
+    /**
+     * Per-worker state. Only the owning thread touches the head of the deque and the poll counter.
+     */
+    private static class Worker {
+        final ConcurrentLinkedDeque<ItemGroup> deque = new ConcurrentLinkedDeque<>();
+        int polls;
+    }
+}
@@ -36,6 +36,7 @@ import io.ballerina.runtime.internal.values.ReadOnlyUtils;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * {@code BRecordType} represents a user defined record type in Ballerina.
@@ -49,6 +50,7 @@ public class BRecordType extends BStructureType implements RecordType {
     public int typeFlags;
     private final boolean readonly;
     private IntersectionType immutableType;
+    private volatile Map<String, byte[]> encodedJsonFieldNames;
 
     /**
      * Create a {@code BRecordType} which represents the user defined record type.
@@ -160,6 +162,21 @@ public class BRecordType extends BStructureType implements RecordType {
         this.immutableType = immutableType;
     }
 
+    /**
+     * Returns the UTF-8 encoded JSON field names of the declared fields of this record type, which are cached by
+     * {@link io.ballerina.runtime.internal.Utf8JsonGenerator} as they are the same for every value of the type.
+     *
+     * @return encoded field names, by field name
+     */
+    public Map<String, byte[]> getEncodedJsonFieldNames() {
+        Map<String, byte[]> fieldNames = this.encodedJsonFieldNames;
+        if (fieldNames == null) {
+            fieldNames = new ConcurrentHashMap<>();
+            this.encodedJsonFieldNames = fieldNames;
+        }
+        return fieldNames;
+    }
+
     public boolean isSealed() {
         return sealed;
     }
@@ -44,6 +44,10 @@ import io.ballerina.runtime.api.values.BString;
      @Override
      public BString concat(BString str) {
          StringValue stringValue = (StringValue) str;
+         if (stringValue instanceof ConcatenatedStringValue ||
+                 value.length() + stringValue.getValue().length() >= ConcatenatedStringValue.MIN_LENGTH) {
+             return ConcatenatedStringValue.concat(value, 0, str);
+         }
          if (stringValue.isNonBmp) {
              int[] otherSurrogates = ((NonBmpStringValue) str).getSurrogates();
              int[] newSurrogates = new int[otherSurrogates.length];
@@ -29,6 +29,7 @@ public class CharIterator implements IteratorValue {
     long cursor = 0;
     long length;
     String stringValue;
+    int charOffset = 0;
 
     CharIterator(StringValue value) {
         this.value = value;
@@ -40,22 +41,20 @@ public class CharIterator implements IteratorValue {
     public Object next() {
         long currentIndex = this.cursor++;
         if (value.isNonBmp) {
-            return getNonBmpCharWithSurrogates(currentIndex);
+            return getNonBmpCharWithSurrogates();
         }
         return String.valueOf(stringValue.charAt((int) currentIndex));
     }
 
-    private String getNonBmpCharWithSurrogates(long currentIndex) {
-        int offset = (int) currentIndex;
-        for (int surrogate : ((NonBmpStringValue) value).getSurrogates()) {
-            if (surrogate < currentIndex) {
-                offset++;
-            } else if (surrogate > currentIndex) {
-                break;
-            } else {
-                return new String(new char[]{stringValue.charAt(offset), stringValue.charAt(offset + 1)});
-            }
+    private String getNonBmpCharWithSurrogates() {
+        // The chars are visited in order, hence the offset of the next char is tracked instead of being computed from
+        // the code point index.
+        int offset = charOffset;
+        if (Character.isHighSurrogate(stringValue.charAt(offset))) {
+            charOffset += 2;
+            return stringValue.substring(offset, offset + 2);
         }
+        charOffset++;
         return String.valueOf(stringValue.charAt(offset));
     }
 
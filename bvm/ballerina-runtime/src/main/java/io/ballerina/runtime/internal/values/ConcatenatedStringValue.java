@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.values;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+
+/**
+ * Represent ballerina strings created by concatenation, which share a string builder with the string they were
+ * concatenated from.
+ * <p>
+ * Concatenating a string to the last string built on a builder appends to the builder in place, hence building a
+ * string with `s = s + part` in a loop takes linear time rather than quadratic. The java string is only created when
+ * it is needed, and operations other than concatenation and length are done on a flat string created from it.
+ *
+ * @since 2.0.0
+ */
+public class ConcatenatedStringValue extends StringValue {
+
+    // Shorter strings are concatenated into flat strings, as sharing a builder does not pay off for them.
+    static final int MIN_LENGTH = 128;
+
+    private final StringBuilder builder;
+    private final int charLength;
+    private final int surrogatePairCount;
+    private StringValue flatValue;
+
+    private ConcatenatedStringValue(StringBuilder builder, int surrogatePairCount) {
+        super(null, surrogatePairCount > 0);
+        this.builder = builder;
+        this.charLength = builder.length();
+        this.surrogatePairCount = surrogatePairCount;
+    }
+
+    /**
+     * Concatenates two strings into a new builder.
+     *
+     * @param lhs                   the value of the first string
+     * @param lhsSurrogatePairCount number of surrogate pairs in the first string
+     * @param rhs                   the second string
+     * @return concatenated string
+     */
+    static BString concat(String lhs, int lhsSurrogatePairCount, BString rhs) {
+        String rhsValue = rhs.getValue();
+        StringBuilder builder = new StringBuilder(lhs.length() + rhsValue.length() + MIN_LENGTH);
+        builder.append(lhs).append(rhsValue);
+        return new ConcatenatedStringValue(builder, lhsSurrogatePairCount + getSurrogatePairCount(rhs, rhsValue));
+    }
+
+    private static int getSurrogatePairCount(BString str, String strValue) {
+        return strValue.length() - str.length();
+    }
+
+    @Override
+    public BString concat(BString str) {
+        String strValue = str.getValue();
+        int newSurrogatePairCount = surrogatePairCount + getSurrogatePairCount(str, strValue);
+        StringBuilder newBuilder;
+        synchronized (builder) {
+            if (builder.length() == charLength) {
+                builder.append(strValue);
+                return new ConcatenatedStringValue(builder, newSurrogatePairCount);
+            }
+
+            // A longer string has already been built on the builder, hence this string is copied.
+            newBuilder = new StringBuilder(charLength + strValue.length() + MIN_LENGTH);
+            newBuilder.append(builder, 0, charLength);
+        }
+        newBuilder.append(strValue);
+        return new ConcatenatedStringValue(newBuilder, newSurrogatePairCount);
+    }
+
+    @Override
+    public String getValue() {
+        String stringValue = value;
+        if (stringValue == null) {
+            synchronized (builder) {
+                stringValue = builder.substring(0, charLength);
+            }
+            value = stringValue;
+        }
+        return stringValue;
+    }
+
+    @Override
+    public int length() {
+        return charLength - surrogatePairCount;
+    }
+
+    @Override
+    public int getCodePoint(int index) {
+        if (!isNonBmp) {
+            return getValue().charAt(index);
+        }
+        return getFlatValue().getCodePoint(index);
+    }
+
+    @Override
+    public Long indexOf(BString str, int fromIndex) {
+        return getFlatValue().indexOf(str, fromIndex);
+    }
+
+    @Override
+    public Long lastIndexOf(BString str, int fromIndex) {
+        return getFlatValue().lastIndexOf(str, fromIndex);
+    }
+
+    @Override
+    public BString substring(int beginIndex, int endIndex) {
+        return getFlatValue().substring(beginIndex, endIndex);
+    }
+
+    @Override
+    public IteratorValue getIterator() {
+        return getFlatValue().getIterator();
+    }
+
+    private StringValue getFlatValue() {
+        if (flatValue == null) {
+            flatValue = (StringValue) StringUtils.fromString(getValue());
+        }
+        return flatValue;
+    }
+}
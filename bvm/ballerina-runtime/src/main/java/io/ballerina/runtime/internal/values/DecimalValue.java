@@ -50,14 +50,35 @@ public class DecimalValue implements SimpleValue, BDecimal {
 
     private static final DecimalValue NaN = new DecimalValue("-1", DecimalValueKind.NOT_A_NUMBER);
 
+    // Unscaled value of decimals which are only held as a BigDecimal.
+    private static final long INFLATED = Long.MIN_VALUE;
+
+    // Unscaled values of up to this many digits always fit in a long.
+    private static final int MAX_COMPACT_PRECISION = 18;
+
+    private static final long[] LONG_TEN_POWERS = {
+            1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L, 10000000000L,
+            100000000000L, 1000000000000L, 10000000000000L, 100000000000000L, 1000000000000000L,
+            10000000000000000L, 100000000000000000L, 1000000000000000000L
+    };
+
     // Variable used to track the kind of a decimal value.
     @Deprecated
     public DecimalValueKind valueKind = DecimalValueKind.OTHER;
 
+    // Created lazily for values having an unscaled value.
     private BigDecimal value;
 
+    // The value is unscaledValue * 10^-scale if the unscaled value is not INFLATED. Arithmetic on two such values is
+    // done on longs when the exact result fits in a long, which needs no rounding as it has less than the 34 digits
+    // of DECIMAL128, and has the same scale the BigDecimal operation would give.
+    private final long unscaledValue;
+    private final int scale;
+
     public DecimalValue(BigDecimal value) {
         this.value = value;
+        this.unscaledValue = value.precision() <= MAX_COMPACT_PRECISION ? value.unscaledValue().longValue() : INFLATED;
+        this.scale = value.scale();
         if (!this.booleanValue()) {
             this.valueKind = DecimalValueKind.ZERO;
         }
@@ -65,12 +86,14 @@ public class DecimalValue implements SimpleValue, BDecimal {
 
     public DecimalValue(String value) {
         // Check whether the number provided is a hexadecimal value.
-        if (isHexValueString(value)) {
-            this.value = hexToDecimalFloatingPointNumber(value);
-        } else {
-            this.value = new BigDecimal(value, MathContext.DECIMAL128);
-        }
-        if (!this.booleanValue()) {
+        this(isHexValueString(value) ? hexToDecimalFloatingPointNumber(value) :
+                     new BigDecimal(value, MathContext.DECIMAL128));
+    }
+
+    private DecimalValue(long unscaledValue, int scale) {
+        this.unscaledValue = unscaledValue;
+        this.scale = scale;
+        if (unscaledValue == 0) {
             this.valueKind = DecimalValueKind.ZERO;
         }
     }
@@ -142,7 +165,12 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return the value
      */
     public BigDecimal decimalValue() {
-        return this.value;
+        BigDecimal decimal = this.value;
+        if (decimal == null) {
+            decimal = BigDecimal.valueOf(unscaledValue, scale);
+            this.value = decimal;
+        }
+        return decimal;
     }
 
     /**
@@ -164,7 +192,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
             throw ErrorUtils.createNumericConversionError(this.stringValue(null), PredefinedTypes.TYPE_DECIMAL,
                                                           PredefinedTypes.TYPE_INT);
         }
-        return (long) Math.rint(value.doubleValue());
+        return (long) Math.rint(decimalValue().doubleValue());
     }
 
     /**
@@ -173,7 +201,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return true if the value is in int range
      */
     public static boolean isDecimalWithinIntRange(DecimalValue decimalValue) {
-        BigDecimal value = decimalValue.value;
+        BigDecimal value = decimalValue.decimalValue();
         return value.compareTo(RuntimeConstants.BINT_MAX_VALUE_BIG_DECIMAL_RANGE_MAX) < 0 &&
                value.compareTo(RuntimeConstants.BINT_MIN_VALUE_BIG_DECIMAL_RANGE_MIN) > 0;
     }
@@ -193,9 +221,9 @@ public class DecimalValue implements SimpleValue, BDecimal {
                 throw ErrorUtils.createNumericConversionError(POSITIVE_INF, PredefinedTypes.TYPE_BYTE);
         }
 
-        int intVal = (int) Math.rint(this.value.doubleValue());
+        int intVal = (int) Math.rint(decimalValue().doubleValue());
         if (!isByteLiteral(intVal)) {
-            throw ErrorUtils.createNumericConversionError(value, PredefinedTypes.TYPE_DECIMAL,
+            throw ErrorUtils.createNumericConversionError(decimalValue(), PredefinedTypes.TYPE_DECIMAL,
                                                           PredefinedTypes.TYPE_BYTE);
         }
         return intVal;
@@ -213,7 +241,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
         if (this.valueKind == DecimalValueKind.NOT_A_NUMBER) {
             return Double.NaN;
         }
-        return value.doubleValue();
+        return decimalValue().doubleValue();
     }
 
     /**
@@ -221,6 +249,9 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return true if the value is non zero
      */
     public boolean booleanValue() {
+        if (unscaledValue != INFLATED) {
+            return unscaledValue != 0;
+        }
         return value.compareTo(BigDecimal.ZERO) != 0;
     }
 
@@ -243,7 +274,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
         if (this.valueKind != DecimalValueKind.OTHER) {
             return this.valueKind.getValue();
         }
-        return value.toString();
+        return decimalValue().toString();
     }
 
     /**
@@ -255,7 +286,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
         if (this.valueKind != DecimalValueKind.OTHER) {
             return this.valueKind.getValue() + "d";
         }
-        return value.toString() + "d";
+        return decimalValue().toString() + "d";
     }
 
     /**
@@ -263,7 +294,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return the decimal value
      */
     public BigDecimal value() {
-        return this.value;
+        return decimalValue();
     }
 
     /**
@@ -304,6 +335,10 @@ public class DecimalValue implements SimpleValue, BDecimal {
                     return this;
                 }
                 if (augend.valueKind == DecimalValueKind.OTHER) {
+                    DecimalValue sum = addUnscaled(this, augend.unscaledValue, augend.scale);
+                    if (sum != null) {
+                        return sum;
+                    }
                     return new DecimalValue(this.decimalValue().add(augend.decimalValue(), MathContext.DECIMAL128));
                 }
                 return augend;
@@ -342,6 +377,12 @@ public class DecimalValue implements SimpleValue, BDecimal {
                     return this;
                 }
                 if (subtrahend.valueKind == DecimalValueKind.OTHER) {
+                    if (subtrahend.unscaledValue != INFLATED) {
+                        DecimalValue difference = addUnscaled(this, -subtrahend.unscaledValue, subtrahend.scale);
+                        if (difference != null) {
+                            return difference;
+                        }
+                    }
                     return new DecimalValue(this.decimalValue().subtract(subtrahend.decimalValue(),
                             MathContext.DECIMAL128));
                 }
@@ -385,6 +426,10 @@ public class DecimalValue implements SimpleValue, BDecimal {
                 return NaN;
             default:
                 if (multiplicand.valueKind == DecimalValueKind.OTHER) {
+                    DecimalValue product = multiplyUnscaled(this, multiplicand);
+                    if (product != null) {
+                        return product;
+                    }
                     return new DecimalValue(this.decimalValue().multiply(multiplicand.decimalValue(),
                             MathContext.DECIMAL128));
                 }
@@ -434,6 +479,10 @@ public class DecimalValue implements SimpleValue, BDecimal {
                 return NaN;
             default:
                 if (divisor.valueKind == DecimalValueKind.OTHER) {
+                    DecimalValue quotient = divideUnscaled(this, divisor);
+                    if (quotient != null) {
+                        return quotient;
+                    }
                     return new DecimalValue(this.decimalValue().divide(divisor.decimalValue(), MathContext.DECIMAL128));
                 }
                 if (divisor.valueKind == DecimalValueKind.POSITIVE_INFINITY ||
@@ -477,6 +526,9 @@ public class DecimalValue implements SimpleValue, BDecimal {
     public DecimalValue negate() {
         switch (this.valueKind) {
             case OTHER:
+                if (unscaledValue != INFLATED) {
+                    return new DecimalValue(-unscaledValue, scale);
+                }
                 return new DecimalValue(this.decimalValue().negate());
             case POSITIVE_INFINITY:
                 return NEGATIVE_INF;
@@ -487,6 +539,102 @@ public class DecimalValue implements SimpleValue, BDecimal {
         }
     }
 
+    /**
+     * Compares the numeric value of this decimal with the given decimal, regardless of the kind of the values.
+     * @param other value to be compared with
+     * @return -1, 0 or 1 as this value is less than, equal to, or greater than the given value
+     */
+    public int compareTo(DecimalValue other) {
+        if (this.unscaledValue != INFLATED && other.unscaledValue != INFLATED) {
+            long lhs = this.unscaledValue;
+            long rhs = other.unscaledValue;
+            if (this.scale < other.scale) {
+                lhs = scaleUp(lhs, (long) other.scale - this.scale);
+            } else if (this.scale > other.scale) {
+                rhs = scaleUp(rhs, (long) this.scale - other.scale);
+            }
+            if (lhs != INFLATED && rhs != INFLATED) {
+                return Long.compare(lhs, rhs);
+            }
+        }
+        return this.decimalValue().compareTo(other.decimalValue());
+    }
+
+    /**
+     * Returns the sum of a decimal and the decimal with the given unscaled value and scale, if it can be computed on
+     * longs.
+     */
+    private static DecimalValue addUnscaled(DecimalValue lhsValue, long rhs, int rhsScale) {
+        long lhs = lhsValue.unscaledValue;
+        if (lhs == INFLATED || rhs == INFLATED) {
+            return null;
+        }
+        int scale = lhsValue.scale;
+        if (scale < rhsScale) {
+            lhs = scaleUp(lhs, (long) rhsScale - scale);
+            scale = rhsScale;
+        } else if (scale > rhsScale) {
+            rhs = scaleUp(rhs, (long) scale - rhsScale);
+        }
+        if (lhs == INFLATED || rhs == INFLATED) {
+            return null;
+        }
+        long sum = lhs + rhs;
+        if (((lhs ^ sum) & (rhs ^ sum)) < 0 || sum == INFLATED) {
+            return null;
+        }
+        return new DecimalValue(sum, scale);
+    }
+
+    /**
+     * Returns the product of two decimals, if it can be computed on longs.
+     */
+    private static DecimalValue multiplyUnscaled(DecimalValue lhsValue, DecimalValue rhsValue) {
+        long lhs = lhsValue.unscaledValue;
+        long rhs = rhsValue.unscaledValue;
+        long scale = (long) lhsValue.scale + rhsValue.scale;
+        if (lhs == INFLATED || rhs == INFLATED || scale != (int) scale) {
+            return null;
+        }
+        long product = lhs * rhs;
+        if (Math.multiplyHigh(lhs, rhs) != (product >> 63) || product == INFLATED) {
+            return null;
+        }
+        return new DecimalValue(product, (int) scale);
+    }
+
+    /**
+     * Returns the quotient of two decimals, if it is exact and can be computed on longs. The scale of an exact
+     * quotient is the difference of the scales, as the BigDecimal operation prefers.
+     */
+    private static DecimalValue divideUnscaled(DecimalValue lhsValue, DecimalValue rhsValue) {
+        long lhs = lhsValue.unscaledValue;
+        long rhs = rhsValue.unscaledValue;
+        long scale = (long) lhsValue.scale - rhsValue.scale;
+        if (lhs == INFLATED || rhs == INFLATED || rhs == 0 || scale != (int) scale || lhs % rhs != 0) {
+            return null;
+        }
+        return new DecimalValue(lhs / rhs, (int) scale);
+    }
+
+    /**
+     * Returns the value multiplied by 10^n, or INFLATED if the result does not fit in a long.
+     */
+    private static long scaleUp(long value, long n) {
+        if (value == 0) {
+            return 0;
+        }
+        if (n >= LONG_TEN_POWERS.length) {
+            return INFLATED;
+        }
+        long power = LONG_TEN_POWERS[(int) n];
+        long bound = Long.MAX_VALUE / power;
+        if (value > bound || value < -bound) {
+            return INFLATED;
+        }
+        return value * power;
+    }
+
     @Override
     public BDecimal add(BDecimal augend) {
         return add((DecimalValue) augend);
@@ -533,12 +681,12 @@ public class DecimalValue implements SimpleValue, BDecimal {
         }
 
         DecimalValue bDecimal = (DecimalValue) obj;
-        return ((value.compareTo(bDecimal.value) == 0) && (this.valueKind == bDecimal.valueKind));
+        return ((compareTo(bDecimal) == 0) && (this.valueKind == bDecimal.valueKind));
     }
 
     @Override
     public int hashCode() {
-        return value.hashCode();
+        return decimalValue().hashCode();
     }
 
     /**
@@ -556,7 +704,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return decimal value
      */
     public static DecimalValue valueOf(int value) {
-        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        return new DecimalValue(value * 10L, 1);
     }
 
     /**
@@ -565,9 +713,26 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return decimal value
      */
     public static DecimalValue valueOf(long value) {
+        long unscaledValue = scaleUp(value, 1);
+        if (unscaledValue != INFLATED) {
+            return new DecimalValue(unscaledValue, 1);
+        }
         return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
     }
 
+    /**
+     * Returns decimal of given unscaled value and scale, i.e. {@code unscaledValue * 10^-scale}.
+     * @param unscaledValue unscaled value
+     * @param scale scale of the value
+     * @return decimal value
+     */
+    public static DecimalValue valueOf(long unscaledValue, int scale) {
+        if (unscaledValue == INFLATED) {
+            return new DecimalValue(BigDecimal.valueOf(unscaledValue, scale));
+        }
+        return new DecimalValue(unscaledValue, scale);
+    }
+
     /**
      * Returns decimal of given double value.
      * @param value double value
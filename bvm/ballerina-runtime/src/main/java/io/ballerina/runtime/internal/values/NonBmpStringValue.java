@@ -17,7 +17,6 @@
   */
  package io.ballerina.runtime.internal.values;
 
- import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.values.BString;
 
 import java.util.Arrays;
@@ -29,6 +28,8 @@ import java.util.Arrays;
   */
  public class NonBmpStringValue extends StringValue {
 
+     // Code point indexes of the surrogate pairs in ascending order. The char offset of a code point is its index plus
+     // the number of surrogate pairs before it, hence this is searched to map between code point indexes and offsets.
      private final int[] surrogates;
 
      public NonBmpStringValue(String value, int[] surrogatePairLocations) {
@@ -42,17 +43,12 @@ import java.util.Arrays;
             throw new StringIndexOutOfBoundsException(index);
         }
 
-        int offset = index;
-        for (int surrogate : surrogates) {
-            if (surrogate < index) {
-                offset++;
-            } else if (surrogate > index) {
-                break;
-            } else {
-                return Character.toCodePoint(value.charAt(offset), value.charAt(offset + 1));
-            }
+        int offset = getOffset(index);
+        char c = value.charAt(offset);
+        if (Character.isHighSurrogate(c)) {
+            return Character.toCodePoint(c, value.charAt(offset + 1));
         }
-        return value.charAt(offset);
+        return c;
     }
 
     @Override
@@ -63,6 +59,10 @@ import java.util.Arrays;
     @Override
     public BString concat(BString str) {
         StringValue stringValue = (StringValue) str;
+        if (stringValue instanceof ConcatenatedStringValue ||
+                value.length() + stringValue.getValue().length() >= ConcatenatedStringValue.MIN_LENGTH) {
+            return ConcatenatedStringValue.concat(value, surrogates.length, str);
+        }
         if (stringValue.isNonBmp) {
             NonBmpStringValue other = (NonBmpStringValue) str;
             int[] both = Arrays.copyOf(surrogates, surrogates.length + other.surrogates.length);
@@ -82,50 +82,60 @@ import java.util.Arrays;
      @Override
      public Long indexOf(BString str, int fromIndex) {
          int offset = getOffset(fromIndex);
-         long index = value.indexOf(str.getValue(), offset);
+         int index = value.indexOf(str.getValue(), offset);
          if (index < 0) {
              return null;
          }
-         for (int i = 0; i < index; i++) {
-             char c = value.charAt(i);
-             if (Character.isHighSurrogate(c)) {
-                 index--;
-             }
-         }
-         return index;
+         return (long) getIndex(index);
      }
 
      @Override
      public Long lastIndexOf(BString str, int fromIndex) {
          int offset = getOffset(fromIndex);
-         long index = value.lastIndexOf(str.getValue(), offset);
+         int index = value.lastIndexOf(str.getValue(), offset);
          if (index < 0) {
              return null;
          }
-         for (int i = 0; i < index; i++) {
-             char c = value.charAt(i);
-             if (Character.isHighSurrogate(c)) {
-                 index--;
-             }
-         }
-         return index;
+         return (long) getIndex(index);
      }
+
      @Override
      public BString substring(int beginIndex, int endIndex) {
-         int beginOffset = getOffset(beginIndex);
-         int endOffset = getOffset(endIndex);
-         return StringUtils.fromString(value.substring(beginOffset, endOffset));
+         int beginSurrogate = getSurrogateCount(beginIndex);
+         int endSurrogate = getSurrogateCount(endIndex);
+         String substring = value.substring(beginIndex + beginSurrogate, endIndex + endSurrogate);
+         if (beginSurrogate == endSurrogate) {
+             return new BmpStringValue(substring);
+         }
+         int[] substringSurrogates = new int[endSurrogate - beginSurrogate];
+         for (int i = 0; i < substringSurrogates.length; i++) {
+             substringSurrogates[i] = surrogates[beginSurrogate + i] - beginIndex;
+         }
+         return new NonBmpStringValue(substring, substringSurrogates);
+     }
+
+     private int getOffset(int index) {
+         return index + getSurrogateCount(index);
+     }
+
+     private int getSurrogateCount(int index) {
+         // Number of surrogate pairs before the code point at the index.
+         int position = Arrays.binarySearch(surrogates, index);
+         return position >= 0 ? position : -position - 1;
      }
 
-     private int getOffset(int fromIndex) {
-         int offset = fromIndex;
-         for (int surrogate : surrogates) {
-             if (surrogate < fromIndex) {
-                 offset++;
+     private int getIndex(int offset) {
+         // Counts the surrogate pairs starting before the offset, i.e. the pairs where surrogates[i] + i < offset.
+         int low = 0;
+         int high = surrogates.length;
+         while (low < high) {
+             int mid = (low + high) >>> 1;
+             if (surrogates[mid] + mid < offset) {
+                 low = mid + 1;
              } else {
-                 break;
+                 high = mid;
              }
          }
-         return offset;
+         return offset - low;
      }
  }
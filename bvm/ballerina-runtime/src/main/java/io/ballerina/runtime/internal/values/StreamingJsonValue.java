@@ -23,12 +23,14 @@ import io.ballerina.runtime.api.values.BStreamingJson;
 import io.ballerina.runtime.internal.JsonDataSource;
 import io.ballerina.runtime.internal.JsonGenerator;
 import io.ballerina.runtime.internal.JsonUtils;
+import io.ballerina.runtime.internal.Utf8JsonGenerator;
 import io.ballerina.runtime.internal.types.BArrayType;
 import io.ballerina.runtime.internal.types.BMapType;
 
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Writer;
+import java.nio.charset.Charset;
 import java.util.Map;
 
 /**
@@ -110,6 +112,25 @@ public class StreamingJsonValue extends ArrayValueImpl implements BStreamingJson
         }
     }
 
+    /**
+     * Serialize to the given {@code Utf8JsonGenerator}.
+     * @param gen {@code Utf8JsonGenerator} to use
+     */
+    public void serialize(Utf8JsonGenerator gen) {
+        try {
+            gen.writeStartArray();
+            for (int i = 0; i < size; i++) {
+                gen.serialize(refValues[i]);
+            }
+            while (datasource.hasNext()) {
+                gen.serialize(datasource.next());
+            }
+            gen.writeEndArray();
+        } catch (IOException e) {
+            throw JsonUtils.createJsonConversionError(e, "error occurred while serializing data");
+        }
+    }
+
     /**
      * Serialize the value to given {@code Writer}.
      * @param writer {@code Writer} to be used
@@ -120,6 +141,14 @@ public class StreamingJsonValue extends ArrayValueImpl implements BStreamingJson
 
     @Override
     public void serialize(OutputStream outputStream) {
+        if (Utf8JsonGenerator.isUtf8(Charset.defaultCharset())) {
+            try {
+                Utf8JsonGenerator.serialize(this, outputStream);
+            } catch (IOException e) {
+                throw JsonUtils.createJsonConversionError(e, "error occurred while serializing data");
+            }
+            return;
+        }
         serialize(new JsonGenerator(outputStream));
     }
 
@@ -31,7 +31,8 @@ import java.util.Map;
  */
 public abstract class StringValue implements BString, SimpleValue {
 
-    final String value;
+    // Not final, as a concatenated string only creates its java string when it is needed.
+    String value;
     final boolean isNonBmp;
 
     protected StringValue(String value, boolean isNonBmp) {
@@ -66,7 +67,7 @@ public abstract class StringValue implements BString, SimpleValue {
 
     @Override
     public String stringValue(BLink parent) {
-        return value;
+        return getValue();
     }
 
     @Override
@@ -81,12 +82,12 @@ public abstract class StringValue implements BString, SimpleValue {
 
     @Override
     public String toString() {
-        return value;
+        return getValue();
     }
 
     @Override
     public int hashCode() {
-        return value.hashCode();
+        return getValue().hashCode();
     }
 
     @Override
@@ -95,7 +96,7 @@ public abstract class StringValue implements BString, SimpleValue {
             return true;
         }
         if (str instanceof BString) {
-            return ((BString) str).getValue().equals(value);
+            return ((BString) str).getValue().equals(getValue());
         }
         return false;
     }
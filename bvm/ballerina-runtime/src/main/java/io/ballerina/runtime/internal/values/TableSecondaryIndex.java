@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.internal.values;
+
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.TypeChecker;
+import io.ballerina.runtime.internal.ValueComparisonUtils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Secondary index of a table on a single field of the rows.
+ * <p>
+ * The index maps a field value to the insertion sequence numbers of the rows having that value (see
+ * {@link TableStorage#sequenceAt(int)}), so that the rows found through the index can be returned in table order.
+ * A hash index answers equality lookups only. A sorted index keeps the field values in the order of the relational
+ * operators and answers range lookups as well.
+ * <p>
+ * An index is only correct as long as the field of a row in the table does not change, hence it can only be created
+ * on a readonly field. Lookups return a superset of the matching rows for values that do not have a total order, such
+ * as NaN, so the caller is expected to apply the predicate on the returned rows again.
+ *
+ * @since 2.0.0
+ */
+final class TableSecondaryIndex {
+
+    static final String EQUAL = "==";
+    static final String LESS_THAN = "<";
+    static final String LESS_EQUAL = "<=";
+    static final String GREATER_THAN = ">";
+    static final String GREATER_EQUAL = ">=";
+
+    private final BString fieldName;
+    private final int fieldTypeTag;
+    private final boolean sorted;
+    private final Map<Object, SequenceList> entries;
+
+    TableSecondaryIndex(BString fieldName, int fieldTypeTag, boolean sorted) {
+        this.fieldName = fieldName;
+        this.fieldTypeTag = fieldTypeTag;
+        this.sorted = sorted;
+        this.entries = sorted ?
+                new TreeMap<>((lhs, rhs) -> ValueComparisonUtils.compareValues(lhs, rhs, "ascending")) :
+                new HashMap<>();
+    }
+
+    /**
+     * Checks whether a field of the given type can be indexed.
+     *
+     * @param fieldTypeTag tag of the field type
+     * @param sorted       whether the index is sorted
+     * @return true if the field values can be indexed
+     */
+    static boolean isIndexable(int fieldTypeTag, boolean sorted) {
+        if (TypeTags.isIntegerTypeTag(fieldTypeTag) || TypeTags.isStringTypeTag(fieldTypeTag)) {
+            return true;
+        }
+        if (sorted) {
+            return fieldTypeTag == TypeTags.FLOAT_TAG || fieldTypeTag == TypeTags.DECIMAL_TAG;
+        }
+        return fieldTypeTag == TypeTags.BOOLEAN_TAG;
+    }
+
+    BString getFieldName() {
+        return fieldName;
+    }
+
+    boolean isSorted() {
+        return sorted;
+    }
+
+    /**
+     * Checks whether the index can answer a lookup for the given operator and value.
+     *
+     * @param operator one of the operators declared in this class
+     * @param value    the value the field is compared with
+     * @return true if {@link #lookup(String, Object)} can be used
+     */
+    boolean supports(String operator, Object value) {
+        if (value == null || !isSameKind(TypeChecker.getType(value).getTag())) {
+            return false;
+        }
+        switch (operator) {
+            case EQUAL:
+                return true;
+            case LESS_THAN:
+            case LESS_EQUAL:
+            case GREATER_THAN:
+            case GREATER_EQUAL:
+                return sorted;
+            default:
+                return false;
+        }
+    }
+
+    private boolean isSameKind(int valueTypeTag) {
+        if (TypeTags.isIntegerTypeTag(fieldTypeTag)) {
+            return TypeTags.isIntegerTypeTag(valueTypeTag);
+        }
+        if (TypeTags.isStringTypeTag(fieldTypeTag)) {
+            return TypeTags.isStringTypeTag(valueTypeTag);
+        }
+        return fieldTypeTag == valueTypeTag;
+    }
+
+    void add(MapValue<?, ?> row, long sequence) {
+        entries.computeIfAbsent(row.get(fieldName), key -> new SequenceList()).add(sequence);
+    }
+
+    void remove(MapValue<?, ?> row, long sequence) {
+        Object key = row.get(fieldName);
+        SequenceList sequences = entries.get(key);
+        if (sequences != null && sequences.remove(sequence) && sequences.size == 0) {
+            entries.remove(key);
+        }
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Finds the rows whose field compares with the given value as the operator requires. The operator and the value
+     * must be {@link #supports(String, Object) supported}.
+     *
+     * @param operator one of the operators declared in this class
+     * @param value    the value the field is compared with
+     * @return the sequence numbers of the rows, in ascending order
+     */
+    long[] lookup(String operator, Object value) {
+        if (EQUAL.equals(operator)) {
+            SequenceList sequences = entries.get(value);
+            return sequences == null ? new long[0] : Arrays.copyOf(sequences.sequences, sequences.size);
+        }
+
+        NavigableMap<Object, SequenceList> sortedEntries = (NavigableMap<Object, SequenceList>) entries;
+        Collection<SequenceList> matches;
+        switch (operator) {
+            case LESS_THAN:
+                matches = sortedEntries.headMap(value, false).values();
+                break;
+            case LESS_EQUAL:
+                matches = sortedEntries.headMap(value, true).values();
+                break;
+            case GREATER_THAN:
+                matches = sortedEntries.tailMap(value, false).values();
+                break;
+            default:
+                matches = sortedEntries.tailMap(value, true).values();
+                break;
+        }
+
+        int count = 0;
+        for (SequenceList sequences : matches) {
+            count += sequences.size;
+        }
+        long[] result = new long[count];
+        int i = 0;
+        for (SequenceList sequences : matches) {
+            System.arraycopy(sequences.sequences, 0, result, i, sequences.size);
+            i += sequences.size;
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Sorted list of row sequence numbers. Rows are mostly added at the end of a table, so adding is usually an
+     * append.
+     */
+    private static final class SequenceList {
+
+        private long[] sequences = new long[2];
+        private int size;
+
+        void add(long sequence) {
+            if (size == sequences.length) {
+                sequences = Arrays.copyOf(sequences, size + (size >> 1) + 1);
+            }
+            int position = size;
+            if (size > 0 && sequences[size - 1] > sequence) {
+                position = -Arrays.binarySearch(sequences, 0, size, sequence) - 1;
+                System.arraycopy(sequences, position, sequences, position + 1, size - position);
+            }
+            sequences[position] = sequence;
+            size++;
+        }
+
+        boolean remove(long sequence) {
+            int position = Arrays.binarySearch(sequences, 0, size, sequence);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(sequences, position + 1, sequences, position, size - position - 1);
+            size--;
+            return true;
+        }
+    }
+}
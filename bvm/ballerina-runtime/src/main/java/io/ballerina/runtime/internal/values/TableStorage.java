@@ -0,0 +1,429 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.internal.values;
+
+import io.ballerina.runtime.internal.TableUtils;
+import io.ballerina.runtime.internal.TypeChecker;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Row storage of a table.
+ * <p>
+ * Rows are kept in insertion order in parallel arrays. A removed row leaves a hole, which is dropped when the rows are
+ * compacted, so removal does not shift the other rows. Keyed tables additionally have an open addressing index (linear
+ * probing) from the key to the row position. The index is looked up with the shape hash of the key, and the keys
+ * with the same hash are told apart with {@link TypeChecker#isEqual(Object, Object)}.
+ * <p>
+ * Compaction moves rows to other positions. Each row therefore has an insertion sequence number, which lets an
+ * iterator find its place again after a compaction, see {@link #generation()}.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the rows
+ *
+ * @since 2.0.0
+ */
+final class TableStorage<K, V> {
+
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int EMPTY = -1;
+
+    private final boolean keyed;
+
+    private Object[] rowKeys;
+    private Object[] rowValues;
+    private int[] rowHashes;
+    private long[] rowSequences;
+
+    /**
+     * Number of row positions in use, including the removed rows that have not been compacted yet.
+     */
+    private int rowCount;
+    private int size;
+    private long nextSequence;
+    private int generation;
+
+    /**
+     * Open addressing index holding row positions, or {@link #EMPTY}. Only used by keyed tables.
+     */
+    private int[] index;
+
+    TableStorage(boolean keyed) {
+        this.keyed = keyed;
+        init();
+    }
+
+    private void init() {
+        rowValues = new Object[INITIAL_CAPACITY];
+        rowSequences = new long[INITIAL_CAPACITY];
+        if (keyed) {
+            rowKeys = new Object[INITIAL_CAPACITY];
+            rowHashes = new int[INITIAL_CAPACITY];
+            index = newIndex(INITIAL_CAPACITY * 2);
+        }
+        rowCount = 0;
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean containsKey(Object key) {
+        return find(key, hash(key)) != EMPTY;
+    }
+
+    V get(Object key) {
+        int row = find(key, hash(key));
+        return row == EMPTY ? null : (V) rowValues[row];
+    }
+
+    /**
+     * Adds a row to a keyless table.
+     *
+     * @param value the row
+     */
+    void add(V value) {
+        appendRow(null, 0, value);
+    }
+
+    /**
+     * Adds or replaces the row with the given key. A replaced row keeps its position.
+     *
+     * @param key   the key of the row
+     * @param value the row
+     * @return the replaced row, or null if there was no row with the key
+     */
+    V put(K key, V value) {
+        int hash = hash(key);
+        int row = find(key, hash);
+        if (row != EMPTY) {
+            V oldValue = (V) rowValues[row];
+            rowKeys[row] = key;
+            rowValues[row] = value;
+            return oldValue;
+        }
+
+        if ((size + 1) * 2 > index.length) {
+            rebuildIndex(index.length * 2);
+        }
+        row = appendRow(key, hash, value);
+        insertIntoIndex(row);
+        return null;
+    }
+
+    V remove(Object key) {
+        int hash = hash(key);
+        int slot = findSlot(key, hash);
+        if (slot == EMPTY) {
+            return null;
+        }
+
+        int row = index[slot];
+        removeFromIndex(slot);
+        V oldValue = (V) rowValues[row];
+        rowKeys[row] = null;
+        rowValues[row] = null;
+        size--;
+
+        // Trailing holes can be dropped right away. Their positions get reused by the rows added next, hence the
+        // iterators past them have to find their place again.
+        if (row == rowCount - 1) {
+            while (rowCount > 0 && rowValues[rowCount - 1] == null) {
+                rowCount--;
+            }
+            generation++;
+        }
+        return oldValue;
+    }
+
+    void clear() {
+        init();
+        generation++;
+    }
+
+    /**
+     * Returns a number which changes whenever rows move to other positions.
+     *
+     * @return the generation of the row positions
+     */
+    int generation() {
+        return generation;
+    }
+
+    int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the row at the given position.
+     *
+     * @param position the row position
+     * @return the row, or null if the row was removed
+     */
+    V valueAt(int position) {
+        return (V) rowValues[position];
+    }
+
+    /**
+     * Returns the key of the row at the given position. The key of a row in a keyless table is the row itself.
+     *
+     * @param position the row position
+     * @return the key
+     */
+    K keyAt(int position) {
+        return keyed ? (K) rowKeys[position] : (K) rowValues[position];
+    }
+
+    long sequenceAt(int position) {
+        return rowSequences[position];
+    }
+
+    /**
+     * Returns the sequence number of the row with the given key.
+     *
+     * @param key the key of the row
+     * @return the sequence number, or -1 if there is no row with the key
+     */
+    long sequenceOf(Object key) {
+        int row = find(key, hash(key));
+        return row == EMPTY ? -1 : rowSequences[row];
+    }
+
+    /**
+     * Returns the sequence number given to the row added last.
+     *
+     * @return the sequence number
+     */
+    long lastSequence() {
+        return nextSequence - 1;
+    }
+
+    /**
+     * Finds the position of the first row added at or after the given sequence number.
+     *
+     * @param sequence the sequence number
+     * @return the row position, or {@link #rowCount()} if there is no such row
+     */
+    int positionOf(long sequence) {
+        int low = 0;
+        int high = rowCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (rowSequences[mid] < sequence) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    Object[] keys() {
+        if (!keyed) {
+            return new Object[0];
+        }
+        Object[] keys = new Object[size];
+        int i = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (rowValues[row] != null) {
+                keys[i++] = rowKeys[row];
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Returns a view of the rows in insertion order.
+     *
+     * @return the rows
+     */
+    Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new Iterator<V>() {
+                    private int cursor = 0;
+                    // Used to find the position of the next row again if the rows moved, as TableIterator does
+                    private int expectedGeneration = generation;
+                    private long nextSequence = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        if (expectedGeneration != generation) {
+                            expectedGeneration = generation;
+                            cursor = positionOf(nextSequence);
+                        }
+                        while (cursor < rowCount && rowValues[cursor] == null) {
+                            cursor++;
+                        }
+                        return cursor < rowCount;
+                    }
+
+                    @Override
+                    public V next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        nextSequence = rowSequences[cursor] + 1;
+                        return (V) rowValues[cursor++];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int appendRow(K key, int hash, V value) {
+        if (rowCount == rowValues.length) {
+            if ((rowCount - size) * 2 >= rowCount) {
+                compact();
+            } else {
+                grow(rowCount + (rowCount >> 1));
+            }
+        }
+
+        int row = rowCount++;
+        rowValues[row] = value;
+        rowSequences[row] = nextSequence++;
+        if (keyed) {
+            rowKeys[row] = key;
+            rowHashes[row] = hash;
+        }
+        size++;
+        return row;
+    }
+
+    private void grow(int capacity) {
+        rowValues = Arrays.copyOf(rowValues, capacity);
+        rowSequences = Arrays.copyOf(rowSequences, capacity);
+        if (keyed) {
+            rowKeys = Arrays.copyOf(rowKeys, capacity);
+            rowHashes = Arrays.copyOf(rowHashes, capacity);
+        }
+    }
+
+    /**
+     * Moves the rows over the holes left by removed rows, keeping their order.
+     */
+    private void compact() {
+        int live = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (rowValues[row] == null) {
+                continue;
+            }
+            rowValues[live] = rowValues[row];
+            rowSequences[live] = rowSequences[row];
+            if (keyed) {
+                rowKeys[live] = rowKeys[row];
+                rowHashes[live] = rowHashes[row];
+            }
+            live++;
+        }
+        Arrays.fill(rowValues, live, rowCount, null);
+        if (keyed) {
+            Arrays.fill(rowKeys, live, rowCount, null);
+        }
+        rowCount = live;
+        generation++;
+        if (keyed) {
+            rebuildIndex(index.length);
+        }
+    }
+
+    private int find(Object key, int hash) {
+        if (!keyed) {
+            return EMPTY;
+        }
+        int slot = findSlot(key, hash);
+        return slot == EMPTY ? EMPTY : index[slot];
+    }
+
+    private int findSlot(Object key, int hash) {
+        if (!keyed) {
+            return EMPTY;
+        }
+        int mask = index.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int row = index[slot];
+            if (row == EMPTY) {
+                return EMPTY;
+            }
+            if (rowHashes[row] == hash && TypeChecker.isEqual(rowKeys[row], key)) {
+                return slot;
+            }
+        }
+    }
+
+    private void insertIntoIndex(int row) {
+        int mask = index.length - 1;
+        int slot = rowHashes[row] & mask;
+        while (index[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = row;
+    }
+
+    /**
+     * Clears the given slot, moving the following entries of the probe sequence back so that lookups do not need
+     * tombstones.
+     */
+    private void removeFromIndex(int slot) {
+        int mask = index.length - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; index[next] != EMPTY; next = (next + 1) & mask) {
+            int ideal = rowHashes[index[next]] & mask;
+            if (((next - ideal) & mask) >= ((next - hole) & mask)) {
+                index[hole] = index[next];
+                hole = next;
+            }
+        }
+        index[hole] = EMPTY;
+    }
+
+    private void rebuildIndex(int capacity) {
+        index = newIndex(capacity);
+        for (int row = 0; row < rowCount; row++) {
+            if (rowValues[row] != null) {
+                insertIntoIndex(row);
+            }
+        }
+    }
+
+    private static int[] newIndex(int capacity) {
+        int[] index = new int[capacity];
+        Arrays.fill(index, EMPTY);
+        return index;
+    }
+
+    private static int hash(Object key) {
+        long hash = TableUtils.hash(key, null);
+        int h = (int) (hash ^ (hash >>> 32));
+        // Spread the bits, as the index uses the low bits only.
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
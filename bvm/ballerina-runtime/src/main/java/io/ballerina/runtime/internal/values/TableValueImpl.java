@@ -20,6 +20,7 @@ package io.ballerina.runtime.internal.values;
 import io.ballerina.runtime.api.TypeTags;
 import io.ballerina.runtime.api.creators.ErrorCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
 import io.ballerina.runtime.api.types.Field;
 import io.ballerina.runtime.api.types.TableType;
 import io.ballerina.runtime.api.types.Type;
@@ -32,8 +33,8 @@ import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.internal.CycleUtils;
 import io.ballerina.runtime.internal.IteratorUtils;
-import io.ballerina.runtime.internal.TableUtils;
 import io.ballerina.runtime.internal.TypeChecker;
+import io.ballerina.runtime.internal.types.BArrayType;
 import io.ballerina.runtime.internal.types.BIntersectionType;
 import io.ballerina.runtime.internal.types.BMapType;
 import io.ballerina.runtime.internal.types.BRecordType;
@@ -49,14 +50,12 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.StringJoiner;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 import static io.ballerina.runtime.api.constants.RuntimeConstants.TABLE_LANG_LIB;
 import static io.ballerina.runtime.internal.util.exceptions.BallerinaErrorReasons.INHERENT_TYPE_VIOLATION_ERROR_IDENTIFIER;
@@ -77,31 +76,23 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     private TableType type;
     private Type iteratorNextReturnType;
-    private ConcurrentHashMap<Long, Map.Entry<K, V>> entries;
-    private LinkedHashMap<Long, V> values;
-    private LinkedHashMap<Long, K> keys;
+    private TableStorage<K, V> storage;
     private String[] fieldNames;
     private ValueHolder valueHolder;
     private long maxIntKey = 0;
 
-    //These are required to achieve the iterator behavior
-    private LinkedHashMap<Long, Long> indexToKeyMap;
-    private LinkedHashMap<Long, Long> keyToIndexMap;
-    private long noOfAddedEntries = 0;
-
     private boolean nextKeySupported;
 
+    // Secondary indexes created through addSecondaryIndex(), null if there are none
+    private List<TableSecondaryIndex> secondaryIndexes;
+
     private final Map<String, Object> nativeData = new HashMap<>();
 
     public TableValueImpl(TableType type) {
         this.type = type;
 
-        this.entries = new ConcurrentHashMap<>();
-        this.keys = new LinkedHashMap<>();
-        this.values = new LinkedHashMap<>();
-        this.keyToIndexMap = new LinkedHashMap<>();
-        this.indexToKeyMap = new LinkedHashMap<>();
         this.fieldNames = type.getFieldNames();
+        this.storage = new TableStorage<>(fieldNames != null);
         if (type.getFieldNames() != null) {
             this.valueHolder = new KeyHashValueHolder();
         } else {
@@ -215,23 +206,28 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     @Override
     public Set<Map.Entry<K, V>> entrySet() {
-        return new LinkedHashSet<>(entries.values());
+        Set<Map.Entry<K, V>> entries = new LinkedHashSet<>();
+        for (int row = 0; row < storage.rowCount(); row++) {
+            V value = storage.valueAt(row);
+            if (value != null) {
+                entries.add(new AbstractMap.SimpleEntry<>(storage.keyAt(row), value));
+            }
+        }
+        return entries;
     }
 
     @Override
     public Collection<V> values() {
-        return values.values();
+        return storage.values();
     }
 
     @Override
     public void clear() {
         handleFrozenTableValue();
-        entries.clear();
-        keys.clear();
-        values.clear();
-        keyToIndexMap.clear();
-        indexToKeyMap.clear();
-        noOfAddedEntries = 0;
+        storage.clear();
+        if (secondaryIndexes != null) {
+            secondaryIndexes.forEach(TableSecondaryIndex::clear);
+        }
     }
 
     @Override
@@ -260,13 +256,156 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
                                                                         + "The key sequence should only have an " +
                                                                            "Integer field."));
         }
-        return keys.size() == 0 ? 0 : (this.maxIntKey + 1);
+        return storage.size() == 0 ? 0 : (this.maxIntKey + 1);
     }
 
     public Type getKeyType() {
         return this.valueHolder.getKeyType();
     }
 
+    /**
+     * Creates a secondary index on a field of the rows, which is maintained as rows are added, replaced and removed.
+     * Only readonly fields can be indexed, as the index cannot observe updates to the rows themselves. Creating an
+     * index which already exists has no effect.
+     *
+     * @param fieldName name of the field
+     * @param sorted    true to create a sorted index, which supports range lookups, false to create a hash index
+     */
+    public void addSecondaryIndex(BString fieldName, boolean sorted) {
+        if (secondaryIndexes != null) {
+            for (TableSecondaryIndex index : secondaryIndexes) {
+                if (index.getFieldName().equals(fieldName) && index.isSorted() == sorted) {
+                    return;
+                }
+            }
+        }
+
+        Type fieldType = getIndexedFieldType(fieldName);
+        if (!TableSecondaryIndex.isIndexable(fieldType.getTag(), sorted)) {
+            throw ErrorCreator.createError(OPERATION_NOT_SUPPORTED_ERROR,
+                                           StringUtils.fromString("cannot create a " + (sorted ? "sorted" : "hash") +
+                                                                          " index on field '" + fieldName +
+                                                                          "' of type '" + fieldType + "'"));
+        }
+
+        TableSecondaryIndex index = new TableSecondaryIndex(fieldName, fieldType.getTag(), sorted);
+        for (int row = 0; row < storage.rowCount(); row++) {
+            V value = storage.valueAt(row);
+            if (value != null) {
+                index.add((MapValue<?, ?>) value, storage.sequenceAt(row));
+            }
+        }
+        if (secondaryIndexes == null) {
+            secondaryIndexes = new ArrayList<>(1);
+        }
+        secondaryIndexes.add(index);
+    }
+
+    /**
+     * Finds the rows whose field compares with the given value as the operator requires, using a secondary index.
+     * Rows which do not match may be returned as well, e.g. rows with NaN fields, hence the predicate should be
+     * applied on the returned rows.
+     *
+     * @param fieldName name of the field
+     * @param operator  one of "==", "<", "<=", ">" or ">="
+     * @param value     value the field is compared with
+     * @return the rows in table order, or null if there is no index on the field supporting the lookup
+     */
+    public ArrayValue getRowsFromSecondaryIndex(BString fieldName, String operator, Object value) {
+        if (secondaryIndexes == null) {
+            return null;
+        }
+
+        TableSecondaryIndex usableIndex = null;
+        for (TableSecondaryIndex index : secondaryIndexes) {
+            // A hash index is preferred for equality lookups
+            if (index.getFieldName().equals(fieldName) && index.supports(operator, value) &&
+                    (usableIndex == null || !index.isSorted())) {
+                usableIndex = index;
+            }
+        }
+        if (usableIndex == null) {
+            return null;
+        }
+
+        long[] sequences = usableIndex.lookup(operator, value);
+        Object[] rows = new Object[sequences.length];
+        for (int i = 0; i < sequences.length; i++) {
+            rows[i] = storage.valueAt(storage.positionOf(sequences[i]));
+        }
+        return new ArrayValueImpl(rows, new BArrayType(type.getConstrainedType()));
+    }
+
+    private Type getIndexedFieldType(BString fieldName) {
+        Type constraintType = type.getConstrainedType();
+        if (constraintType.getTag() == TypeTags.INTERSECTION_TAG) {
+            constraintType = ((BIntersectionType) constraintType).getEffectiveType();
+        }
+        boolean readonlyRows = type.isReadOnly() || constraintType.isReadOnly();
+
+        if (constraintType.getTag() == TypeTags.RECORD_TYPE_TAG) {
+            Field field = ((BRecordType) constraintType).getFields().get(fieldName.getValue());
+            if (field == null) {
+                throw ErrorCreator.createError(OPERATION_NOT_SUPPORTED_ERROR,
+                                               StringUtils.fromString("cannot create an index on field '" +
+                                                                              fieldName + "': no such field in '" +
+                                                                              constraintType + "'"));
+            }
+            if (readonlyRows || SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.READONLY)) {
+                return field.getFieldType();
+            }
+        } else if (constraintType.getTag() == TypeTags.MAP_TAG && readonlyRows) {
+            return ((BMapType) constraintType).getConstrainedType();
+        }
+        throw ErrorCreator.createError(OPERATION_NOT_SUPPORTED_ERROR,
+                                       StringUtils.fromString("cannot create an index on field '" + fieldName +
+                                                                      "': the field is not readonly"));
+    }
+
+    private V putRow(K key, V data) {
+        if (secondaryIndexes == null) {
+            return storage.put(key, data);
+        }
+
+        long sequence = storage.sequenceOf(key);
+        V oldData = storage.put(key, data);
+        if (oldData != null) {
+            // A replaced row keeps its position in the table
+            for (TableSecondaryIndex index : secondaryIndexes) {
+                index.remove((MapValue<?, ?>) oldData, sequence);
+                index.add((MapValue<?, ?>) data, sequence);
+            }
+        } else {
+            addToSecondaryIndexes(data);
+        }
+        return oldData;
+    }
+
+    private V removeRow(K key) {
+        if (secondaryIndexes == null) {
+            return storage.remove(key);
+        }
+
+        long sequence = storage.sequenceOf(key);
+        V oldData = storage.remove(key);
+        if (oldData != null) {
+            for (TableSecondaryIndex index : secondaryIndexes) {
+                index.remove((MapValue<?, ?>) oldData, sequence);
+            }
+        }
+        return oldData;
+    }
+
+    private void addToSecondaryIndexes(V data) {
+        if (secondaryIndexes == null) {
+            return;
+        }
+        long sequence = storage.lastSequence();
+        for (TableSecondaryIndex index : secondaryIndexes) {
+            index.add((MapValue<?, ?>) data, sequence);
+        }
+    }
+
     @Override
     public V fillAndGet(Object key) {
         if (containsKey(key)) {
@@ -288,17 +427,17 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     @Override
     public K[] getKeys() {
-        return (K[]) keys.values().toArray(new Object[]{});
+        return (K[]) storage.keys();
     }
 
     @Override
     public int size() {
-        return entries.size();
+        return storage.size();
     }
 
     @Override
     public boolean isEmpty() {
-        return entries.isEmpty();
+        return storage.size() == 0;
     }
 
     @Override
@@ -323,7 +462,7 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
     }
 
     public String stringValue(BLink parent) {
-        Iterator<Map.Entry<Long, V>> itr = values.entrySet().iterator();
+        Iterator<V> itr = values().iterator();
         return createStringValueDataEntry(itr, parent);
     }
 
@@ -334,21 +473,21 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     @Override
     public String expressionStringValue(BLink parent) {
-        Iterator<Map.Entry<Long, V>> itr = values.entrySet().iterator();
+        Iterator<V> itr = values().iterator();
         return createExpressionStringValueDataEntry(itr, parent);
     }
 
-    private String createStringValueDataEntry(Iterator<Map.Entry<Long, V>> itr, BLink parent) {
+    private String createStringValueDataEntry(Iterator<V> itr, BLink parent) {
         StringJoiner sj = new StringJoiner(",");
         while (itr.hasNext()) {
-            Map.Entry<Long, V> struct = itr.next();
-            sj.add(StringUtils.getStringValue(struct.getValue(),
+            V struct = itr.next();
+            sj.add(StringUtils.getStringValue(struct,
                                               new CycleUtils.Node(this, parent)));
         }
         return "[" + sj.toString() + "]";
     }
 
-    private String createExpressionStringValueDataEntry(Iterator<Map.Entry<Long, V>> itr, BLink parent) {
+    private String createExpressionStringValueDataEntry(Iterator<V> itr, BLink parent) {
         StringJoiner sj = new StringJoiner(",");
         StringJoiner keyJoiner = new StringJoiner(",");
         if (type.getFieldNames() != null) {
@@ -358,8 +497,8 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
             }
         }
         while (itr.hasNext()) {
-            Map.Entry<Long, V> struct = itr.next();
-            sj.add(StringUtils.getExpressionStringValue(struct.getValue(),
+            V struct = itr.next();
+            sj.add(StringUtils.getExpressionStringValue(struct,
                                                         new CycleUtils.Node(this, parent)));
         }
         return "table key(" + keyJoiner.toString() + ") [" + sj.toString() + "]";
@@ -405,39 +544,49 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
     }
 
     private class TableIterator<K, V> implements IteratorValue {
-        private long cursor;
+        private int cursor;
+        // Used to find the position of the next row again if the rows were compacted.
+        private int generation;
+        private long nextSequence;
 
         TableIterator() {
             this.cursor = 0;
+            this.generation = storage.generation();
+            this.nextSequence = 0;
         }
 
         @Override
         public Object next() {
-            Long hash = indexToKeyMap.get(cursor);
-            if (hash != null) {
-                Map.Entry<K, V> next = (Map.Entry<K, V>) entries.get(hash);
-                V value = next.getValue();
-                K key = next.getKey();
-
-                List<Type> types = new ArrayList<>();
-                types.add(TypeChecker.getType(key));
-                types.add(TypeChecker.getType(value));
-                BTupleType tupleType = new BTupleType(types);
-
-                TupleValueImpl tuple = new TupleValueImpl(tupleType);
-                tuple.add(0, key);
-                tuple.add(1, value);
-                cursor++;
-                return tuple;
-            } else {
-                cursor++;
-                return next();
+            if (!hasNext()) {
+                throw new NoSuchElementException();
             }
+            V value = (V) storage.valueAt(cursor);
+            K key = (K) storage.keyAt(cursor);
+
+            List<Type> types = new ArrayList<>();
+            types.add(TypeChecker.getType(key));
+            types.add(TypeChecker.getType(value));
+            BTupleType tupleType = new BTupleType(types);
+
+            TupleValueImpl tuple = new TupleValueImpl(tupleType);
+            tuple.add(0, key);
+            tuple.add(1, value);
+            nextSequence = storage.sequenceAt(cursor) + 1;
+            cursor++;
+            return tuple;
         }
 
         @Override
         public boolean hasNext() {
-           return cursor < noOfAddedEntries;
+            if (generation != storage.generation()) {
+                generation = storage.generation();
+                cursor = storage.positionOf(nextSequence);
+            }
+            // Skip the removed rows
+            while (cursor < storage.rowCount() && storage.valueAt(cursor) == null) {
+                cursor++;
+            }
+            return cursor < storage.rowCount();
         }
     }
 
@@ -459,11 +608,9 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
         public V putData(V data) {
             checkInherentTypeViolation((MapValue) data, type);
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry(data, data);
-            UUID uuid = UUID.randomUUID();
-            entries.put((long) uuid.hashCode(), entry);
-            updateIndexKeyMappings((long) uuid.hashCode());
-            return values.put((long) uuid.hashCode(), data);
+            storage.add(data);
+            addToSecondaryIndexes(data);
+            return null;
         }
 
         public V remove(K key) {
@@ -504,63 +651,42 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
                                                StringUtils.fromString("A value " + "found for key '" + key + "'"));
             }
 
-            if (nextKeySupported && (keys.size() == 0 || maxIntKey < TypeChecker.anyToInt(key))) {
+            if (nextKeySupported && (storage.size() == 0 || maxIntKey < TypeChecker.anyToInt(key))) {
                 maxIntKey = ((Long) TypeChecker.anyToInt(key)).intValue();
             }
 
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry(key, data);
-            Long hash = TableUtils.hash(key, null);
-            putData(key, data, entry, hash);
+            storage.put(key, data);
+            addToSecondaryIndexes(data);
         }
 
         public V getData(K key) {
-            return values.get(TableUtils.hash(key, null));
+            return storage.get(key);
         }
 
         public V putData(K key, V data) {
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry<>(key, data);
             Object actualKey = this.keyWrapper.wrapKey((MapValue) data);
-            Long actualHash = TableUtils.hash(actualKey, null);
-            Long hash = TableUtils.hash(key, null);
 
-            if (!hash.equals(actualHash)) {
+            if (!TypeChecker.isEqual(key, actualKey)) {
                 throw ErrorCreator.createError(TABLE_KEY_NOT_FOUND_ERROR, StringUtils.fromString("The key '" +
                         key + "' not found in value " + data.toString()));
             }
 
-            return putData(key, data, entry, hash);
-        }
-
-        private V putData(K key, V data, Map.Entry<K, V> entry, Long hash) {
-            entries.put(hash, entry);
-            keys.put(hash, key);
-            updateIndexKeyMappings(hash);
-            return values.put(hash, data);
+            return putRow(key, data);
         }
 
         public V putData(V data) {
             MapValue dataMap = (MapValue) data;
             checkInherentTypeViolation(dataMap, type);
             K key = this.keyWrapper.wrapKey(dataMap);
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry<>(key, data);
-            Long hash = TableUtils.hash(key, null);
-            return putData((K) key, data, entry, hash);
+            return putRow(key, data);
         }
 
         public V remove(K key) {
-            Long hash = TableUtils.hash(key, null);
-            entries.remove(hash);
-            keys.remove(hash);
-            Long index = keyToIndexMap.remove(hash);
-            indexToKeyMap.remove(index);
-            if (index != null && index == noOfAddedEntries - 1) {
-                noOfAddedEntries--;
-            }
-            return values.remove(hash);
+            return removeRow(key);
         }
 
         public boolean containsKey(K key) {
-            return keys.containsKey(TableUtils.hash(key, null));
+            return storage.containsKey(key);
         }
 
         public Type getKeyType() {
@@ -611,15 +737,6 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
         }
     }
 
-    // This method updates the indexes and the order required by the iterators
-    private void updateIndexKeyMappings(Long hash) {
-        if (!keyToIndexMap.containsKey(hash)) {
-            keyToIndexMap.put(hash, noOfAddedEntries);
-            indexToKeyMap.put(noOfAddedEntries, hash);
-            noOfAddedEntries++;
-        }
-    }
-
     // This method checks for inherent table type violation
     private void checkInherentTypeViolation(MapValue dataMap, TableType type) {
         if (!TypeChecker.checkIsType(dataMap.getType(), type.getConstrainedType())) {
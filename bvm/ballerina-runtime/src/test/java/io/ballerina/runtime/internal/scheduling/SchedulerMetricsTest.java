@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.scheduling;
+
+import io.ballerina.runtime.internal.BLock;
+import io.ballerina.runtime.observability.metrics.AbstractMetric;
+import io.ballerina.runtime.observability.metrics.Metric;
+import io.ballerina.runtime.observability.metrics.MetricId;
+import io.ballerina.runtime.observability.metrics.MetricRegistry;
+import io.ballerina.runtime.observability.metrics.PolledGauge;
+import io.ballerina.runtime.observability.metrics.noop.NoOpMetricProvider;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Test cases for {@link SchedulerMetrics}. These run only if the BALLERINA_SCHEDULER_METRICS system variable is set
+ * to true, as in the schedulerMetricsTest task.
+ */
+public class SchedulerMetricsTest {
+
+    private static final long TIMEOUT_MILLIS = 10000;
+
+    private MetricRegistry registry;
+
+    @BeforeClass
+    public void setup() {
+        if (!SchedulerMetrics.ENABLED) {
+            throw new SkipException("scheduler metrics are not enabled");
+        }
+        registry = new MetricRegistry(new PolledMetricProvider());
+        SchedulerMetrics.register(registry);
+    }
+
+    @Test
+    public void testMetricsOfContendedLock() throws InterruptedException {
+        int numStrands = 4;
+        double lockContentions = getValue("lock_contentions_total");
+        double reschedules = getValue("reschedules_total");
+        Scheduler scheduler = new Scheduler(1, false);
+        BLock lock = new BLock();
+        Assert.assertTrue(lock.lock(new Strand("holder", null, null, null, null)));
+
+        // Each strand yields if the lock is held, and tries again once it is unblocked, as a lock statement does
+        Function<Object[], Object> lockStatement = params -> {
+            Strand strand = (Strand) params[0];
+            if (lock.lock(strand)) {
+                lock.unlock();
+            }
+            return null;
+        };
+        for (int i = 0; i < numStrands; i++) {
+            scheduler.schedule(new Object[1], lockStatement, null, null, "contender-" + i, null);
+        }
+        assertValue("run_queue_length", numStrands);
+        assertValue("active_strands", numStrands);
+
+        Thread worker = new Thread(scheduler::start, "test-scheduler");
+        worker.start();
+        awaitValue("parked_strands", numStrands);
+        assertValue("run_queue_length", 0);
+        assertValue("active_strands", numStrands);
+        assertValue("running_strands", 0);
+        assertValue("worker_threads", 1);
+        assertValue("lock_contentions_total", lockContentions + numStrands);
+
+        // The strands take the lock one after the other once it is released
+        lock.unlock();
+        worker.join(TIMEOUT_MILLIS);
+        Assert.assertFalse(worker.isAlive());
+        assertValue("active_strands", 0);
+        assertValue("parked_strands", 0);
+        assertValue("worker_threads", 0);
+        assertValue("reschedules_total", reschedules + numStrands);
+        assertValue("lock_contentions_total", lockContentions + numStrands);
+    }
+
+    private double getValue(String name) {
+        String metricName = "ballerina_scheduler_" + name;
+        for (Metric metric : registry.getAllMetrics()) {
+            if (metric.getId().getName().equals(metricName)) {
+                return ((PolledGauge) metric).getValue();
+            }
+        }
+        throw new AssertionError("metric not registered: " + metricName);
+    }
+
+    private void assertValue(String name, double value) {
+        Assert.assertEquals(getValue(name), value, 0, name);
+    }
+
+    private void awaitValue(String name, double value) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (getValue(name) != value) {
+            if (System.currentTimeMillis() > deadline) {
+                Assert.fail("expected " + name + " to be " + value + ", found " + getValue(name));
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Metric provider whose polled gauges report the values of the scheduler metrics.
+     */
+    private static class PolledMetricProvider extends NoOpMetricProvider {
+
+        @Override
+        public <T> PolledGauge newPolledGauge(MetricId metricId, T obj, ToDoubleFunction<T> toDoubleFunction) {
+            return new FunctionPolledGauge<>(metricId, obj, toDoubleFunction);
+        }
+    }
+
+    private static class FunctionPolledGauge<T> extends AbstractMetric implements PolledGauge {
+
+        private final T obj;
+        private final ToDoubleFunction<T> toDoubleFunction;
+
+        FunctionPolledGauge(MetricId metricId, T obj, ToDoubleFunction<T> toDoubleFunction) {
+            super(metricId);
+            this.obj = obj;
+            this.toDoubleFunction = toDoubleFunction;
+        }
+
+        @Override
+        public double getValue() {
+            return toDoubleFunction.applyAsDouble(obj);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.scheduling;
+
+import io.ballerina.runtime.api.constants.RuntimeConstants;
+import io.ballerina.runtime.internal.BLock;
+import io.ballerina.runtime.internal.values.FutureValue;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Test cases for the scheduler running strands on virtual threads. These run only if the BALLERINA_VIRTUAL_THREADS
+ * system variable is set to true and the JVM supports virtual threads, as in the virtualThreadsTest task.
+ */
+public class VirtualThreadSchedulerTest {
+
+    private static final long TIMEOUT_MILLIS = 10000;
+
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    private Method isVirtual;
+
+    @BeforeClass
+    public void setup() throws NoSuchMethodException {
+        if (!Boolean.parseBoolean(System.getenv(RuntimeConstants.BALLERINA_VIRTUAL_THREADS_ENV_VAR))) {
+            throw new SkipException("virtual threads are not enabled");
+        }
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("test-");
+        if (executor == null) {
+            throw new SkipException("virtual threads are not supported by the Java runtime");
+        }
+        executor.shutdown();
+        isVirtual = Thread.class.getMethod("isVirtual");
+    }
+
+    @Test
+    public void testBlockingCallsDoNotOccupyWorkers() {
+        int numStrands = 8;
+        Scheduler scheduler = new Scheduler(1, false);
+        CountDownLatch latch = new CountDownLatch(numStrands);
+        AtomicInteger released = new AtomicInteger();
+
+        // With a single platform worker, the first strand would block it and the others would never run
+        Function<Object[], Object> blockingCall = params -> {
+            recordThread(params);
+            latch.countDown();
+            try {
+                if (latch.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    released.incrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        };
+        List<FutureValue> futures = new ArrayList<>();
+        for (int i = 0; i < numStrands; i++) {
+            futures.add(scheduler.schedule(new Object[1], blockingCall, null, null, "blocking-" + i, null));
+        }
+
+        scheduler.start();
+        Assert.assertEquals(released.get(), numStrands);
+        assertShutdown(futures);
+    }
+
+    @Test
+    public void testWait() {
+        Scheduler scheduler = new Scheduler(1, false);
+        List<Object> results = Collections.synchronizedList(new ArrayList<>());
+
+        Function<Object[], Object> producer = params -> {
+            recordThread(params);
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 42L;
+        };
+        // The waiter yields until the producer is done, and runs again to take the result, as a wait action does
+        Function<Object[], Object> waiter = params -> {
+            recordThread(params);
+            Strand strand = (Strand) params[0];
+            try {
+                Strand.WaitResult result = strand.handleWaitAny(Collections.singletonList((FutureValue) params[1]));
+                if (result.done) {
+                    results.add(result.result);
+                }
+            } catch (Throwable t) {
+                results.add(t);
+            }
+            return null;
+        };
+        FutureValue produced = scheduler.schedule(new Object[1], producer, null, null, "producer", null);
+        FutureValue waited = scheduler.schedule(new Object[]{null, produced}, waiter, null, null, "waiter", null);
+
+        scheduler.start();
+        Assert.assertEquals(results, Collections.singletonList(42L));
+        assertShutdown(List.of(produced, waited));
+    }
+
+    @Test
+    public void testLockContention() {
+        int numStrands = 4;
+        Scheduler scheduler = new Scheduler(1, false);
+        BLock lock = new BLock();
+        Assert.assertTrue(lock.lock(new Strand("holder", null, null, null, null)));
+        AtomicInteger acquired = new AtomicInteger();
+
+        // Each strand yields if the lock is held, and tries again once it is unblocked, as a lock statement does
+        Function<Object[], Object> lockStatement = params -> {
+            recordThread(params);
+            Strand strand = (Strand) params[0];
+            if (lock.lock(strand)) {
+                acquired.incrementAndGet();
+                lock.unlock();
+            }
+            return null;
+        };
+        // The holder releases the lock only after the contenders are parked on it
+        Function<Object[], Object> release = params -> {
+            recordThread(params);
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            lock.unlock();
+            return null;
+        };
+        List<FutureValue> futures = new ArrayList<>();
+        for (int i = 0; i < numStrands; i++) {
+            futures.add(scheduler.schedule(new Object[1], lockStatement, null, null, "contender-" + i, null));
+        }
+        futures.add(scheduler.schedule(new Object[1], release, null, null, "holder", null));
+
+        scheduler.start();
+        Assert.assertEquals(acquired.get(), numStrands);
+        assertShutdown(futures);
+    }
+
+    private void recordThread(Object[] params) {
+        Thread thread = Thread.currentThread();
+        try {
+            if (!(boolean) isVirtual.invoke(thread)) {
+                throw new AssertionError("strand " + ((Strand) params[0]).getName() + " ran on " + thread);
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError(e);
+        }
+        threads.add(thread);
+    }
+
+    /**
+     * Asserts that the scheduler returned only after every strand was done and no group was still running on its
+     * virtual thread.
+     */
+    private void assertShutdown(List<FutureValue> futures) {
+        Assert.assertFalse(threads.isEmpty());
+        for (FutureValue future : futures) {
+            Assert.assertTrue(future.isDone, future.strand.getName().orElse(""));
+            Assert.assertNull(future.panic);
+            Assert.assertFalse(future.strand.strandGroup.scheduled.get(), future.strand.getName().orElse(""));
+        }
+        threads.clear();
+    }
+}
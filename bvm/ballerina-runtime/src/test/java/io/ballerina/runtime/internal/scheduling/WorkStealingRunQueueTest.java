@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.scheduling;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.ballerina.runtime.internal.scheduling.ItemGroup.POISON_PILL;
+
+/**
+ * Test cases for {@link WorkStealingRunQueue}.
+ */
+public class WorkStealingRunQueueTest {
+
+    private static final long TIMEOUT_MILLIS = 10000;
+
+    @Test
+    public void testLocalGroupsAreTakenInLifoOrder() throws InterruptedException {
+        WorkStealingRunQueue queue = new WorkStealingRunQueue(2);
+        queue.register(0);
+        ItemGroup first = newGroup();
+        ItemGroup second = newGroup();
+        ItemGroup third = newGroup();
+        queue.add(first);
+        queue.add(second);
+        queue.add(third);
+
+        Assert.assertSame(queue.take(), third);
+        Assert.assertSame(queue.take(), second);
+        Assert.assertSame(queue.take(), first);
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testInjectedGroupsAreTakenInFifoOrder() throws InterruptedException {
+        WorkStealingRunQueue queue = new WorkStealingRunQueue(2);
+        ItemGroup first = newGroup();
+        ItemGroup second = newGroup();
+        ItemGroup third = newGroup();
+        // Added by a thread which is not a worker
+        queue.add(first);
+        queue.add(second);
+        queue.add(third);
+
+        queue.register(0);
+        Assert.assertSame(queue.take(), first);
+        Assert.assertSame(queue.take(), second);
+        Assert.assertSame(queue.take(), third);
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testIdleWorkerStealsOldestGroups() throws Exception {
+        WorkStealingRunQueue queue = new WorkStealingRunQueue(2);
+        ItemGroup first = newGroup();
+        ItemGroup second = newGroup();
+        ItemGroup third = newGroup();
+        Worker<Void> producer = startWorker(queue, 0, () -> {
+            queue.add(first);
+            queue.add(second);
+            queue.add(third);
+            return null;
+        });
+        producer.get();
+
+        // Stolen from the tail of the deque of worker 0, in the order the groups were added
+        queue.register(1);
+        Assert.assertSame(queue.take(), first);
+        Assert.assertSame(queue.take(), second);
+        // The owner still takes its latest group from the head
+        Assert.assertSame(startWorker(queue, 0, queue::take).get(), third);
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testPoisonPillIsTakenAfterRemainingGroups() throws InterruptedException {
+        WorkStealingRunQueue queue = new WorkStealingRunQueue(2);
+        queue.register(0);
+        ItemGroup group = newGroup();
+        queue.add(group);
+        queue.addPoisonPill();
+
+        Assert.assertSame(queue.take(), group);
+        Assert.assertSame(queue.take(), POISON_PILL);
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testParkedWorkerIsWokenByNewGroup() throws Exception {
+        WorkStealingRunQueue queue = new WorkStealingRunQueue(2);
+        Worker<ItemGroup> worker = startWorker(queue, 1, queue::take);
+        worker.awaitParked();
+
+        ItemGroup group = newGroup();
+        queue.add(group);
+        Assert.assertSame(worker.get(), group);
+    }
+
+    @Test
+    public void testParkedWorkersAreTerminatedByPoisonPills() throws Exception {
+        WorkStealingRunQueue queue = new WorkStealingRunQueue(2);
+        Worker<ItemGroup> worker0 = startWorker(queue, 0, queue::take);
+        Worker<ItemGroup> worker1 = startWorker(queue, 1, queue::take);
+        worker0.awaitParked();
+        worker1.awaitParked();
+
+        queue.addPoisonPill();
+        queue.addPoisonPill();
+        Assert.assertSame(worker0.get(), POISON_PILL);
+        Assert.assertSame(worker1.get(), POISON_PILL);
+    }
+
+    @Test
+    public void testEachGroupIsTakenOnce() throws Exception {
+        int numWorkers = 4;
+        int numGroups = 20000;
+        WorkStealingRunQueue queue = new WorkStealingRunQueue(numWorkers);
+        // Half of the groups make another group runnable on the worker taking them, as a spawned strand does
+        Set<ItemGroup> spawningGroups = ConcurrentHashMap.newKeySet();
+        Set<ItemGroup> takenGroups = ConcurrentHashMap.newKeySet();
+        AtomicInteger takeCount = new AtomicInteger();
+        List<Worker<Void>> workers = new ArrayList<>();
+        for (int i = 0; i < numWorkers; i++) {
+            workers.add(startWorker(queue, i, () -> {
+                ItemGroup group;
+                while ((group = queue.take()) != POISON_PILL) {
+                    takenGroups.add(group);
+                    takeCount.incrementAndGet();
+                    if (spawningGroups.remove(group)) {
+                        queue.add(newGroup());
+                    }
+                }
+                return null;
+            }));
+        }
+
+        for (int i = 0; i < numGroups; i++) {
+            ItemGroup group = newGroup();
+            if (i % 2 == 0) {
+                spawningGroups.add(group);
+            }
+            queue.add(group);
+        }
+        int expectedCount = numGroups + numGroups / 2;
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (takeCount.get() < expectedCount && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        for (int i = 0; i < numWorkers; i++) {
+            queue.addPoisonPill();
+        }
+        for (Worker<Void> worker : workers) {
+            worker.get();
+        }
+        Assert.assertEquals(takeCount.get(), expectedCount);
+        Assert.assertEquals(takenGroups.size(), expectedCount);
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    private static ItemGroup newGroup() {
+        return new ItemGroup(null);
+    }
+
+    private static <T> Worker<T> startWorker(WorkStealingRunQueue queue, int workerId, Callable<T> callable) {
+        Worker<T> worker = new Worker<>(() -> {
+            queue.register(workerId);
+            return callable.call();
+        });
+        worker.thread.start();
+        return worker;
+    }
+
+    /**
+     * A thread registered as a worker of the queue, running the given task.
+     *
+     * @param <T> result type of the task
+     */
+    private static class Worker<T> {
+
+        private final FutureTask<T> task;
+        private final Thread thread;
+
+        Worker(Callable<T> callable) {
+            this.task = new FutureTask<>(callable);
+            this.thread = new Thread(task, "test-worker");
+        }
+
+        T get() throws InterruptedException, ExecutionException, TimeoutException {
+            return task.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        void awaitParked() throws InterruptedException {
+            long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+            while (thread.getState() != Thread.State.WAITING) {
+                if (System.currentTimeMillis() > deadline) {
+                    Assert.fail("worker is not parked, state: " + thread.getState());
+                }
+                Thread.sleep(1);
+            }
+        }
+    }
+}
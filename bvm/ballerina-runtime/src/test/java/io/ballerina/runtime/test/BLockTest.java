@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.test;
+
+import io.ballerina.runtime.internal.BLock;
+import io.ballerina.runtime.internal.scheduling.Strand;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for the shared and exclusive modes of {@link BLock}.
+ */
+public class BLockTest {
+
+    @Test
+    public void testReadersShareTheLock() {
+        BLock lock = new BLock();
+        Strand reader1 = newStrand();
+        Strand reader2 = newStrand();
+        Strand writer = newStrand();
+
+        Assert.assertTrue(lock.lockRead(reader1));
+        Assert.assertTrue(lock.lockRead(reader2));
+        lock.unlockRead(reader1);
+        Assert.assertFalse(lock.isLockFree());
+        lock.unlockRead(reader2);
+        Assert.assertTrue(lock.isLockFree());
+
+        Assert.assertTrue(lock.lockRead(reader1));
+        Assert.assertFalse(lock.lock(writer));
+        Assert.assertTrue(writer.isBlocked());
+    }
+
+    @Test
+    public void testWriterMayTakeNestedReadLock() {
+        BLock lock = new BLock();
+        Strand writer = newStrand();
+
+        Assert.assertTrue(lock.lock(writer));
+        Assert.assertTrue(lock.lockRead(writer));
+        lock.unlockRead(writer);
+        lock.unlock();
+        Assert.assertTrue(lock.isLockFree());
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class,
+            expectedExceptionsMessageRegExp = "cannot acquire a lock exclusively while holding it in shared mode")
+    public void testReadLockCannotBeUpgraded() {
+        BLock lock = new BLock();
+        Strand reader = newStrand();
+
+        Assert.assertTrue(lock.lockRead(reader));
+        lock.lock(reader);
+    }
+
+    private static Strand newStrand() {
+        return new Strand("test", null, null, null, null);
+    }
+}
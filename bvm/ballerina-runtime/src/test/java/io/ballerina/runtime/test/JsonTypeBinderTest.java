@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.test;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.utils.JsonUtils;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.types.BArrayType;
+import io.ballerina.runtime.internal.types.BMapType;
+import io.ballerina.runtime.internal.types.BUnionType;
+import io.ballerina.runtime.internal.values.DecimalValue;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Test cases for parsing JSON content directly into a value of a given type.
+ */
+public class JsonTypeBinderTest {
+
+    @Test
+    public void testParseIntoMapOfArrays() {
+        String json = "{\"a\": [1, 2, 3], \"b\": [], \"c\": null}";
+        BMapType type = new BMapType(new BUnionType(List.of(new BArrayType(PredefinedTypes.TYPE_FLOAT),
+                                                            PredefinedTypes.TYPE_NULL)));
+        BMap<BString, Object> value = (BMap<BString, Object>) JsonUtils.parse(new StringReader(json), type);
+
+        Assert.assertEquals(value.size(), 3);
+        BArray a = (BArray) value.get(StringUtils.fromString("a"));
+        Assert.assertEquals(a.getElementType().getTag(), TypeTags.FLOAT_TAG);
+        Assert.assertEquals(a.getFloat(2), 3.0);
+        Assert.assertEquals(((BArray) value.get(StringUtils.fromString("b"))).size(), 0);
+        Assert.assertNull(value.get(StringUtils.fromString("c")));
+    }
+
+    @Test
+    public void testParseFromInputStream() {
+        byte[] bytes = "[1.50, 2, \"x\"]".getBytes(StandardCharsets.UTF_8);
+        BArray value = (BArray) JsonUtils.parse(new ByteArrayInputStream(bytes), "UTF-8",
+                                                new BArrayType(PredefinedTypes.TYPE_JSON));
+        Assert.assertEquals(value.size(), 3);
+        Assert.assertEquals(value.get(0), new DecimalValue("1.50"));
+        Assert.assertEquals(value.get(1), 2L);
+        Assert.assertEquals(value.get(2), StringUtils.fromString("x"));
+    }
+
+    @Test
+    public void testParseWithIncompatibleValue() {
+        String json = "{\"a\": [1], \"b\": [2, \"3\"]}";
+        try {
+            JsonUtils.parse(new StringReader(json), new BMapType(new BArrayType(PredefinedTypes.TYPE_INT)));
+            Assert.fail("expected the parsing to fail");
+        } catch (BError e) {
+            Object message = ((BMap<BString, Object>) e.getDetails()).get(StringUtils.fromString("message"));
+            Assert.assertEquals(message.toString(), "incompatible value at '$.b[1]' for type 'int'");
+        }
+    }
+
+    @Test(expectedExceptions = BError.class, expectedExceptionsMessageRegExp = ".*expected , or \\] at line: 2.*")
+    public void testParseInvalidJson() {
+        JsonUtils.parse(new StringReader("[1,\n 2 3]"), new BArrayType(PredefinedTypes.TYPE_INT));
+    }
+}
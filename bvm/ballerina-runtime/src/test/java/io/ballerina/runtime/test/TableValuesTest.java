@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.test;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.types.BMapType;
+import io.ballerina.runtime.internal.types.BTableType;
+import io.ballerina.runtime.internal.values.MapValueImpl;
+import io.ballerina.runtime.internal.values.TableValueImpl;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Test cases for iterating the rows of a table while the table is modified.
+ */
+public class TableValuesTest {
+
+    private static final BString ID = StringUtils.fromString("id");
+    private static final BMapType ROW_TYPE = new BMapType(PredefinedTypes.TYPE_INT);
+
+    @Test
+    public void testRowsAddedAndRemovedDuringIteration() {
+        TableValueImpl<Object, BMap<BString, Object>> table = newTable(8);
+        List<Long> ids = new ArrayList<>();
+        Iterator<BMap<BString, Object>> iterator = table.values().iterator();
+        while (iterator.hasNext()) {
+            long id = (Long) iterator.next().get(ID);
+            ids.add(id);
+            if (id == 1) {
+                // Adding rows to a table full of removed rows compacts the rows, which moves them to other positions
+                for (long removed = 2; removed < 6; removed++) {
+                    table.remove(removed);
+                }
+                table.add(newRow(100));
+                table.add(newRow(101));
+            }
+        }
+        Assert.assertEquals(ids, List.of(0L, 1L, 6L, 7L, 100L, 101L));
+    }
+
+    @Test
+    public void testLastRowReplacedDuringIteration() {
+        TableValueImpl<Object, BMap<BString, Object>> table = newTable(3);
+        List<Long> ids = new ArrayList<>();
+        Iterator<BMap<BString, Object>> iterator = table.values().iterator();
+        while (iterator.hasNext()) {
+            long id = (Long) iterator.next().get(ID);
+            ids.add(id);
+            if (id == 1) {
+                // The position of the removed last row is reused by the row added next
+                table.remove(2L);
+                table.add(newRow(3));
+            }
+        }
+        Assert.assertEquals(ids, List.of(0L, 1L, 3L));
+    }
+
+    private static TableValueImpl<Object, BMap<BString, Object>> newTable(int rowCount) {
+        TableValueImpl<Object, BMap<BString, Object>> table =
+                new TableValueImpl<>(new BTableType(ROW_TYPE, new String[]{"id"}, false));
+        for (long id = 0; id < rowCount; id++) {
+            table.add(newRow(id));
+        }
+        return table;
+    }
+
+    private static BMap<BString, Object> newRow(long id) {
+        BMap<BString, Object> row = new MapValueImpl<>(ROW_TYPE);
+        row.put(ID, id);
+        return row;
+    }
+}
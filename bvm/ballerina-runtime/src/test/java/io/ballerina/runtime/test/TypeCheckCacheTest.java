@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.test;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.internal.TypeCheckCache;
+import io.ballerina.runtime.internal.TypeChecker;
+import io.ballerina.runtime.internal.types.BArrayType;
+import io.ballerina.runtime.internal.types.BUnionType;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * Test cases for {@link TypeCheckCache}.
+ */
+public class TypeCheckCacheTest {
+
+    @Test
+    public void testCachedResultIsReused() {
+        Type intArray = new BArrayType(PredefinedTypes.TYPE_INT);
+        Type intOrStringArray = new BArrayType(new BUnionType(List.of(PredefinedTypes.TYPE_INT,
+                PredefinedTypes.TYPE_STRING)));
+
+        Assert.assertTrue(TypeChecker.checkIsType(intArray, intOrStringArray));
+        long hits = TypeCheckCache.getHitCount();
+        Assert.assertTrue(TypeChecker.checkIsType(intArray, intOrStringArray));
+        Assert.assertEquals(TypeCheckCache.getHitCount(), hits + 1);
+
+        Assert.assertFalse(TypeChecker.checkIsType(intOrStringArray, intArray));
+        hits = TypeCheckCache.getHitCount();
+        Assert.assertFalse(TypeChecker.checkIsType(intOrStringArray, intArray));
+        Assert.assertEquals(TypeCheckCache.getHitCount(), hits + 1);
+    }
+
+    @Test
+    public void testStructurallyEqualTypesAreCheckedSeparately() {
+        Type stringArray = new BArrayType(PredefinedTypes.TYPE_STRING);
+        Type intArray = new BArrayType(PredefinedTypes.TYPE_INT);
+        Type otherIntArray = new BArrayType(PredefinedTypes.TYPE_INT);
+
+        Assert.assertFalse(TypeChecker.checkIsType(stringArray, intArray));
+        long misses = TypeCheckCache.getMissCount();
+        Assert.assertTrue(TypeChecker.checkIsType(intArray, otherIntArray));
+        Assert.assertEquals(TypeCheckCache.getMissCount(), misses + 1);
+    }
+}
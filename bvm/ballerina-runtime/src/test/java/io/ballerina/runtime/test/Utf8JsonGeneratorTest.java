@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.test;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.utils.JsonUtils;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.JsonGenerator;
+import io.ballerina.runtime.internal.Utf8JsonGenerator;
+import io.ballerina.runtime.internal.types.BRecordType;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Test cases for serializing JSON values straight to UTF-8 bytes.
+ */
+public class Utf8JsonGeneratorTest {
+
+    @Test
+    public void testSerializeSameAsJsonGenerator() throws IOException {
+        String json = "{\"a\": 1, \"b\": [-9223372036854775808, 2.5, 1.50, true, null, {}, []], " +
+                "\"c\\td\": {\"e\": \"f/g\", \"h\": \"i\\n/j\", \"k\": \"\\f\"}, " +
+                "\"l\": \"\\u00e9\\u4e2d\\ud83d\\ude00\"}";
+        assertSameAsJsonGenerator(JsonUtils.parse(json));
+        assertSameAsJsonGenerator(StringUtils.fromString("unpaired \ud800 surrogate"));
+        assertSameAsJsonGenerator(null);
+    }
+
+    @Test
+    public void testSerializeLargeDocument() throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 2000; i++) {
+            json.append(i == 0 ? "" : ", ").append("{\"id\": ").append(i).append(", \"name\\u00e9\": \"")
+                    .append("\\u4e2d".repeat(i % 50)).append("\"}");
+        }
+        json.append("]");
+        assertSameAsJsonGenerator(JsonUtils.parse(json.toString()));
+    }
+
+    @Test
+    public void testSerializeToString() {
+        Object value = JsonUtils.parse("{\"name\": \"Anne\", \"tags\": [\"a\", \"b\"]}");
+        Assert.assertEquals(Utf8JsonGenerator.toJsonString(value), "{\"name\":\"Anne\", \"tags\":[\"a\", \"b\"]}");
+        Assert.assertEquals(new String(JsonUtils.serializeToBytes(value), StandardCharsets.UTF_8),
+                            "{\"name\":\"Anne\", \"tags\":[\"a\", \"b\"]}");
+    }
+
+    @Test
+    public void testSerializeRecord() throws IOException {
+        Map<String, Field> fields = new LinkedHashMap<>();
+        fields.put("name", TypeCreator.createField(PredefinedTypes.TYPE_STRING, "name", SymbolFlags.REQUIRED));
+        fields.put("age", TypeCreator.createField(PredefinedTypes.TYPE_INT, "age", SymbolFlags.REQUIRED));
+        BRecordType personType = (BRecordType) TypeCreator.createRecordType("Person",
+                new Module("testorg", "test", "1.0.0"), 0, fields, PredefinedTypes.TYPE_JSON, false, 0);
+        BMap<BString, Object> person = ValueCreator.createMapValue(personType);
+        person.put(StringUtils.fromString("name"), StringUtils.fromString("Anne"));
+        person.put(StringUtils.fromString("age"), 30L);
+        person.put(StringUtils.fromString("city"), StringUtils.fromString("Colombo"));
+
+        // A record value is written as an object, whereas JsonGenerator writes nothing for it.
+        ByteArrayOutputStream jsonGeneratorOut = new ByteArrayOutputStream();
+        JsonGenerator gen = new JsonGenerator(jsonGeneratorOut, StandardCharsets.UTF_8);
+        gen.serialize(person);
+        gen.flush();
+        Assert.assertEquals(jsonGeneratorOut.size(), 0);
+        Assert.assertEquals(Utf8JsonGenerator.toJsonString(person),
+                            "{\"name\":\"Anne\", \"age\":30, \"city\":\"Colombo\"}");
+
+        BMap<BString, Object> json = ValueCreator.createMapValue(PredefinedTypes.TYPE_JSON);
+        json.put(StringUtils.fromString("person"), person);
+        Assert.assertEquals(Utf8JsonGenerator.toJsonString(json),
+                            "{\"person\":{\"name\":\"Anne\", \"age\":30, \"city\":\"Colombo\"}}");
+
+        // Only the names of the declared fields are cached with the type.
+        Assert.assertEquals(personType.getEncodedJsonFieldNames().keySet(), Set.of("name", "age"));
+    }
+
+    private void assertSameAsJsonGenerator(Object value) throws IOException {
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        JsonGenerator gen = new JsonGenerator(expected, StandardCharsets.UTF_8);
+        gen.serialize(value);
+        gen.flush();
+
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        Utf8JsonGenerator.serialize(value, actual);
+        Assert.assertEquals(actual.toByteArray(), expected.toByteArray());
+        Assert.assertEquals(Utf8JsonGenerator.toBytes(value), expected.toByteArray());
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.test;
+
+import io.ballerina.runtime.api.utils.XmlUtils;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BIterator;
+import io.ballerina.runtime.api.values.BXml;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test cases for reading the elements of an XML document matching a path.
+ */
+public class XmlElementIteratorTest {
+
+    private static final String ORDERS = "<?xml version=\"1.0\"?><orders xmlns:p=\"urn:p\">" +
+            "<order id=\"1\"><item>a</item></order><!-- skipped --><x><order>2</order></x>" +
+            "<p:order>3</p:order><order>4</order></orders>";
+
+    @Test
+    public void testParseElementsAtAnyDepth() {
+        List<String> elements = parseElements(ORDERS, "order");
+        Assert.assertEquals(elements, List.of("<order id=\"1\"><item>a</item></order>", "<order>2</order>",
+                                              "<order>4</order>"));
+    }
+
+    @Test
+    public void testParseElementsFromRoot() {
+        Assert.assertEquals(parseElements(ORDERS, "/orders/order").size(), 3);
+        Assert.assertEquals(parseElements(ORDERS, "/order").size(), 0);
+        Assert.assertEquals(parseElements(ORDERS, "x/*"), List.of("<order>2</order>"));
+        Assert.assertEquals(parseElements(ORDERS, "p:order").size(), 1);
+    }
+
+    @Test(expectedExceptions = BError.class, expectedExceptionsMessageRegExp = "invalid xml element path: 'a//b'")
+    public void testParseElementsWithInvalidPath() {
+        parseElements(ORDERS, "a//b");
+    }
+
+    @Test
+    public void testParseElementsOfMalformedDocument() {
+        BIterator<BXml> iterator = XmlUtils.parseElements(new StringReader("<a><b>1</b><b>2</a>"), "b");
+        Assert.assertEquals(iterator.next().toString(), "<b>1</b>");
+        try {
+            iterator.hasNext();
+            Assert.fail("expected the parsing to fail");
+        } catch (BError e) {
+            Assert.assertTrue(e.getMessage().startsWith("failed to create xml: "));
+        }
+    }
+
+    private static List<String> parseElements(String xml, String path) {
+        List<String> elements = new ArrayList<>();
+        BIterator<BXml> iterator = XmlUtils.parseElements(new StringReader(xml), path);
+        while (iterator.hasNext()) {
+            elements.add(iterator.next().toString());
+        }
+        return elements;
+    }
+}
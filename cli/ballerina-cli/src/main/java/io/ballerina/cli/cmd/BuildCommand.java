@@ -186,6 +186,10 @@ public class BuildCommand implements BLauncherCmd {
     @CommandLine.Option(names = "--dump-build-time", description = "calculate and dump build time")
     private Boolean dumpBuildTime;
 
+    @CommandLine.Option(names = "--incremental", description = "reuse the output of the previous build for the " +
+            "modules which are not affected by the changes")
+    private Boolean incremental;
+
     public void execute() {
         long start = 0;
         if (this.helpFlag) {
@@ -310,8 +314,8 @@ public class BuildCommand implements BLauncherCmd {
         }
 
         TaskExecutor taskExecutor = new TaskExecutor.TaskBuilder()
-                // clean the target directory(projects only)
-                .addTask(new CleanTargetDirTask(), isSingleFileBuild)
+                // clean the target directory(projects only), unless the previous build output is reused
+                .addTask(new CleanTargetDirTask(), isSingleFileBuild || project.buildOptions().incremental())
                 // resolve maven dependencies in Ballerina.toml
                 .addTask(new ResolveMavenDependenciesTask(outStream))
                 // compile the modules
@@ -355,6 +359,7 @@ public class BuildCommand implements BLauncherCmd {
                 .dumpBir(dumpBIR)
                 .dumpBirFile(dumpBIRFile)
                 .listConflictedClasses(listConflictedClasses)
+                .incremental(incremental)
                 .dumpBuildTime(dumpBuildTime)
                 .build();
     }
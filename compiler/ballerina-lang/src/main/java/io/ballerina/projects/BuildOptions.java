@@ -68,6 +68,10 @@ public class BuildOptions {
         return this.compilationOptions.listConflictedClasses();
     }
 
+    public boolean incremental() {
+        return this.compilationOptions.incremental();
+    }
+
     public String cloud() {
         return this.compilationOptions.getCloud();
     }
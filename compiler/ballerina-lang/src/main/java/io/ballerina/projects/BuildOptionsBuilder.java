@@ -74,6 +74,11 @@ public class BuildOptionsBuilder {
         return this;
     }
 
+    public BuildOptionsBuilder incremental(Boolean value) {
+        compilationOptionsBuilder.incremental(value);
+        return this;
+    }
+
     public BuildOptionsBuilder cloud(String value) {
         compilationOptionsBuilder.cloud(value);
         return this;
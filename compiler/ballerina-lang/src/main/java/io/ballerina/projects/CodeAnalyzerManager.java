@@ -426,6 +426,11 @@ class CodeAnalyzerManager {
         }
 
         private void runTasks(ModuleContext moduleContext, List<Diagnostic> reportedDiagnostics) {
+            // Modules reused from the previous incremental build are not compiled, hence there is no semantic model.
+            // Their sources did not change since they were analyzed by the previous build.
+            if (moduleContext.compilationState() == ModuleCompilationState.MODULE_SYMBOL_LOADED) {
+                return;
+            }
             for (DocumentId srcDocumentId : moduleContext.srcDocumentIds()) {
                 DocumentContext documentContext = moduleContext.documentContext(srcDocumentId);
                 runTasks(documentContext.syntaxTree(), moduleContext.moduleId(),
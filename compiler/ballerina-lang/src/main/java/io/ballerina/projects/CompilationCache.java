@@ -37,6 +37,28 @@ public abstract class CompilationCache {
 
     public abstract void cacheBir(ModuleName moduleName, ByteArrayOutputStream birContent);
 
+    /**
+     * Returns the cached BIR of the given module, if it is generated from sources having the given fingerprint.
+     * Caches which do not record fingerprints never return a BIR.
+     *
+     * @param moduleName  name of the module
+     * @param fingerprint source fingerprint of the module
+     * @return the cached BIR, or an empty array if there is no BIR generated from the given sources
+     */
+    public byte[] getBir(ModuleName moduleName, String fingerprint) {
+        return new byte[0];
+    }
+
+    /**
+     * Records the fingerprint of the sources the cached BIR and the platform-specific library of the given module
+     * are generated from.
+     *
+     * @param moduleName  name of the module
+     * @param fingerprint source fingerprint of the module
+     */
+    public void cacheFingerprint(ModuleName moduleName, String fingerprint) {
+    }
+
     public abstract Optional<Path> getPlatformSpecificLibrary(CompilerBackend compilerBackend, String libraryName);
 
     public abstract void cachePlatformSpecificLibrary(CompilerBackend compilerBackend,
@@ -33,10 +33,11 @@ class CompilationOptions {
     private String dumpBirFile;
     private String cloud;
     private Boolean listConflictedClasses;
+    private Boolean incremental;
 
     public CompilationOptions(Boolean skipTests, Boolean offlineBuild, Boolean experimental,
                               Boolean observabilityIncluded, Boolean dumpBir, String dumpBirFile,
-                              String cloud, Boolean listConflictedClasses) {
+                              String cloud, Boolean listConflictedClasses, Boolean incremental) {
         this.skipTests = skipTests;
         this.offlineBuild = offlineBuild;
         this.experimental = experimental;
@@ -45,6 +46,7 @@ class CompilationOptions {
         this.dumpBirFile = dumpBirFile;
         this.cloud = cloud;
         this.listConflictedClasses = listConflictedClasses;
+        this.incremental = incremental;
     }
 
     boolean skipTests() {
@@ -79,6 +81,10 @@ class CompilationOptions {
         return toBooleanDefaultIfNull(listConflictedClasses);
     }
 
+    boolean incremental() {
+        return toBooleanDefaultIfNull(incremental);
+    }
+
     /**
      * Merge the given compilation options by favoring theirs if there are conflicts.
      *
@@ -100,6 +106,8 @@ class CompilationOptions {
         this.dumpBirFile = theirOptions.dumpBirFile;
         this.listConflictedClasses = Objects.requireNonNullElseGet(
                 theirOptions.listConflictedClasses, () -> toBooleanDefaultIfNull(this.listConflictedClasses));
+        this.incremental = Objects.requireNonNullElseGet(
+                theirOptions.incremental, () -> toBooleanDefaultIfNull(this.incremental));
         return this;
     }
 
@@ -33,6 +33,7 @@ class CompilationOptionsBuilder {
     private String dumpBirFile;
     private String cloud;
     private Boolean listConflictedClasses;
+    private Boolean incremental;
 
     public CompilationOptionsBuilder() {
     }
@@ -77,8 +78,13 @@ class CompilationOptionsBuilder {
         return this;
     }
 
+    public CompilationOptionsBuilder incremental(Boolean value) {
+        incremental = value;
+        return this;
+    }
+
     public CompilationOptions build() {
         return new CompilationOptions(skipTests, buildOffline, experimental, observabilityIncluded, dumpBir,
-                dumpBirFile, cloud, listConflictedClasses);
+                dumpBirFile, cloud, listConflictedClasses, incremental);
     }
 }
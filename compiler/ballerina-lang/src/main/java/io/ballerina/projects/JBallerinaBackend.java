@@ -21,8 +21,10 @@ import io.ballerina.projects.environment.PackageCache;
 import io.ballerina.projects.environment.ProjectEnvironment;
 import io.ballerina.projects.internal.DefaultDiagnosticResult;
 import io.ballerina.projects.internal.PackageDiagnostic;
+import io.ballerina.projects.internal.jballerina.GeneratedJarCache;
 import io.ballerina.projects.internal.jballerina.JarWriter;
 import io.ballerina.projects.internal.model.Target;
+import io.ballerina.projects.util.ProjectConstants;
 import io.ballerina.projects.util.ProjectUtils;
 import io.ballerina.tools.diagnostics.Diagnostic;
 import io.ballerina.tools.diagnostics.DiagnosticSeverity;
@@ -60,9 +62,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.jar.Attributes;
 import java.util.jar.JarFile;
 import java.util.jar.JarInputStream;
@@ -98,9 +103,11 @@ public class JBallerinaBackend extends CompilerBackend {
     private final JarResolver jarResolver;
     private final CompilerOptions compilerOptions;
     private final PackageCompilation packageCompilation;
+    private final GeneratedJarCache generatedJarCache;
     private DiagnosticResult diagnosticResult;
     private boolean codeGenCompleted;
     private List<JarConflict> conflictedJars;
+    private final Map<String, ByteArrayOutputStream> generatedJars = new LinkedHashMap<>();
 
     public static JBallerinaBackend from(PackageCompilation packageCompilation, JvmTarget jdkVersion) {
         // Check if the project has write permissions
@@ -136,6 +143,7 @@ public class JBallerinaBackend extends CompilerBackend {
             observabilitySymbolCollector.process(packageContext.project());
         }
         this.conflictedJars = new ArrayList<>();
+        this.generatedJarCache = createGeneratedJarCache();
 
         // Trigger code generation
         performCodeGen();
@@ -145,6 +153,17 @@ public class JBallerinaBackend extends CompilerBackend {
         return this.packageContext;
     }
 
+    private GeneratedJarCache createGeneratedJarCache() {
+        // Bootstrapping lang libs and native mappings generate code the fingerprint of a module does not cover
+        if (packageContext.project().kind() != ProjectKind.BUILD_PROJECT
+                || System.getProperty("BOOTSTRAP_LANG_LIB") != null || System.getenv("BALLERINA_NATIVE_MAP") != null) {
+            return null;
+        }
+        return new GeneratedJarCache(ProjectUtils.createAndGetHomeReposPath()
+                                             .resolve(ProjectConstants.GENERATED_JAR_CACHE_DIR_NAME)
+                                             .resolve(jdkVersion.code()));
+    }
+
     private void performCodeGen() {
         if (codeGenCompleted) {
             return;
@@ -173,6 +192,14 @@ public class JBallerinaBackend extends CompilerBackend {
         diagnostics.addAll(this.packageContext.getPackageCompilation().pluginDiagnostics());
 
         this.diagnosticResult = new DefaultDiagnosticResult(diagnostics);
+        // An incremental build reuses the output of a module only if the build that generated it succeeded
+        if (!diagnosticResult.hasErrors()) {
+            for (ModuleContext moduleContext : pkgResolution.topologicallySortedModuleList()) {
+                moduleContext.cacheSourceFingerprint();
+            }
+            shareGeneratedJars();
+        }
+        generatedJars.clear();
         codeGenCompleted = true;
     }
 
@@ -302,13 +329,24 @@ public class JBallerinaBackend extends CompilerBackend {
         if (bLangPackage.getErrorCount() > 0) {
             return;
         }
-        CompiledJarFile compiledJarFile = jvmCodeGenerator.generate(bLangPackage);
         String jarFileName = getJarFileName(moduleContext) + JAR_FILE_NAME_SUFFIX;
-        try {
-            ByteArrayOutputStream byteStream = JarWriter.write(compiledJarFile);
-            compilationCache.cachePlatformSpecificLibrary(this, jarFileName, byteStream);
-        } catch (IOException e) {
-            throw new ProjectException("Failed to cache generated jar, module: " + moduleContext.moduleName());
+        String fingerprint = generatedCodeFingerprint(moduleContext);
+        Optional<ByteArrayOutputStream> cachedJarContent = fingerprint == null ?
+                Optional.empty() : generatedJarCache.get(fingerprint);
+        if (cachedJarContent.isPresent()) {
+            // The jar generated for the same BIR by an earlier build is reused
+            compilationCache.cachePlatformSpecificLibrary(this, jarFileName, cachedJarContent.get());
+        } else {
+            CompiledJarFile compiledJarFile = jvmCodeGenerator.generate(bLangPackage);
+            try {
+                ByteArrayOutputStream byteStream = JarWriter.write(compiledJarFile);
+                compilationCache.cachePlatformSpecificLibrary(this, jarFileName, byteStream);
+                if (fingerprint != null) {
+                    generatedJars.put(fingerprint, byteStream);
+                }
+            } catch (IOException e) {
+                throw new ProjectException("Failed to cache generated jar, module: " + moduleContext.moduleName());
+            }
         }
 
         // skip generation of the test jar if --skip-tests option is set to true
@@ -330,6 +368,44 @@ public class JBallerinaBackend extends CompilerBackend {
         }
     }
 
+    /**
+     * Computes the fingerprint the jar of a module is looked up with in the generated jar cache. Test jars are not
+     * cached, as the BIR of the testable packages is not serialized.
+     *
+     * @param moduleContext module context
+     * @return the fingerprint, or null if the jar of the module cannot be cached
+     */
+    private String generatedCodeFingerprint(ModuleContext moduleContext) {
+        if (generatedJarCache == null) {
+            return null;
+        }
+
+        // The libraries interop calls of the module are resolved against, as in InteropValidator
+        Set<Path> libraryPaths = new LinkedHashSet<>();
+        for (PlatformLibrary platformLibrary : platformLibraryDependencies(moduleContext.moduleId().packageId(),
+                                                                           PlatformLibraryScope.DEFAULT)) {
+            libraryPaths.add(platformLibrary.path());
+        }
+        libraryPaths.add(runtimeLibrary().path());
+        return ModuleFingerprint.generatedCodeFingerprint(moduleContext, compilerOptions, jdkVersion.code(),
+                                                          libraryPaths);
+    }
+
+    /**
+     * Adds the jars generated by this build to the generated jar cache, so that the other builds can reuse them. The
+     * least recently used jars are evicted afterwards to keep the cache within its size limit.
+     */
+    private void shareGeneratedJars() {
+        if (generatedJars.isEmpty()) {
+            return;
+        }
+
+        for (Map.Entry<String, ByteArrayOutputStream> generatedJar : generatedJars.entrySet()) {
+            generatedJarCache.put(generatedJar.getKey(), generatedJar.getValue());
+        }
+        generatedJarCache.evictLeastRecentlyUsed();
+    }
+
     @Override
     public String libraryFileExtension() {
         return JAR_FILE_EXTENSION;
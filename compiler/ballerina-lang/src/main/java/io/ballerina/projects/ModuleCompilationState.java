@@ -42,8 +42,7 @@ enum ModuleCompilationState {
         @Override
         void compile(ModuleContext moduleContext, CompilerContext compilerContext) {
             resolveDependencies(moduleContext);
-            ModuleContext.compileInternal(moduleContext, compilerContext);
-            moduleContext.setCompilationState(COMPILED);
+            compileFromSources(moduleContext, compilerContext);
         }
 
         @Override
@@ -51,8 +50,8 @@ enum ModuleCompilationState {
                                           CompilerContext compilerContext,
                                           CompilerBackend compilerBackend) {
             compile(moduleContext, compilerContext);
-            ModuleContext.generateCodeInternal(moduleContext, compilerBackend, compilerContext);
-            moduleContext.setCompilationState(PLATFORM_LIBRARY_GENERATED);
+            moduleContext.currentCompilationState().generatePlatformSpecificCode(moduleContext, compilerContext,
+                                                                                 compilerBackend);
         }
     },
     PARSED {
@@ -71,8 +70,7 @@ enum ModuleCompilationState {
         @Override
         void compile(ModuleContext moduleContext, CompilerContext compilerContext) {
             resolveDependencies(moduleContext);
-            ModuleContext.compileInternal(moduleContext, compilerContext);
-            moduleContext.setCompilationState(COMPILED);
+            compileFromSources(moduleContext, compilerContext);
         }
 
         @Override
@@ -80,8 +78,8 @@ enum ModuleCompilationState {
                                           CompilerContext compilerContext,
                                           CompilerBackend compilerBackend) {
             compile(moduleContext, compilerContext);
-            ModuleContext.generateCodeInternal(moduleContext, compilerBackend, compilerContext);
-            moduleContext.setCompilationState(PLATFORM_LIBRARY_GENERATED);
+            moduleContext.currentCompilationState().generatePlatformSpecificCode(moduleContext, compilerContext,
+                                                                                 compilerBackend);
         }
     },
     DEPENDENCIES_RESOLVED_FROM_SOURCES {
@@ -97,8 +95,7 @@ enum ModuleCompilationState {
 
         @Override
         void compile(ModuleContext moduleContext, CompilerContext compilerContext) {
-            ModuleContext.compileInternal(moduleContext, compilerContext);
-            moduleContext.setCompilationState(COMPILED);
+            compileFromSources(moduleContext, compilerContext);
         }
 
         @Override
@@ -106,8 +103,8 @@ enum ModuleCompilationState {
                                           CompilerContext compilerContext,
                                           CompilerBackend compilerBackend) {
             compile(moduleContext, compilerContext);
-            ModuleContext.generateCodeInternal(moduleContext, compilerBackend, compilerContext);
-            moduleContext.setCompilationState(PLATFORM_LIBRARY_GENERATED);
+            moduleContext.currentCompilationState().generatePlatformSpecificCode(moduleContext, compilerContext,
+                                                                                 compilerBackend);
         }
     },
     COMPILED {
@@ -299,4 +296,14 @@ enum ModuleCompilationState {
     abstract void generatePlatformSpecificCode(ModuleContext moduleContext,
                                                CompilerContext compilerContext,
                                                CompilerBackend compilerBackend);
+
+    private static void compileFromSources(ModuleContext moduleContext, CompilerContext compilerContext) {
+        // An incremental build loads the modules which are not affected by the changes from the previous build
+        if (ModuleContext.loadFromPreviousBuildInternal(moduleContext, compilerContext)) {
+            moduleContext.setCompilationState(MODULE_SYMBOL_LOADED);
+            return;
+        }
+        ModuleContext.compileInternal(moduleContext, compilerContext);
+        moduleContext.setCompilationState(COMPILED);
+    }
 }
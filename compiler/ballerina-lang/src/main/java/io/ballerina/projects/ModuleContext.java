@@ -80,6 +80,9 @@ class ModuleContext {
     private final Bootstrap bootstrap;
     private ModuleCompilationState moduleCompState;
     private Set<ModuleLoadRequest> allModuleLoadRequests;
+    private String sourceFingerprint;
+    private String apiFingerprint;
+    private String birFingerprint;
 
     ModuleContext(Project project,
                   ModuleId moduleId,
@@ -214,6 +217,44 @@ class ModuleContext {
         return moduleCompState;
     }
 
+    byte[] birBytes() {
+        return birBytes;
+    }
+
+    /**
+     * Returns the fingerprint of the API this module exposes to the modules importing it.
+     *
+     * @return the API fingerprint of this module
+     */
+    String apiFingerprint() {
+        if (apiFingerprint == null) {
+            apiFingerprint = ModuleFingerprint.apiFingerprint(this);
+        }
+        return apiFingerprint;
+    }
+
+    /**
+     * Returns the fingerprint of the BIR of this module and of the modules it imports transitively.
+     *
+     * @return the BIR fingerprint, or null if the BIR of this module or one of its dependencies is not available
+     */
+    String birFingerprint() {
+        if (birFingerprint == null) {
+            birFingerprint = ModuleFingerprint.birFingerprint(this);
+        }
+        return birFingerprint;
+    }
+
+    /**
+     * Records that the cached output of this module is generated from its current sources, so that the next
+     * incremental build can reuse it.
+     */
+    void cacheSourceFingerprint() {
+        if (sourceFingerprint != null && moduleCompState == ModuleCompilationState.PLATFORM_LIBRARY_GENERATED) {
+            compilationCache.cacheFingerprint(moduleName(), sourceFingerprint);
+        }
+    }
+
     private BLangPackage getBLangPackageOrThrow() {
         if (bLangPackage == null) {
             throw new IllegalStateException("Compile the module first!");
@@ -375,8 +416,9 @@ class ModuleContext {
                 moduleContext.project().kind());
         packageCache.put(moduleCompilationId, pkgNode);
 
-        // Parse source files
-        for (DocumentContext documentContext : moduleContext.srcDocContextMap.values()) {
+        // Parse source files. The documents are compiled in a stable order, since the generated names of the
+        // anonymous types depend on it
+        for (DocumentContext documentContext : ModuleFingerprint.sourceDocuments(moduleContext)) {
             pkgNode.addCompilationUnit(documentContext.compilationUnit(compilerContext, moduleCompilationId,
                                                                        REGULAR_SOURCE));
         }
@@ -400,6 +442,40 @@ class ModuleContext {
         moduleContext.bLangPackage = pkgNode;
     }
 
+    /**
+     * Loads the module from the BIR cached by the previous build, instead of compiling it, if this is an incremental
+     * build and neither the sources of the module nor the API of the modules it imports have changed since then.
+     *
+     * @param moduleContext   the module
+     * @param compilerContext the compiler context
+     * @return true if the module is loaded from the cached BIR
+     */
+    static boolean loadFromPreviousBuildInternal(ModuleContext moduleContext, CompilerContext compilerContext) {
+        Project project = moduleContext.project();
+        if (project.kind() != ProjectKind.BUILD_PROJECT || !project.buildOptions().incremental()
+                || System.getProperty("BOOTSTRAP_LANG_LIB") != null) {
+            return false;
+        }
+
+        // Running the tests requires the test sources to be compiled along with the module
+        CompilerOptions compilerOptions = CompilerOptions.getInstance(compilerContext);
+        if (!Boolean.parseBoolean(compilerOptions.get(SKIP_TESTS))
+                && !moduleContext.testSrcDocumentIds().isEmpty()) {
+            return false;
+        }
+
+        moduleContext.sourceFingerprint = ModuleFingerprint.sourceFingerprint(moduleContext, compilerOptions);
+        byte[] birBytes = moduleContext.compilationCache.getBir(moduleContext.moduleName(),
+                                                                moduleContext.sourceFingerprint);
+        if (birBytes.length == 0) {
+            return false;
+        }
+
+        moduleContext.birBytes = birBytes;
+        loadPackageSymbolInternal(moduleContext, compilerContext);
+        return true;
+    }
+
     static void generateCodeInternal(ModuleContext moduleContext,
                                      CompilerBackend compilerBackend,
                                      CompilerContext compilerContext) {
@@ -435,6 +511,7 @@ class ModuleContext {
                     moduleContext.bLangPackage.symbol.birPackageFile);
             birContent.writeBytes(pkgBirBinaryContent);
             moduleContext.compilationCache.cacheBir(moduleContext.moduleName(), birContent);
+            moduleContext.birBytes = pkgBirBinaryContent;
         } catch (IOException e) {
             // This path may never be executed
             throw new RuntimeException("Failed to convert BIR model to a byte array", e);
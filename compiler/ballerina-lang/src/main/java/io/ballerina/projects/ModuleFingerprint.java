@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.projects;
+
+import io.ballerina.compiler.syntax.tree.FunctionBodyNode;
+import io.ballerina.compiler.syntax.tree.FunctionDefinitionNode;
+import io.ballerina.compiler.syntax.tree.ModuleMemberDeclarationNode;
+import io.ballerina.compiler.syntax.tree.ModulePartNode;
+import io.ballerina.compiler.syntax.tree.Node;
+import io.ballerina.compiler.syntax.tree.NonTerminalNode;
+import io.ballerina.compiler.syntax.tree.SyntaxKind;
+import io.ballerina.compiler.syntax.tree.Token;
+import io.ballerina.projects.environment.PackageCache;
+import org.ballerinalang.compiler.CompilerOptionName;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+import org.wso2.ballerinalang.util.RepoUtils;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes the fingerprints used to decide whether the output of a previous build of a module can be reused.
+ * <p>
+ * The source fingerprint of a module covers everything its BIR is generated from: the compiler version, the compiler
+ * options, the source documents of the module, the platform libraries of its package and the API fingerprints of the
+ * modules it imports. The API fingerprint
+ * of a module covers what the modules importing it depend on: the names of its source documents, its public
+ * declarations excluding the bodies of the public functions, its constants and listeners, the declarations its
+ * anonymous types are named after, and the API fingerprints of the modules it imports in turn. Hence a
+ * change which does not alter the API of a module only causes that module to be recompiled.
+ * <p>
+ * The generated code fingerprint of a module covers everything its platform-specific code is generated from: the
+ * compiler version, the target platform, the BIR of the module and of the modules it imports transitively, and the
+ * platform libraries interop calls are resolved against. It identifies a generated module jar across projects.
+ *
+ * @since 2.0.0
+ */
+final class ModuleFingerprint {
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final CompilerOptionName[] FINGERPRINTED_OPTIONS = {
+            CompilerOptionName.SKIP_TESTS,
+            CompilerOptionName.EXPERIMENTAL,
+            CompilerOptionName.OBSERVABILITY_INCLUDED,
+            CompilerOptionName.CLOUD
+    };
+
+    private ModuleFingerprint() {
+    }
+
+    static String sourceFingerprint(ModuleContext moduleContext, CompilerOptions compilerOptions) {
+        MessageDigest digest = newDigest();
+        update(digest, RepoUtils.getBallerinaVersion());
+        for (CompilerOptionName optionName : FINGERPRINTED_OPTIONS) {
+            update(digest, optionName + "=" + compilerOptions.get(optionName));
+        }
+        update(digest, moduleContext.descriptor().moduleCompilationId().toString());
+        update(digest, Boolean.toString(moduleContext.isExported()));
+        for (DocumentContext documentContext : sourceDocuments(moduleContext)) {
+            update(digest, documentContext.name());
+            update(digest, new String(documentContext.textDocument().toCharArray()));
+        }
+        // The Java types interop functions of the module refer to are resolved against the platform libraries
+        updateWithPlatformLibraries(digest, moduleContext);
+        for (ModuleContext dependency : dependencies(moduleContext)) {
+            update(digest, dependency.apiFingerprint());
+        }
+        return toHexString(digest.digest());
+    }
+
+    static String apiFingerprint(ModuleContext moduleContext) {
+        MessageDigest digest = newDigest();
+        update(digest, moduleContext.descriptor().moduleCompilationId().toString());
+        byte[] birBytes = moduleContext.birBytes();
+        if (moduleContext.project().kind() == ProjectKind.BALA_PROJECT && birBytes.length > 0) {
+            // The sources of a module loaded from the BIR cache are not parsed
+            digest.update(birBytes);
+        } else {
+            for (DocumentContext documentContext : sourceDocuments(moduleContext)) {
+                // The functions of a document are generated into a class named after it, which the modules
+                // importing the module call into
+                update(digest, documentContext.name());
+                update(digest, documentApiFingerprint(documentContext));
+            }
+        }
+        for (ModuleContext dependency : dependencies(moduleContext)) {
+            update(digest, dependency.apiFingerprint());
+        }
+        return toHexString(digest.digest());
+    }
+
+    /**
+     * Computes the fingerprint of the BIR of a module and of the modules it imports transitively.
+     *
+     * @param moduleContext module context
+     * @return the BIR fingerprint, or null if the BIR of the module or one of its dependencies is not available
+     */
+    static String birFingerprint(ModuleContext moduleContext) {
+        byte[] birBytes = moduleContext.birBytes();
+        if (birBytes.length == 0) {
+            return null;
+        }
+
+        MessageDigest digest = newDigest();
+        update(digest, moduleContext.descriptor().moduleCompilationId().toString());
+        digest.update(birBytes);
+        for (ModuleContext dependency : dependencies(moduleContext)) {
+            String dependencyBirFingerprint = dependency.birFingerprint();
+            if (dependencyBirFingerprint == null) {
+                return null;
+            }
+            update(digest, dependencyBirFingerprint);
+        }
+        return toHexString(digest.digest());
+    }
+
+    /**
+     * Computes the fingerprint of the platform-specific code generated for a module.
+     *
+     * @param moduleContext      module context
+     * @param compilerOptions    compiler options
+     * @param targetPlatformCode code of the target platform
+     * @param libraryPaths       paths of the platform libraries interop calls of the module are resolved against
+     * @return the generated code fingerprint, or null if the BIR of the module or one of its dependencies is not
+     * available
+     */
+    static String generatedCodeFingerprint(ModuleContext moduleContext, CompilerOptions compilerOptions,
+                                           String targetPlatformCode, Collection<Path> libraryPaths) {
+        String birFingerprint = moduleContext.birFingerprint();
+        if (birFingerprint == null) {
+            return null;
+        }
+
+        MessageDigest digest = newDigest();
+        update(digest, RepoUtils.getBallerinaVersion());
+        update(digest, targetPlatformCode);
+        // The other options only affect the code generated through the BIR
+        CompilerOptionName optionName = CompilerOptionName.OBSERVABILITY_INCLUDED;
+        update(digest, optionName + "=" + compilerOptions.get(optionName));
+        update(digest, birFingerprint);
+        List<Path> sortedLibraryPaths = new ArrayList<>(libraryPaths);
+        sortedLibraryPaths.sort(Comparator.naturalOrder());
+        for (Path libraryPath : sortedLibraryPaths) {
+            updateWithLibrary(digest, libraryPath);
+        }
+        return toHexString(digest.digest());
+    }
+
+    private static void updateWithPlatformLibraries(MessageDigest digest, ModuleContext moduleContext) {
+        Project project = moduleContext.project();
+        PackageManifest manifest = project.currentPackage().manifest();
+        for (JvmTarget target : JvmTarget.values()) {
+            PackageManifest.Platform platform = manifest.platform(target.code());
+            if (platform == null) {
+                continue;
+            }
+            update(digest, target.code());
+            for (Map<String, Object> dependency : platform.dependencies()) {
+                Object path = dependency.get(JarLibrary.KEY_PATH);
+                if (path == null || path.toString().isEmpty()) {
+                    // Libraries resolved from a Maven repository are identified by their coordinates
+                    update(digest, dependency.get(JarLibrary.KEY_GROUP_ID) + ":" + dependency.get(
+                            JarLibrary.KEY_ARTIFACT_ID) + ":" + dependency.get(JarLibrary.KEY_VERSION));
+                    continue;
+                }
+                // Relative paths are relative to the Ballerina.toml file, as in JBallerinaBackend
+                Path libraryPath = Paths.get(path.toString());
+                if (!libraryPath.isAbsolute()) {
+                    libraryPath = project.sourceRoot().resolve(libraryPath);
+                }
+                updateWithLibrary(digest, libraryPath);
+            }
+        }
+    }
+
+    private static void updateWithLibrary(MessageDigest digest, Path libraryPath) {
+        // The libraries are identified by their location and last modification, hashing their content would cost as
+        // much as generating the code
+        File libraryFile = libraryPath.toFile();
+        update(digest, libraryPath.toAbsolutePath().toString());
+        update(digest, libraryFile.length() + ":" + libraryFile.lastModified());
+    }
+
+    private static String documentApiFingerprint(DocumentContext documentContext) {
+        MessageDigest digest = newDigest();
+        ModulePartNode modulePartNode = documentContext.syntaxTree().rootNode();
+        for (ModuleMemberDeclarationNode member : modulePartNode.members()) {
+            updateWithApi(digest, member);
+            // The generated names of the anonymous types are numbered in the order the types are declared in the
+            // module, so the public types and signatures referring to them depend on the private declarations too
+            updateWithAnonymousTypes(digest, member);
+        }
+        return toHexString(digest.digest());
+    }
+
+    private static void updateWithApi(MessageDigest digest, ModuleMemberDeclarationNode member) {
+        switch (member.kind()) {
+            case FUNCTION_DEFINITION:
+                FunctionDefinitionNode functionDefinitionNode = (FunctionDefinitionNode) member;
+                if (!hasPublicQualifier(functionDefinitionNode.qualifierList())) {
+                    return;
+                }
+                for (Node child : functionDefinitionNode.children()) {
+                    if (!(child instanceof FunctionBodyNode)) {
+                        update(digest, child.toSourceCode());
+                    }
+                }
+                return;
+            case CONST_DECLARATION:
+            case LISTENER_DECLARATION:
+                update(digest, member.toSourceCode());
+                return;
+            default:
+                if (isPublic(member)) {
+                    update(digest, member.toSourceCode());
+                }
+        }
+    }
+
+    private static void updateWithAnonymousTypes(MessageDigest digest, Node node) {
+        switch (node.kind()) {
+            case RECORD_TYPE_DESC:
+            case OBJECT_TYPE_DESC:
+            case ERROR_TYPE_DESC:
+            case DISTINCT_TYPE_DESC:
+            case UNION_TYPE_DESC:
+                // The number of type definitions these are desugared into depends on their members
+                update(digest, node.toSourceCode());
+                break;
+            case OBJECT_CONSTRUCTOR:
+            case SERVICE_DECLARATION:
+                update(digest, node.kind().toString());
+                break;
+            default:
+                break;
+        }
+        if (node instanceof NonTerminalNode) {
+            for (Node child : ((NonTerminalNode) node).children()) {
+                updateWithAnonymousTypes(digest, child);
+            }
+        }
+    }
+
+    private static boolean hasPublicQualifier(Iterable<Token> qualifiers) {
+        for (Token qualifier : qualifiers) {
+            if (qualifier.kind() == SyntaxKind.PUBLIC_KEYWORD) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isPublic(ModuleMemberDeclarationNode member) {
+        // The visibility qualifier is a direct child of the declarations other than functions
+        for (Node child : member.children()) {
+            if (child.kind() == SyntaxKind.PUBLIC_KEYWORD) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the source documents of a module in the order they are compiled in.
+     *
+     * @param moduleContext module context
+     * @return the source documents sorted by name
+     */
+    static List<DocumentContext> sourceDocuments(ModuleContext moduleContext) {
+        List<DocumentContext> documentContexts = new ArrayList<>();
+        for (DocumentId documentId : moduleContext.srcDocumentIds()) {
+            documentContexts.add(moduleContext.documentContext(documentId));
+        }
+        documentContexts.sort(Comparator.comparing(DocumentContext::name));
+        return documentContexts;
+    }
+
+    private static List<ModuleContext> dependencies(ModuleContext moduleContext) {
+        List<ModuleContext> dependencies = new ArrayList<>();
+        if (moduleContext.dependencies() == null) {
+            return dependencies;
+        }
+
+        PackageCache packageCache = moduleContext.project().projectEnvironmentContext().getService(PackageCache.class);
+        for (ModuleDependency moduleDependency : moduleContext.dependencies()) {
+            PackageId packageId = moduleDependency.packageDependency().packageId();
+            Package dependencyPackage = packageCache.getPackageOrThrow(packageId);
+            dependencies.add(dependencyPackage.module(moduleDependency.moduleId()).moduleContext());
+        }
+        dependencies.sort(Comparator.comparing(dependency -> dependency.descriptor().moduleCompilationId().toString()));
+        return dependencies;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // This path may never be executed
+            throw new IllegalStateException("Failed to create a " + DIGEST_ALGORITHM + " digest", e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        // Prefix the length, so that the boundaries of the values are part of the fingerprint
+        digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) ':');
+        digest.update(bytes);
+    }
+
+    private static String toHexString(byte[] bytes) {
+        StringBuilder hexString = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hexString.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hexString.toString();
+    }
+}
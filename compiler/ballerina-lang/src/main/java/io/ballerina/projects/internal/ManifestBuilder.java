@@ -423,6 +423,8 @@ public class ManifestBuilder {
         }
         boolean listConflictedClasses =
                 getBooleanFromBuildOptionsTableNode(tableNode, CompilerOptionName.LIST_CONFLICTED_CLASSES.toString());
+        boolean incremental =
+                getBooleanFromBuildOptionsTableNode(tableNode, CompilerOptionName.INCREMENTAL.toString());
 
         return buildOptionsBuilder
                 .skipTests(skipTests)
@@ -433,6 +435,7 @@ public class ManifestBuilder {
                 .codeCoverage(codeCoverage)
                 .cloud(cloud)
                 .listConflictedClasses(listConflictedClasses)
+                .incremental(incremental)
                 .dumpBuildTime(dumpBuildTime)
                 .build();
     }
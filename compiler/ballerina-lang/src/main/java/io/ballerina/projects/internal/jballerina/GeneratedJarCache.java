@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.projects.internal.jballerina;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A content-addressed cache of the jars generated for modules, shared by the builds of all the projects of a user.
+ * <p>
+ * A jar is looked up by a fingerprint of everything its content is generated from, hence an entry never becomes stale
+ * and need not be invalidated. An entry is written to a temporary file first and then moved into place, so that
+ * concurrent builds never read a partially written jar. The modification time of an entry records when it was last
+ * used, and the least recently used entries are evicted once the cache grows beyond its size limit.
+ *
+ * @since 2.0.0
+ */
+public class GeneratedJarCache {
+    private static final String JAR_FILE_EXTENSION = ".jar";
+    private static final String TEMP_FILE_EXTENSION = ".tmp";
+    private static final long DEFAULT_MAX_SIZE = 1024L * 1024 * 1024;
+
+    private final Path cacheDirPath;
+    private final long maxSize;
+
+    public GeneratedJarCache(Path cacheDirPath) {
+        this(cacheDirPath, DEFAULT_MAX_SIZE);
+    }
+
+    public GeneratedJarCache(Path cacheDirPath, long maxSize) {
+        this.cacheDirPath = cacheDirPath;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the content of the jar cached with the given fingerprint.
+     *
+     * @param fingerprint fingerprint of the generated code
+     * @return the content of the jar, or empty if there is no readable jar cached with the fingerprint
+     */
+    public Optional<ByteArrayOutputStream> get(String fingerprint) {
+        Path jarPath = jarPath(fingerprint);
+        if (!Files.isRegularFile(jarPath)) {
+            return Optional.empty();
+        }
+
+        ByteArrayOutputStream jarContent = new ByteArrayOutputStream();
+        try {
+            Files.copy(jarPath, jarContent);
+        } catch (IOException e) {
+            // The jar is generated again if the cached one cannot be read
+            return Optional.empty();
+        }
+        markAsUsed(jarPath);
+        return Optional.of(jarContent);
+    }
+
+    /**
+     * Caches the content of a jar with the given fingerprint. Failing to cache a jar is not an error, as it only
+     * causes the jar to be generated again by the next build.
+     *
+     * @param fingerprint fingerprint of the generated code
+     * @param jarContent  content of the jar
+     */
+    public void put(String fingerprint, ByteArrayOutputStream jarContent) {
+        Path jarPath = jarPath(fingerprint);
+        if (Files.exists(jarPath)) {
+            markAsUsed(jarPath);
+            return;
+        }
+
+        try {
+            Files.createDirectories(cacheDirPath);
+            Path tempFilePath = Files.createTempFile(cacheDirPath, fingerprint, TEMP_FILE_EXTENSION);
+            try {
+                try (OutputStream outputStream = Files.newOutputStream(tempFilePath)) {
+                    jarContent.writeTo(outputStream);
+                }
+                Files.move(tempFilePath, jarPath, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFilePath);
+            }
+        } catch (IOException e) {
+            // Another build may have cached the same jar meanwhile, or the cache directory is not writable
+        }
+    }
+
+    /**
+     * Deletes the least recently used jars until the total size of the cache is within its size limit. A jar used by
+     * another build meanwhile may be deleted as well, which only causes it to be generated again.
+     */
+    public void evictLeastRecentlyUsed() {
+        List<Path> jarPaths = new ArrayList<>();
+        Map<Path, FileTime> lastUsedTimes = new HashMap<>();
+        long size = 0;
+        try (Stream<Path> paths = Files.list(cacheDirPath)) {
+            for (Path path : paths.collect(Collectors.toList())) {
+                if (!path.toString().endsWith(JAR_FILE_EXTENSION)) {
+                    continue;
+                }
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                jarPaths.add(path);
+                lastUsedTimes.put(path, attributes.lastModifiedTime());
+                size += attributes.size();
+            }
+        } catch (IOException e) {
+            // Evicted by a later build, if the cache cannot be listed now
+            return;
+        }
+
+        jarPaths.sort(Comparator.comparing(lastUsedTimes::get));
+        for (Path jarPath : jarPaths) {
+            if (size <= maxSize) {
+                return;
+            }
+            try {
+                long jarSize = Files.size(jarPath);
+                Files.deleteIfExists(jarPath);
+                size -= jarSize;
+            } catch (IOException e) {
+                // The jar is evicted by another build, or cannot be deleted
+            }
+        }
+    }
+
+    private static void markAsUsed(Path jarPath) {
+        try {
+            Files.setLastModifiedTime(jarPath, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            // The jar is only evicted earlier than necessary
+        }
+    }
+
+    private Path jarPath(String fingerprint) {
+        return cacheDirPath.resolve(fingerprint + JAR_FILE_EXTENSION);
+    }
+}
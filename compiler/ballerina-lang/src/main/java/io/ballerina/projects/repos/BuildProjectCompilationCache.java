@@ -19,18 +19,27 @@ package io.ballerina.projects.repos;
 
 import io.ballerina.projects.ModuleName;
 import io.ballerina.projects.Project;
+import io.ballerina.projects.ProjectException;
 import io.ballerina.projects.util.ProjectConstants;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 
 /**
  * Default {@code CompilationCache} linked with the {@code BuildProject}.
+ * <p>
+ * The BIR of a module is cached along with the fingerprint of the sources it is generated from, which lets an
+ * incremental build reuse the BIR and the jar of the modules whose sources did not change.
  *
  * @since 2.0.0
  */
 public class BuildProjectCompilationCache extends FileSystemCache {
     private static final String TARGET_DIR_NAME = "target";
     private static final byte[] EMPTY_BYTE_ARRAY = new byte[0];
+    private static final String FINGERPRINT_FILE_EXT = ".fingerprint";
 
     private BuildProjectCompilationCache(Project project, Path cacheDirPath) {
         super(project, cacheDirPath.resolve(ProjectConstants.CACHES_DIR_NAME));
@@ -43,8 +52,53 @@ public class BuildProjectCompilationCache extends FileSystemCache {
 
     @Override
     public byte[] getBir(ModuleName moduleName) {
-        // Do not return the cached BIR in the target directory
-        // We can improve this implementation to cache the BIR later to enable incremental compilation.
+        // Do not return the cached BIR in the target directory, unless its fingerprint is verified
         return EMPTY_BYTE_ARRAY;
     }
+
+    @Override
+    public byte[] getBir(ModuleName moduleName, String fingerprint) {
+        Path fingerprintFilePath = getFingerprintFilePath(moduleName);
+        if (!Files.exists(fingerprintFilePath)) {
+            return EMPTY_BYTE_ARRAY;
+        }
+
+        try {
+            if (!fingerprint.equals(Files.readString(fingerprintFilePath, StandardCharsets.UTF_8))) {
+                return EMPTY_BYTE_ARRAY;
+            }
+        } catch (IOException e) {
+            // The module is compiled again if the fingerprint cannot be read
+            return EMPTY_BYTE_ARRAY;
+        }
+        return super.getBir(moduleName);
+    }
+
+    @Override
+    public void cacheBir(ModuleName moduleName, ByteArrayOutputStream birContent) {
+        // The recorded fingerprint does not hold for the new BIR, until it is recorded again
+        try {
+            Files.deleteIfExists(getFingerprintFilePath(moduleName));
+            Files.deleteIfExists(getBirPath().resolve(moduleName.toString()
+                    + ProjectConstants.BLANG_COMPILED_PKG_BIR_EXT));
+        } catch (IOException e) {
+            throw new ProjectException("Failed to remove the cached bir of module '" + moduleName + "' from '"
+                    + getBirPath() + "': " + e.getMessage(), e);
+        }
+        super.cacheBir(moduleName, birContent);
+    }
+
+    @Override
+    public void cacheFingerprint(ModuleName moduleName, String fingerprint) {
+        try {
+            Files.writeString(getFingerprintFilePath(moduleName), fingerprint, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new ProjectException("Failed to write the fingerprint of module '" + moduleName + "' to '"
+                    + getFingerprintFilePath(moduleName) + "': " + e.getMessage(), e);
+        }
+    }
+
+    private Path getFingerprintFilePath(ModuleName moduleName) {
+        return getBirPath().resolve(moduleName.toString() + FINGERPRINT_FILE_EXT);
+    }
 }
@@ -133,7 +133,7 @@ public class FileSystemCache extends CompilationCache {
         }
     }
 
-    private Path getBirPath() {
+    protected Path getBirPath() {
         if (birPath != null) {
             return birPath;
         }
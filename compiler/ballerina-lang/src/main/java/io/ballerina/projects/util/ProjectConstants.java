@@ -65,6 +65,7 @@ public class ProjectConstants {
     public static final String BALA_CACHE_DIR_NAME = "bala_cache";
     public static final String BIR_CACHE_DIR_NAME = "bir_cache";
     public static final String JAR_CACHE_DIR_NAME = "jar_cache";
+    public static final String GENERATED_JAR_CACHE_DIR_NAME = "generated_jar_cache";
     public static final String JSON_CACHE_DIR_NAME = "json_cache";
     public static final String TESTS_CACHE_DIR_NAME = "tests_cache";
     public static final String TEST_DIR_NAME = "tests";
@@ -2602,6 +2602,14 @@ public class BIRGen extends BLangNodeVisitor {
         this.varAssignment = variableStore;
     }
 
+    private String getFieldName(BLangExpression keyExpr) {
+        if (keyExpr.getKind() != NodeKind.LITERAL) {
+            return null;
+        }
+        Object value = ((BLangLiteral) keyExpr).value;
+        return value instanceof String ? (String) value : null;
+    }
+
     private void generateMappingAccess(BLangIndexBasedAccess astIndexBasedAccessExpr, boolean except) {
         boolean variableStore = this.varAssignment;
         this.varAssignment = false;
@@ -2627,9 +2635,10 @@ public class BIRGen extends BLangNodeVisitor {
             } else {
                 insKind = InstructionKind.MAP_STORE;
             }
-            setScopeAndEmit(
-                    new BIRNonTerminator.FieldAccess(astIndexBasedAccessExpr.pos, insKind, varRefRegIndex, keyRegIndex,
-                            rhsOp, astIndexBasedAccessExpr.isStoreOnCreation));
+            BIRNonTerminator.FieldAccess fieldStore = new BIRNonTerminator.FieldAccess(astIndexBasedAccessExpr.pos,
+                    insKind, varRefRegIndex, keyRegIndex, rhsOp, astIndexBasedAccessExpr.isStoreOnCreation);
+            fieldStore.fieldName = getFieldName(astIndexBasedAccessExpr.indexExpr);
+            setScopeAndEmit(fieldStore);
         } else {
             BIRVariableDcl tempVarDcl = new BIRVariableDcl(astIndexBasedAccessExpr.getBType(),
                                                            this.env.nextLocalVarId(names),
@@ -2659,10 +2668,11 @@ public class BIRGen extends BLangNodeVisitor {
             } else {
                 insKind = InstructionKind.MAP_LOAD;
             }
-            setScopeAndEmit(
-                    new BIRNonTerminator.FieldAccess(astIndexBasedAccessExpr.pos, insKind, tempVarRef, keyRegIndex,
-                            varRefRegIndex, except,
-                            astIndexBasedAccessExpr.isLValue && !astIndexBasedAccessExpr.leafNode));
+            BIRNonTerminator.FieldAccess fieldLoad = new BIRNonTerminator.FieldAccess(astIndexBasedAccessExpr.pos,
+                    insKind, tempVarRef, keyRegIndex, varRefRegIndex, except,
+                    astIndexBasedAccessExpr.isLValue && !astIndexBasedAccessExpr.leafNode);
+            fieldLoad.fieldName = getFieldName(astIndexBasedAccessExpr.indexExpr);
+            setScopeAndEmit(fieldLoad);
             this.env.targetOperand = tempVarRef;
         }
         this.varAssignment = variableStore;
@@ -20,15 +20,34 @@ package org.wso2.ballerinalang.compiler.bir.codegen;
 
 import org.objectweb.asm.ClassWriter;
 
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Class Writer for generating ballerina classes.
  * <p>
+ * Stack map frames of the generated classes are computed by ASM ({@link ClassWriter#COMPUTE_FRAMES}), which merges
+ * the types of locals and stack values at branch targets through {@link #getCommonSuperClass(String, String)}. This
+ * writer keeps the classes looked up for that, so that the same types are not loaded again for each method.
+ * <p>
  * since 1.2.0
  */
 public class BallerinaClassWriter extends ClassWriter {
 
     private static final String OBJECT_CLASS = "java/lang/Object";
 
+    // Classes loaded while computing frames, by internal name. Types are looked up repeatedly across methods and
+    // classes. Only classes which are found are cached here, which are classes of the compiler's class path and hence
+    // the same for every compilation.
+    private static final Map<String, Class<?>> CLASSES = new ConcurrentHashMap<>();
+
+    // Types which are not found, mostly classes generated in the same compilation, whose names differ between
+    // compilations. These are only cached for the class being written, as a lookup of such a type fails with an
+    // exception after searching the whole class path.
+    private final Set<String> notFoundTypes = new HashSet<>();
+
     public BallerinaClassWriter(int flags) {
         super(flags);
     }
@@ -40,20 +59,17 @@ public class BallerinaClassWriter extends ClassWriter {
      */
     @Override
     protected String getCommonSuperClass(String type1, String type2) {
+        if (OBJECT_CLASS.equals(type1) || OBJECT_CLASS.equals(type2)) {
+            return OBJECT_CLASS;
+        }
 
-        ClassLoader classLoader = getClassLoader();
-        Class<?> class1;
-
-        try {
-            class1 = Class.forName(type1.replace('/', '.'), false, classLoader);
-        } catch (Exception e) {
+        Class<?> class1 = loadClass(type1);
+        if (class1 == null) {
             return OBJECT_CLASS;
         }
 
-        Class<?> class2;
-        try {
-            class2 = Class.forName(type2.replace('/', '.'), false, classLoader);
-        } catch (Exception e) {
+        Class<?> class2 = loadClass(type2);
+        if (class2 == null) {
             return OBJECT_CLASS;
         }
 
@@ -72,4 +88,20 @@ public class BallerinaClassWriter extends ClassWriter {
 
         return class1.getName().replace('.', '/');
     }
+
+    private Class<?> loadClass(String type) {
+        Class<?> clazz = CLASSES.get(type);
+        if (clazz != null || notFoundTypes.contains(type)) {
+            return clazz;
+        }
+
+        try {
+            clazz = Class.forName(type.replace('/', '.'), false, getClassLoader());
+        } catch (Exception e) {
+            notFoundTypes.add(type);
+            return null;
+        }
+        CLASSES.put(type, clazz);
+        return clazz;
+    }
 }
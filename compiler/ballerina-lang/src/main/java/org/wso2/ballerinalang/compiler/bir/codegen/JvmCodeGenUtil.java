@@ -45,6 +45,8 @@ import org.wso2.ballerinalang.compiler.util.TypeTags;
 import org.wso2.ballerinalang.compiler.util.Unifier;
 import org.wso2.ballerinalang.util.Flags;
 
+import java.math.BigDecimal;
+import java.math.MathContext;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -62,6 +64,7 @@ import static org.objectweb.asm.Opcodes.ICONST_0;
 import static org.objectweb.asm.Opcodes.ICONST_1;
 import static org.objectweb.asm.Opcodes.IFNE;
 import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKESTATIC;
 import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
 import static org.objectweb.asm.Opcodes.NEW;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.ARRAY_VALUE;
@@ -91,6 +94,7 @@ import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.STRING_VA
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.TABLE_VALUE_IMPL;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.TYPE;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.TYPEDESC_VALUE;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.VALUE_OF_METHOD;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.WINDOWS_PATH_SEPERATOR;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.XML_VALUE;
 
@@ -629,11 +633,7 @@ public class JvmCodeGenUtil {
                 mv.visitLdcInsn(booleanVal);
                 break;
             case TypeTags.DECIMAL:
-                mv.visitTypeInsn(NEW, DECIMAL_VALUE);
-                mv.visitInsn(DUP);
-                mv.visitLdcInsn(String.valueOf(constVal));
-                mv.visitMethodInsn(INVOKESPECIAL, DECIMAL_VALUE, JVM_INIT_METHOD, String.format("(L%s;)V",
-                                                                                                STRING_VALUE), false);
+                loadDecimalConstantValue(String.valueOf(constVal), mv);
                 break;
             case TypeTags.NIL:
             case TypeTags.NEVER:
@@ -645,6 +645,37 @@ public class JvmCodeGenUtil {
         }
     }
 
+    private static void loadDecimalConstantValue(String value, MethodVisitor mv) {
+        BigDecimal decimal = getCompactDecimal(value);
+        if (decimal != null) {
+            // Decimals whose unscaled value fits in a long are created from it instead of parsing the literal.
+            mv.visitLdcInsn(decimal.unscaledValue().longValue());
+            mv.visitLdcInsn(decimal.scale());
+            mv.visitMethodInsn(INVOKESTATIC, DECIMAL_VALUE, VALUE_OF_METHOD,
+                               String.format("(JI)L%s;", DECIMAL_VALUE), false);
+            return;
+        }
+        mv.visitTypeInsn(NEW, DECIMAL_VALUE);
+        mv.visitInsn(DUP);
+        mv.visitLdcInsn(value);
+        mv.visitMethodInsn(INVOKESPECIAL, DECIMAL_VALUE, JVM_INIT_METHOD, String.format("(L%s;)V", STRING_VALUE),
+                           false);
+    }
+
+    private static BigDecimal getCompactDecimal(String value) {
+        String upperCaseValue = value.toUpperCase();
+        if (upperCaseValue.startsWith("0X") || upperCaseValue.startsWith("-0X")) {
+            return null;
+        }
+        try {
+            // Parsed the same way the runtime parses the literal.
+            BigDecimal decimal = new BigDecimal(value, MathContext.DECIMAL128);
+            return decimal.precision() <= 18 ? decimal : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     private JvmCodeGenUtil() {
     }
 }
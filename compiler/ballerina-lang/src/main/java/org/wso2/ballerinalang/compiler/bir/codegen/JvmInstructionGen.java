@@ -42,8 +42,10 @@ import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BTypeSymbol;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.SchedulerPolicy;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BArrayType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BField;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BIntersectionType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BObjectType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BRecordType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
 import org.wso2.ballerinalang.compiler.util.TypeTags;
@@ -70,6 +72,7 @@ import static org.objectweb.asm.Opcodes.DSUB;
 import static org.objectweb.asm.Opcodes.DUP;
 import static org.objectweb.asm.Opcodes.FLOAD;
 import static org.objectweb.asm.Opcodes.FSTORE;
+import static org.objectweb.asm.Opcodes.GETFIELD;
 import static org.objectweb.asm.Opcodes.GETSTATIC;
 import static org.objectweb.asm.Opcodes.GOTO;
 import static org.objectweb.asm.Opcodes.I2B;
@@ -93,6 +96,7 @@ import static org.objectweb.asm.Opcodes.IF_ICMPLT;
 import static org.objectweb.asm.Opcodes.IF_ICMPNE;
 import static org.objectweb.asm.Opcodes.ILOAD;
 import static org.objectweb.asm.Opcodes.INEG;
+import static org.objectweb.asm.Opcodes.INSTANCEOF;
 import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
 import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
 import static org.objectweb.asm.Opcodes.INVOKESTATIC;
@@ -114,6 +118,7 @@ import static org.objectweb.asm.Opcodes.LSTORE;
 import static org.objectweb.asm.Opcodes.LUSHR;
 import static org.objectweb.asm.Opcodes.LXOR;
 import static org.objectweb.asm.Opcodes.NEW;
+import static org.objectweb.asm.Opcodes.PUTFIELD;
 import static org.objectweb.asm.Opcodes.PUTSTATIC;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmCastGen.getTargetClass;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmCodeGenUtil.toNameString;
@@ -168,8 +173,10 @@ import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.XML_QNAME
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.XML_SEQUENCE;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.XML_VALUE;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmTypeGen.getTypeDesc;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmValueGen.getFieldIsPresentFlagName;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmValueGen.getTypeDescClassName;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmValueGen.getTypeValueClassName;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmValueGen.isOptionalRecordField;
 
 /**
  * Instruction generator helper class to hold its enclosing pkg and index map.
@@ -679,6 +686,12 @@ public class JvmInstructionGen {
             this.mv.visitMethodInsn(INVOKESTATIC, VALUE_COMPARISON_UTILS, compareFuncName, "(DD)Z", false);
             this.storeToVar(binaryIns.lhsOp.variableDcl);
             return;
+        } else if (lhsOpType.tag == TypeTags.DECIMAL && rhsOpType.tag == TypeTags.DECIMAL) {
+            String compareFuncName = this.getCompareFuncName(opcode);
+            this.mv.visitMethodInsn(INVOKESTATIC, VALUE_COMPARISON_UTILS, compareFuncName,
+                    String.format("(L%s;L%s;)Z", DECIMAL_VALUE, DECIMAL_VALUE), false);
+            this.storeToVar(binaryIns.lhsOp.variableDcl);
+            return;
         } else {
             String compareFuncName = this.getCompareFuncName(opcode);
             this.mv.visitMethodInsn(INVOKESTATIC, VALUE_COMPARISON_UTILS, compareFuncName,
@@ -1211,6 +1224,8 @@ public class JvmInstructionGen {
     }
 
     void generateMapStoreIns(BIRNonTerminator.FieldAccess mapStoreIns) {
+        Label storeEndLabel = this.generateRecordFieldStore(mapStoreIns);
+
         // visit map_ref
         this.loadVar(mapStoreIns.lhsOp.variableDcl);
         BType varRefType = mapStoreIns.lhsOp.variableDcl.type;
@@ -1235,9 +1250,15 @@ public class JvmInstructionGen {
                                              MAP_VALUE, JvmConstants.B_STRING_VALUE, OBJECT);
             this.mv.visitMethodInsn(INVOKESTATIC, MAP_UTILS, "handleMapStore", signature, false);
         }
+
+        if (storeEndLabel != null) {
+            this.mv.visitLabel(storeEndLabel);
+        }
     }
 
     void generateMapLoadIns(BIRNonTerminator.FieldAccess mapLoadIns) {
+        Label loadEndLabel = this.generateRecordFieldLoad(mapLoadIns);
+
         // visit map_ref
         this.loadVar(mapLoadIns.rhsOp.variableDcl);
         BType varRefType = mapLoadIns.rhsOp.variableDcl.type;
@@ -1272,6 +1293,140 @@ public class JvmInstructionGen {
         BType targetType = mapLoadIns.lhsOp.variableDcl.type;
         jvmCastGen.addUnboxInsn(this.mv, targetType);
         this.storeToVar(mapLoadIns.lhsOp.variableDcl);
+
+        if (loadEndLabel != null) {
+            this.mv.visitLabel(loadEndLabel);
+        }
+    }
+
+    /**
+     * Generates a load of a field of a closed record from the JVM field of the generated record value class, if the
+     * value is an instance of that class. The `get` method of the record value otherwise finds the field by a string
+     * switch on the key.
+     *
+     * @param mapLoadIns map load instruction
+     * @return the label to continue from after loading the field directly, or null if the field can not be loaded
+     * directly, in which case nothing is generated
+     */
+    private Label generateRecordFieldLoad(BIRNonTerminator.FieldAccess mapLoadIns) {
+        BIRNode.BIRVariableDcl recordVar = mapLoadIns.rhsOp.variableDcl;
+        BField field = this.getDirectlyAccessibleField(recordVar.type, mapLoadIns.fieldName);
+        if (field == null || mapLoadIns.fillingRead || isOptionalRecordField(field)) {
+            return null;
+        }
+
+        String className = getTypeValueClassName(currentPackageName, toNameString(recordVar.type));
+        Label mapLoadLabel = new Label();
+        Label loadEndLabel = new Label();
+        this.loadVar(recordVar);
+        this.mv.visitTypeInsn(INSTANCEOF, className);
+        this.mv.visitJumpInsn(IFEQ, mapLoadLabel);
+
+        this.loadVar(recordVar);
+        this.mv.visitTypeInsn(CHECKCAST, className);
+        this.mv.visitFieldInsn(GETFIELD, className, field.name.value, getTypeDesc(field.type));
+        BType targetType = mapLoadIns.lhsOp.variableDcl.type;
+        if (!getTypeDesc(field.type).equals(getTypeDesc(targetType))) {
+            jvmCastGen.addBoxInsn(this.mv, field.type);
+            jvmCastGen.addUnboxInsn(this.mv, targetType);
+        }
+        this.storeToVar(mapLoadIns.lhsOp.variableDcl);
+        this.mv.visitJumpInsn(GOTO, loadEndLabel);
+
+        this.mv.visitLabel(mapLoadLabel);
+        return loadEndLabel;
+    }
+
+    /**
+     * Generates a store to a field of a closed record into the JVM field of the generated record value class, if the
+     * value is an instance of that class and is not readonly. Otherwise the store goes through
+     * `MapUtils.handleMapStore`, which reports the error for a readonly value.
+     *
+     * @param mapStoreIns map store instruction
+     * @return the label to continue from after storing the field directly, or null if the field can not be stored
+     * directly, in which case nothing is generated
+     */
+    private Label generateRecordFieldStore(BIRNonTerminator.FieldAccess mapStoreIns) {
+        BIRNode.BIRVariableDcl recordVar = mapStoreIns.lhsOp.variableDcl;
+        BField field = this.getDirectlyAccessibleField(recordVar.type, mapStoreIns.fieldName);
+        if (field == null || mapStoreIns.onInitialization) {
+            return null;
+        }
+
+        String className = getTypeValueClassName(currentPackageName, toNameString(recordVar.type));
+        Label mapStoreLabel = new Label();
+        Label storeEndLabel = new Label();
+        this.loadVar(recordVar);
+        this.mv.visitTypeInsn(INSTANCEOF, className);
+        this.mv.visitJumpInsn(IFEQ, mapStoreLabel);
+        this.loadVar(recordVar);
+        this.mv.visitTypeInsn(CHECKCAST, className);
+        this.mv.visitMethodInsn(INVOKEVIRTUAL, className, "getType", String.format("()L%s;", TYPE), false);
+        this.mv.visitMethodInsn(INVOKEINTERFACE, TYPE, "isReadOnly", "()Z", true);
+        this.mv.visitJumpInsn(IFNE, mapStoreLabel);
+
+        this.loadVar(recordVar);
+        this.mv.visitTypeInsn(CHECKCAST, className);
+        BType valueType = mapStoreIns.rhsOp.variableDcl.type;
+        this.loadVar(mapStoreIns.rhsOp.variableDcl);
+        if (!getTypeDesc(valueType).equals(getTypeDesc(field.type))) {
+            jvmCastGen.addBoxInsn(this.mv, valueType);
+            jvmCastGen.addUnboxInsn(this.mv, field.type);
+        }
+        String fieldName = field.name.value;
+        this.mv.visitFieldInsn(PUTFIELD, className, fieldName, getTypeDesc(field.type));
+        if (isOptionalRecordField(field)) {
+            this.loadVar(recordVar);
+            this.mv.visitTypeInsn(CHECKCAST, className);
+            this.mv.visitInsn(ICONST_1);
+            this.mv.visitFieldInsn(PUTFIELD, className, getFieldIsPresentFlagName(fieldName),
+                                   getTypeDesc(symbolTable.booleanType));
+        }
+        this.mv.visitJumpInsn(GOTO, storeEndLabel);
+
+        this.mv.visitLabel(mapStoreLabel);
+        return storeEndLabel;
+    }
+
+    /**
+     * Finds the field which is accessed by a map load or store instruction, if the field is a field of a closed record
+     * type of this module, whose value class has a JVM field for it.
+     *
+     * @param varRefType static type of the accessed value
+     * @param fieldName  name of the accessed field, if the key is a string literal
+     * @return the field, or null if the access has to go through the map value
+     */
+    private BField getDirectlyAccessibleField(BType varRefType, String fieldName) {
+        if (fieldName == null || varRefType.tag != TypeTags.RECORD) {
+            return null;
+        }
+
+        // The JVM fields of a record value class are package private, hence only records of this module qualify.
+        BRecordType recordType = (BRecordType) varRefType;
+        if (!recordType.sealed || getRecordValueClassName(recordType) == null) {
+            return null;
+        }
+
+        for (BField field : recordType.fields.values()) {
+            if (field != null && IdentifierUtils.decodeIdentifier(field.name.value).equals(fieldName)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the name of the value class generated for a record type defined in the current module.
+     *
+     * @param recordType record type
+     * @return the class name, or null if the record type has no value class generated in the current module
+     */
+    String getRecordValueClassName(BRecordType recordType) {
+        if (recordType.tsymbol == null || !currentPackage.equals(recordType.tsymbol.pkgID)) {
+            return null;
+        }
+        String className = getTypeValueClassName(currentPackageName, toNameString(recordType));
+        return jvmPackageGen.hasRecordValueClass(className) ? className : null;
     }
 
     void generateObjectLoadIns(BIRNonTerminator.FieldAccess objectLoadIns) {
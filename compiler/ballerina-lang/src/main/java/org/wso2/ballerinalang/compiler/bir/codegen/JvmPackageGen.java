@@ -49,6 +49,8 @@ import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRTypeDefinition;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.NewInstance;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
 import org.wso2.ballerinalang.compiler.bir.model.VarKind;
 import org.wso2.ballerinalang.compiler.bir.model.VarScope;
 import org.wso2.ballerinalang.compiler.diagnostic.BLangDiagnosticLog;
@@ -69,11 +71,14 @@ import org.wso2.ballerinalang.util.Flags;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static org.ballerinalang.model.symbols.SymbolOrigin.VIRTUAL;
@@ -83,9 +88,11 @@ import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
 import static org.objectweb.asm.Opcodes.ACC_STATIC;
 import static org.objectweb.asm.Opcodes.ACC_SUPER;
 import static org.objectweb.asm.Opcodes.DUP;
+import static org.objectweb.asm.Opcodes.GETSTATIC;
 import static org.objectweb.asm.Opcodes.ICONST_0;
 import static org.objectweb.asm.Opcodes.ICONST_1;
 import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
 import static org.objectweb.asm.Opcodes.NEW;
 import static org.objectweb.asm.Opcodes.PUTSTATIC;
 import static org.objectweb.asm.Opcodes.RETURN;
@@ -96,9 +103,11 @@ import static org.wso2.ballerinalang.compiler.bir.codegen.JvmCodeGenUtil.toNameS
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.BALLERINA;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.CURRENT_MODULE_VAR_NAME;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.ENCODED_DOT_CHARACTER;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.GLOBAL_LOCK_NAME;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.JVM_INIT_METHOD;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.LOCK_STORE;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.LOCK_STORE_VAR_NAME;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.LOCK_VALUE;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.MODULE;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.MODULE_INIT_CLASS_NAME;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.MODULE_STARTED;
@@ -129,9 +138,10 @@ public class JvmPackageGen {
     private final FrameClassGen frameClassGen;
     private final InitMethodGen initMethodGen;
     private final ConfigMethodGen configMethodGen;
-    private final Map<String, BIRFunctionWrapper> birFunctionMap;
-    private final Map<String, String> externClassMap;
-    private final Map<String, String> globalVarClassMap;
+    private Map<String, BIRFunctionWrapper> birFunctionMap;
+    private Map<String, String> externClassMap;
+    private Map<String, String> globalVarClassMap;
+    private Set<String> recordValueClasses;
     private final Set<PackageID> dependentModules;
     private final BLangDiagnosticLog dlog;
 
@@ -139,6 +149,7 @@ public class JvmPackageGen {
                   CompilerContext compilerContext) {
         birFunctionMap = new HashMap<>();
         globalVarClassMap = new HashMap<>();
+        recordValueClasses = new HashSet<>();
         externClassMap = new HashMap<>();
         dependentModules = new LinkedHashSet<>();
         this.symbolTable = symbolTable;
@@ -230,12 +241,42 @@ public class JvmPackageGen {
         fv.visitEnd();
     }
 
-    private static void generateLockForVariable(ClassWriter cw) {
+    private static void generateLockForVariable(ClassWriter cw, Set<Integer> lockIds) {
 
         String lockStoreClass = "L" + LOCK_STORE + ";";
         FieldVisitor fv;
         fv = cw.visitField(ACC_PUBLIC + ACC_FINAL + ACC_STATIC, LOCK_STORE_VAR_NAME, lockStoreClass, null, null);
         fv.visitEnd();
+
+        String lockClass = "L" + LOCK_VALUE + ";";
+        for (Integer lockId : lockIds) {
+            fv = cw.visitField(ACC_PUBLIC + ACC_FINAL + ACC_STATIC, computeGlobalLockFieldName(lockId), lockClass,
+                               null, null);
+            fv.visitEnd();
+        }
+    }
+
+    /**
+     * Collects the ids of the lock statements in the module. Each id gets a static lock field in the module init
+     * class, so that lock statements do not need to look the lock up from the lock store by name.
+     */
+    private static Set<Integer> getLockIds(BIRPackage birPackage) {
+        Set<Integer> lockIds = new TreeSet<>();
+        List<BIRFunction> functions = new ArrayList<>(birPackage.functions);
+        for (BIRTypeDefinition typeDef : birPackage.typeDefs) {
+            functions.addAll(typeDef.attachedFuncs);
+        }
+        for (BIRFunction func : functions) {
+            if (func == null) {
+                continue;
+            }
+            for (BIRNode.BIRBasicBlock bb : func.basicBlocks) {
+                if (bb.terminator != null && bb.terminator.kind == InstructionKind.LOCK) {
+                    lockIds.add(((BIRTerminator.Lock) bb.terminator).lockId);
+                }
+            }
+        }
+        return lockIds;
     }
 
     private static void generateStaticInitializer(ClassWriter cw, String className, BIRPackage birPackage,
@@ -248,7 +289,7 @@ public class JvmPackageGen {
         MethodVisitor mv = cw.visitMethod(ACC_STATIC, "<clinit>", "()V", null, null);
         if (isInitClass) {
             setConstantFields(mv, birPackage, className, stringConstantsGen);
-            setLockStoreField(mv, className);
+            setLockStoreField(mv, className, getLockIds(birPackage));
             setServiceEPAvailableField(cw, mv, serviceEPAvailable, className);
             setModuleStatusField(cw, mv, className);
             setCurrentModuleField(cw, mv, birPackage.packageID, className);
@@ -278,12 +319,22 @@ public class JvmPackageGen {
         }
     }
 
-    private static void setLockStoreField(MethodVisitor mv, String className) {
+    private static void setLockStoreField(MethodVisitor mv, String className, Set<Integer> lockIds) {
         String lockStoreClass = "L" + LOCK_STORE + ";";
         mv.visitTypeInsn(NEW, LOCK_STORE);
         mv.visitInsn(DUP);
         mv.visitMethodInsn(INVOKESPECIAL, LOCK_STORE, JVM_INIT_METHOD, "()V", false);
         mv.visitFieldInsn(PUTSTATIC, className, LOCK_STORE_VAR_NAME, lockStoreClass);
+
+        // The locks are still registered in the lock store, which is used to detect async calls inside locks.
+        String lockClass = "L" + LOCK_VALUE + ";";
+        for (Integer lockId : lockIds) {
+            mv.visitFieldInsn(GETSTATIC, className, LOCK_STORE_VAR_NAME, lockStoreClass);
+            mv.visitLdcInsn(GLOBAL_LOCK_NAME + lockId);
+            mv.visitMethodInsn(INVOKEVIRTUAL, LOCK_STORE, "getLockFromMap",
+                               String.format("(L%s;)L%s;", STRING_VALUE, LOCK_VALUE), false);
+            mv.visitFieldInsn(PUTSTATIC, className, computeGlobalLockFieldName(lockId), lockClass);
+        }
     }
 
     private static void setServiceEPAvailableField(ClassWriter cw, MethodVisitor mv, boolean serviceEPAvailable,
@@ -335,6 +386,11 @@ public class JvmPackageGen {
         return "$lock" + varName;
     }
 
+    static String computeGlobalLockFieldName(Integer lockId) {
+
+        return "$" + GLOBAL_LOCK_NAME + lockId;
+    }
+
     public static String cleanupPackageName(String pkgName) {
 
         int index = pkgName.lastIndexOf("/");
@@ -447,7 +503,7 @@ public class JvmPackageGen {
                 }
                 initMethodGen.generateLambdaForPackageInits(cw, module, moduleClass, moduleImports, jvmCastGen);
 
-                generateLockForVariable(cw);
+                generateLockForVariable(cw, getLockIds(module));
                 jvmTypeGen.generateCreateTypesMethod(cw, module.typeDefs, moduleInitClass, symbolTable);
                 initMethodGen.generateModuleInitializer(cw, module, moduleInitClass);
                 ModuleStopMethodGen moduleStopMethodGen = new ModuleStopMethodGen(symbolTable, jvmTypeGen);
@@ -539,6 +595,12 @@ public class JvmPackageGen {
         for (BIRTypeDefinition optionalTypeDef : typeDefs) {
             BType bType = optionalTypeDef.type;
 
+            if (bType.tag == TypeTags.RECORD) {
+                recordValueClasses.add(JvmValueGen.getTypeValueClassName(module.packageID,
+                                                                         optionalTypeDef.internalName.value));
+                continue;
+            }
+
             if ((bType.tag != TypeTags.OBJECT || !Symbols.isFlagOn(bType.tsymbol.flags, Flags.CLASS))) {
                 continue;
             }
@@ -693,10 +755,23 @@ public class JvmPackageGen {
         return result;
     }
 
+    /**
+     * Makes the lookup maps read only before the classes of the module are generated in parallel. The maps are only
+     * populated while linking the functions and global variables to classes, and can be read concurrently as long as
+     * they are not modified afterwards.
+     */
+    private void freezeLookupMaps() {
+        birFunctionMap = Collections.unmodifiableMap(birFunctionMap);
+        globalVarClassMap = Collections.unmodifiableMap(globalVarClassMap);
+        recordValueClasses = Collections.unmodifiableSet(recordValueClasses);
+        externClassMap = Collections.unmodifiableMap(externClassMap);
+    }
+
     private void clearPackageGenInfo() {
-        birFunctionMap.clear();
-        globalVarClassMap.clear();
-        externClassMap.clear();
+        birFunctionMap = new HashMap<>();
+        globalVarClassMap = new HashMap<>();
+        recordValueClasses = new HashSet<>();
+        externClassMap = new HashMap<>();
         dependentModules.clear();
     }
 
@@ -730,6 +805,10 @@ public class JvmPackageGen {
         }
     }
 
+    boolean hasRecordValueClass(String className) {
+        return recordValueClasses.contains(className);
+    }
+
     public String lookupGlobalVarClassName(String pkgName, String varName) {
         String key = pkgName + varName;
         if (!globalVarClassMap.containsKey(key)) {
@@ -796,6 +875,9 @@ public class JvmPackageGen {
         // desugar the record init function
         rewriteRecordInits(module.typeDefs);
 
+        // the rest of the classes are generated in parallel
+        freezeLookupMaps();
+
         // generate object/record value classes
         JvmValueGen valueGen = new JvmValueGen(module, this, methodGen);
         valueGen.generateValueClasses(jarEntries, stringConstantsGen);
@@ -811,7 +893,9 @@ public class JvmPackageGen {
         // clear class name mappings
         clearPackageGenInfo();
 
-        return new CompiledJarFile(getModuleLevelClassName(module.packageID, MODULE_INIT_CLASS_NAME, "."), jarEntries);
+        // sort the entries, so that the jar content does not depend on the order the classes were generated in
+        return new CompiledJarFile(getModuleLevelClassName(module.packageID, MODULE_INIT_CLASS_NAME, "."),
+                                   new TreeMap<>(jarEntries));
     }
     private boolean listenerDeclarationFound(BPackageSymbol packageSymbol) {
         if (packageSymbol.bir != null && packageSymbol.bir.isListenerAvailable) {
@@ -20,23 +20,62 @@ package org.wso2.ballerinalang.compiler.bir.codegen;
 
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
 import org.wso2.ballerinalang.compiler.semantics.analyzer.Types;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BFiniteType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BRecordType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BUnionType;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangExpression;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangLiteral;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
 import org.wso2.ballerinalang.compiler.util.TypeTags;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.objectweb.asm.Opcodes.CHECKCAST;
+import static org.objectweb.asm.Opcodes.DUP;
+import static org.objectweb.asm.Opcodes.DUP2;
 import static org.objectweb.asm.Opcodes.GOTO;
 import static org.objectweb.asm.Opcodes.ICONST_0;
 import static org.objectweb.asm.Opcodes.ICONST_1;
+import static org.objectweb.asm.Opcodes.IFEQ;
+import static org.objectweb.asm.Opcodes.IFGT;
+import static org.objectweb.asm.Opcodes.IFLT;
 import static org.objectweb.asm.Opcodes.IFNE;
 import static org.objectweb.asm.Opcodes.IFNONNULL;
 import static org.objectweb.asm.Opcodes.IFNULL;
 import static org.objectweb.asm.Opcodes.INSTANCEOF;
+import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
 import static org.objectweb.asm.Opcodes.INVOKESTATIC;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.L2I;
+import static org.objectweb.asm.Opcodes.LAND;
+import static org.objectweb.asm.Opcodes.LCMP;
+import static org.objectweb.asm.Opcodes.LCONST_0;
+import static org.objectweb.asm.Opcodes.LCONST_1;
+import static org.objectweb.asm.Opcodes.LSUB;
+import static org.objectweb.asm.Opcodes.LUSHR;
+import static org.objectweb.asm.Opcodes.POP;
+import static org.objectweb.asm.Opcodes.POP2;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.BERROR;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.BOOLEAN_VALUE;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.BYTE_VALUE;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.B_STRING_VALUE;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.DECIMAL_VALUE;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.DOUBLE_VALUE;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.GET_VALUE_METHOD;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.INT_VALUE;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.LONG_VALUE;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.NUMBER;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.OBJECT;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.STRING_VALUE;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.TYPE;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.TYPE_CHECKER;
 
@@ -75,6 +114,12 @@ public class JvmTypeTestGen {
             handleErrorUnionType(typeTestIns);
             return;
         }
+        TypeTestMembers members = new TypeTestMembers();
+        members.add(targetType);
+        if (members.canSpecialize()) {
+            generateSpecializedTypeTest(typeTestIns, members);
+            return;
+        }
         jvmInstructionGen.loadVar(sourceValue);
         jvmTypeGen.loadType(this.mv, targetType);
 
@@ -209,4 +254,326 @@ public class JvmTypeTestGen {
         mv.visitJumpInsn(IFNE, ifLabel);
         loadBoolean(ifLabel);
     }
+
+    /**
+     * Generates the type test by checking the JVM class of the value against the basic types of the target type, and
+     * the value itself against the values of its finite types. The generic type checker is only called if the
+     * target type has members which can not be checked that way, and the value did not match any of the others.
+     *
+     * @param typeTestIns type test instruction
+     * @param members     members of the target type
+     */
+    private void generateSpecializedTypeTest(BIRNonTerminator.TypeTest typeTestIns, TypeTestMembers members) {
+        BIRNode.BIRVariableDcl sourceValue = typeTestIns.rhsOp.variableDcl;
+        Label trueLabel = new Label();
+        Label endLabel = new Label();
+
+        if (members.nil) {
+            jvmInstructionGen.loadVar(sourceValue);
+            mv.visitJumpInsn(IFNULL, trueLabel);
+        }
+        if (members.anyInt) {
+            generateIntValueCheck(sourceValue, trueLabel);
+        }
+        for (String valueClass : members.valueClasses) {
+            jvmInstructionGen.loadVar(sourceValue);
+            mv.visitTypeInsn(INSTANCEOF, valueClass);
+            mv.visitJumpInsn(IFNE, trueLabel);
+        }
+        if (members.trueValue || members.falseValue) {
+            generateBooleanValueCheck(sourceValue, members, trueLabel);
+        }
+        if (!members.intValues.isEmpty()) {
+            generateIntValuesCheck(sourceValue, members.intValues, trueLabel);
+        }
+        if (!members.stringValues.isEmpty()) {
+            generateStringValuesCheck(sourceValue, members.stringValues, trueLabel);
+        }
+
+        if (members.complete) {
+            mv.visitInsn(ICONST_0);
+        } else {
+            jvmInstructionGen.loadVar(sourceValue);
+            jvmTypeGen.loadType(this.mv, typeTestIns.type);
+            this.mv.visitMethodInsn(INVOKESTATIC, TYPE_CHECKER, "checkIsType",
+                                    String.format("(L%s;L%s;)Z", OBJECT, TYPE), false);
+        }
+        mv.visitJumpInsn(GOTO, endLabel);
+        mv.visitLabel(trueLabel);
+        mv.visitInsn(ICONST_1);
+        mv.visitLabel(endLabel);
+        jvmInstructionGen.storeToVar(typeTestIns.lhsOp.variableDcl);
+    }
+
+    private void generateIntValueCheck(BIRNode.BIRVariableDcl sourceValue, Label matchLabel) {
+        // Byte values are boxed as integers, and are int values as well.
+        for (String intClass : new String[]{LONG_VALUE, INT_VALUE, BYTE_VALUE}) {
+            jvmInstructionGen.loadVar(sourceValue);
+            mv.visitTypeInsn(INSTANCEOF, intClass);
+            mv.visitJumpInsn(IFNE, matchLabel);
+        }
+    }
+
+    private void generateBooleanValueCheck(BIRNode.BIRVariableDcl sourceValue, TypeTestMembers members,
+                                           Label trueLabel) {
+        jvmInstructionGen.loadVar(sourceValue);
+        mv.visitTypeInsn(INSTANCEOF, BOOLEAN_VALUE);
+        if (members.trueValue && members.falseValue) {
+            mv.visitJumpInsn(IFNE, trueLabel);
+            return;
+        }
+        Label nextLabel = new Label();
+        mv.visitJumpInsn(IFEQ, nextLabel);
+        jvmInstructionGen.loadVar(sourceValue);
+        mv.visitTypeInsn(CHECKCAST, BOOLEAN_VALUE);
+        mv.visitMethodInsn(INVOKEVIRTUAL, BOOLEAN_VALUE, "booleanValue", "()Z", false);
+        mv.visitJumpInsn(members.trueValue ? IFNE : IFEQ, trueLabel);
+        mv.visitLabel(nextLabel);
+    }
+
+    /**
+     * Generates the check of an int value against the int values of finite types. Values spanning less than 64
+     * numbers are checked with a bit set, values in the range of a JVM int with a lookup switch, and the others one
+     * by one.
+     *
+     * @param sourceValue variable holding the value
+     * @param values      int values of the finite types
+     * @param trueLabel   label to jump to if the value is one of the values
+     */
+    private void generateIntValuesCheck(BIRNode.BIRVariableDcl sourceValue, TreeSet<Long> values, Label trueLabel) {
+        Label isIntLabel = new Label();
+        Label nextLabel = new Label();
+        generateIntValueCheck(sourceValue, isIntLabel);
+        mv.visitJumpInsn(GOTO, nextLabel);
+
+        mv.visitLabel(isIntLabel);
+        long min = values.first();
+        long max = values.last();
+        boolean bitSet = max - min >= 0 && max - min < Long.SIZE;
+        if (bitSet) {
+            long mask = 0;
+            for (long value : values) {
+                mask |= 1L << (value - min);
+            }
+            mv.visitLdcInsn(mask);
+        }
+        jvmInstructionGen.loadVar(sourceValue);
+        mv.visitTypeInsn(CHECKCAST, NUMBER);
+        mv.visitMethodInsn(INVOKEVIRTUAL, NUMBER, "longValue", "()J", false);
+
+        if (bitSet) {
+            // The mask is checked at the bit of the offset of the value from the smallest value, if the offset is
+            // within the mask.
+            Label outOfRangeLabel = new Label();
+            mv.visitLdcInsn(min);
+            mv.visitInsn(LSUB);
+            mv.visitInsn(DUP2);
+            mv.visitLdcInsn(Long.SIZE - 1L);
+            mv.visitInsn(LCMP);
+            mv.visitJumpInsn(IFGT, outOfRangeLabel);
+            mv.visitInsn(DUP2);
+            mv.visitInsn(LCONST_0);
+            mv.visitInsn(LCMP);
+            mv.visitJumpInsn(IFLT, outOfRangeLabel);
+            mv.visitInsn(L2I);
+            mv.visitInsn(LUSHR);
+            mv.visitInsn(LCONST_1);
+            mv.visitInsn(LAND);
+            mv.visitInsn(LCONST_0);
+            mv.visitInsn(LCMP);
+            mv.visitJumpInsn(IFNE, trueLabel);
+            mv.visitJumpInsn(GOTO, nextLabel);
+            mv.visitLabel(outOfRangeLabel);
+            mv.visitInsn(POP2);
+            mv.visitInsn(POP2);
+        } else if (min >= Integer.MIN_VALUE && max <= Integer.MAX_VALUE) {
+            Label outOfRangeLabel = new Label();
+            mv.visitInsn(DUP2);
+            mv.visitLdcInsn(min);
+            mv.visitInsn(LCMP);
+            mv.visitJumpInsn(IFLT, outOfRangeLabel);
+            mv.visitInsn(DUP2);
+            mv.visitLdcInsn(max);
+            mv.visitInsn(LCMP);
+            mv.visitJumpInsn(IFGT, outOfRangeLabel);
+            mv.visitInsn(L2I);
+            int[] keys = new int[values.size()];
+            Label[] labels = new Label[values.size()];
+            int i = 0;
+            for (long value : values) {
+                keys[i] = (int) value;
+                labels[i++] = trueLabel;
+            }
+            mv.visitLookupSwitchInsn(nextLabel, keys, labels);
+            mv.visitLabel(outOfRangeLabel);
+            mv.visitInsn(POP2);
+        } else {
+            Label matchLabel = new Label();
+            for (long value : values) {
+                mv.visitInsn(DUP2);
+                mv.visitLdcInsn(value);
+                mv.visitInsn(LCMP);
+                mv.visitJumpInsn(IFEQ, matchLabel);
+            }
+            mv.visitInsn(POP2);
+            mv.visitJumpInsn(GOTO, nextLabel);
+            mv.visitLabel(matchLabel);
+            mv.visitInsn(POP2);
+            mv.visitJumpInsn(GOTO, trueLabel);
+        }
+        mv.visitLabel(nextLabel);
+    }
+
+    /**
+     * Generates the check of a string value against the string values of finite types, with a lookup switch on the
+     * hash code of the string as done by the Java compiler for a switch on strings.
+     *
+     * @param sourceValue variable holding the value
+     * @param values      string values of the finite types
+     * @param trueLabel   label to jump to if the value is one of the values
+     */
+    private void generateStringValuesCheck(BIRNode.BIRVariableDcl sourceValue, Set<String> values,
+                                           Label trueLabel) {
+        Label nextLabel = new Label();
+        jvmInstructionGen.loadVar(sourceValue);
+        mv.visitTypeInsn(INSTANCEOF, B_STRING_VALUE);
+        mv.visitJumpInsn(IFEQ, nextLabel);
+        jvmInstructionGen.loadVar(sourceValue);
+        mv.visitTypeInsn(CHECKCAST, B_STRING_VALUE);
+        mv.visitMethodInsn(INVOKEINTERFACE, B_STRING_VALUE, GET_VALUE_METHOD, String.format("()L%s;", STRING_VALUE),
+                           true);
+
+        TreeMap<Integer, List<String>> hashBuckets = new TreeMap<>();
+        for (String value : values) {
+            hashBuckets.computeIfAbsent(value.hashCode(), hash -> new ArrayList<>()).add(value);
+        }
+        int[] keys = new int[hashBuckets.size()];
+        Label[] labels = new Label[hashBuckets.size()];
+        int i = 0;
+        for (Integer hash : hashBuckets.keySet()) {
+            keys[i] = hash;
+            labels[i++] = new Label();
+        }
+
+        Label noMatchLabel = new Label();
+        Label matchLabel = new Label();
+        mv.visitInsn(DUP);
+        mv.visitMethodInsn(INVOKEVIRTUAL, STRING_VALUE, "hashCode", "()I", false);
+        mv.visitLookupSwitchInsn(noMatchLabel, keys, labels);
+        i = 0;
+        for (List<String> bucket : hashBuckets.values()) {
+            mv.visitLabel(labels[i++]);
+            for (String value : bucket) {
+                mv.visitInsn(DUP);
+                mv.visitLdcInsn(value);
+                mv.visitMethodInsn(INVOKEVIRTUAL, STRING_VALUE, "equals", String.format("(L%s;)Z", OBJECT), false);
+                mv.visitJumpInsn(IFNE, matchLabel);
+            }
+            mv.visitJumpInsn(GOTO, noMatchLabel);
+        }
+        mv.visitLabel(matchLabel);
+        mv.visitInsn(POP);
+        mv.visitJumpInsn(GOTO, trueLabel);
+        mv.visitLabel(noMatchLabel);
+        mv.visitInsn(POP);
+        mv.visitLabel(nextLabel);
+    }
+
+    /**
+     * Members of the target type of a type test, grouped by the way a value is checked against them.
+     */
+    private class TypeTestMembers {
+
+        private boolean nil;
+        private boolean anyInt;
+        private boolean trueValue;
+        private boolean falseValue;
+        private final Set<String> valueClasses = new LinkedHashSet<>();
+        private final TreeSet<Long> intValues = new TreeSet<>();
+        private final Set<String> stringValues = new LinkedHashSet<>();
+        // Whether a value not matching any of the above does not belong to the type.
+        private boolean complete = true;
+
+        void add(BType type) {
+            switch (type.tag) {
+                case TypeTags.UNION:
+                    for (BType memberType : ((BUnionType) type).getMemberTypes()) {
+                        add(memberType);
+                    }
+                    break;
+                case TypeTags.FINITE:
+                    for (BLangExpression valueSpaceItem : ((BFiniteType) type).getValueSpace()) {
+                        addValue(valueSpaceItem.getBType(), ((BLangLiteral) valueSpaceItem).value);
+                    }
+                    break;
+                case TypeTags.NIL:
+                    nil = true;
+                    break;
+                case TypeTags.INT:
+                    anyInt = true;
+                    break;
+                case TypeTags.BOOLEAN:
+                    trueValue = true;
+                    falseValue = true;
+                    break;
+                case TypeTags.FLOAT:
+                    valueClasses.add(DOUBLE_VALUE);
+                    break;
+                case TypeTags.DECIMAL:
+                    valueClasses.add(DECIMAL_VALUE);
+                    break;
+                case TypeTags.STRING:
+                    valueClasses.add(B_STRING_VALUE);
+                    break;
+                case TypeTags.RECORD:
+                    // A value of the class generated for the record type belongs to it, but values of other record
+                    // types may belong to it as well.
+                    String className = jvmInstructionGen.getRecordValueClassName((BRecordType) type);
+                    if (className != null) {
+                        valueClasses.add(className);
+                    }
+                    complete = false;
+                    break;
+                default:
+                    complete = false;
+                    break;
+            }
+        }
+
+        private void addValue(BType valueType, Object value) {
+            if (TypeTags.isIntegerTypeTag(valueType.tag) || valueType.tag == TypeTags.BYTE) {
+                intValues.add(value instanceof Number ? ((Number) value).longValue() :
+                                      Long.parseLong(String.valueOf(value)));
+            } else if (TypeTags.isStringTypeTag(valueType.tag)) {
+                stringValues.add(String.valueOf(value));
+            } else if (valueType.tag == TypeTags.BOOLEAN) {
+                if (value instanceof Boolean ? (Boolean) value : Boolean.parseBoolean(String.valueOf(value))) {
+                    trueValue = true;
+                } else {
+                    falseValue = true;
+                }
+            } else if (valueType.tag == TypeTags.NIL) {
+                nil = true;
+            } else {
+                complete = false;
+            }
+        }
+
+        /**
+         * Checks whether the type test is worth generating this way, i.e. whether some values can be checked without
+         * calling the type checker.
+         *
+         * @return true if at least one member can be checked without the type checker
+         */
+        boolean canSpecialize() {
+            if (anyInt) {
+                intValues.clear();
+            }
+            if (valueClasses.contains(B_STRING_VALUE)) {
+                stringValues.clear();
+            }
+            return nil || anyInt || trueValue || falseValue || !valueClasses.isEmpty() || !intValues.isEmpty() ||
+                    !stringValues.isEmpty();
+        }
+    }
 }
@@ -829,20 +829,20 @@ class JvmValueGen {
             FieldVisitor fv = cw.visitField(0, fieldName, getTypeDesc(field.type), null, null);
             fv.visitEnd();
 
-            if (this.isOptionalRecordField(field)) {
-                fv = cw.visitField(0, this.getFieldIsPresentFlagName(fieldName), getTypeDesc(booleanType),
+            if (isOptionalRecordField(field)) {
+                fv = cw.visitField(0, getFieldIsPresentFlagName(fieldName), getTypeDesc(booleanType),
                         null, null);
                 fv.visitEnd();
             }
         }
     }
 
-    private String getFieldIsPresentFlagName(String fieldName) {
+    static String getFieldIsPresentFlagName(String fieldName) {
 
         return String.format("$%s$isPresent", fieldName);
     }
 
-    private boolean isOptionalRecordField(BField field) {
+    static boolean isOptionalRecordField(BField field) {
 
         return (field.symbol.flags & BAL_OPTIONAL) == BAL_OPTIONAL;
     }
@@ -882,9 +882,9 @@ class JvmValueGen {
             // if the field is an optional-field, first check the 'isPresent' flag of that field.
             Label ifPresentLabel = new Label();
             String fieldName = optionalField.name.value;
-            if (this.isOptionalRecordField(optionalField)) {
+            if (isOptionalRecordField(optionalField)) {
                 mv.visitVarInsn(ALOAD, 0);
-                mv.visitFieldInsn(GETFIELD, className, this.getFieldIsPresentFlagName(fieldName),
+                mv.visitFieldInsn(GETFIELD, className, getFieldIsPresentFlagName(fieldName),
                         getTypeDesc(booleanType));
                 mv.visitJumpInsn(IFNE, ifPresentLabel);
                 mv.visitInsn(ACONST_NULL);
@@ -951,10 +951,10 @@ class JvmValueGen {
             mv.visitFieldInsn(PUTFIELD, className, fieldName, getTypeDesc(optionalField.type));
 
             // if the field is an optional-field, then also set the isPresent flag of that field to true.
-            if (this.isOptionalRecordField(optionalField)) {
+            if (isOptionalRecordField(optionalField)) {
                 mv.visitVarInsn(ALOAD, 0);
                 mv.visitInsn(ICONST_1);
-                mv.visitFieldInsn(PUTFIELD, className, this.getFieldIsPresentFlagName(fieldName),
+                mv.visitFieldInsn(PUTFIELD, className, getFieldIsPresentFlagName(fieldName),
                         getTypeDesc(booleanType));
             }
 
@@ -1009,10 +1009,10 @@ class JvmValueGen {
 
             // If its an optional field, generate if-condition to check the presense of the field.
             String fieldName = optionalField.name.value;
-            if (this.isOptionalRecordField(optionalField)) {
+            if (isOptionalRecordField(optionalField)) {
                 mv.visitVarInsn(ALOAD, 0);
                 mv.visitFieldInsn(GETFIELD, className,
-                        this.getFieldIsPresentFlagName(decodeIdentifier(fieldName)),
+                        getFieldIsPresentFlagName(decodeIdentifier(fieldName)),
                         getTypeDesc(booleanType));
                 mv.visitJumpInsn(IFEQ, ifNotPresent);
             }
@@ -1083,10 +1083,10 @@ class JvmValueGen {
             mv.visitLabel(targetLabel);
 
             String fieldName = optionalField.name.value;
-            if (this.isOptionalRecordField(optionalField)) {
+            if (isOptionalRecordField(optionalField)) {
                 // if the field is optional, then return the value is the 'isPresent' flag.
                 mv.visitVarInsn(ALOAD, 0);
-                mv.visitFieldInsn(GETFIELD, className, this.getFieldIsPresentFlagName(fieldName),
+                mv.visitFieldInsn(GETFIELD, className, getFieldIsPresentFlagName(fieldName),
                         getTypeDesc(booleanType));
             } else {
                 // else always return true.
@@ -1126,9 +1126,9 @@ class JvmValueGen {
 
             // If its an optional field, generate if-condition to check the presense of the field.
             String fieldName = optionalField.name.value;
-            if (this.isOptionalRecordField(optionalField)) {
+            if (isOptionalRecordField(optionalField)) {
                 mv.visitVarInsn(ALOAD, 0); // this
-                mv.visitFieldInsn(GETFIELD, className, this.getFieldIsPresentFlagName(fieldName),
+                mv.visitFieldInsn(GETFIELD, className, getFieldIsPresentFlagName(fieldName),
                                   getTypeDesc(booleanType));
                 mv.visitJumpInsn(IFEQ, ifNotPresent);
             }
@@ -1167,9 +1167,9 @@ class JvmValueGen {
         int requiredFieldsCount = 0;
         for (BField optionalField : fields.values()) {
             String fieldName = optionalField.name.value;
-            if (this.isOptionalRecordField(optionalField)) {
+            if (isOptionalRecordField(optionalField)) {
                 mv.visitVarInsn(ALOAD, 0);
-                mv.visitFieldInsn(GETFIELD, className, this.getFieldIsPresentFlagName(fieldName),
+                mv.visitFieldInsn(GETFIELD, className, getFieldIsPresentFlagName(fieldName),
                                   getTypeDesc(booleanType));
                 Label l3 = new Label();
                 mv.visitJumpInsn(IFEQ, l3);
@@ -1235,11 +1235,11 @@ class JvmValueGen {
             mv.visitLabel(targetLabel);
 
             //Setting isPresent as zero
-            if (this.isOptionalRecordField(optionalField)) {
+            if (isOptionalRecordField(optionalField)) {
                 String fieldName = optionalField.name.value;
                 mv.visitVarInsn(ALOAD, 0);
                 mv.visitInsn(ICONST_0);
-                mv.visitFieldInsn(PUTFIELD, className, this.getFieldIsPresentFlagName(fieldName),
+                mv.visitFieldInsn(PUTFIELD, className, getFieldIsPresentFlagName(fieldName),
                         getTypeDesc(booleanType));
 
                 // load the existing value to return
@@ -1305,9 +1305,9 @@ class JvmValueGen {
 
             // If its an optional field, generate if-condition to check the presense of the field.
             String fieldName = decodeIdentifier(optionalField.name.value);
-            if (this.isOptionalRecordField(optionalField)) {
+            if (isOptionalRecordField(optionalField)) {
                 mv.visitVarInsn(ALOAD, 0); // this
-                mv.visitFieldInsn(GETFIELD, className, this.getFieldIsPresentFlagName(fieldName),
+                mv.visitFieldInsn(GETFIELD, className, getFieldIsPresentFlagName(fieldName),
                                   getTypeDesc(booleanType));
                 mv.visitJumpInsn(IFEQ, ifNotPresent);
             }
@@ -314,6 +314,8 @@ public abstract class BIRNonTerminator extends BIRAbstractInstruction implements
         public boolean optionalFieldAccess = false;
         public boolean fillingRead = false;
         public boolean onInitialization = false;
+        // Name of the accessed field, if the key is a string literal.
+        public String fieldName;
 
         public FieldAccess(Location pos, InstructionKind kind,
                            BIROperand lhsOp, BIROperand keyOp, BIROperand rhsOp) {
@@ -352,6 +352,11 @@ public abstract class BIRTerminator extends BIRAbstractInstruction implements BI
 
         public Integer lockId = -1;
 
+        /**
+         * True if the locked region only reads the guarded variables, so it can hold the lock in shared mode.
+         */
+        public boolean readOnly = false;
+
         public Lock(Location pos, BIRBasicBlock lockedBB) {
             super(pos, InstructionKind.LOCK);
             this.lockedBB = lockedBB;
@@ -19,11 +19,17 @@
 package org.wso2.ballerinalang.compiler.bir.optimizer;
 
 import org.wso2.ballerinalang.compiler.bir.model.BIRNode;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
 import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
 import org.wso2.ballerinalang.compiler.bir.model.BIRVisitor;
+import org.wso2.ballerinalang.compiler.bir.model.VarScope;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -170,7 +176,85 @@ public class BIRLockOptimizer extends BIRVisitor {
 
     @Override
     public void visit(BIRNode.BIRFunction birFunction) {
+        int firstLockIndex = lockList.size();
         birFunction.basicBlocks.forEach(bb -> bb.accept(this));
+
+        for (int i = firstLockIndex; i < lockList.size(); i++) {
+            BIRTerminator.Lock lock = lockList.get(i);
+            lock.readOnly = isReadOnlyLockBody(lock);
+        }
+    }
+
+    /**
+     * Checks whether the basic blocks guarded by the given lock only read state. Any store, any write to a global
+     * variable and any call is treated as a mutation, since a call may modify the guarded values through a
+     * reference.
+     */
+    private boolean isReadOnlyLockBody(BIRTerminator.Lock lock) {
+        Set<BIRNode.BIRBasicBlock> visited = new HashSet<>();
+        Deque<BIRNode.BIRBasicBlock> toVisit = new ArrayDeque<>();
+        toVisit.push(lock.lockedBB);
+        while (!toVisit.isEmpty()) {
+            BIRNode.BIRBasicBlock bb = toVisit.pop();
+            if (!visited.add(bb)) {
+                continue;
+            }
+
+            for (BIRNonTerminator instruction : bb.instructions) {
+                if (isMutatingInstruction(instruction)) {
+                    return false;
+                }
+            }
+
+            BIRTerminator terminator = bb.terminator;
+            switch (terminator.kind) {
+                case GOTO:
+                case BRANCH:
+                case LOCK:
+                case FIELD_LOCK:
+                case PANIC:
+                case RETURN:
+                    break;
+                case UNLOCK:
+                    if (((BIRTerminator.Unlock) terminator).relatedLock == lock) {
+                        // end of the locked region
+                        continue;
+                    }
+                    break;
+                default:
+                    return false;
+            }
+            for (BIRNode.BIRBasicBlock nextBB : terminator.getNextBasicBlocks()) {
+                toVisit.push(nextBB);
+            }
+        }
+        return true;
+    }
+
+    private boolean isMutatingInstruction(BIRNonTerminator instruction) {
+        if (isGlobalVar(instruction.lhsOp)) {
+            return true;
+        }
+
+        switch (instruction.kind) {
+            case MAP_STORE:
+            case ARRAY_STORE:
+            case OBJECT_STORE:
+            case XML_SEQ_STORE:
+            case XML_ATTRIBUTE_STORE:
+            case TABLE_STORE:
+                return true;
+            case MAP_LOAD:
+            case ARRAY_LOAD:
+                // a filling read adds the filler value to the container
+                return ((BIRNonTerminator.FieldAccess) instruction).fillingRead;
+            default:
+                return false;
+        }
+    }
+
+    private boolean isGlobalVar(BIROperand operand) {
+        return operand != null && operand.variableDcl != null && operand.variableDcl.scope == VarScope.GLOBAL;
     }
 
     @Override
@@ -170,6 +170,8 @@ public class BIRInstructionWriter extends BIRVisitor {
 
     public void visit(BIRTerminator.Lock lock) {
         addCpAndWriteString(lock.lockedBB.id.value);
+        buf.writeInt(lock.lockId);
+        buf.writeBoolean(lock.readOnly);
     }
 
     public void visit(BIRTerminator.FieldLock lock) {
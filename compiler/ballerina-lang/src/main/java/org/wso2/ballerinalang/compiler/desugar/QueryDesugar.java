@@ -20,8 +20,10 @@ import io.ballerina.tools.diagnostics.Location;
 import org.ballerinalang.model.TreeBuilder;
 import org.ballerinalang.model.clauses.OrderKeyNode;
 import org.ballerinalang.model.elements.Flag;
+import org.ballerinalang.model.elements.PackageID;
 import org.ballerinalang.model.tree.IdentifierNode;
 import org.ballerinalang.model.tree.NodeKind;
+import org.ballerinalang.model.tree.OperatorKind;
 import org.ballerinalang.model.tree.expressions.RecordLiteralNode;
 import org.ballerinalang.model.tree.statements.VariableDefinitionNode;
 import org.ballerinalang.model.tree.types.TypeNode;
@@ -30,11 +32,14 @@ import org.wso2.ballerinalang.compiler.semantics.analyzer.SymbolResolver;
 import org.wso2.ballerinalang.compiler.semantics.analyzer.Types;
 import org.wso2.ballerinalang.compiler.semantics.model.SymbolEnv;
 import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BConstantSymbol;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BInvokableSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BOperatorSymbol;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BRecordTypeSymbol;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BSymbol;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BVarSymbol;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.SymTag;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.Symbols;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BArrayType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BField;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BRecordType;
@@ -82,6 +87,7 @@ import org.wso2.ballerinalang.compiler.tree.expressions.BLangErrorConstructorExp
 import org.wso2.ballerinalang.compiler.tree.expressions.BLangErrorVarRef;
 import org.wso2.ballerinalang.compiler.tree.expressions.BLangExpression;
 import org.wso2.ballerinalang.compiler.tree.expressions.BLangFieldBasedAccess;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangFieldBasedAccess.BLangNSPrefixedFieldBasedAccess;
 import org.wso2.ballerinalang.compiler.tree.expressions.BLangGroupExpr;
 import org.wso2.ballerinalang.compiler.tree.expressions.BLangIgnoreExpr;
 import org.wso2.ballerinalang.compiler.tree.expressions.BLangIndexBasedAccess;
@@ -173,10 +179,12 @@ import org.wso2.ballerinalang.compiler.tree.types.BLangLetVariable;
 import org.wso2.ballerinalang.compiler.tree.types.BLangRecordTypeNode;
 import org.wso2.ballerinalang.compiler.tree.types.BLangUnionTypeNode;
 import org.wso2.ballerinalang.compiler.tree.types.BLangValueType;
+import org.wso2.ballerinalang.compiler.util.BArrayState;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
 import org.wso2.ballerinalang.compiler.util.Name;
 import org.wso2.ballerinalang.compiler.util.Names;
 import org.wso2.ballerinalang.compiler.util.TypeTags;
+import org.wso2.ballerinalang.util.Flags;
 import org.wso2.ballerinalang.util.Lists;
 
 import java.util.ArrayList;
@@ -184,6 +192,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
 
 import static io.ballerina.runtime.api.constants.RuntimeConstants.UNDERSCORE;
 import static org.ballerinalang.model.symbols.SymbolOrigin.VIRTUAL;
@@ -195,6 +205,7 @@ import static org.ballerinalang.model.symbols.SymbolOrigin.VIRTUAL;
  */
 public class QueryDesugar extends BLangNodeVisitor {
     private static final Name QUERY_CREATE_PIPELINE_FUNCTION = new Name("createPipeline");
+    private static final Name QUERY_CREATE_INDEXED_PIPELINE_FUNCTION = new Name("createIndexedPipeline");
     private static final Name QUERY_CREATE_INPUT_FUNCTION = new Name("createInputFunction");
     private static final Name QUERY_CREATE_NESTED_FROM_FUNCTION = new Name("createNestedFromFunction");
     private static final Name QUERY_CREATE_LET_FUNCTION = new Name("createLetFunction");
@@ -208,11 +219,15 @@ public class QueryDesugar extends BLangNodeVisitor {
     private static final Name QUERY_ADD_STREAM_FUNCTION = new Name("addStreamFunction");
     private static final Name QUERY_CONSUME_STREAM_FUNCTION = new Name("consumeStream");
     private static final Name QUERY_TO_ARRAY_FUNCTION = new Name("toArray");
+    private static final Name QUERY_TO_ARRAY_IN_PARALLEL_FUNCTION = new Name("toArrayInParallel");
     private static final Name QUERY_TO_STRING_FUNCTION = new Name("toString");
     private static final Name QUERY_TO_XML_FUNCTION = new Name("toXML");
     private static final Name QUERY_ADD_TO_TABLE_FUNCTION = new Name("addToTable");
     private static final Name QUERY_GET_STREAM_FROM_PIPELINE_FUNCTION = new Name("getStreamFromPipeline");
     private static final String FRAME_PARAMETER_NAME = "$frame$";
+    // Lang library modules whose functions have no side effects other than on their mutable arguments.
+    private static final Set<Name> PURE_LANG_LIB_MODULE_NAMES = Set.of(PackageID.BOOLEAN.name, PackageID.DECIMAL.name,
+            PackageID.FLOAT.name, PackageID.INT.name, PackageID.STRING.name, PackageID.VALUE.name);
     private static final CompilerContext.Key<QueryDesugar> QUERY_DESUGAR_KEY = new CompilerContext.Key<>();
     private BLangExpression onConflictExpr;
     private BVarSymbol currentFrameSymbol;
@@ -253,13 +268,19 @@ public class QueryDesugar extends BLangNodeVisitor {
      * @return desugared query expression.
      */
     BLangStatementExpression desugar(BLangQueryExpr queryExpr, SymbolEnv env) {
+        if (isDesugarableToLoop(queryExpr, env)) {
+            return desugarToLoop(queryExpr, env);
+        }
         containsCheckExpr = false;
         List<BLangNode> clauses = queryExpr.getQueryClauses();
         Location pos = clauses.get(0).pos;
+        // Checked before the clauses are moved into lambda functions and their variables are rewritten.
+        boolean parallelizable = isParallelizable(clauses);
         BLangBlockStmt queryBlock = ASTBuilderUtil.createBlockStmt(pos);
-        BLangVariableReference streamRef = buildStream(clauses, queryExpr.getBType(), env, queryBlock);
+        BLangVariableReference pipelineRef = buildPipeline(clauses, queryExpr.getBType(), env, queryBlock);
         BLangStatementExpression streamStmtExpr;
         if (queryExpr.isStream) {
+            BLangVariableReference streamRef = addGetStreamFromPipeline(queryBlock, pipelineRef);
             streamStmtExpr = ASTBuilderUtil.createStatementExpression(queryBlock, streamRef);
             streamStmtExpr.setBType(streamRef.getBType());
         } else if (queryExpr.isTable) {
@@ -268,7 +289,7 @@ public class QueryDesugar extends BLangNodeVisitor {
                     : onConflictExpr;
             BLangVariableReference tableRef = addTableConstructor(queryExpr, queryBlock);
             BLangVariableReference result = getStreamFunctionVariableRef(queryBlock,
-                    QUERY_ADD_TO_TABLE_FUNCTION, Lists.of(streamRef, tableRef, onConflictExpr), pos);
+                    QUERY_ADD_TO_TABLE_FUNCTION, Lists.of(pipelineRef, tableRef, onConflictExpr), pos);
             streamStmtExpr = ASTBuilderUtil.createStatementExpression(queryBlock,
                     addTypeConversionExpr(result,
                             queryExpr.getBType()));
@@ -279,9 +300,10 @@ public class QueryDesugar extends BLangNodeVisitor {
             if (TypeTags.isXMLTypeTag(queryExpr.getBType().tag) || (queryExpr.getBType().tag == TypeTags.UNION &&
                     ((BUnionType) queryExpr.getBType()).getMemberTypes().stream()
                             .allMatch(memType -> TypeTags.isXMLTypeTag(memType.tag)))) {
-                result = getStreamFunctionVariableRef(queryBlock, QUERY_TO_XML_FUNCTION, Lists.of(streamRef), pos);
+                result = getStreamFunctionVariableRef(queryBlock, QUERY_TO_XML_FUNCTION, Lists.of(pipelineRef), pos);
             } else if (TypeTags.isStringTypeTag(queryExpr.getBType().tag)) {
-                result = getStreamFunctionVariableRef(queryBlock, QUERY_TO_STRING_FUNCTION, Lists.of(streamRef), pos);
+                result = getStreamFunctionVariableRef(queryBlock, QUERY_TO_STRING_FUNCTION, Lists.of(pipelineRef),
+                        pos);
             } else {
                 BType arrayType = queryExpr.getBType();
                 if (arrayType.tag == TypeTags.UNION) {
@@ -292,8 +314,8 @@ public class QueryDesugar extends BLangNodeVisitor {
                 BLangArrayLiteral arr = (BLangArrayLiteral) TreeBuilder.createArrayLiteralExpressionNode();
                 arr.exprs = new ArrayList<>();
                 arr.setBType(arrayType);
-                result = getStreamFunctionVariableRef(queryBlock, QUERY_TO_ARRAY_FUNCTION,
-                        Lists.of(streamRef, arr), pos);
+                Name toArrayFunction = parallelizable ? QUERY_TO_ARRAY_IN_PARALLEL_FUNCTION : QUERY_TO_ARRAY_FUNCTION;
+                result = getStreamFunctionVariableRef(queryBlock, toArrayFunction, Lists.of(pipelineRef, arr), pos);
             }
             if (containsCheckExpr) {
                 // if there's a `check` expr within the query, wrap the whole query with a `check` expr,
@@ -311,6 +333,252 @@ public class QueryDesugar extends BLangNodeVisitor {
         return streamStmtExpr;
     }
 
+    /**
+     * Check whether a query expression can be desugared to a loop adding the selected values to the list directly,
+     * without a pipeline and without a frame per element. That is the case if it produces a list, its fromClause
+     * binds a simple variable to the members of an array or an integer range, it has only let and where clauses
+     * before the selectClause, and its clauses have no check expressions, which complete the query rather than the
+     * enclosing function, and no function values or nested queries, which would capture the clause variables.
+     *
+     * @param queryExpr query expression.
+     * @param env       symbol env.
+     * @return true if the query can be desugared to a loop.
+     */
+    private boolean isDesugarableToLoop(BLangQueryExpr queryExpr, SymbolEnv env) {
+        BType resultType = queryExpr.getBType();
+        if (queryExpr.isStream || queryExpr.isTable || resultType.tag != TypeTags.ARRAY ||
+                ((BArrayType) resultType).state != BArrayState.OPEN ||
+                Symbols.isFlagOn(resultType.flags, Flags.READONLY) ||
+                (env.scope.owner.tag & SymTag.INVOKABLE) != SymTag.INVOKABLE) {
+            return false;
+        }
+        List<BLangNode> clauses = queryExpr.getQueryClauses();
+        BLangFromClause fromClause = (BLangFromClause) clauses.get(0);
+        if (fromClause.variableDefinitionNode.getVariable().getKind() != NodeKind.VARIABLE ||
+                (fromClause.collection.getBType().tag != TypeTags.ARRAY && !isIntRange(fromClause.collection)) ||
+                clauses.get(clauses.size() - 1).getKind() != NodeKind.SELECT) {
+            return false;
+        }
+        Predicate<BLangExpression> isInlinable = expr -> expr.getKind() != NodeKind.CHECK_EXPR &&
+                (expr.getKind() != NodeKind.INVOCATION || !((BLangInvocation) expr).async);
+        for (BLangNode clause : clauses.subList(1, clauses.size())) {
+            switch (clause.getKind()) {
+                case LET_CLAUSE:
+                    for (BLangLetVariable letVariable : ((BLangLetClause) clause).letVarDeclarations) {
+                        BLangVariable variable = (BLangVariable) letVariable.definitionNode.getVariable();
+                        if (!isSimpleExpression(variable.expr, isInlinable)) {
+                            return false;
+                        }
+                    }
+                    break;
+                case WHERE:
+                    if (!isSimpleExpression(((BLangWhereClause) clause).expression, isInlinable)) {
+                        return false;
+                    }
+                    break;
+                case SELECT:
+                    if (!isSimpleExpression(((BLangSelectClause) clause).expression, isInlinable)) {
+                        return false;
+                    }
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isIntRange(BLangExpression collection) {
+        return collection.getKind() == NodeKind.BINARY_EXPR &&
+                (((BLangBinaryExpr) collection).opKind == OperatorKind.HALF_OPEN_RANGE ||
+                        ((BLangBinaryExpr) collection).opKind == OperatorKind.CLOSED_RANGE);
+    }
+
+    /**
+     * Desugar a query expression over an array to below. The clause variables become local variables of the
+     * enclosing function, so no frame is created for an element.
+     * int[] $data$ = collection;
+     * int $length$ = $data$.length();
+     * int $index$ = 0;
+     * int[] $result$ = [];
+     * int $count$ = 0;
+     * while ($index$ < $length$) {
+     *     int x = $data$[$index$];
+     *     $index$ = $index$ + 1;
+     *     int y = x * 2;                              // let clause
+     *     if (y > 5) {                                // where clause
+     *         $result$[$count$] = y;                  // select clause
+     *         $count$ = $count$ + 1;
+     *     }
+     * }
+     *
+     * A query over a half open integer range iterates the range with an int variable instead.
+     * int $index$ = lhs;
+     * int $end$ = rhs;
+     * while ($index$ < $end$) {
+     *     int x = $index$;
+     *     $index$ = $index$ + 1;
+     *     ...
+     * }
+     *
+     * A closed integer range is iterated as below, so that the index is not incremented past an end which is the
+     * largest int.
+     * int $index$ = lhs;
+     * int $end$ = rhs;
+     * while ($index$ <= $end$) {
+     *     int x = $index$;
+     *     ...
+     *     if ($index$ == $end$) {
+     *         break;
+     *     }
+     *     $index$ = $index$ + 1;
+     * }
+     *
+     * @param queryExpr query expression to be desugared.
+     * @param env       symbol env.
+     * @return desugared query expression.
+     */
+    private BLangStatementExpression desugarToLoop(BLangQueryExpr queryExpr, SymbolEnv env) {
+        this.env = env;
+        List<BLangNode> clauses = queryExpr.getQueryClauses();
+        BLangFromClause fromClause = (BLangFromClause) clauses.get(0);
+        Location pos = fromClause.pos;
+        BLangBlockStmt queryBlock = ASTBuilderUtil.createBlockStmt(pos);
+
+        BArrayType resultType = (BArrayType) queryExpr.getBType();
+        BLangArrayLiteral arr = (BLangArrayLiteral) TreeBuilder.createArrayLiteralExpressionNode();
+        arr.exprs = new ArrayList<>();
+        arr.setBType(resultType);
+        BVarSymbol resultSymbol = addLoopVariable(queryBlock, pos, resultType, arr);
+        BVarSymbol countSymbol = addLoopVariable(queryBlock, pos, symTable.intType, createIntLiteral(pos, 0));
+
+        BLangWhile whileNode = (BLangWhile) TreeBuilder.createWhileNode();
+        whileNode.pos = pos;
+        whileNode.body = ASTBuilderUtil.createBlockStmt(pos);
+        BLangVariable variable = (BLangVariable) fromClause.variableDefinitionNode.getVariable();
+        setSymbolOwner(variable, env.scope.owner);
+        BVarSymbol indexSymbol;
+        BVarSymbol closedRangeEndSymbol = null;
+        if (isIntRange(fromClause.collection)) {
+            BLangBinaryExpr range = (BLangBinaryExpr) fromClause.collection;
+            boolean halfOpen = range.opKind == OperatorKind.HALF_OPEN_RANGE;
+            indexSymbol = addLoopVariable(queryBlock, pos, symTable.intType, range.lhsExpr);
+            BVarSymbol endSymbol = addLoopVariable(queryBlock, pos, symTable.intType, range.rhsExpr);
+            // The end is not decremented for a half open range, as it may be the smallest int.
+            whileNode.expr = createIntBinaryExpr(pos, ASTBuilderUtil.createVariableRef(pos, indexSymbol),
+                    ASTBuilderUtil.createVariableRef(pos, endSymbol),
+                    halfOpen ? OperatorKind.LESS_THAN : OperatorKind.LESS_EQUAL);
+            variable.setInitialExpression(desugar.addConversionExprIfRequired(
+                    ASTBuilderUtil.createVariableRef(pos, indexSymbol), fromClause.varType));
+            whileNode.body.addStatement((BLangStatement) fromClause.variableDefinitionNode);
+            if (halfOpen) {
+                whileNode.body.addStatement(createIncrement(pos, indexSymbol));
+            } else {
+                closedRangeEndSymbol = endSymbol;
+            }
+        } else {
+            BType collectionType = fromClause.collection.getBType();
+            BVarSymbol dataSymbol = addLoopVariable(queryBlock, pos, collectionType, fromClause.collection);
+            BVarSymbol lengthSymbol = addLoopVariable(queryBlock, pos, symTable.intType,
+                    createLengthInvocation(pos, ASTBuilderUtil.createVariableRef(pos, dataSymbol)));
+            indexSymbol = addLoopVariable(queryBlock, pos, symTable.intType, createIntLiteral(pos, 0));
+            whileNode.expr = createIntBinaryExpr(pos, ASTBuilderUtil.createVariableRef(pos, indexSymbol),
+                    ASTBuilderUtil.createVariableRef(pos, lengthSymbol), OperatorKind.LESS_THAN);
+            BLangIndexBasedAccess memberAccess = ASTBuilderUtil.createIndexBasesAccessExpr(pos,
+                    ((BArrayType) collectionType).eType, dataSymbol,
+                    ASTBuilderUtil.createVariableRef(pos, indexSymbol));
+            variable.setInitialExpression(desugar.addConversionExprIfRequired(memberAccess, fromClause.varType));
+            whileNode.body.addStatement((BLangStatement) fromClause.variableDefinitionNode);
+            whileNode.body.addStatement(createIncrement(pos, indexSymbol));
+        }
+
+        // Each where clause guards the clauses following it.
+        BLangBlockStmt clauseBlock = whileNode.body;
+        for (BLangNode clause : clauses.subList(1, clauses.size())) {
+            switch (clause.getKind()) {
+                case LET_CLAUSE:
+                    for (BLangLetVariable letVariable : ((BLangLetClause) clause).letVarDeclarations) {
+                        setSymbolOwner((BLangVariable) letVariable.definitionNode.getVariable(), env.scope.owner);
+                        clauseBlock.addStatement((BLangStatement) letVariable.definitionNode);
+                    }
+                    break;
+                case WHERE:
+                    BLangBlockStmt thenBody = ASTBuilderUtil.createBlockStmt(clause.pos);
+                    clauseBlock.addStatement(ASTBuilderUtil.createIfElseStmt(clause.pos,
+                            ((BLangWhereClause) clause).expression, thenBody, null));
+                    clauseBlock = thenBody;
+                    break;
+                case SELECT:
+                    BLangIndexBasedAccess resultAccess = ASTBuilderUtil.createIndexBasesAccessExpr(clause.pos,
+                            resultType.eType, resultSymbol, ASTBuilderUtil.createVariableRef(pos, countSymbol));
+                    resultAccess.isLValue = true;
+                    clauseBlock.addStatement(ASTBuilderUtil.createAssignmentStmt(clause.pos, resultAccess,
+                            desugar.addConversionExprIfRequired(((BLangSelectClause) clause).expression,
+                                    resultType.eType)));
+                    clauseBlock.addStatement(createIncrement(clause.pos, countSymbol));
+                    break;
+            }
+        }
+
+        if (closedRangeEndSymbol != null) {
+            // The index is not incremented past the end, as the end of a range may be the largest int.
+            BLangBlockStmt breakBody = ASTBuilderUtil.createBlockStmt(pos);
+            BLangBreak breakNode = (BLangBreak) TreeBuilder.createBreakNode();
+            breakNode.pos = pos;
+            breakBody.addStatement(breakNode);
+            whileNode.body.addStatement(ASTBuilderUtil.createIfElseStmt(pos,
+                    createIntBinaryExpr(pos, ASTBuilderUtil.createVariableRef(pos, indexSymbol),
+                            ASTBuilderUtil.createVariableRef(pos, closedRangeEndSymbol), OperatorKind.EQUAL),
+                    breakBody, null));
+            whileNode.body.addStatement(createIncrement(pos, indexSymbol));
+        }
+        queryBlock.addStatement(whileNode);
+
+        BLangStatementExpression stmtExpr = ASTBuilderUtil.createStatementExpression(queryBlock,
+                ASTBuilderUtil.createVariableRef(pos, resultSymbol));
+        stmtExpr.setBType(resultType);
+        return stmtExpr;
+    }
+
+    private BVarSymbol addLoopVariable(BLangBlockStmt blockStmt, Location pos, BType type, BLangExpression expr) {
+        String name = getNewVarName();
+        BVarSymbol symbol = new BVarSymbol(0, names.fromString(name), env.scope.owner.pkgID, type, env.scope.owner,
+                pos, VIRTUAL);
+        BLangSimpleVariable variable = ASTBuilderUtil.createVariable(pos, name, type,
+                desugar.addConversionExprIfRequired(expr, type), symbol);
+        blockStmt.addStatement(ASTBuilderUtil.createVariableDef(pos, variable));
+        return symbol;
+    }
+
+    private BLangAssignment createIncrement(Location pos, BVarSymbol symbol) {
+        BLangSimpleVarRef varRef = ASTBuilderUtil.createVariableRef(pos, symbol);
+        varRef.isLValue = true;
+        return ASTBuilderUtil.createAssignmentStmt(pos, varRef, createIntBinaryExpr(pos,
+                ASTBuilderUtil.createVariableRef(pos, symbol), createIntLiteral(pos, 1), OperatorKind.ADD));
+    }
+
+    private BLangBinaryExpr createIntBinaryExpr(Location pos, BLangExpression lhsExpr, BLangExpression rhsExpr,
+                                                OperatorKind operator) {
+        BType type = operator == OperatorKind.ADD || operator == OperatorKind.SUB ? symTable.intType :
+                symTable.booleanType;
+        return ASTBuilderUtil.createBinaryExpr(pos, lhsExpr, rhsExpr, type, operator,
+                (BOperatorSymbol) symResolver.resolveBinaryOperator(operator, symTable.intType, symTable.intType));
+    }
+
+    private BLangLiteral createIntLiteral(Location pos, long value) {
+        return ASTBuilderUtil.createLiteral(pos, symTable.intType, value);
+    }
+
+    private BLangInvocation createLengthInvocation(Location pos, BLangExpression collection) {
+        BInvokableSymbol lengthSymbol = (BInvokableSymbol) symResolver.lookupLangLibMethod(collection.getBType(),
+                names.fromString("length"));
+        BLangInvocation lengthInvocation = ASTBuilderUtil.createInvocationExprForMethod(pos, lengthSymbol,
+                Lists.of(collection), symResolver);
+        lengthInvocation.argExprs = lengthInvocation.requiredArgs;
+        lengthInvocation.setBType(lengthSymbol.type.getReturnType());
+        return lengthInvocation;
+    }
+
     /**
      * Desugar query action.
      *
@@ -322,16 +590,16 @@ public class QueryDesugar extends BLangNodeVisitor {
         List<BLangNode> clauses = queryAction.getQueryClauses();
         Location pos = clauses.get(0).pos;
         BLangBlockStmt queryBlock = ASTBuilderUtil.createBlockStmt(pos);
-        BLangVariableReference streamRef = buildStream(clauses, queryAction.getBType(), env, queryBlock);
+        BLangVariableReference pipelineRef = buildPipeline(clauses, queryAction.getBType(), env, queryBlock);
         BLangVariableReference result = getStreamFunctionVariableRef(queryBlock,
-                QUERY_CONSUME_STREAM_FUNCTION, symTable.errorOrNilType, Lists.of(streamRef), pos);
+                QUERY_CONSUME_STREAM_FUNCTION, symTable.errorOrNilType, Lists.of(pipelineRef), pos);
         BLangStatementExpression stmtExpr = ASTBuilderUtil.createStatementExpression(queryBlock, result);
         stmtExpr.setBType(symTable.errorOrNilType);
         return stmtExpr;
     }
 
     /**
-     * Write the pipeline to the given `block` and return the reference to the resulting stream.
+     * Write the pipeline to the given `block` and return the reference to the resulting pipeline.
      *
      * @param clauses list of query clauses.
      * @param resultType result type of the query output.
@@ -339,11 +607,11 @@ public class QueryDesugar extends BLangNodeVisitor {
      * @param block parent block to write to.
      * @return variableReference to created _StreamPipeline.
      */
-    BLangVariableReference buildStream(List<BLangNode> clauses, BType resultType, SymbolEnv env, BLangBlockStmt block) {
+    BLangVariableReference buildPipeline(List<BLangNode> clauses, BType resultType, SymbolEnv env,
+                                         BLangBlockStmt block) {
         this.env = env;
         BLangFromClause initFromClause = (BLangFromClause) clauses.get(0);
-        final BLangVariableReference initPipeline = addPipeline(block, initFromClause.pos,
-                initFromClause.collection, resultType);
+        final BLangVariableReference initPipeline = addInitPipeline(block, clauses, resultType);
         BLangVariableReference initFrom = addInputFunction(block, initFromClause);
         addStreamFunction(block, initPipeline, initFrom);
         for (BLangNode clause : clauses.subList(1, clauses.size())) {
@@ -373,7 +641,8 @@ public class QueryDesugar extends BLangNodeVisitor {
                     addStreamFunction(block, initPipeline, whereFunc);
                     break;
                 case ORDER_BY:
-                    BLangVariableReference orderFunc = addOrderByFunction(block, (BLangOrderByClause) clause);
+                    BLangVariableReference orderFunc = addOrderByFunction(block, (BLangOrderByClause) clause,
+                            getOrderByLimit(clauses, clauses.indexOf(clause)));
                     addStreamFunction(block, initPipeline, orderFunc);
                     break;
                 case SELECT:
@@ -394,7 +663,7 @@ public class QueryDesugar extends BLangNodeVisitor {
                     break;
             }
         }
-        return addGetStreamFromPipeline(block, initPipeline);
+        return initPipeline;
     }
 
     // ---- Util methods to create the stream pipeline. ---- //
@@ -410,6 +679,42 @@ public class QueryDesugar extends BLangNodeVisitor {
      */
     BLangVariableReference addPipeline(BLangBlockStmt blockStmt, Location pos,
                                        BLangExpression collection, BType resultType) {
+        return addPipeline(blockStmt, pos, collection, resultType, null, null);
+    }
+
+    /**
+     * Desugar the first fromClause to a _StreamPipeline. If the fromClause iterates a table and is followed by a
+     * whereClause comparing a field of the row with a constant value, desugar it to below, so that the rows can be
+     * looked up through a secondary index of the table (if there is one) instead of iterating the whole table.
+     * The whereClause is desugared as usual, hence the result does not depend on the index.
+     * _StreamPipeline pipeline = createIndexedPipeline(collection, "field", "==", value);
+     *
+     * Streams are evaluated lazily, so their pipeline always iterates the table.
+     *
+     * @param blockStmt  parent block to write to.
+     * @param clauses    list of query clauses.
+     * @param resultType result type of the query output.
+     * @return variableReference to created _StreamPipeline.
+     */
+    private BLangVariableReference addInitPipeline(BLangBlockStmt blockStmt, List<BLangNode> clauses,
+                                                   BType resultType) {
+        BLangFromClause initFromClause = (BLangFromClause) clauses.get(0);
+        BLangExpression collection = initFromClause.collection;
+        if (resultType.tag == TypeTags.STREAM || clauses.size() < 2 || clauses.get(1).getKind() != NodeKind.WHERE
+                || collection.getBType().tag != TypeTags.TABLE
+                || initFromClause.variableDefinitionNode.getVariable().getKind() != NodeKind.VARIABLE) {
+            return addPipeline(blockStmt, initFromClause.pos, collection, resultType);
+        }
+
+        BSymbol rowSymbol = ((BLangSimpleVariable) initFromClause.variableDefinitionNode.getVariable()).symbol;
+        BLangBinaryExpr predicate = findIndexablePredicate(((BLangWhereClause) clauses.get(1)).expression,
+                rowSymbol);
+        return addPipeline(blockStmt, initFromClause.pos, collection, resultType, predicate, rowSymbol);
+    }
+
+    private BLangVariableReference addPipeline(BLangBlockStmt blockStmt, Location pos,
+                                               BLangExpression collection, BType resultType,
+                                               BLangBinaryExpr indexablePredicate, BSymbol rowSymbol) {
         String name = getNewVarName();
         BVarSymbol dataSymbol = new BVarSymbol(0, names.fromString(name), env.scope.owner.pkgID,
                 collection.getBType(), this.env.scope.owner, pos, VIRTUAL);
@@ -435,8 +740,315 @@ public class QueryDesugar extends BLangNodeVisitor {
         BLangTypedescExpr completionTdExpr = new BLangTypedescExpr();
         completionTdExpr.resolvedType = completionType;
         completionTdExpr.setBType(completionTdType);
-        return getStreamFunctionVariableRef(blockStmt, QUERY_CREATE_PIPELINE_FUNCTION,
-                Lists.of(valueVarRef, constraintTdExpr, completionTdExpr), pos);
+        if (indexablePredicate == null) {
+            return getStreamFunctionVariableRef(blockStmt, QUERY_CREATE_PIPELINE_FUNCTION,
+                    Lists.of(valueVarRef, constraintTdExpr, completionTdExpr), pos);
+        }
+
+        boolean fieldOnLhs = isRowFieldAccess(indexablePredicate.lhsExpr, rowSymbol);
+        BLangFieldBasedAccess fieldAccess = (BLangFieldBasedAccess) (fieldOnLhs ? indexablePredicate.lhsExpr
+                : indexablePredicate.rhsExpr);
+        BLangExpression value = fieldOnLhs ? indexablePredicate.rhsExpr : indexablePredicate.lhsExpr;
+        OperatorKind operator = fieldOnLhs ? indexablePredicate.opKind : getMirroredOperator(indexablePredicate.opKind);
+        BLangLiteral fieldName = ASTBuilderUtil.createLiteral(pos, symTable.stringType, fieldAccess.field.value);
+        BLangLiteral operatorName = ASTBuilderUtil.createLiteral(pos, symTable.stringType, operator.value());
+        BLangExpression lookupValue = desugar.addConversionExprIfRequired(copyConstantValue(value),
+                symTable.anydataType);
+        return getStreamFunctionVariableRef(blockStmt, QUERY_CREATE_INDEXED_PIPELINE_FUNCTION,
+                Lists.of(valueVarRef, fieldName, operatorName, lookupValue, constraintTdExpr, completionTdExpr), pos);
+    }
+
+    /**
+     * Find a comparison of a field of the row with a constant value, i.e. a literal, a constant or a final variable,
+     * in the given where condition. Only the operands of a conjunction are considered.
+     *
+     * @param condition condition of the whereClause.
+     * @param rowSymbol symbol of the variable bound to the row.
+     * @return the comparison, or null if there is none.
+     */
+    private BLangBinaryExpr findIndexablePredicate(BLangExpression condition, BSymbol rowSymbol) {
+        if (condition.getKind() == NodeKind.GROUP_EXPR) {
+            return findIndexablePredicate(((BLangGroupExpr) condition).expression, rowSymbol);
+        }
+        if (condition.getKind() != NodeKind.BINARY_EXPR) {
+            return null;
+        }
+
+        BLangBinaryExpr binaryExpr = (BLangBinaryExpr) condition;
+        switch (binaryExpr.opKind) {
+            case AND:
+                BLangBinaryExpr predicate = findIndexablePredicate(binaryExpr.lhsExpr, rowSymbol);
+                return predicate != null ? predicate : findIndexablePredicate(binaryExpr.rhsExpr, rowSymbol);
+            case EQUAL:
+            case LESS_THAN:
+            case LESS_EQUAL:
+            case GREATER_THAN:
+            case GREATER_EQUAL:
+                if ((isRowFieldAccess(binaryExpr.lhsExpr, rowSymbol) &&
+                        isIndexLookupValue(binaryExpr.rhsExpr, rowSymbol)) ||
+                        (isRowFieldAccess(binaryExpr.rhsExpr, rowSymbol) &&
+                                isIndexLookupValue(binaryExpr.lhsExpr, rowSymbol))) {
+                    return binaryExpr;
+                }
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    private boolean isRowFieldAccess(BLangExpression expr, BSymbol rowSymbol) {
+        if (expr.getKind() != NodeKind.FIELD_BASED_ACCESS_EXPR || expr instanceof BLangNSPrefixedFieldBasedAccess) {
+            return false;
+        }
+        BLangFieldBasedAccess fieldAccess = (BLangFieldBasedAccess) expr;
+        return !fieldAccess.optionalFieldAccess && fieldAccess.expr.getKind() == NodeKind.SIMPLE_VARIABLE_REF &&
+                ((BLangSimpleVarRef) fieldAccess.expr).symbol == rowSymbol && isIndexableType(expr.getBType());
+    }
+
+    private boolean isIndexLookupValue(BLangExpression expr, BSymbol rowSymbol) {
+        switch (expr.getKind()) {
+            case LITERAL:
+            case NUMERIC_LITERAL:
+                return isIndexableType(expr.getBType());
+            case SIMPLE_VARIABLE_REF:
+            case CONSTANT_REF:
+                BSymbol symbol = ((BLangSimpleVarRef) expr).symbol;
+                if (symbol == null || symbol == rowSymbol) {
+                    return false;
+                }
+                if ((symbol.tag & SymTag.CONSTANT) == SymTag.CONSTANT) {
+                    return isIndexableType(((BConstantSymbol) symbol).literalType);
+                }
+                return (symbol.tag & SymTag.VARIABLE) == SymTag.VARIABLE && Symbols.isFlagOn(symbol.flags, Flags.FINAL)
+                        && isIndexableType(expr.getBType());
+            default:
+                return false;
+        }
+    }
+
+    private boolean isIndexableType(BType type) {
+        return TypeTags.isIntegerTypeTag(type.tag) || TypeTags.isStringTypeTag(type.tag) ||
+                type.tag == TypeTags.FLOAT || type.tag == TypeTags.DECIMAL || type.tag == TypeTags.BOOLEAN;
+    }
+
+    private BLangExpression copyConstantValue(BLangExpression value) {
+        // The clause keeps the original expression, so a new one is created to be evaluated up front.
+        if (value.getKind() == NodeKind.LITERAL || value.getKind() == NodeKind.NUMERIC_LITERAL) {
+            return ASTBuilderUtil.createLiteral(value.pos, value.getBType(), ((BLangLiteral) value).value);
+        }
+        return ASTBuilderUtil.createVariableRef(value.pos, (BVarSymbol) ((BLangSimpleVarRef) value).symbol);
+    }
+
+    private OperatorKind getMirroredOperator(OperatorKind operator) {
+        switch (operator) {
+            case LESS_THAN:
+                return OperatorKind.GREATER_THAN;
+            case LESS_EQUAL:
+                return OperatorKind.GREATER_EQUAL;
+            case GREATER_THAN:
+                return OperatorKind.LESS_THAN;
+            case GREATER_EQUAL:
+                return OperatorKind.LESS_EQUAL;
+            default:
+                return operator;
+        }
+    }
+
+    /**
+     * Check whether a query producing a list can be run over parts of its input on separate strands, concatenating
+     * the results in order. That is the case if it iterates an array, has only let, where, order by, limit and select
+     * clauses after the fromClause and none of their expressions has a side effect. An expression may only call the
+     * functions of the lang library modules which have no side effects, with immutable arguments. Other functions are
+     * not called, even isolated ones, as they may do I/O or update isolated module state, which would be interleaved
+     * differently than in the sequential run. With an orderByClause, only the clauses before it are run in parallel,
+     * along with the order keys.
+     *
+     * Whether the array is large enough to be split, and whether the clauses before an orderByClause can be split,
+     * is decided at runtime.
+     *
+     * @param clauses list of query clauses.
+     * @return true if the query can be run in parallel.
+     */
+    private boolean isParallelizable(List<BLangNode> clauses) {
+        BLangFromClause initFromClause = (BLangFromClause) clauses.get(0);
+        if (initFromClause.collection.getBType().tag != TypeTags.ARRAY) {
+            return false;
+        }
+        for (BLangNode clause : clauses.subList(1, clauses.size())) {
+            switch (clause.getKind()) {
+                case LET_CLAUSE:
+                    for (BLangLetVariable letVariable : ((BLangLetClause) clause).letVarDeclarations) {
+                        if (!isSideEffectFree(((BLangVariable) letVariable.definitionNode.getVariable()).expr)) {
+                            return false;
+                        }
+                    }
+                    break;
+                case WHERE:
+                    if (!isSideEffectFree(((BLangWhereClause) clause).expression)) {
+                        return false;
+                    }
+                    break;
+                case SELECT:
+                    if (!isSideEffectFree(((BLangSelectClause) clause).expression)) {
+                        return false;
+                    }
+                    break;
+                case ORDER_BY:
+                    for (OrderKeyNode orderKey : ((BLangOrderByClause) clause).getOrderKeyList()) {
+                        if (!isSideEffectFree(((BLangOrderKey) orderKey).expression)) {
+                            return false;
+                        }
+                    }
+                    break;
+                case LIMIT:
+                    if (!isSideEffectFree(((BLangLimitClause) clause).expression)) {
+                        return false;
+                    }
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isSideEffectFree(BLangExpression expr) {
+        return isSimpleExpression(expr, this::hasNoSideEffect);
+    }
+
+    private boolean hasNoSideEffect(BLangExpression expr) {
+        switch (expr.getKind()) {
+            case SIMPLE_VARIABLE_REF:
+                // Module level variables other than final ones may be updated by other strands.
+                BSymbol symbol = ((BLangSimpleVarRef) expr).symbol;
+                return (symbol.owner.tag & SymTag.PACKAGE) != SymTag.PACKAGE ||
+                        (symbol.tag & SymTag.CONSTANT) == SymTag.CONSTANT ||
+                        Symbols.isFlagOn(symbol.flags, Flags.FINAL);
+            case INVOCATION:
+                BLangInvocation invocation = (BLangInvocation) expr;
+                if (invocation.functionPointerInvocation || invocation.async || invocation.symbol == null ||
+                        !Symbols.isFlagOn(invocation.symbol.flags, Flags.ISOLATED) ||
+                        !isPureLangLibFunction(invocation.symbol)) {
+                    return false;
+                }
+                if (invocation.expr != null && !isImmutableArgument(invocation.expr)) {
+                    return false;
+                }
+                for (BLangExpression argExpr : invocation.argExprs) {
+                    BLangExpression arg = argExpr.getKind() == NodeKind.NAMED_ARGS_EXPR ?
+                            ((BLangNamedArgsExpression) argExpr).expr : argExpr;
+                    if (!isImmutableArgument(arg)) {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                return true;
+        }
+    }
+
+    private boolean isPureLangLibFunction(BSymbol symbol) {
+        PackageID pkgID = symbol.pkgID;
+        return pkgID != null && pkgID.orgName.equals(Names.BALLERINA_ORG) &&
+                PURE_LANG_LIB_MODULE_NAMES.contains(pkgID.name);
+    }
+
+    private boolean isImmutableArgument(BLangExpression arg) {
+        BType type = arg.getBType();
+        return type != null && (types.isInherentlyImmutableType(type) || Symbols.isFlagOn(type.flags, Flags.READONLY));
+    }
+
+    /**
+     * Check whether an expression consists of literals, variable references, invocations, check expressions,
+     * operators and list and mapping constructors only, and whether the given condition holds for each variable
+     * reference, invocation and check expression in it.
+     *
+     * @param expr      expression to check.
+     * @param condition condition on the variable references, invocations and check expressions.
+     * @return true if the expression is a simple expression meeting the condition.
+     */
+    private boolean isSimpleExpression(BLangExpression expr, Predicate<BLangExpression> condition) {
+        if (expr == null) {
+            return true;
+        }
+        switch (expr.getKind()) {
+            case LITERAL:
+            case NUMERIC_LITERAL:
+            case CONSTANT_REF:
+                return true;
+            case SIMPLE_VARIABLE_REF:
+                return ((BLangSimpleVarRef) expr).symbol != null && condition.test(expr);
+            case FIELD_BASED_ACCESS_EXPR:
+                return !(expr instanceof BLangNSPrefixedFieldBasedAccess) &&
+                        isSimpleExpression(((BLangFieldBasedAccess) expr).expr, condition);
+            case INDEX_BASED_ACCESS_EXPR:
+                BLangIndexBasedAccess indexAccess = (BLangIndexBasedAccess) expr;
+                return isSimpleExpression(indexAccess.expr, condition) &&
+                        isSimpleExpression(indexAccess.indexExpr, condition);
+            case BINARY_EXPR:
+                BLangBinaryExpr binaryExpr = (BLangBinaryExpr) expr;
+                return isSimpleExpression(binaryExpr.lhsExpr, condition) &&
+                        isSimpleExpression(binaryExpr.rhsExpr, condition);
+            case UNARY_EXPR:
+                return isSimpleExpression(((BLangUnaryExpr) expr).expr, condition);
+            case GROUP_EXPR:
+                return isSimpleExpression(((BLangGroupExpr) expr).expression, condition);
+            case TERNARY_EXPR:
+                BLangTernaryExpr ternaryExpr = (BLangTernaryExpr) expr;
+                return isSimpleExpression(ternaryExpr.expr, condition) &&
+                        isSimpleExpression(ternaryExpr.thenExpr, condition) &&
+                        isSimpleExpression(ternaryExpr.elseExpr, condition);
+            case ELVIS_EXPR:
+                BLangElvisExpr elvisExpr = (BLangElvisExpr) expr;
+                return isSimpleExpression(elvisExpr.lhsExpr, condition) &&
+                        isSimpleExpression(elvisExpr.rhsExpr, condition);
+            case TYPE_TEST_EXPR:
+                return isSimpleExpression(((BLangTypeTestExpr) expr).expr, condition);
+            case TYPE_CONVERSION_EXPR:
+                return isSimpleExpression(((BLangTypeConversionExpr) expr).expr, condition);
+            case CHECK_EXPR:
+                return condition.test(expr) && isSimpleExpression(((BLangCheckedExpr) expr).expr, condition);
+            case STRING_TEMPLATE_LITERAL:
+                return ((BLangStringTemplateLiteral) expr).exprs.stream()
+                        .allMatch(e -> isSimpleExpression(e, condition));
+            case LIST_CONSTRUCTOR_EXPR:
+            case ARRAY_LITERAL_EXPR:
+            case TUPLE_LITERAL_EXPR:
+                return ((BLangListConstructorExpr) expr).exprs.stream()
+                        .allMatch(e -> isSimpleExpression(e, condition));
+            case RECORD_LITERAL_EXPR:
+                for (RecordLiteralNode.RecordField field : ((BLangRecordLiteral) expr).fields) {
+                    if (field.isKeyValueField()) {
+                        BLangRecordKeyValueField keyValueField = (BLangRecordKeyValueField) field;
+                        if ((keyValueField.key.computedKey && !isSimpleExpression(keyValueField.key.expr, condition))
+                                || !isSimpleExpression(keyValueField.valueExpr, condition)) {
+                            return false;
+                        }
+                    } else if (field instanceof BLangRecordSpreadOperatorField) {
+                        if (!isSimpleExpression(((BLangRecordSpreadOperatorField) field).expr, condition)) {
+                            return false;
+                        }
+                    } else if (!isSimpleExpression((BLangExpression) field, condition)) {
+                        return false;
+                    }
+                }
+                return true;
+            case INVOCATION:
+                BLangInvocation invocation = (BLangInvocation) expr;
+                if (!condition.test(expr) || !isSimpleExpression(invocation.expr, condition)) {
+                    return false;
+                }
+                for (BLangExpression argExpr : invocation.argExprs) {
+                    BLangExpression arg = argExpr.getKind() == NodeKind.NAMED_ARGS_EXPR ?
+                            ((BLangNamedArgsExpression) argExpr).expr : argExpr;
+                    if (!isSimpleExpression(arg, condition)) {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                return false;
+        }
     }
 
     /**
@@ -598,13 +1210,15 @@ public class QueryDesugar extends BLangNodeVisitor {
      * Desugar orderByClause to below and return a reference to created orderBy _StreamFunction.
      * _StreamFunction orderByFunc = createOrderByFunction(function(_Frame frame) {
      * _Frame frame = {"orderKey": frame["x2"] + frame["y2"], $orderDirection$: true + false"};
-     * });
+     * }, limit);
      *
      * @param blockStmt parent block to write to.
      * @param orderByClause  to be desugared.
+     * @param limit     number of frames emitted by a directly following limitClause, -1 if it is not known up front.
      * @return variableReference to created orderBy _StreamFunction.
      */
-    BLangVariableReference addOrderByFunction(BLangBlockStmt blockStmt, BLangOrderByClause orderByClause) {
+    BLangVariableReference addOrderByFunction(BLangBlockStmt blockStmt, BLangOrderByClause orderByClause,
+                                              BLangExpression limit) {
         Location pos = orderByClause.pos;
         BLangLambdaFunction lambda = createActionLambda(pos);
         BLangBlockFunctionBody body = (BLangBlockFunctionBody) lambda.function.body;
@@ -636,7 +1250,42 @@ public class QueryDesugar extends BLangNodeVisitor {
         BLangStatement orderDirectionStmt = getAddToFrameStmt(pos, frame, "$orderDirection$", sortModesArrayExpr);
         body.stmts.add(orderDirectionStmt);
         lambda.accept(this);
-        return getStreamFunctionVariableRef(blockStmt, QUERY_CREATE_ORDER_BY_FUNCTION, Lists.of(lambda), pos);
+        return getStreamFunctionVariableRef(blockStmt, QUERY_CREATE_ORDER_BY_FUNCTION, Lists.of(lambda, limit), pos);
+    }
+
+    /**
+     * Get the number of frames the limitClause directly following an orderByClause lets through, so that only that
+     * many frames have to be kept while ordering. This is only done if the limit does not depend on the frame, i.e.
+     * it is a literal, a constant or a final variable declared outside the query.
+     *
+     * @param clauses list of query clauses.
+     * @param index   index of the orderByClause.
+     * @return an expression evaluating to the limit, or -1.
+     */
+    private BLangExpression getOrderByLimit(List<BLangNode> clauses, int index) {
+        BLangLiteral unknownLimit = ASTBuilderUtil.createLiteral(clauses.get(index).pos, symTable.intType, -1L);
+        if (index + 1 == clauses.size() || clauses.get(index + 1).getKind() != NodeKind.LIMIT) {
+            return unknownLimit;
+        }
+
+        BLangExpression limit = ((BLangLimitClause) clauses.get(index + 1)).expression;
+        switch (limit.getKind()) {
+            case LITERAL:
+            case NUMERIC_LITERAL:
+                break;
+            case SIMPLE_VARIABLE_REF:
+            case CONSTANT_REF:
+                BSymbol symbol = ((BLangSimpleVarRef) limit).symbol;
+                if (symbol == null || ((symbol.tag & SymTag.CONSTANT) != SymTag.CONSTANT &&
+                        (!Symbols.isFlagOn(symbol.flags, Flags.FINAL) || symbol != symResolver.lookupClosureVarSymbol(
+                                env, symbol.name, SymTag.VARIABLE)))) {
+                    return unknownLimit;
+                }
+                break;
+            default:
+                return unknownLimit;
+        }
+        return desugar.addConversionExprIfRequired(copyConstantValue(limit), symTable.intType);
     }
 
 
@@ -0,0 +1,95 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.projects.internal.jballerina;
+
+import io.ballerina.projects.utils.FileUtil;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Optional;
+
+/**
+ * Tests the cache of the generated jars.
+ */
+public class GeneratedJarCacheTest {
+    private Path cacheDirPath;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        cacheDirPath = Files.createTempDirectory("ballerina-generated-jar-cache-" + System.nanoTime());
+    }
+
+    @Test(description = "A cached jar should be returned for the fingerprint it was cached with")
+    public void testGetCachedJar() {
+        GeneratedJarCache generatedJarCache = new GeneratedJarCache(cacheDirPath);
+        Assert.assertTrue(generatedJarCache.get("module1").isEmpty());
+
+        generatedJarCache.put("module1", jarContent("jar of module1"));
+        Optional<ByteArrayOutputStream> cachedJarContent = generatedJarCache.get("module1");
+        Assert.assertTrue(cachedJarContent.isPresent());
+        Assert.assertEquals(cachedJarContent.get().toString(StandardCharsets.UTF_8), "jar of module1");
+        Assert.assertTrue(generatedJarCache.get("module2").isEmpty());
+    }
+
+    @Test(description = "A jar already cached with a fingerprint should not be replaced")
+    public void testPutCachedJar() {
+        GeneratedJarCache generatedJarCache = new GeneratedJarCache(cacheDirPath);
+        generatedJarCache.put("module1", jarContent("jar of module1"));
+        generatedJarCache.put("module1", jarContent("another jar of module1"));
+        Assert.assertEquals(generatedJarCache.get("module1").orElseThrow().toString(StandardCharsets.UTF_8),
+                            "jar of module1");
+    }
+
+    @Test(description = "The least recently used jars should be evicted once the cache exceeds its size limit")
+    public void testEvictLeastRecentlyUsed() throws IOException {
+        GeneratedJarCache generatedJarCache = new GeneratedJarCache(cacheDirPath, 20);
+        generatedJarCache.put("module1", jarContent("jar of module1"));
+        generatedJarCache.put("module2", jarContent("jar of module2"));
+        Files.setLastModifiedTime(cacheDirPath.resolve("module1.jar"), FileTime.fromMillis(1000));
+        Files.setLastModifiedTime(cacheDirPath.resolve("module2.jar"), FileTime.fromMillis(2000));
+
+        // Using module1 makes module2 the least recently used jar
+        generatedJarCache.get("module1");
+        generatedJarCache.evictLeastRecentlyUsed();
+        Assert.assertTrue(Files.exists(cacheDirPath.resolve("module1.jar")));
+        Assert.assertFalse(Files.exists(cacheDirPath.resolve("module2.jar")));
+
+        // The cache is within its size limit now
+        generatedJarCache.evictLeastRecentlyUsed();
+        Assert.assertTrue(Files.exists(cacheDirPath.resolve("module1.jar")));
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        FileUtil.deleteDirectory(cacheDirPath);
+    }
+
+    private static ByteArrayOutputStream jarContent(String content) {
+        ByteArrayOutputStream jarContent = new ByteArrayOutputStream();
+        jarContent.writeBytes(content.getBytes(StandardCharsets.UTF_8));
+        return jarContent;
+    }
+}
@@ -24,6 +24,16 @@ function createPipeline(
     return new _StreamPipeline(collection, constraintTd, completionTd);
 }
 
+function createIndexedPipeline(table<map<Type>> collection, string fieldName, string operator, anydata value,
+        typedesc<Type> constraintTd, typedesc<CompletionType> completionTd) returns _StreamPipeline {
+    // Rows are looked up through a secondary index of the table when there is one, the where clause still follows.
+    Type[]? rows = lookupIndexedRows(collection, fieldName, operator, value);
+    if (rows is Type[]) {
+        return new _StreamPipeline(rows, constraintTd, completionTd);
+    }
+    return new _StreamPipeline(collection, constraintTd, completionTd);
+}
+
 function createInputFunction(function(_Frame _frame) returns _Frame|error? inputFunc)
         returns _StreamFunction {
     return new _InputFunction(inputFunc);
@@ -58,9 +68,9 @@ function createFilterFunction(function(_Frame _frame) returns boolean filterFunc
     return new _FilterFunction(filterFunc);
 }
 
-function createOrderByFunction(function(_Frame _frame) orderFunc)
+function createOrderByFunction(function(_Frame _frame) orderFunc, int 'limit)
         returns _StreamFunction {
-    return new _OrderByFunction(orderFunc);
+    return new _OrderByFunction(orderFunc, 'limit);
 }
 
 function createSelectFunction(function(_Frame _frame) returns _Frame|error? selectFunc)
@@ -84,75 +94,182 @@ function getStreamFromPipeline(_StreamPipeline pipeline) returns stream<Type, Co
     return pipeline.getStream();
 }
 
-function toArray(stream<Type, CompletionType> strm, Type[] arr) returns Type[]|error {
-    record {| Type value; |}|error? v = strm.next();
-    while (v is record {| Type value; |}) {
-        arr.push(v.value);
-        v = strm.next();
+function toArray(_StreamPipeline pipeline, Type[] arr) returns Type[]|error {
+    _Frame|error? f = pipeline.next();
+    while (f is _Frame) {
+        arr.push(<Type>f["$value$"]);
+        f = pipeline.next();
     }
-    if (v is error) {
-        return v;
+    // The stages before the one returning an error are not read to the end.
+    pipeline.close();
+    if (f is error) {
+        return f;
     }
 
     return arr;
 }
 
-function toXML(stream<Type, CompletionType> strm) returns xml|error {
+function toXML(_StreamPipeline pipeline) returns xml|error {
     xml result = 'xml:concat();
-    record {| Type value; |}|CompletionType v = strm.next();
-    while (v is record {| Type value; |}) {
-        Type value = v.value;
+    _Frame|error? f = pipeline.next();
+    while (f is _Frame) {
+        Type value = <Type>f["$value$"];
         if (value is xml) {
             result = result + value;
         }
-        v = strm.next();
+        f = pipeline.next();
     }
-    if (v is error) {
-        return v;
+    pipeline.close();
+    if (f is error) {
+        return f;
     }
     return result;
 }
 
-function toString(stream<Type, CompletionType> strm) returns string|error {
+function toString(_StreamPipeline pipeline) returns string|error {
     string result = "";
-    record {| Type value; |}|CompletionType v = strm.next();
-    while (v is record {| Type value; |}) {
-        Type value = v.value;
+    _Frame|error? f = pipeline.next();
+    while (f is _Frame) {
+        Type value = <Type>f["$value$"];
         if (value is string) {
             result += value;
         }
-        v = strm.next();
+        f = pipeline.next();
     }
-    if (v is error) {
-        return v;
+    pipeline.close();
+    if (f is error) {
+        return f;
     }
     return result;
 }
 
-function addToTable(stream<Type, CompletionType> strm, table<map<Type>> tbl, error? err) returns table<map<Type>>|error {
-    record {| Type value; |}|CompletionType v = strm.next();
-    while (v is record {| Type value; |}) {
-        error? e = trap tbl.add(<map<Type>> checkpanic v.value);
+function addToTable(_StreamPipeline pipeline, table<map<Type>> tbl, error? err) returns table<map<Type>>|error {
+    _Frame|error? f = pipeline.next();
+    while (f is _Frame) {
+        error? e = trap tbl.add(<map<Type>> checkpanic f["$value$"]);
         if (e is error) {
+            pipeline.close();
             if (err is error) {
                 return err;
             }
             return e;
         }
-        v = strm.next();
+        f = pipeline.next();
     }
-    if (v is error) {
-        return v;
+    pipeline.close();
+    if (f is error) {
+        return f;
     }
     return tbl;
 }
 
-function consumeStream(stream<Type, CompletionType> strm) returns error? {
-    any|error? v = strm.next();
-    while (!(v is () || v is error)) {
-        v = strm.next();
+function consumeStream(_StreamPipeline pipeline) returns error? {
+    _Frame|error? f = pipeline.next();
+    while (f is _Frame) {
+        f = pipeline.next();
     }
-    if (v is error) {
-        return v;
+    pipeline.close();
+    if (f is error) {
+        return f;
     }
 }
+
+isolated function lookupIndexedRows(table<map<Type>> collection, string fieldName, string operator, anydata value)
+        returns Type[]? = @java:Method {
+    'class: "org.ballerinalang.langlib.query.IndexedRows",
+    name: "lookupIndexedRows"
+} external;
+
+isolated function createFrameMultiMap() returns handle = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FrameMultiMap",
+    name: "createFrameMultiMap"
+} external;
+
+isolated function putFrame(handle frameMap, any key, _Frame frame) = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FrameMultiMap",
+    name: "putFrame"
+} external;
+
+isolated function getFrames(handle frameMap, any key) returns _Frame[]? = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FrameMultiMap",
+    name: "getFrames"
+} external;
+
+isolated function mergeFrames(_Frame lhsFrame, _Frame rhsFrame) returns _Frame = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FrameMultiMap",
+    name: "mergeFrames"
+} external;
+
+isolated function createFrameSorter(int 'limit) returns handle = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FrameSorter",
+    name: "createFrameSorter"
+} external;
+
+isolated function addFrame(handle sorter, _Frame frame, any[] keys, any[] directions) = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FrameSorter",
+    name: "addFrame"
+} external;
+
+isolated function nextSortedFrame(handle sorter) returns _Frame? = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FrameSorter",
+    name: "nextSortedFrame"
+} external;
+
+isolated function closeFrameSorter(handle sorter) = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FrameSorter",
+    name: "closeFrameSorter"
+} external;
+
+# Minimum length of the source array of a query to be run in parallel.
+const int PARALLEL_QUERY_THRESHOLD = 10000;
+
+function toArrayInParallel(_StreamPipeline pipeline, Type[] arr) returns Type[]|error {
+    int parallelism = getParallelism();
+    _StreamPipeline[]? partitions = pipeline.partition(parallelism, PARALLEL_QUERY_THRESHOLD);
+    if (partitions is ()) {
+        // The frames ordered by an order by clause may still be computed in parallel.
+        pipeline.partitionOrderBy(parallelism, PARALLEL_QUERY_THRESHOLD);
+        return toArray(pipeline, arr);
+    }
+
+    // Results are added in the order of the partitions, so the result is the same as running the query sequentially.
+    foreach future<_Frame[]|error> f in startPartitions(partitions) {
+        _Frame[] frames = check wait f;
+        foreach _Frame frame in frames {
+            arr.push(<Type>frame["$value$"]);
+        }
+    }
+    return arr;
+}
+
+# Starts a strand per partition, which may run on any thread, so that the partitions are run in parallel rather than
+# one after the other on the thread of the query. Partitions only share the desugared clause functions, which the
+# compiler checked to have no side effects.
+# + partitions - the partitions of a pipeline
+# + return - futures of the frames of each partition, in the order of the partitions
+function startPartitions(_StreamPipeline[] partitions) returns future<_Frame[]|error>[] {
+    future<_Frame[]|error>[] futures = [];
+    foreach _StreamPipeline partition in partitions {
+        future<_Frame[]|error> f = @strand {thread: "any"} start collectPartition(partition);
+        futures.push(f);
+    }
+    return futures;
+}
+
+isolated function collectPartition(_StreamPipeline pipeline) returns _Frame[]|error {
+    _Frame[] frames = [];
+    _Frame|error? f = pipeline.next();
+    while (f is _Frame) {
+        frames.push(f);
+        f = pipeline.next();
+    }
+    if (f is error) {
+        return f;
+    }
+    return frames;
+}
+
+isolated function getParallelism() returns int = @java:Method {
+    'class: "org.ballerinalang.langlib.query.Parallelism",
+    name: "getParallelism"
+} external;
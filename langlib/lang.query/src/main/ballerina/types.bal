@@ -99,9 +99,27 @@ class _StreamPipeline {
         sf.reset();
     }
 
+    # Releases the resources held by the stages of the pipeline, such as the temporary files an order by stage wrote
+    # its frames to. Consumers call this once they stop reading the pipeline, whether they read it to the end or not.
+    public isolated function close() {
+        _StreamFunction? sf = self.streamFunction;
+        while (sf is _StreamFunction) {
+            if (sf is _OrderByFunction) {
+                sf.close();
+            }
+            sf = sf.prevFunc;
+        }
+    }
+
     function addStreamFunction(_StreamFunction streamFunction) {
         _StreamFunction existingFunc = self.streamFunction;
-        streamFunction.prevFunc = existingFunc;
+        _StreamFunction prevFunc = existingFunc;
+        if (streamFunction is _SelectFunction && streamFunction.filterFunc is () && existingFunc is _FilterFunction) {
+            // Fuse the where clause into the select clause following it, so that a frame passes a single stage.
+            streamFunction.filterFunc = existingFunc.filterFunc;
+            prevFunc = <_StreamFunction>existingFunc.prevFunc;
+        }
+        streamFunction.prevFunc = prevFunc;
         self.streamFunction = streamFunction;
     }
 
@@ -110,6 +128,91 @@ class _StreamPipeline {
         var strm = internal:construct(self.constraintTd, self.completionTd, itrObj);
         return strm;
     }
+
+    # Splits the pipeline into pipelines over consecutive parts of the source array, which can be run in parallel.
+    # Only pipelines iterating an array with input, let, where and select stages can be split.
+    # + partitionCount - number of parts to split the array into
+    # + threshold - minimum length of the array
+    # + return - the pipelines in the order of the parts, or nil if the pipeline is not split
+    function partition(int partitionCount, int threshold) returns _StreamPipeline[]? {
+        return self.partitionStages(self.streamFunction, partitionCount, threshold, ());
+    }
+
+    # Splits the stages below the order by stage of the pipeline, if it has one, into pipelines over consecutive parts
+    # of the source array, which also compute the order keys of their frames. The order by stage runs them in
+    # parallel and orders their frames, which are passed on to the stages above it as usual.
+    # + partitionCount - number of parts to split the array into
+    # + threshold - minimum length of the array
+    function partitionOrderBy(int partitionCount, int threshold) {
+        _StreamFunction? sf = self.streamFunction;
+        while (sf is _LetFunction || sf is _FilterFunction || sf is _SelectFunction || sf is _LimitFunction) {
+            sf = sf.prevFunc;
+        }
+        if (sf is _OrderByFunction) {
+            _StreamFunction? pf = sf.prevFunc;
+            if (pf is _StreamFunction) {
+                sf.partitions = self.partitionStages(pf, partitionCount, threshold, sf.orderKeyFunc);
+            }
+        }
+    }
+
+    function partitionStages(_StreamFunction top, int partitionCount, int threshold,
+            (function(_Frame _frame))? orderKeyFunc) returns _StreamPipeline[]? {
+        _StreamFunction[] stages = [];
+        _StreamFunction? sf = top;
+        while (sf is _InputFunction || sf is _LetFunction || sf is _FilterFunction || sf is _SelectFunction) {
+            stages.push(sf);
+            sf = sf.prevFunc;
+        }
+        if (!(sf is _InitFunction)) {
+            return ();
+        }
+
+        Type[]? array = sf.array;
+        int length = sf.length - sf.index;
+        if (array is () || partitionCount < 2 || length < threshold) {
+            return ();
+        }
+        _StreamPipeline[] partitions = [];
+        int partitionSize = (length + partitionCount - 1) / partitionCount;
+        int 'start = sf.index;
+        while ('start < sf.length) {
+            int end = 'start + partitionSize < sf.length ? 'start + partitionSize : sf.length;
+            _StreamPipeline partition = new (array, self.constraintTd, self.completionTd);
+            _InitFunction initFunction = <_InitFunction>partition.streamFunction;
+            initFunction.index = 'start;
+            initFunction.length = end;
+            int i = stages.length() - 1;
+            while (i >= 0) {
+                partition.addStreamFunction(_copyStage(stages[i]));
+                i -= 1;
+            }
+            if (orderKeyFunc is function(_Frame _frame)) {
+                function(_Frame _frame) keyFunc = orderKeyFunc;
+                partition.addStreamFunction(new _LetFunction(function(_Frame _frame) returns _Frame|error? {
+                    keyFunc(_frame);
+                    return _frame;
+                }));
+            }
+            partitions.push(partition);
+            'start = end;
+        }
+        return partitions;
+    }
+}
+
+function _copyStage(_StreamFunction sf) returns _StreamFunction {
+    if (sf is _InputFunction) {
+        return new _InputFunction(sf.inputFunc);
+    } else if (sf is _LetFunction) {
+        return new _LetFunction(sf.letFunc);
+    } else if (sf is _FilterFunction) {
+        return new _FilterFunction(sf.filterFunc);
+    }
+    _SelectFunction selectFunction = <_SelectFunction>sf;
+    _SelectFunction copy = new (selectFunction.selectFunc);
+    copy.filterFunc = selectFunction.filterFunc;
+    return copy;
 }
 
 class _InitFunction {
@@ -117,6 +220,10 @@ class _InitFunction {
     _Iterator? itr;
     boolean resettable = true;
     Type[]|map<Type>|record{}|string|xml|table<map<Type>>|stream<Type,CompletionType>|_Iterable collection;
+    // Arrays are iterated by index rather than through an iterator, up to the length the array had at the start.
+    Type[]? array = ();
+    int index = 0;
+    int length = 0;
 
     function init(
             Type[]|map<Type>|record{}|string|xml|table<map<Type>>|stream<Type,CompletionType>|_Iterable collection) {
@@ -127,10 +234,20 @@ class _InitFunction {
     }
 
     public function process() returns _Frame|error? {
+        Type[]? array = self.array;
+        if (array is Type[]) {
+            int index = self.index;
+            if (index < self.length) {
+                self.index = index + 1;
+                _Frame _frame = {value: array[index]};
+                return _frame;
+            }
+            return ();
+        }
         _Iterator i = <_Iterator>self.itr;
         record {|(any|error) value;|}|error? v = i.next();
         if (v is record {|(any|error) value;|}) {
-            record {|(any|error)...;|} _frame = {...v};
+            _Frame _frame = {value: v.value};
             return _frame;
         }
         return v;
@@ -146,9 +263,12 @@ class _InitFunction {
 
     function _getIterator(
             Type[]|map<Type>|record{}|string|xml|table<map<Type>>|stream<Type,CompletionType>|_Iterable collection)
-                returns _Iterator {
+                returns _Iterator? {
         if (collection is Type[]) {
-            return lang_array:iterator(collection);
+            self.array = collection;
+            self.index = 0;
+            self.length = collection.length();
+            return ();
         } else if (collection is record {}) {
             return lang_map:iterator(collection);
         } else if (collection is map<Type>) {
@@ -326,6 +446,7 @@ class _InnerJoinFunction {
     function (_Frame _frame) returns any rhsKeyFunction;
     _FrameMultiMap rhsFramesMap = new;
     _Frame[]? rhsCandidates;
+    int rhsCandidateIndex = 0;
     _Frame|error? lhsFrame;
 
     function init(
@@ -339,7 +460,7 @@ class _InnerJoinFunction {
         self.lhsFrame = ();
         _Frame|error? f = pipelineToJoin.next();
         while (f is _Frame) {
-            self.rhsFramesMap.put(rhsKeyFunction(f).toString(), f);
+            self.rhsFramesMap.put(rhsKeyFunction(f), f);
             f = pipelineToJoin.next();
         }
     }
@@ -354,7 +475,6 @@ class _InnerJoinFunction {
          _FrameMultiMap rhsFramesMap = self.rhsFramesMap;
         _Frame[]? rhsCandidates = self.rhsCandidates;
         _Frame|error? lhsFrame = self.lhsFrame;
-        string lhsKey = "";
 
         if (lhsFrame is ()) {
             lhsFrame = pf.process();
@@ -362,19 +482,15 @@ class _InnerJoinFunction {
         }
 
         if (lhsFrame is _Frame) {
-            lhsKey = lhsKF(lhsFrame).toString();
             if (rhsCandidates is ()) {
-                rhsCandidates = rhsFramesMap.get(lhsKey);
+                rhsCandidates = rhsFramesMap.get(lhsKF(lhsFrame));
                 self.rhsCandidates = rhsCandidates;
+                self.rhsCandidateIndex = 0;
             }
-            if (rhsCandidates is _Frame[] && rhsCandidates.length() > 0) {
-                _Frame rhsFrame = rhsCandidates.shift();
-                self.rhsCandidates = rhsCandidates;
-                _Frame joinedFrame = {...lhsFrame};
-                foreach var [k, val] in rhsFrame.entries() {
-                    joinedFrame[k] = val;
-                }
-                return joinedFrame;
+            int index = self.rhsCandidateIndex;
+            if (rhsCandidates is _Frame[] && index < rhsCandidates.length()) {
+                self.rhsCandidateIndex = index + 1;
+                return mergeFrames(lhsFrame, rhsCandidates[index]);
             } else {
                 // Move to next lhs frame
                 self.lhsFrame = ();
@@ -402,6 +518,7 @@ class _OuterJoinFunction {
     function (_Frame _frame) returns any rhsKeyFunction;
     _FrameMultiMap rhsFramesMap = new;
     _Frame[]? rhsCandidates;
+    int rhsCandidateIndex = 0;
     _Frame|error? lhsFrame;
     _Frame nilFrame;
 
@@ -417,7 +534,7 @@ class _OuterJoinFunction {
         self.nilFrame = nilFrame;
         _Frame|error? f = pipelineToJoin.next();
         while (f is _Frame) {
-            self.rhsFramesMap.put(rhsKeyFunction(f).toString(), f);
+            self.rhsFramesMap.put(rhsKeyFunction(f), f);
             f = pipelineToJoin.next();
         }
     }
@@ -433,7 +550,6 @@ class _OuterJoinFunction {
         _Frame[]? rhsCandidates = self.rhsCandidates;
         _Frame|error? lhsFrame = self.lhsFrame;
         _Frame nilFrame = self.nilFrame;
-        string lhsKey = "";
 
         if (lhsFrame is ()) {
             lhsFrame = pf.process();
@@ -441,34 +557,26 @@ class _OuterJoinFunction {
         }
 
         if (lhsFrame is _Frame) {
-            lhsKey = lhsKF(lhsFrame).toString();
             if (rhsCandidates is ()) {
-                rhsCandidates = rhsFramesMap.get(lhsKey);
+                rhsCandidates = rhsFramesMap.get(lhsKF(lhsFrame));
                 self.rhsCandidates = rhsCandidates;
+                self.rhsCandidateIndex = 0;
             }
 
             if (rhsCandidates is _Frame[]) {
-                _Frame rhsFrame = rhsCandidates.shift();
-                if (rhsCandidates.length() > 0) {
-                    self.rhsCandidates = rhsCandidates;
+                int index = self.rhsCandidateIndex;
+                if (index + 1 < rhsCandidates.length()) {
+                    self.rhsCandidateIndex = index + 1;
                 } else {
                     // Move to next lhs frame in next iteration.
                     self.rhsCandidates = ();
                     self.lhsFrame = ();
                 }
-                _Frame joinedFrame = {...lhsFrame};
-                foreach var [k, val] in rhsFrame.entries() {
-                    joinedFrame[k] = val;
-                }
-                return joinedFrame;
+                return mergeFrames(lhsFrame, rhsCandidates[index]);
             } else {
                 // rhsCandidates is nil, move to next lhs frame in next iteration.
-                _Frame joinedFrame = {...lhsFrame};
-                foreach var [k, val] in nilFrame.entries() {
-                    joinedFrame[k] = val;
-                }
                 self.lhsFrame = ();
-                return joinedFrame;
+                return mergeFrames(lhsFrame, nilFrame);
             }
         }
         return lhsFrame;
@@ -522,48 +630,85 @@ class _OrderByFunction {
     # Desugared function to do;
     # order by person.fname true, person.age false
     function(_Frame _frame) orderKeyFunc;
-    stream<_Frame>? orderedStream;
-
-    function init(function(_Frame _frame) orderKeyFunc) {
+    # Number of frames let through by a limit clause directly following the order by clause, or -1 if not known.
+    int 'limit;
+    # Sorter the frames are added to, and read from in order once all of them are added.
+    handle? sorter = ();
+    # Whether all the frames are added to the sorter.
+    boolean sorted = false;
+    # Pipelines computing the frames to be ordered, with their order keys, over parts of the input in parallel.
+    _StreamPipeline[]? partitions = ();
+
+    function init(function(_Frame _frame) orderKeyFunc, int 'limit) {
         self.orderKeyFunc = orderKeyFunc;
-        self.orderedStream = ();
+        self.'limit = 'limit;
         self.prevFunc = ();
     }
 
     public function process() returns _Frame|error? {
-        if (self.orderedStream is ()) {
+        handle? existingSorter = self.sorter;
+        if (existingSorter is handle && self.sorted) {
+            return nextSortedFrame(existingSorter);
+        }
+
+        // Releases the sorter of an earlier call which panicked while adding the frames.
+        self.close();
+        handle sorter = createFrameSorter(self.'limit);
+        // Kept before any frame is added, so that closing the pipeline releases the sorter even if adding the frames
+        // panics.
+        self.sorter = sorter;
+        _StreamPipeline[]? partitions = self.partitions;
+        if (partitions is _StreamPipeline[]) {
+            // Frames are added in the order of the partitions, as if they had been computed sequentially.
+            self.partitions = ();
+            foreach future<_Frame[]|error> fut in startPartitions(partitions) {
+                _Frame[]|error frames = wait fut;
+                if (frames is error) {
+                    self.close();
+                    return frames;
+                }
+                foreach _Frame f in frames {
+                    addFrame(sorter, f, <any[]>(checkpanic f["$orderKey$"]),
+                        <any[]>(checkpanic f["$orderDirection$"]));
+                }
+            }
+        } else {
             _StreamFunction pf = <_StreamFunction> self.prevFunc;
             function(_Frame _frame) orderKeyFunc = self.orderKeyFunc;
             _Frame|error? f = pf.process();
-            boolean[] directions = [];
-            _OrderTreeNode oTree = new;
             // consume all events for ordering.
             while (f is _Frame) {
                 orderKeyFunc(f);
-                oTree.add(f, <any[]>(checkpanic f["$orderDirection$"]), <any[]>(checkpanic f["$orderKey$"]));
+                addFrame(sorter, f, <any[]>(checkpanic f["$orderKey$"]),
+                    <any[]>(checkpanic f["$orderDirection$"]));
                 f = pf.process();
             }
             if (f is error) {
+                self.close();
                 return f;
             }
-            self.orderedStream = oTree.get().toStream();
-        }
-
-        stream<_Frame> s = <stream<_Frame>>self.orderedStream;
-        record {|_Frame value;|}|error? f = s.next();
-        if (f is record {|_Frame value;|}) {
-            return f.value;
         }
-        return f;
+        self.sorted = true;
+        return nextSortedFrame(sorter);
     }
 
     public function reset() {
-        self.orderedStream = ();
+        self.close();
         _StreamFunction? pf = self.prevFunc;
         if (pf is _StreamFunction) {
             pf.reset();
         }
     }
+
+    # Releases the sorter, deleting the frames it wrote to temporary files.
+    isolated function close() {
+        handle? sorter = self.sorter;
+        if (sorter is handle) {
+            closeFrameSorter(sorter);
+        }
+        self.sorter = ();
+        self.sorted = false;
+    }
 }
 
 class _SelectFunction {
@@ -576,6 +721,8 @@ class _SelectFunction {
     #   dept : dept.name
     # };
     public function (_Frame _frame) returns _Frame|error? selectFunc;
+    # The condition of a where clause directly preceding the select clause, if it was fused into this stage.
+    (function (_Frame _frame) returns boolean)? filterFunc = ();
 
     function init(function (_Frame _frame) returns _Frame|error? selectFunc) {
         self.selectFunc = selectFunc;
@@ -585,7 +732,13 @@ class _SelectFunction {
     public function process() returns _Frame|error? {
         _StreamFunction pf = <_StreamFunction>self.prevFunc;
         function (_Frame _frame) returns _Frame|error? f = self.selectFunc;
+        (function (_Frame _frame) returns boolean)? filterFunc = self.filterFunc;
         _Frame|error? pFrame = pf.process();
+        if (filterFunc is function (_Frame _frame) returns boolean) {
+            while (pFrame is _Frame && !filterFunc(pFrame)) {
+                pFrame = pf.process();
+            }
+        }
         if (pFrame is _Frame) {
             _Frame|error? cFrame = f(pFrame);
             return cFrame;
@@ -678,35 +831,20 @@ class _LimitFunction {
 // ---- helper types ----
 
 class _FrameMultiMap {
-    map<_Frame[]> m;
+    handle m;
 
     function init() {
-        self.m = {};
+        self.m = createFrameMultiMap();
     }
 
-    function put(string k, _Frame v) {
-        _Frame[]? vals = self.m[k];
-        if (vals is _Frame[]) {
-            vals.push(v);
-        } else {
-            self.m[k] = [v];
-        }
+    function put(any k, _Frame v) {
+        putFrame(self.m, k, v);
     }
 
-    function get(string k) returns _Frame[]? {
-        _Frame[]? vals = self.m[k];
-        if (vals is _Frame[]) {
-            _Frame[] frames = [];
-            int l = vals.length();
-            int i = 0;
-            while (i < l) {
-                frames.push(vals[i]);
-                i += 1;
-            }
-            return frames;
-        }
+    # Returns the frames with the given key. The returned array is shared, hence it must not be modified.
+    function get(any k) returns _Frame[]? {
+        return getFrames(self.m, k);
     }
-
 }
 
 class IterHelper {
@@ -725,111 +863,13 @@ class IterHelper {
             Type v = <Type>f["$value$"];
             return internal:setNarrowType(self.outputType, {value: v});
         } else {
+            p.close();
             return f;
         }
     }
-}
-
-class _OrderTreeNode {
-    any? key = ();
-    _Frame[]? frames = ();
-    lang_array:SortDirection nodesDirection = lang_array:ASCENDING;
-    map<_OrderTreeNode> nodes = {};
-    any[] keys = [];
-
-    # adds a _Frame into the _OrderTreeNode tree structure.
-    function add(_Frame f, any[] directions, any[] keys) {
-        if (keys.length() == 0 && directions.length() == 0) {
-            _Frame[]? currentFrames = self.frames;
-            if (currentFrames is _Frame[]) {
-                currentFrames.push(f);
-            } else {
-                self.frames = [f];
-            }
-
-        } else {
-            if(!<boolean>directions.shift()) {
-                self.nodesDirection = lang_array:DESCENDING;
-            }
-            any key = keys.shift();
-            string keyStr = key.toString();
-            _OrderTreeNode o;
-            if (self.nodes.hasKey(keyStr)) {
-                o = self.nodes.get(keyStr);
-            } else {
-                o = new;
-                o.key = key;
-                self.nodes[keyStr] = o;
-                self.keys.push(key);
-            }
-            o.add(f, directions, keys);
-        }
-    }
-
-    # do a pre-order tree traversal and return collected leaf frames as orderedFrames.
-    # + return -  ordered frames.
-    function get() returns _Frame[] {
-        _Frame[] orderedFrames = [];
-        if (self.frames is _Frame[]) {
-            _Frame[] frames = <_Frame[]>self.frames;
-            int l = frames.length();
-            int i = 0;
-            while (i < l) {
-                orderedFrames.push(frames[i]);
-                i += 1;
-            }
-        } else {
-            any[] keys = self.getSortedArray(self.keys);
-            foreach any k in keys {
-                _OrderTreeNode o = self.nodes.get(k.toString());
-                _Frame[] frms = o.get();
-                foreach _Frame f in frms {
-                    orderedFrames.push(f);
-                }
-            }
-        }
-        return orderedFrames;
-    }
-
-    # sorting is not supported for any[], therefore have to resolve runtime type and sort it.
-    # + return -  ordered array.
-    function getSortedArray(any[] arr) returns any[] {
-        if (arr.length() > 0) {
-            int i = 0;
-            while (i < arr.length()) {
-                if (arr[i] is ()) {
-                    i += 1;
-                    continue;
-                } else if (arr[i] is boolean) {
-                    boolean?[] res = [];
-                    self.copyArray(arr, res);
-                    return res.sort(self.nodesDirection, (v) => v);
-                } else if (arr[i] is int) {
-                    int?[] res = [];
-                    self.copyArray(arr, res);
-                    return res.sort(self.nodesDirection, (v) => v);
-                } else if (arr[i] is float) {
-                    float?[] res = [];
-                    self.copyArray(arr, res);
-                    return res.sort(self.nodesDirection, (v) => v);
-                } else if (arr[i] is decimal) {
-                    decimal?[] res = [];
-                    self.copyArray(arr, res);
-                    return res.sort(self.nodesDirection, (v) => v);
-                } else if (arr[i] is string) {
-                    string?[] res = [];
-                    self.copyArray(arr, res);
-                    return res.sort(self.nodesDirection, (v) => v);
-                }
-            }
-        }
-        return arr;
-    }
 
-    # copy every element of source array into empty target array.
-    function copyArray(any[] 'source, any[] 'target) {
-        foreach var v in 'source {
-            'target.push(v);
-        }
+    public isolated function close() returns error? {
+        _StreamPipeline p = self.pipeline;
+        p.close();
     }
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.langlib.query;
+
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BHandle;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.TypeChecker;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Implementation of the hash table lang.query uses to join the frames of two pipelines.
+ * <p>
+ * Frames are grouped by the value of their join key. Keys are matched with the `==` semantics of Ballerina, so
+ * unlike matching the string representations of the keys, an int and a string key never match while decimals
+ * differing only in trailing zeros do.
+ *
+ * @since 2.0.0
+ */
+public class FrameMultiMap {
+
+    // Structured keys are only hashed up to this depth, so that hashing stays cheap and terminates on cyclic values.
+    private static final int MAX_HASH_DEPTH = 4;
+
+    public static BHandle createFrameMultiMap() {
+        return ValueCreator.createHandleValue(new HashMap<JoinKey, BArray>());
+    }
+
+    public static void putFrame(BHandle frameMap, Object key, BMap<BString, Object> frame) {
+        BArray frames = getMap(frameMap).computeIfAbsent(new JoinKey(key),
+                k -> ValueCreator.createArrayValue(TypeCreator.createArrayType(frame.getType())));
+        frames.append(frame);
+    }
+
+    /**
+     * Returns the frames with the given join key. The returned array is the one held by the map, hence it must not
+     * be modified.
+     */
+    public static Object getFrames(BHandle frameMap, Object key) {
+        return getMap(frameMap).get(new JoinKey(key));
+    }
+
+    public static BMap<BString, Object> mergeFrames(BMap<BString, Object> lhsFrame, BMap<BString, Object> rhsFrame) {
+        BMap<BString, Object> joinedFrame = ValueCreator.createMapValue(lhsFrame.getType());
+        for (Map.Entry<BString, Object> entry : lhsFrame.entrySet()) {
+            joinedFrame.populateInitialValue(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<BString, Object> entry : rhsFrame.entrySet()) {
+            joinedFrame.populateInitialValue(entry.getKey(), entry.getValue());
+        }
+        return joinedFrame;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<JoinKey, BArray> getMap(BHandle frameMap) {
+        return (Map<JoinKey, BArray>) frameMap.getValue();
+    }
+
+    private static int hash(Object value, int depth) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Long || value instanceof Integer) {
+            // int and byte values are equal if they are numerically equal.
+            return Long.hashCode(((Number) value).longValue());
+        }
+        if (value instanceof BDecimal) {
+            // Decimals are equal if they are numerically equal, regardless of the scale.
+            return ((BDecimal) value).decimalValue().stripTrailingZeros().hashCode();
+        }
+        if (value instanceof BString || value instanceof Double || value instanceof Boolean) {
+            return value.hashCode();
+        }
+        if (depth == MAX_HASH_DEPTH) {
+            return 0;
+        }
+        if (value instanceof BMap) {
+            // Mappings are equal regardless of the order of the fields, hence the hash of the fields is summed.
+            int result = 0;
+            for (Map.Entry<?, ?> entry : ((BMap<?, ?>) value).entrySet()) {
+                result += entry.getKey().hashCode() ^ hash(entry.getValue(), depth + 1);
+            }
+            return result;
+        }
+        if (value instanceof BArray) {
+            BArray array = (BArray) value;
+            int result = 1;
+            for (long i = 0; i < array.getLength(); i++) {
+                result = 31 * result + hash(array.get(i), depth + 1);
+            }
+            return result;
+        }
+        // Other values such as xml and tables fall back to equality checks.
+        return 0;
+    }
+
+    /**
+     * Join key whose hash is consistent with the `==` semantics of Ballerina.
+     */
+    private static final class JoinKey {
+
+        private final Object value;
+        private final int hash;
+
+        JoinKey(Object value) {
+            this.value = value;
+            this.hash = FrameMultiMap.hash(value, 0);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof JoinKey)) {
+                return false;
+            }
+            JoinKey other = (JoinKey) obj;
+            return hash == other.hash && TypeChecker.isEqual(value, other.value);
+        }
+    }
+}
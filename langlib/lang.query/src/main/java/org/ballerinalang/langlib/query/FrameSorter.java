@@ -0,0 +1,550 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.langlib.query;
+
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BHandle;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.ValueComparisonUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.ref.Cleaner;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Implementation of the sorting of frames for the order by clause of lang.query.
+ * <p>
+ * Frames are kept with their order keys and sorted once all of them are added. Frames with equal keys keep the order
+ * they were added in. When the order by clause is followed by a limit clause, only as many frames as the limit are
+ * kept, in a heap ordered so that the last frame in order is dropped first.
+ * <p>
+ * Otherwise, the frames held in memory are bounded by a memory budget, which is given in bytes by the
+ * {@code ballerina.query.orderBy.memoryBudget} system property and is a quarter of the maximum heap size by default.
+ * The size of a frame is estimated from the values it holds. When the frames added exceed the budget, they are sorted
+ * and written to a temporary file as a run, and the sorted frames are read back by merging the runs. The runs are
+ * deleted once the sorted frames are read, once the sorter is closed, or at the latest once the sorter is garbage
+ * collected, for instance if the stream of a query is abandoned.
+ * <p>
+ * Only frames holding nil, boolean, int, byte, float, decimal and string values are written out. Frames holding
+ * records, maps, lists or any other structured values are never written out, as the values read back would be copies
+ * rather than the values the query selected, which other references could observe through {@code ===} and through
+ * mutation. Once such a frame is added, the frames added from then on are kept in memory, so a query ordering frames
+ * of structured values needs the heap to hold all of them.
+ *
+ * @since 2.0.0
+ */
+public class FrameSorter {
+
+    private static final String ASCENDING = "ascending";
+    private static final String DESCENDING = "descending";
+    private static final String MEMORY_BUDGET_PROPERTY = "ballerina.query.orderBy.memoryBudget";
+    private static final Cleaner CLEANER = Cleaner.create();
+    private static final String ORDER_KEY = "$orderKey$";
+    private static final String ORDER_DIRECTION = "$orderDirection$";
+
+    private static final byte NIL_TAG = 0;
+    private static final byte BOOLEAN_TAG = 1;
+    private static final byte INT_TAG = 2;
+    private static final byte BYTE_TAG = 3;
+    private static final byte FLOAT_TAG = 4;
+    private static final byte DECIMAL_TAG = 5;
+    private static final byte STRING_TAG = 6;
+
+    // Estimated sizes of the objects a frame consists of, in bytes.
+    private static final long FRAME_SIZE = 128;
+    private static final long ENTRY_SIZE = 48;
+    private static final long KEY_SIZE = 8;
+    private static final long BOXED_VALUE_SIZE = 16;
+    private static final long DECIMAL_SIZE = 64;
+    private static final long STRING_SIZE = 48;
+
+    public static BHandle createFrameSorter(long limit) {
+        return ValueCreator.createHandleValue(new Frames(limit, getMemoryBudget()));
+    }
+
+    public static void addFrame(BHandle sorter, BMap<BString, Object> frame, BArray keys, BArray directions) {
+        ((Frames) sorter.getValue()).add(frame, keys, directions);
+    }
+
+    public static BMap<BString, Object> nextSortedFrame(BHandle sorter) {
+        return ((Frames) sorter.getValue()).next();
+    }
+
+    public static void closeFrameSorter(BHandle sorter) {
+        ((Frames) sorter.getValue()).close();
+    }
+
+    private static long getMemoryBudget() {
+        long defaultMemoryBudget = Runtime.getRuntime().maxMemory() / 4;
+        String memoryBudget = System.getProperty(MEMORY_BUDGET_PROPERTY);
+        if (memoryBudget == null) {
+            return defaultMemoryBudget;
+        }
+        try {
+            return Math.max(1, Long.parseLong(memoryBudget.trim()));
+        } catch (NumberFormatException e) {
+            return defaultMemoryBudget;
+        }
+    }
+
+    private static final class Frames {
+
+        private final long limit;
+        private final long memoryBudget;
+        private List<OrderedFrame> frames = new ArrayList<>();
+        private long framesSize;
+        private PriorityQueue<OrderedFrame> boundedFrames;
+        private Comparator<OrderedFrame> comparator;
+        private long sequence;
+        private Type frameType;
+        private boolean spillable = true;
+        private Runs runs;
+        private Cleaner.Cleanable cleanable;
+        private PriorityQueue<Run> merge;
+
+        Frames(long limit, long memoryBudget) {
+            this.limit = limit;
+            this.memoryBudget = memoryBudget;
+        }
+
+        void add(BMap<BString, Object> frame, BArray keys, BArray directions) {
+            int keyCount = (int) keys.getLength();
+            Object[] keyValues = new Object[keyCount];
+            for (int i = 0; i < keyCount; i++) {
+                keyValues[i] = keys.get(i);
+            }
+            OrderedFrame orderedFrame = new OrderedFrame(frame, keyValues, sequence++);
+            if (comparator == null) {
+                comparator = createComparator(directions);
+                frameType = frame.getType();
+            }
+
+            if (limit < 1) {
+                frames.add(orderedFrame);
+                if (!spillable) {
+                    return;
+                }
+                long frameSize = estimateSize(orderedFrame);
+                if (frameSize < 0) {
+                    spillable = false;
+                    return;
+                }
+                framesSize += frameSize;
+                if (framesSize >= memoryBudget) {
+                    spill();
+                }
+                return;
+            }
+            if (boundedFrames == null) {
+                boundedFrames = new PriorityQueue<>(comparator.reversed());
+            }
+            if (boundedFrames.size() < limit) {
+                boundedFrames.add(orderedFrame);
+            } else if (comparator.compare(orderedFrame, boundedFrames.peek()) < 0) {
+                boundedFrames.poll();
+                boundedFrames.add(orderedFrame);
+            }
+        }
+
+        BMap<BString, Object> next() {
+            if (merge == null) {
+                startMerge();
+            }
+            Run run = merge.poll();
+            if (run == null) {
+                close();
+                return null;
+            }
+            OrderedFrame head = run.head;
+            if (run.advance()) {
+                merge.add(run);
+            }
+            return head.frame;
+        }
+
+        void close() {
+            if (cleanable != null) {
+                cleanable.clean();
+                cleanable = null;
+                runs = null;
+            }
+            frames = new ArrayList<>();
+            boundedFrames = null;
+            merge = new PriorityQueue<>();
+        }
+
+        private void startMerge() {
+            List<OrderedFrame> sorted = boundedFrames == null ? frames : new ArrayList<>(boundedFrames);
+            if (comparator != null) {
+                sorted.sort(comparator);
+            }
+            frames = new ArrayList<>();
+            boundedFrames = null;
+            merge = new PriorityQueue<>((lhs, rhs) -> comparator.compare(lhs.head, rhs.head));
+            Run inMemory = new InMemoryRun(sorted.iterator());
+            if (inMemory.advance()) {
+                merge.add(inMemory);
+            }
+            if (runs == null) {
+                return;
+            }
+            for (Path path : runs.paths) {
+                Run run = new SpilledRun(path, frameType);
+                runs.openRuns.add(run);
+                if (run.advance()) {
+                    merge.add(run);
+                }
+            }
+        }
+
+        private void spill() {
+            frames.sort(comparator);
+            Path path = null;
+            try {
+                path = Files.createTempFile("ballerina-order-by-", ".run");
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                        Files.newOutputStream(path)))) {
+                    out.writeInt(frames.size());
+                    for (OrderedFrame orderedFrame : frames) {
+                        writeFrame(out, orderedFrame);
+                    }
+                }
+            } catch (IOException e) {
+                // The frames are sorted in memory instead.
+                if (path != null) {
+                    deleteRun(path);
+                }
+                spillable = false;
+                return;
+            }
+            if (runs == null) {
+                // The runs of a sorter which is not closed are deleted once it is garbage collected.
+                runs = new Runs();
+                cleanable = CLEANER.register(this, runs);
+            }
+            runs.paths.add(path);
+            frames = new ArrayList<>();
+            framesSize = 0;
+        }
+
+        /**
+         * Estimates the size of a frame in memory.
+         *
+         * @param orderedFrame frame with its order keys
+         * @return the estimated size in bytes, or -1 if the frame holds values other than simple values
+         */
+        private static long estimateSize(OrderedFrame orderedFrame) {
+            long size = FRAME_SIZE;
+            for (Object key : orderedFrame.keys) {
+                long keySize = estimateValueSize(key);
+                if (keySize < 0) {
+                    return -1;
+                }
+                size += KEY_SIZE + keySize;
+            }
+            for (Map.Entry<BString, Object> entry : orderedFrame.frame.entrySet()) {
+                if (isOrderEntry(entry.getKey())) {
+                    continue;
+                }
+                long valueSize = estimateValueSize(entry.getValue());
+                if (valueSize < 0) {
+                    return -1;
+                }
+                size += ENTRY_SIZE + valueSize;
+            }
+            return size;
+        }
+
+        private static Comparator<OrderedFrame> createComparator(BArray directions) {
+            int keyCount = (int) directions.getLength();
+            boolean[] ascending = new boolean[keyCount];
+            for (int i = 0; i < keyCount; i++) {
+                ascending[i] = (Boolean) directions.get(i);
+            }
+            return (lhs, rhs) -> {
+                for (int i = 0; i < keyCount; i++) {
+                    // () comes last in both directions, hence descending order is not the reverse of ascending order.
+                    int result = ascending[i] ?
+                            ValueComparisonUtils.compareValues(lhs.keys[i], rhs.keys[i], ASCENDING) :
+                            ValueComparisonUtils.compareValues(rhs.keys[i], lhs.keys[i], DESCENDING);
+                    if (result != 0) {
+                        return result;
+                    }
+                }
+                return Long.compare(lhs.sequence, rhs.sequence);
+            };
+        }
+    }
+
+    private static boolean isOrderEntry(BString key) {
+        String name = key.getValue();
+        return ORDER_KEY.equals(name) || ORDER_DIRECTION.equals(name);
+    }
+
+    private static long estimateValueSize(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Boolean || value instanceof Long || value instanceof Integer || value instanceof Double) {
+            return BOXED_VALUE_SIZE;
+        }
+        if (value instanceof BDecimal) {
+            return DECIMAL_SIZE;
+        }
+        if (value instanceof BString) {
+            // Strings are assumed to hold two bytes per character.
+            return STRING_SIZE + 2L * ((BString) value).getValue().length();
+        }
+        return -1;
+    }
+
+    private static void writeFrame(DataOutputStream out, OrderedFrame orderedFrame) throws IOException {
+        out.writeLong(orderedFrame.sequence);
+        out.writeInt(orderedFrame.keys.length);
+        for (Object key : orderedFrame.keys) {
+            writeValue(out, key);
+        }
+        // The order keys and directions are only read when the frame is added, hence they are not written.
+        List<Map.Entry<BString, Object>> entries = new ArrayList<>();
+        for (Map.Entry<BString, Object> entry : orderedFrame.frame.entrySet()) {
+            if (!isOrderEntry(entry.getKey())) {
+                entries.add(entry);
+            }
+        }
+        out.writeInt(entries.size());
+        for (Map.Entry<BString, Object> entry : entries) {
+            writeString(out, entry.getKey().getValue());
+            writeValue(out, entry.getValue());
+        }
+    }
+
+    private static OrderedFrame readFrame(DataInputStream in, Type frameType) throws IOException {
+        long sequence = in.readLong();
+        Object[] keys = new Object[in.readInt()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = readValue(in);
+        }
+        BMap<BString, Object> frame = ValueCreator.createMapValue(frameType);
+        int entryCount = in.readInt();
+        for (int i = 0; i < entryCount; i++) {
+            BString key = StringUtils.fromString(readString(in));
+            frame.put(key, readValue(in));
+        }
+        return new OrderedFrame(frame, keys, sequence);
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NIL_TAG);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN_TAG);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Long) {
+            out.writeByte(INT_TAG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(BYTE_TAG);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Double) {
+            out.writeByte(FLOAT_TAG);
+            out.writeDouble((Double) value);
+        } else if (value instanceof BDecimal) {
+            out.writeByte(DECIMAL_TAG);
+            writeString(out, ((BDecimal) value).value().toString());
+        } else {
+            out.writeByte(STRING_TAG);
+            writeString(out, ((BString) value).getValue());
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case NIL_TAG:
+                return null;
+            case BOOLEAN_TAG:
+                return in.readBoolean();
+            case INT_TAG:
+                return in.readLong();
+            case BYTE_TAG:
+                return in.readInt();
+            case FLOAT_TAG:
+                return in.readDouble();
+            case DECIMAL_TAG:
+                return ValueCreator.createDecimalValue(new BigDecimal(readString(in)));
+            case STRING_TAG:
+                return StringUtils.fromString(readString(in));
+            default:
+                throw new IOException("unknown value tag: " + tag);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        // Not DataOutputStream.writeUTF, which is limited to strings of 65535 bytes.
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void deleteRun(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // Nothing to do, the file is left in the temporary directory.
+        }
+    }
+
+    /**
+     * Temporary files the frames of a sorter are written to, and the runs reading them. These are released once the
+     * sorter is closed, or by the cleaner once the sorter is garbage collected, hence they do not refer to the sorter.
+     */
+    private static final class Runs implements Runnable {
+
+        private final List<Path> paths = new ArrayList<>();
+        private final List<Run> openRuns = new ArrayList<>();
+
+        @Override
+        public void run() {
+            for (Run run : openRuns) {
+                run.close();
+            }
+            openRuns.clear();
+            for (Path path : paths) {
+                deleteRun(path);
+            }
+            paths.clear();
+        }
+    }
+
+    /**
+     * Sorted frames merged into the sorted frames of an order by clause, positioned at its next frame.
+     */
+    private abstract static class Run {
+
+        OrderedFrame head;
+
+        abstract boolean advance();
+
+        void close() {
+        }
+    }
+
+    private static final class InMemoryRun extends Run {
+
+        private final Iterator<OrderedFrame> frames;
+
+        InMemoryRun(Iterator<OrderedFrame> frames) {
+            this.frames = frames;
+        }
+
+        @Override
+        boolean advance() {
+            head = frames.hasNext() ? frames.next() : null;
+            return head != null;
+        }
+    }
+
+    private static final class SpilledRun extends Run {
+
+        private final Path path;
+        private final Type frameType;
+        private DataInputStream in;
+        private int remaining = -1;
+
+        SpilledRun(Path path, Type frameType) {
+            this.path = path;
+            this.frameType = frameType;
+        }
+
+        @Override
+        boolean advance() {
+            if (remaining == 0) {
+                return false;
+            }
+            try {
+                if (in == null) {
+                    in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)));
+                    remaining = in.readInt();
+                }
+                if (remaining == 0) {
+                    head = null;
+                    close();
+                    return false;
+                }
+                remaining--;
+                head = readFrame(in, frameType);
+                return true;
+            } catch (IOException e) {
+                close();
+                throw ErrorCreator.createError(StringUtils.fromString("failed to read the frames of an order by " +
+                        "clause written to '" + path + "': " + e.getMessage()));
+            }
+        }
+
+        @Override
+        void close() {
+            if (in == null) {
+                return;
+            }
+            try {
+                in.close();
+            } catch (IOException e) {
+                // Nothing to do, the run is not read any further.
+            }
+            in = null;
+        }
+    }
+
+    private static final class OrderedFrame {
+
+        private final BMap<BString, Object> frame;
+        private final Object[] keys;
+        private final long sequence;
+
+        OrderedFrame(BMap<BString, Object> frame, Object[] keys, long sequence) {
+            this.frame = frame;
+            this.keys = keys;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -18,11 +18,16 @@
 package org.ballerinalang.langlib.value;
 
 import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTypedesc;
 import io.ballerina.runtime.internal.JsonParser;
+import io.ballerina.runtime.internal.JsonTypeBinder;
+import io.ballerina.runtime.internal.util.exceptions.BallerinaException;
+
+import java.io.StringReader;
 
 import static io.ballerina.runtime.internal.util.exceptions.BallerinaErrorReasons.VALUE_LANG_LIB_CONVERSION_ERROR;
 
@@ -40,10 +45,17 @@ public class FromJsonStringWithType {
         try {
             if (str.equals("null")) {
                 return FromJsonWithType.fromJsonWithType(null, t);
-            } else {
-                Object jsonFromString = JsonParser.parse(str);
-                return FromJsonWithType.fromJsonWithType(jsonFromString, t);
             }
+            Type describingType = t.getDescribingType();
+            if (JsonTypeBinder.isSupported(describingType)) {
+                try {
+                    return JsonTypeBinder.bind(new StringReader(str), describingType, t, false);
+                } catch (BError | BallerinaException ignore) {
+                    // Converted again through the JSON value, to fail with the errors of `fromJsonWithType`.
+                }
+            }
+            Object jsonFromString = JsonParser.parse(str);
+            return FromJsonWithType.fromJsonWithType(jsonFromString, t);
         } catch (BError e) {
             return ErrorCreator.createError(VALUE_LANG_LIB_CONVERSION_ERROR,
                                             StringUtils.fromString(e.getMessage()));
@@ -319,6 +319,11 @@ public class LangLibStringTest {
         BRunUtil.invoke(compileResult, "testCharIterator", new BValue[]{bString});
     }
 
+    @Test
+    public void testIndexedAccessOnNonBMPString() {
+        BRunUtil.invoke(compileResult, "testIndexedAccessOnNonBMPString");
+    }
+
     @DataProvider(name = "StringPrefixProvider")
     public Object[] testBMPStringProvider() {
         return new String[]{"ascii~?", "£ßóµ¥", "ęЯλĢŃ", "☃✈௸ऴᛤ", "😀🄰🍺" };
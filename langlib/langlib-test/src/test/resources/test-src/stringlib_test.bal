@@ -219,6 +219,35 @@ function concatNonBMP(string prefix, string expected) {
     assertEquals(expected, prefix + s);
 }
 
+function testIndexedAccessOnNonBMPString() {
+    string[] parts = [];
+    foreach int i in 0 ..< 50 {
+        parts.push("a😀bc𝄞");
+    }
+    string s = string:'join("", ...parts);
+    assertEquals(250, s.length());
+    assertEquals(0x1F600, s.getCodePoint(1));
+    assertEquals(0x1D11E, s.getCodePoint(249));
+    assertEquals(98, s.getCodePoint(247));
+    assertEquals("a😀bc𝄞", s.substring(5, 10));
+    assertEquals("𝄞a", s.substring(4, 6));
+    assertEquals(1, s.substring(1, 2).length());
+    assertEquals(0x1D11E, s.substring(242, 250).getCodePoint(2));
+    assertEquals(12, s.indexOf("bc", 10));
+    assertEquals(246, s.lastIndexOf("😀"));
+    assertEquals(241, s.lastIndexOf("😀", 245));
+    assertEquals((), s.indexOf("x"));
+
+    int count = 0;
+    foreach string:Char c in s {
+        if count % 5 == 4 {
+            assertEquals("𝄞", c);
+        }
+        count += 1;
+    }
+    assertEquals(250, count);
+}
+
 const ASSERTION_ERROR_REASON = "AssertionError";
 
 function assertEquals(anydata expected, anydata actual) {
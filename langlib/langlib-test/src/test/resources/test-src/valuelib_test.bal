@@ -1722,6 +1722,65 @@ function testFromJsonStringWithTypeWithInferredArgument() {
     assert(a is error, true);
 }
 
+type ShippingAddress record {|
+    string city;
+    string? zip;
+|};
+
+type LineItem record {|
+    string sku;
+    int quantity;
+    decimal price;
+    float weight?;
+|};
+
+type PurchaseOrder record {
+    int id;
+    string status = "NEW";
+    ShippingAddress address;
+    LineItem[] items;
+    map<int> counts;
+    json metadata;
+};
+
+function testFromJsonStringWithTypeNestedRecord() {
+    string s = string `{"id": 7, "address": {"city": "Colombo", "zip": null},
+                        "items": [{"sku": "A1", "quantity": 2, "price": 10.25, "weight": 1},
+                                  {"sku": "B2", "quantity": 1, "price": 3}],
+                        "counts": {"a": 1, "b": 2}, "metadata": {"tags": ["x", 1, null], "ok": true},
+                        "note": "rest field"}`;
+    PurchaseOrder po = checkpanic s.fromJsonStringWithType(PurchaseOrder);
+    assert(po.id, 7);
+    assert(po.status, "NEW");
+    assert(po.address, {city: "Colombo", zip: ()});
+    assert(po.items.length(), 2);
+    assert(po.items[0].price, 10.25d);
+    assert(po.items[0]?.weight, 1.0);
+    assert(po.items[1]?.weight, ());
+    assert(po.items[1].price, 3d);
+    assert(po.counts, {a: 1, b: 2});
+    assert(po.metadata, {tags: ["x", 1, null], ok: true});
+    assert(po["note"], "rest field");
+
+    PurchaseOrder|error result = string `{"id": 7, "address": {"city": "Colombo", "zip": "1", "country": "LK"},
+                                          "items": [], "counts": {}, "metadata": null}`.fromJsonStringWithType();
+    assert(result is error, true);
+
+    result = string `{"id": 7, "address": {"zip": "1"}, "items": [], "counts": {}, "metadata": null}`
+                .fromJsonStringWithType();
+    assert(result is error, true);
+
+    result = string `{"id": "7", "address": {"city": "Colombo", "zip": "1"}, "items": [], "counts": {},
+                      "metadata": null}`.fromJsonStringWithType();
+    assert(result is error, true);
+    error err = <error> result;
+    assert(err.message(), "{ballerina/lang.value}ConversionError");
+
+    result = string `{"id": 7, "address": {"city": "Colombo", "zip": "1"}, "items": [], "counts": {},
+                      "metadata": null`.fromJsonStringWithType();
+    assert(result is error, true);
+}
+
 /////////////////////////// Tests for `toJson()` ///////////////////////////
 
 function testToJsonWithRecord1() {
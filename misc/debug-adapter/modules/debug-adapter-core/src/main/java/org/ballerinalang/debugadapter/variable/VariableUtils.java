@@ -40,6 +40,7 @@ public class VariableUtils {
     public static final String FIELD_VALUE = "value";
     private static final String FIELD_CONSTRAINT = "constraint";
     private static final String METHOD_STRINGVALUE = "stringValue";
+    private static final String METHOD_GETVALUE = "getValue";
     public static final String UNKNOWN_VALUE = "unknown";
     private static final String LAMBDA_PARAM_MAP_PATTERN = "\\$.*[Mm][Aa][Pp].*\\$.*";
     // Used to trim redundant beginning and ending double quotes from a string, if presents.
@@ -80,7 +81,8 @@ public class VariableUtils {
             }
             ObjectReference stringRef = (ObjectReference) stringValue;
             if (!stringRef.referenceType().name().equals(JVMValueType.BMPSTRING.getString())
-                    && !stringRef.referenceType().name().equals(JVMValueType.NONBMPSTRING.getString())) {
+                    && !stringRef.referenceType().name().equals(JVMValueType.NONBMPSTRING.getString())
+                    && !stringRef.referenceType().name().equals(JVMValueType.CONCATENATEDSTRING.getString())) {
                 // Additional filtering is required, as some ballerina variable type names may contain redundant
                 // double quotes.
                 return removeRedundantQuotes(stringRef.toString());
@@ -94,6 +96,32 @@ public class VariableUtils {
         }
     }
 
+    /**
+     * Returns the actual string value from ballerina jvm types for strings. A string built by concatenation, whose
+     * java string is not created yet, is flattened by invoking its "getValue()" method on the owning thread.
+     *
+     * @param context     debug context of the string.
+     * @param stringValue JDI value of the string instance
+     * @return actual string.
+     */
+    public static String getStringFrom(SuspendedContext context, Value stringValue) {
+        try {
+            if (stringValue instanceof ObjectReference && ((ObjectReference) stringValue).referenceType().name()
+                    .equals(JVMValueType.CONCATENATEDSTRING.getString())
+                    && getFieldValue(stringValue, FIELD_VALUE).isEmpty()) {
+                Optional<Method> method = getMethod(stringValue, METHOD_GETVALUE);
+                if (method.isPresent()) {
+                    // Creates and caches the java string in the "value" field, which is read below.
+                    ((ObjectReference) stringValue).invokeMethod(context.getOwningThread().getThreadReference(),
+                            method.get(), Collections.emptyList(), ObjectReference.INVOKE_SINGLE_THREADED);
+                }
+            }
+        } catch (Exception ignored) {
+            return UNKNOWN_VALUE;
+        }
+        return getStringFrom(stringValue);
+    }
+
     /**
      * Invokes "stringValue()" method of the given ballerina jvm variable instance and returns the result as a string.
      *
@@ -39,7 +39,7 @@ public class BString extends BSimpleVariable {
     public String computeValue() {
         try {
             // Add double quotes to the beginning and end of the computed string value.
-            return SYMBOL_DOUBLE_QUOTE + getStringFrom(jvmValue) + SYMBOL_DOUBLE_QUOTE;
+            return SYMBOL_DOUBLE_QUOTE + getStringFrom(context, jvmValue) + SYMBOL_DOUBLE_QUOTE;
         } catch (Exception ignored) {
             return UNKNOWN_VALUE;
         }
@@ -19,6 +19,8 @@ package org.ballerinalang.observe;
 
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.TypeCheckCache;
+import io.ballerina.runtime.internal.scheduling.SchedulerMetrics;
 import io.ballerina.runtime.observability.ObserveUtils;
 import io.ballerina.runtime.observability.metrics.BallerinaMetricsObserver;
 import io.ballerina.runtime.observability.metrics.DefaultMetricRegistry;
@@ -61,6 +63,8 @@ public class NativeFunctions {
             selectedProvider.init();
             DefaultMetricRegistry.setInstance(new MetricRegistry(selectedProvider));
             ObserveUtils.addObserver(new BallerinaMetricsObserver());
+            SchedulerMetrics.register(DefaultMetricRegistry.getInstance());
+            TypeCheckCache.register(DefaultMetricRegistry.getInstance());
             return null;
         } catch (BError e) {
             return e;
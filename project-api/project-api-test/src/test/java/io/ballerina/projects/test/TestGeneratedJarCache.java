@@ -0,0 +1,171 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.projects.test;
+
+import io.ballerina.projects.BuildOptions;
+import io.ballerina.projects.BuildOptionsBuilder;
+import io.ballerina.projects.JBallerinaBackend;
+import io.ballerina.projects.JvmTarget;
+import io.ballerina.projects.PackageCompilation;
+import io.ballerina.projects.directory.BuildProject;
+import io.ballerina.projects.util.ProjectConstants;
+import io.ballerina.projects.util.ProjectUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Contains cases to test the reuse of the jars generated for the modules by the builds of any project.
+ *
+ * @since 2.0.0
+ */
+public class TestGeneratedJarCache {
+    private static final Path RESOURCE_DIRECTORY = Paths.get("src/test/resources/");
+    private static final byte[] MARKER_JAR_CONTENT =
+            "jar from the generated jar cache".getBytes(StandardCharsets.UTF_8);
+
+    private Path projectPath;
+    private Path storageSourcePath;
+    private Path generatedJarCachePath;
+    private final Set<Path> generatedJars = new HashSet<>();
+
+    @BeforeMethod
+    public void setup() throws IOException {
+        Path sourcePath = RESOURCE_DIRECTORY.resolve("incremental_build");
+        projectPath = Files.createTempDirectory("b7a-generated-jar-cache-test-" + System.nanoTime());
+        try (Stream<Path> paths = Files.walk(sourcePath)) {
+            for (Path path : paths.collect(Collectors.toList())) {
+                Path targetPath = projectPath.resolve(sourcePath.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(targetPath);
+                } else {
+                    Files.copy(path, targetPath);
+                }
+            }
+        }
+        // A function body unique to this run keeps the jars of the earlier runs from being reused
+        storageSourcePath = projectPath.resolve(ProjectConstants.MODULES_ROOT).resolve("storage").resolve("db.bal");
+        writeStorageSource(System.nanoTime());
+        generatedJarCachePath = ProjectUtils.createAndGetHomeReposPath()
+                .resolve(ProjectConstants.GENERATED_JAR_CACHE_DIR_NAME)
+                .resolve(JvmTarget.JAVA_11.code());
+    }
+
+    @Test(description = "tests skipping the code generation of the modules whose jars are cached")
+    public void testCacheHitSkipsCodeGen() throws IOException {
+        List<Path> newJars = build(true);
+        Assert.assertEquals(newJars.size(), 2);
+
+        // The cached jars are returned as is, hence only their content reveals whether the code was generated again
+        for (Path newJar : newJars) {
+            Files.write(newJar, MARKER_JAR_CONTENT);
+        }
+        Assert.assertTrue(build(true).isEmpty());
+        List<Path> reusedJars;
+        try (Stream<Path> paths = Files.walk(projectPath.resolve(ProjectConstants.TARGET_DIR_NAME))) {
+            reusedJars = paths.filter(path -> path.toString().endsWith(ProjectConstants.BLANG_COMPILED_JAR_EXT))
+                    .filter(TestGeneratedJarCache::hasMarkerContent)
+                    .collect(Collectors.toList());
+        }
+        Assert.assertEquals(reusedJars.size(), 2);
+    }
+
+    @Test(description = "tests generating the code again for a change in the BIR of a module or its dependencies")
+    public void testCacheMissAfterBirChange() throws IOException {
+        Assert.assertEquals(build(true).size(), 2);
+
+        // Changing a module generates the code of the modules importing it as well
+        writeStorageSource(System.nanoTime());
+        Assert.assertEquals(build(true).size(), 2);
+
+        // Changing the default module does not affect the module it imports
+        Files.writeString(projectPath.resolve("main.bal"), "import incremental.storage;\n\n" +
+                "public function main() {\n    storage:initDatabase();\n    int k = 10;\n}\n");
+        Assert.assertEquals(build(true).size(), 1);
+    }
+
+    @Test(description = "tests not caching the jars generated by a build with errors")
+    public void testBuildWithErrorsNotCached() throws IOException {
+        // The storage module is generated, but the default module has errors
+        Files.writeString(projectPath.resolve("main.bal"), "import incremental.storage;\n\n" +
+                "public function main() {\n    storage:initDatabase();\n    int k = \"10\";\n}\n");
+        Assert.assertTrue(build(false).isEmpty());
+    }
+
+    @AfterMethod
+    public void cleanup() throws IOException {
+        for (Path generatedJar : generatedJars) {
+            Files.deleteIfExists(generatedJar);
+        }
+        generatedJars.clear();
+        TestUtils.deleteDirectory(projectPath.toFile());
+    }
+
+    /**
+     * Builds the project and returns the jars the build added to the generated jar cache.
+     */
+    private List<Path> build(boolean successful) throws IOException {
+        Set<Path> cachedJars = cachedJars();
+        BuildOptions buildOptions = new BuildOptionsBuilder().skipTests(true).build();
+        BuildProject project = BuildProject.load(projectPath, buildOptions);
+        PackageCompilation compilation = project.currentPackage().getCompilation();
+        JBallerinaBackend jBallerinaBackend = JBallerinaBackend.from(compilation, JvmTarget.JAVA_11);
+        Assert.assertEquals(jBallerinaBackend.diagnosticResult().hasErrors(), !successful);
+
+        List<Path> newJars = cachedJars().stream()
+                .filter(cachedJar -> !cachedJars.contains(cachedJar))
+                .collect(Collectors.toList());
+        generatedJars.addAll(newJars);
+        return newJars;
+    }
+
+    private Set<Path> cachedJars() throws IOException {
+        if (!Files.isDirectory(generatedJarCachePath)) {
+            return new HashSet<>();
+        }
+        try (Stream<Path> paths = Files.list(generatedJarCachePath)) {
+            return paths.filter(path -> path.toString().endsWith(ProjectConstants.BLANG_COMPILED_JAR_EXT))
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    private void writeStorageSource(long value) throws IOException {
+        Files.writeString(storageSourcePath, "public function initDatabase() {\n    int k = " + value + ";\n}\n");
+    }
+
+    private static boolean hasMarkerContent(Path path) {
+        try {
+            return Arrays.equals(Files.readAllBytes(path), MARKER_JAR_CONTENT);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
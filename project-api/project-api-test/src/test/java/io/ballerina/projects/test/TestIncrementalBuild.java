@@ -0,0 +1,197 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.projects.test;
+
+import io.ballerina.projects.BuildOptions;
+import io.ballerina.projects.BuildOptionsBuilder;
+import io.ballerina.projects.EmitResult;
+import io.ballerina.projects.JBallerinaBackend;
+import io.ballerina.projects.JvmTarget;
+import io.ballerina.projects.PackageCompilation;
+import io.ballerina.projects.directory.BuildProject;
+import io.ballerina.projects.util.ProjectConstants;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Contains cases to test the reuse of the output of the previous build by an incremental build.
+ *
+ * @since 2.0.0
+ */
+public class TestIncrementalBuild {
+    private static final Path RESOURCE_DIRECTORY = Paths.get("src/test/resources/");
+    private static final FileTime REUSED_FILE_TIME = FileTime.fromMillis(0);
+
+    private Path projectPath;
+    private Path birCachePath;
+
+    @BeforeMethod
+    public void setup() throws IOException {
+        Path sourcePath = RESOURCE_DIRECTORY.resolve("incremental_build");
+        projectPath = Files.createTempDirectory("b7a-incremental-build-test-" + System.nanoTime());
+        try (Stream<Path> paths = Files.walk(sourcePath)) {
+            for (Path path : paths.collect(Collectors.toList())) {
+                Path targetPath = projectPath.resolve(sourcePath.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(targetPath);
+                } else {
+                    Files.copy(path, targetPath);
+                }
+            }
+        }
+        birCachePath = projectPath.resolve(ProjectConstants.TARGET_DIR_NAME)
+                .resolve(ProjectConstants.CACHES_DIR_NAME)
+                .resolve("foo").resolve("incremental").resolve("0.1.0")
+                .resolve(ProjectConstants.REPO_BIR_CACHE_NAME);
+    }
+
+    @Test(description = "tests recompiling only the modules affected by a change")
+    public void testIncrementalBuild() throws IOException {
+        Path defaultModuleBir = birCachePath.resolve("incremental.bir");
+        Path storageModuleBir = birCachePath.resolve("incremental.storage.bir");
+
+        build();
+        Assert.assertTrue(Files.exists(birCachePath.resolve("incremental.fingerprint")));
+        Assert.assertTrue(Files.exists(birCachePath.resolve("incremental.storage.fingerprint")));
+
+        // 1) Both the modules are reused, as nothing has changed
+        markAsReused(defaultModuleBir, storageModuleBir);
+        build();
+        Assert.assertEquals(Files.getLastModifiedTime(defaultModuleBir), REUSED_FILE_TIME);
+        Assert.assertEquals(Files.getLastModifiedTime(storageModuleBir), REUSED_FILE_TIME);
+
+        // 2) Changing the body of a function only recompiles the module of the function
+        Path storageSourcePath = projectPath.resolve(ProjectConstants.MODULES_ROOT).resolve("storage")
+                .resolve("db.bal");
+        Files.writeString(storageSourcePath, "public function initDatabase() {\n    int k = 20;\n}\n");
+        build();
+        Assert.assertEquals(Files.getLastModifiedTime(defaultModuleBir), REUSED_FILE_TIME);
+        Assert.assertNotEquals(Files.getLastModifiedTime(storageModuleBir), REUSED_FILE_TIME);
+
+        // 3) Changing the API of a module recompiles the modules importing it as well
+        markAsReused(defaultModuleBir, storageModuleBir);
+        Files.writeString(storageSourcePath, "public function initDatabase() {\n    int k = 20;\n}\n\n" +
+                "public function closeDatabase() {\n}\n");
+        build();
+        Assert.assertNotEquals(Files.getLastModifiedTime(defaultModuleBir), REUSED_FILE_TIME);
+        Assert.assertNotEquals(Files.getLastModifiedTime(storageModuleBir), REUSED_FILE_TIME);
+    }
+
+    @Test(description = "tests generating an executable from the modules reused from the previous build")
+    public void testEmitFromReusedModules() {
+        build();
+        JBallerinaBackend jBallerinaBackend = build();
+        EmitResult emitResult = jBallerinaBackend.emit(JBallerinaBackend.OutputType.EXEC,
+                projectPath.resolve("incremental.jar"));
+        Assert.assertTrue(emitResult.successful());
+        Assert.assertTrue(Files.exists(projectPath.resolve("incremental.jar")));
+    }
+
+    @Test(description = "tests renaming a source file of a module imported by a module reused from the previous build")
+    public void testRenameDependencySourceFile() throws IOException, InterruptedException {
+        Path defaultModuleBir = birCachePath.resolve("incremental.bir");
+        Path storageModuleBir = birCachePath.resolve("incremental.storage.bir");
+
+        build();
+        markAsReused(defaultModuleBir, storageModuleBir);
+
+        // The functions of a module are called through the class generated for their source file, so renaming the
+        // file recompiles the modules importing the module as well
+        Path storagePath = projectPath.resolve(ProjectConstants.MODULES_ROOT).resolve("storage");
+        Files.move(storagePath.resolve("db.bal"), storagePath.resolve("database.bal"));
+        JBallerinaBackend jBallerinaBackend = build();
+        Assert.assertNotEquals(Files.getLastModifiedTime(defaultModuleBir), REUSED_FILE_TIME);
+        Assert.assertNotEquals(Files.getLastModifiedTime(storageModuleBir), REUSED_FILE_TIME);
+
+        Path executablePath = projectPath.resolve("incremental.jar");
+        EmitResult emitResult = jBallerinaBackend.emit(JBallerinaBackend.OutputType.EXEC, executablePath);
+        Assert.assertTrue(emitResult.successful());
+        Path javaPath = Paths.get(System.getProperty("java.home"), "bin", "java");
+        Process process = new ProcessBuilder(javaPath.toString(), "-jar", executablePath.toString())
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        Assert.assertEquals(process.waitFor(), 0, output);
+    }
+
+    @Test(description = "tests recompiling the modules of a package whose platform library changed")
+    public void testChangePlatformLibrary() throws IOException {
+        Path defaultModuleBir = birCachePath.resolve("incremental.bir");
+        Path storageModuleBir = birCachePath.resolve("incremental.storage.bir");
+        Path libraryPath = projectPath.resolve("libs").resolve("storage-native.jar");
+        Files.createDirectories(libraryPath.getParent());
+        writeLibrary(libraryPath, "native.txt", "1");
+        Files.writeString(projectPath.resolve(ProjectConstants.BALLERINA_TOML), "\n[[platform.java11.dependency]]\n" +
+                "path = \"libs/storage-native.jar\"\n", StandardOpenOption.APPEND);
+
+        build();
+        markAsReused(defaultModuleBir, storageModuleBir);
+        build();
+        Assert.assertEquals(Files.getLastModifiedTime(defaultModuleBir), REUSED_FILE_TIME);
+        Assert.assertEquals(Files.getLastModifiedTime(storageModuleBir), REUSED_FILE_TIME);
+
+        // The interop functions of any module of the package may refer to the classes of the library
+        writeLibrary(libraryPath, "native.txt", "12");
+        build();
+        Assert.assertNotEquals(Files.getLastModifiedTime(defaultModuleBir), REUSED_FILE_TIME);
+        Assert.assertNotEquals(Files.getLastModifiedTime(storageModuleBir), REUSED_FILE_TIME);
+    }
+
+    @AfterMethod
+    public void cleanup() {
+        TestUtils.deleteDirectory(projectPath.toFile());
+    }
+
+    private JBallerinaBackend build() {
+        BuildOptions buildOptions = new BuildOptionsBuilder().incremental(true).skipTests(true).build();
+        BuildProject project = BuildProject.load(projectPath, buildOptions);
+        PackageCompilation compilation = project.currentPackage().getCompilation();
+        JBallerinaBackend jBallerinaBackend = JBallerinaBackend.from(compilation, JvmTarget.JAVA_11);
+        Assert.assertFalse(jBallerinaBackend.diagnosticResult().hasErrors());
+        return jBallerinaBackend;
+    }
+
+    private static void writeLibrary(Path libraryPath, String entryName, String content) throws IOException {
+        try (JarOutputStream jarOutputStream = new JarOutputStream(Files.newOutputStream(libraryPath))) {
+            jarOutputStream.putNextEntry(new JarEntry(entryName));
+            jarOutputStream.write(content.getBytes(StandardCharsets.UTF_8));
+            jarOutputStream.closeEntry();
+        }
+    }
+
+    private static void markAsReused(Path... paths) throws IOException {
+        // A recompiled module rewrites its BIR, which resets the modification time
+        for (Path path : paths) {
+            Files.setLastModifiedTime(path, REUSED_FILE_TIME);
+        }
+    }
+}
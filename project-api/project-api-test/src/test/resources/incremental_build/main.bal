@@ -0,0 +1,5 @@
+import incremental.storage;
+
+public function main() {
+    storage:initDatabase();
+}
@@ -545,3 +545,81 @@ public function benchmarkJoinWithForeach(int warmupCount, int benchmarkCount) re
     }
     return (nanoTime() - startTime);
 }
+
+isolated function getIntArray(int size) returns int[] {
+    int[] intList = [];
+    int i = 0;
+    while (i < size) {
+        intList.push(i);
+        i += 1;
+    }
+    return intList;
+}
+
+public function benchmarkFilterMapWithQuery(int warmupCount, int benchmarkCount) returns int {
+    int[] il = getIntArray(warmupCount);
+    int[] outputList =
+        from var i in il
+        where i % 2 == 0
+        select i * 2;
+
+    il = getIntArray(benchmarkCount);
+    int startTime = nanoTime();
+    outputList =
+        from var i in il
+        where i % 2 == 0
+        select i * 2;
+    return (nanoTime() - startTime);
+}
+
+public function benchmarkFilterMapWithForeach(int warmupCount, int benchmarkCount) returns int {
+    int[] il = getIntArray(warmupCount);
+    int[] outputList = [];
+    foreach var i in il {
+        if (i % 2 == 0) {
+            outputList.push(i * 2);
+        }
+    }
+
+    il = getIntArray(benchmarkCount);
+    outputList = [];
+    int startTime = nanoTime();
+    foreach var i in il {
+        if (i % 2 == 0) {
+            outputList.push(i * 2);
+        }
+    }
+    return (nanoTime() - startTime);
+}
+
+public function benchmarkRangeWithQuery(int warmupCount, int benchmarkCount) returns int {
+    int[] outputList =
+        from int i in 0 ..< warmupCount
+        where i % 2 == 0
+        select i * 2;
+
+    int startTime = nanoTime();
+    outputList =
+        from int i in 0 ..< benchmarkCount
+        where i % 2 == 0
+        select i * 2;
+    return (nanoTime() - startTime);
+}
+
+public function benchmarkRangeWithForeach(int warmupCount, int benchmarkCount) returns int {
+    int[] outputList = [];
+    foreach int i in 0 ..< warmupCount {
+        if (i % 2 == 0) {
+            outputList.push(i * 2);
+        }
+    }
+
+    outputList = [];
+    int startTime = nanoTime();
+    foreach int i in 0 ..< benchmarkCount {
+        if (i % 2 == 0) {
+            outputList.push(i * 2);
+        }
+    }
+    return (nanoTime() - startTime);
+}
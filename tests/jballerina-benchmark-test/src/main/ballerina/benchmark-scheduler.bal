@@ -0,0 +1,63 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+// Number of strands that are alive at the same time.
+const int CONCURRENT_STRANDS = 5000;
+
+// Time each strand spends blocked inside the interop call.
+const int BLOCKING_MILLIS = 1;
+
+isolated function blockingSleep(int millis) = @java:Method {
+    name: "blockingSleep",
+    'class: "org.ballerinalang.benchmark.nativeimpl.Utils"
+} external;
+
+isolated function blockOnInterop() {
+    blockingSleep(BLOCKING_MILLIS);
+}
+
+function runConcurrentBlockingStrands(int count) {
+    int remaining = count;
+    while (remaining > 0) {
+        int batchSize = remaining < CONCURRENT_STRANDS ? remaining : CONCURRENT_STRANDS;
+        future<()>[] futures = [];
+        int i = 0;
+        while (i < batchSize) {
+            // Each strand gets its own group, otherwise they all run one after the other on the caller's thread
+            future<()> f = @strand {thread: "any"} start blockOnInterop();
+            futures.push(f);
+            i += 1;
+        }
+        foreach future<()> f in futures {
+            error? result = wait f;
+            if (result is error) {
+                panic result;
+            }
+        }
+        remaining -= batchSize;
+    }
+}
+
+// Compare the scheduler thread modes by running this with and without BALLERINA_VIRTUAL_THREADS=true.
+public function benchmarkConcurrentBlockingInterop(int warmupCount, int benchmarkCount) returns int {
+    runConcurrentBlockingStrands(warmupCount);
+
+    int startTime = nanoTime();
+    runConcurrentBlockingStrands(benchmarkCount);
+    return (nanoTime() - startTime);
+}
@@ -0,0 +1,110 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+// Number of rows of the table being looked up.
+const int TABLE_SIZE = 1000000;
+
+// Number of distinct values of the `status` field, i.e. each lookup by status matches TABLE_SIZE / STATUS_COUNT rows.
+const int STATUS_COUNT = 1000;
+
+// A lookup visits many rows, hence one lookup is done per this many iterations, so that the table scan benchmark
+// finishes in a reasonable time with the default iteration counts.
+const int ITERATIONS_PER_LOOKUP = 1000;
+
+type Order record {
+    readonly int id;
+    readonly string status;
+    readonly int amount;
+};
+
+isolated function createTableIndex(table<map<any|error>> t, string fieldName, boolean sorted) = @java:Method {
+    name: "createIndex",
+    'class: "io.ballerina.runtime.api.utils.TableIndexUtils"
+} external;
+
+function createOrderTable() returns table<Order> key(id) {
+    table<Order> key(id) orders = table [];
+    int i = 0;
+    while (i < TABLE_SIZE) {
+        orders.add({id: i, status: "S" + (i % STATUS_COUNT).toString(), amount: i});
+        i += 1;
+    }
+    return orders;
+}
+
+function lookupByStatus(table<Order> key(id) orders, int iterations) {
+    int lookups = iterations < ITERATIONS_PER_LOOKUP ? 1 : iterations / ITERATIONS_PER_LOOKUP;
+    int i = 0;
+    while (i < lookups) {
+        final string status = "S" + (i % STATUS_COUNT).toString();
+        Order[] matches = from var o in orders
+                          where o.status == status
+                          select o;
+        if (matches.length() != TABLE_SIZE / STATUS_COUNT) {
+            panic error("unexpected number of rows: " + matches.length().toString());
+        }
+        i += 1;
+    }
+}
+
+function lookupByAmountRange(table<Order> key(id) orders, int iterations) {
+    int lookups = iterations < ITERATIONS_PER_LOOKUP ? 1 : iterations / ITERATIONS_PER_LOOKUP;
+    int i = 0;
+    while (i < lookups) {
+        final int bound = (i % 100) * 100;
+        Order[] matches = from var o in orders
+                          where o.amount < bound
+                          select o;
+        if (matches.length() != bound) {
+            panic error("unexpected number of rows: " + matches.length().toString());
+        }
+        i += 1;
+    }
+}
+
+// Equality lookups on a 1M row table through a hash index on a non-key field.
+public function benchmarkTableHashIndexLookup(int warmupCount, int benchmarkCount) returns int {
+    table<Order> key(id) orders = createOrderTable();
+    createTableIndex(orders, "status", false);
+    lookupByStatus(orders, warmupCount);
+
+    int startTime = nanoTime();
+    lookupByStatus(orders, benchmarkCount);
+    return (nanoTime() - startTime);
+}
+
+// Range lookups on a 1M row table through a sorted index on a non-key field.
+public function benchmarkTableSortedIndexLookup(int warmupCount, int benchmarkCount) returns int {
+    table<Order> key(id) orders = createOrderTable();
+    createTableIndex(orders, "amount", true);
+    lookupByAmountRange(orders, warmupCount);
+
+    int startTime = nanoTime();
+    lookupByAmountRange(orders, benchmarkCount);
+    return (nanoTime() - startTime);
+}
+
+// The same equality lookups as benchmarkTableHashIndexLookup, iterating the whole table as there is no index.
+public function benchmarkTableScanLookup(int warmupCount, int benchmarkCount) returns int {
+    table<Order> key(id) orders = createOrderTable();
+    lookupByStatus(orders, warmupCount);
+
+    int startTime = nanoTime();
+    lookupByStatus(orders, benchmarkCount);
+    return (nanoTime() - startTime);
+}
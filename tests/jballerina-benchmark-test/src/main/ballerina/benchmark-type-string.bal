@@ -14,6 +14,9 @@
 // specific language governing permissions and limitations
 // under the License.
 
+// Number of parts a string is built from in the concatenation loop benchmark.
+const int CONCAT_PART_COUNT = 100000;
+
 public function benchmarkStringEqualsIgnoreCase() {
     string test = "testString";
     boolean result = test.equalsIgnoreCaseAscii("ram");
@@ -95,3 +98,36 @@ public function benchmarkStringLength() {
     int i = str.length();
 }
 
+function buildString(int parts) returns string {
+    string s = "";
+    int expectedLength = 0;
+    int i = 0;
+    while (i < parts) {
+        string part = "part" + i.toString() + ",";
+        s = s + part;
+        expectedLength += part.length();
+        i += 1;
+    }
+    if (s.length() != expectedLength) {
+        panic error("unexpected string length: " + s.length().toString());
+    }
+    return s;
+}
+
+function concatInLoop(int iterations) {
+    int builds = iterations < CONCAT_PART_COUNT ? 1 : iterations / CONCAT_PART_COUNT;
+    int i = 0;
+    while (i < builds) {
+        _ = buildString(CONCAT_PART_COUNT);
+        i += 1;
+    }
+}
+
+// Builds strings of 100000 parts by repeatedly appending to a string variable, one string per 100000 iterations.
+public function benchmarkStringConcatLoop(int warmupCount, int benchmarkCount) returns int {
+    concatInLoop(warmupCount);
+
+    int startTime = nanoTime();
+    concatInLoop(benchmarkCount);
+    return (nanoTime() - startTime);
+}
@@ -36,6 +36,15 @@ public function registerSingleExecFunctions() {
     addSingleExecFunction("benchmarkJoinWithQuery", benchmarkJoinWithQuery);
     addSingleExecFunction("benchmarkJoinWithForeach", benchmarkJoinWithForeach);
     addSingleExecFunction("benchmarkJoinWithWhile", benchmarkJoinWithWhile);
+    addSingleExecFunction("benchmarkFilterMapWithQuery", benchmarkFilterMapWithQuery);
+    addSingleExecFunction("benchmarkFilterMapWithForeach", benchmarkFilterMapWithForeach);
+    addSingleExecFunction("benchmarkRangeWithQuery", benchmarkRangeWithQuery);
+    addSingleExecFunction("benchmarkRangeWithForeach", benchmarkRangeWithForeach);
+    addSingleExecFunction("benchmarkConcurrentBlockingInterop", benchmarkConcurrentBlockingInterop);
+    addSingleExecFunction("benchmarkTableHashIndexLookup", benchmarkTableHashIndexLookup);
+    addSingleExecFunction("benchmarkTableSortedIndexLookup", benchmarkTableSortedIndexLookup);
+    addSingleExecFunction("benchmarkTableScanLookup", benchmarkTableScanLookup);
+    addSingleExecFunction("benchmarkStringConcatLoop", benchmarkStringConcatLoop);
 }
 
 public function registerMultiExecFunctions() {
@@ -68,6 +68,19 @@ public class Utils {
         out.println(content);
     }
 
+    /**
+     * Blocks the calling thread without yielding the strand, the same way a blocking Java library call does.
+     *
+     * @param millis time to block in milliseconds
+     */
+    public static void blockingSleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     public static BString sprintf(BString format, Object... args) {
         StringBuilder result = new StringBuilder();
         for (int i = 0, j, k = 0; i < format.length(); i++) {
@@ -492,6 +492,10 @@ public class ExpressionEvaluationTest extends ExpressionEvaluationBaseTest {
         // string with leading and trailing whitespaces
         debugTestRunner.assertExpression(context, "\" one \" + \" two \" + \" three \"", "\" one  two  three \"",
                 "string");
+        // string concatenation which is 128 chars or longer, hence not flattened by the runtime
+        String longString = "a".repeat(130);
+        debugTestRunner.assertExpression(context, String.format("\"%s\" + %s + %s", longString, STRING_VAR,
+                STRING_VAR), "\"" + longString + "foofoo\"", "string");
         // string template concatenation
         String bStringTemplateExpr = String.format("string `name: ${%s}, age: ${%s}`", STRING_VAR, INT_VAR);
         debugTestRunner.assertExpression(context, String.format("%s + %s + %s", bStringTemplateExpr,
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.nativeimpl.jvm.tests;
+
+/**
+ * This class is used for Java interoperability tests.
+ * <p>
+ * Samples the stacks of all the threads while it is started, and records the largest number of threads seen running
+ * the partitions of a parallel query at the same time. The clauses of a query run in parallel cannot call functions
+ * with side effects, hence the partitions are observed from outside rather than from the query itself.
+ *
+ * @since 2.0.0
+ */
+public class PartitionObserver {
+
+    private static final String PARTITION_FUNCTION_NAME = "collectPartition";
+    private static volatile Thread sampler;
+    private static volatile int maxConcurrentPartitions;
+
+    public static void start() {
+        maxConcurrentPartitions = 0;
+        Thread thread = new Thread(PartitionObserver::sample, "partition-observer");
+        thread.setDaemon(true);
+        sampler = thread;
+        thread.start();
+    }
+
+    public static void stop() {
+        Thread thread = sampler;
+        sampler = null;
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static long getMaxConcurrentPartitions() {
+        return maxConcurrentPartitions;
+    }
+
+    public static boolean isParallel() {
+        // Queries are not split if there is only one processor.
+        return Runtime.getRuntime().availableProcessors() > 1;
+    }
+
+    private static void sample() {
+        while (!Thread.currentThread().isInterrupted()) {
+            int partitions = 0;
+            for (StackTraceElement[] stackTrace : Thread.getAllStackTraces().values()) {
+                if (runsPartition(stackTrace)) {
+                    partitions++;
+                }
+            }
+            if (partitions > maxConcurrentPartitions) {
+                maxConcurrentPartitions = partitions;
+            }
+        }
+    }
+
+    private static boolean runsPartition(StackTraceElement[] stackTrace) {
+        for (StackTraceElement element : stackTrace) {
+            if (PARTITION_FUNCTION_NAME.equals(element.getMethodName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
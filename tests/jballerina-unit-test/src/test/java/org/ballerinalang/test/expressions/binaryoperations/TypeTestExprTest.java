@@ -779,4 +779,9 @@ public class TypeTestExprTest {
     public void testIntSubtypes() {
         BRunUtil.invoke(result, "testIntSubtypes");
     }
+
+    @Test
+    public void testSpecializedTypeTests() {
+        BRunUtil.invoke(result, "testSpecializedTypeTests");
+    }
 }
@@ -32,6 +32,12 @@ import org.testng.Assert;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertSame;
@@ -249,6 +255,37 @@ public class LocksInMainTest {
 
     }
 
+    @Test(description = "Tests read only lock statements running along with a modifying lock statement")
+    public void testReadOnlyLocksWithWriter() {
+        CompileResult compileResult = BCompileUtil.compile("test-src/lock/locks-in-functions.bal");
+
+        BValue[] returns = BRunUtil.invoke(compileResult, "readOnlyLocksWithWriter");
+        assertEquals(returns.length, 2);
+        assertEquals(((BInteger) returns[0]).intValue(), 100);
+        assertEquals(((BInteger) returns[1]).intValue(), 1);
+
+        // The lock statements which only read the map are to take the lock in shared mode
+        BIRNode.BIRPackage birPackage = ((BLangPackage) compileResult.getAST()).symbol.bir;
+        List<BIRTerminator.Lock> readLocks = new ArrayList<>();
+        List<BIRTerminator.Lock> writeLocks = new ArrayList<>();
+        for (BIRNode.BIRFunction function : birPackage.functions) {
+            for (BIRNode.BIRBasicBlock basicBlock : function.basicBlocks) {
+                if (!(basicBlock.terminator instanceof BIRTerminator.Lock)) {
+                    continue;
+                }
+                BIRTerminator.Lock lock = (BIRTerminator.Lock) basicBlock.terminator;
+                if (lock.lockVariables.stream().anyMatch(variable -> variable.name.value.equals("readMostlyCache"))) {
+                    (lock.readOnly ? readLocks : writeLocks).add(lock);
+                }
+            }
+        }
+        // the reader in the loop and the nested reader, the writer in the worker and the enclosing writer
+        assertEquals(readLocks.size(), 2);
+        assertEquals(writeLocks.size(), 2);
+        readLocks.forEach(lock -> assertEquals(lock.lockId, writeLocks.get(0).lockId));
+        assertEquals(writeLocks.get(1).lockId, writeLocks.get(0).lockId);
+    }
+
     @Test(description = "Test lock negative cases")
     public void testLockNegativeCases() {
         CompileResult compileResult = BCompileUtil.compile("test-src/lock/locks-in-functions-negative.bal");
@@ -29,6 +29,14 @@ import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 import static org.ballerinalang.test.BAssertUtil.validateError;
 
 /**
@@ -38,6 +46,9 @@ import static org.ballerinalang.test.BAssertUtil.validateError;
  */
 @Test(groups = {"disableOnOldParser"})
 public class OrderByClauseTest {
+    private static final String MEMORY_BUDGET_PROPERTY = "ballerina.query.orderBy.memoryBudget";
+    private static final String RUN_FILE_PREFIX = "ballerina-order-by-";
+
     private CompileResult result;
     private CompileResult negativeResult;
 
@@ -239,6 +250,54 @@ public class OrderByClauseTest {
                 "<author>Dan Brown</author><author>Enid Blyton</author>");
     }
 
+    @Test(description = "Test query expr with order by clause followed by a limit clause")
+    public void testQueryExprWithOrderByClauseAndLimit() {
+        BValue[] returnValues = BRunUtil.invoke(result, "testQueryExprWithOrderByClauseAndLimit");
+        Assert.assertNotNull(returnValues);
+
+        Assert.assertEquals(returnValues.length, 1, "Expected events are not received");
+        Assert.assertTrue(((BBoolean) returnValues[0]).booleanValue());
+    }
+
+    @Test(description = "Test query expr with order by clause with more frames than are held in memory")
+    public void testQueryExprWithOrderByClauseWrittenToRuns() {
+        System.setProperty(MEMORY_BUDGET_PROPERTY, "1024");
+        try {
+            BValue[] returnValues = BRunUtil.invoke(result, "testQueryExprWithOrderByClauseWrittenToRuns");
+            Assert.assertNotNull(returnValues);
+
+            Assert.assertEquals(returnValues.length, 1, "Expected events are not received");
+            Assert.assertTrue(((BBoolean) returnValues[0]).booleanValue());
+        } finally {
+            System.clearProperty(MEMORY_BUDGET_PROPERTY);
+        }
+    }
+
+    @Test(description = "Test the runs of an order by clause are deleted when the query stops reading them early")
+    public void testOrderByClauseStoppedEarly() throws IOException {
+        Set<Path> existingRuns = getRunFiles();
+        System.setProperty(MEMORY_BUDGET_PROPERTY, "1024");
+        try {
+            BValue[] returnValues = BRunUtil.invoke(result, "testOrderByClauseStoppedEarly");
+            Assert.assertNotNull(returnValues);
+
+            Assert.assertEquals(returnValues.length, 1, "Expected events are not received");
+            Assert.assertTrue(((BBoolean) returnValues[0]).booleanValue());
+        } finally {
+            System.clearProperty(MEMORY_BUDGET_PROPERTY);
+        }
+        Set<Path> runs = getRunFiles();
+        runs.removeAll(existingRuns);
+        Assert.assertTrue(runs.isEmpty(), "Runs left in the temporary directory: " + runs);
+    }
+
+    private static Set<Path> getRunFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Paths.get(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(file -> file.getFileName().toString().startsWith(RUN_FILE_PREFIX))
+                    .collect(Collectors.toSet());
+        }
+    }
+
     @Test(description = "Test negative scenarios for query expr with order by clause")
     public void testNegativeScenarios() {
         Assert.assertEquals(negativeResult.getErrorCount(), 3);
@@ -0,0 +1,81 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.test.query;
+
+import org.ballerinalang.test.BCompileUtil;
+import org.ballerinalang.test.BRunUtil;
+import org.ballerinalang.test.CompileResult;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * This contains methods to test query expressions over large arrays, which are run in parallel.
+ *
+ * @since 2.0.0
+ */
+public class ParallelQueryTest {
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        result = BCompileUtil.compile("test-src/query/parallel-query.bal");
+    }
+
+    @Test(description = "Test that a query run in parallel keeps the order of the array")
+    public void testParallelQueryOrder() {
+        BRunUtil.invoke(result, "testParallelQueryOrder");
+    }
+
+    @Test(description = "Test a query run in parallel with let clauses and lang library function calls")
+    public void testParallelQueryWithLetAndFunctionCalls() {
+        BRunUtil.invoke(result, "testParallelQueryWithLetAndFunctionCalls");
+    }
+
+    @Test(description = "Test a query run in parallel returning an error")
+    public void testParallelQueryWithError() {
+        BRunUtil.invoke(result, "testParallelQueryWithError");
+    }
+
+    @Test(description = "Test a query run in parallel with an order by clause")
+    public void testParallelQueryWithOrderBy() {
+        BRunUtil.invoke(result, "testParallelQueryWithOrderBy");
+    }
+
+    @Test(description = "Test that the partitions of a query are run concurrently")
+    public void testPartitionsRunConcurrently() {
+        BRunUtil.invoke(result, "testPartitionsRunConcurrently");
+    }
+
+    @Test(description = "Test a query calling an isolated function with a side effect, which is run sequentially")
+    public void testIsolatedFunctionWithSideEffect() {
+        BRunUtil.invoke(result, "testIsolatedFunctionWithSideEffect");
+    }
+
+    @Test(description = "Test a query with side effects, which is run sequentially")
+    public void testQueryWithSideEffects() {
+        BRunUtil.invoke(result, "testQueryWithSideEffects");
+    }
+
+    @AfterClass
+    public void tearDown() {
+        result = null;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.test.query;
+
+import org.ballerinalang.test.BCompileUtil;
+import org.ballerinalang.test.BRunUtil;
+import org.ballerinalang.test.CompileResult;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * This contains methods to test query expressions over arrays and integer ranges, which are desugared to loops.
+ *
+ * @since 2.0.0
+ */
+public class QueryToLoopTest {
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        result = BCompileUtil.compile("test-src/query/query-to-loop.bal");
+    }
+
+    @Test(description = "Test a query over an array with let and where clauses")
+    public void testArrayQueryWithLetAndWhere() {
+        BRunUtil.invoke(result, "testArrayQueryWithLetAndWhere");
+    }
+
+    @Test(description = "Test a query over an array narrowing the type of the variable in a where clause")
+    public void testArrayQueryWithTypeNarrowing() {
+        BRunUtil.invoke(result, "testArrayQueryWithTypeNarrowing");
+    }
+
+    @Test(description = "Test a query over an array which is modified by the query")
+    public void testArrayModifiedWithinQuery() {
+        BRunUtil.invoke(result, "testArrayModifiedWithinQuery");
+    }
+
+    @Test(description = "Test queries over integer ranges")
+    public void testRangeQuery() {
+        BRunUtil.invoke(result, "testRangeQuery");
+    }
+
+    @Test(description = "Test queries declaring variables of the same name in a function and a closure")
+    public void testQueriesWithSameVariableName() {
+        BRunUtil.invoke(result, "testQueriesWithSameVariableName");
+    }
+
+    @AfterClass
+    public void tearDown() {
+        result = null;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.test.query;
+
+import org.ballerinalang.test.BCompileUtil;
+import org.ballerinalang.test.BRunUtil;
+import org.ballerinalang.test.CompileResult;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * This contains methods to test query expressions over tables with secondary indexes.
+ *
+ * @since 2.0.0
+ */
+public class TableIndexQueryTest {
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        result = BCompileUtil.compile("test-src/query/table-index-query.bal");
+    }
+
+    @Test(description = "Test where clauses with equality on a field with a hash index")
+    public void testHashIndexLookup() {
+        BRunUtil.invoke(result, "testHashIndexLookup");
+    }
+
+    @Test(description = "Test where clauses with relational expressions on a field with a sorted index")
+    public void testSortedIndexLookup() {
+        BRunUtil.invoke(result, "testSortedIndexLookup");
+    }
+
+    @Test(description = "Test a where clause on a field of a keyless table with an index")
+    public void testIndexOnKeylessTable() {
+        BRunUtil.invoke(result, "testIndexOnKeylessTable");
+    }
+
+    @Test(description = "Test creating an index on a field which is not readonly")
+    public void testIndexOnMutableField() {
+        BRunUtil.invoke(result, "testIndexOnMutableField");
+    }
+
+    @AfterClass
+    public void tearDown() {
+        result = null;
+    }
+}
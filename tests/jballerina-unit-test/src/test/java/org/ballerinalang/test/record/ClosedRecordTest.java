@@ -326,6 +326,16 @@ public class ClosedRecordTest {
         BRunUtil.invoke(cyclicBal, "testCyclicRecordResolution");
     }
 
+    @Test
+    public void testFieldAccessOnRecordsOfSameShape() {
+        BRunUtil.invoke(compileResult, "testFieldAccessOnRecordsOfSameShape");
+    }
+
+    @Test
+    public void testFieldStoreOnReadOnlyRecord() {
+        BRunUtil.invoke(compileResult, "testFieldStoreOnReadOnlyRecord");
+    }
+
     @AfterClass
     public void tearDown() {
         compileResult = null;
@@ -273,6 +273,11 @@ public class BDecimalValueTest {
         BRunUtil.invoke(result, "testDecimalFillerValue");
     }
 
+    @Test(description = "Test the scale and overflow of decimal arithmetic")
+    public void testDecimalArithmeticScaleAndOverflow() {
+        BRunUtil.invoke(result, "testDecimalArithmeticScaleAndOverflow");
+    }
+
     @AfterClass
     public void tearDown() {
         result = null;
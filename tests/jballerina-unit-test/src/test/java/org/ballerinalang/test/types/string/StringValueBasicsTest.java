@@ -76,6 +76,11 @@ public class StringValueBasicsTest extends BStringTestCommons {
         BRunUtil.invoke(result, "testStringIndexAccessException");
     }
 
+    @Test
+    public void testConcatInLoop() {
+        BRunUtil.invoke(result, "testConcatInLoop");
+    }
+
     @Test
     public void testCastToString() {
         testAndAssert("anyToStringCasting", 6);
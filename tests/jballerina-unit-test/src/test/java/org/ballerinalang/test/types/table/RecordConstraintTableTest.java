@@ -125,6 +125,11 @@ public class RecordConstraintTableTest {
         BRunUtil.invoke(result, "testUnionConstrainedTableIteration");
     }
 
+    @Test(description = "Test keys with the same hash code")
+    public void testKeysWithSameHashCode() {
+        BRunUtil.invoke(result, "testKeysWithSameHashCode");
+    }
+
     @AfterClass
     public void tearDown() {
         result = null;
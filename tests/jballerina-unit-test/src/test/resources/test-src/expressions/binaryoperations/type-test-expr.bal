@@ -1312,3 +1312,76 @@ function testIntSubtypes() {
     assertTrue(val8 is int:Signed32);
     assertTrue(val8 is int);
 }
+
+// ========================== type tests against unions and finite types ==========================
+
+type Weekday "MON"|"TUE"|"WED"|"THU"|"FRI";
+
+type SmallPrime 2|3|5|7|11|13;
+
+type HttpStatus 200|201|204|400|404|500;
+
+type LargeCode -9223372036854775807|0|9223372036854775807;
+
+type Ping record {|
+    int id;
+|};
+
+type Pong record {
+    int id;
+};
+
+function testSpecializedTypeTests() {
+    Ping ping = {id: 1};
+    int[] ints = [1, 2];
+    any[] values = ["MON", "SUN", 3, 4, 404, 405, 9223372036854775807, 1.5, 2.5d, true, (), <byte> 7, ping, ints];
+
+    boolean[] results = [];
+    foreach any value in values {
+        results.push(value is Weekday);
+    }
+    assertEquality([true, false, false, false, false, false, false, false, false, false, false, false, false, false],
+                   results);
+
+    results = [];
+    foreach any value in values {
+        results.push(value is HttpStatus);
+    }
+    assertEquality([false, false, false, false, true, false, false, false, false, false, false, false, false, false],
+                   results);
+
+    results = [];
+    foreach any value in values {
+        results.push(value is SmallPrime|HttpStatus|LargeCode);
+    }
+    assertEquality([false, false, true, false, true, false, true, false, false, false, false, true, false, false],
+                   results);
+
+    results = [];
+    foreach any value in values {
+        results.push(value is string|float|decimal|boolean|());
+    }
+    assertEquality([true, true, false, false, false, false, false, true, true, true, true, false, false, false],
+                   results);
+
+    results = [];
+    foreach any value in values {
+        results.push(value is Weekday|int|false);
+    }
+    assertEquality([true, false, true, true, true, true, true, false, false, false, false, true, false, false],
+                   results);
+
+    results = [];
+    foreach any value in values {
+        results.push(value is Ping|Pong|"SUN");
+    }
+    assertEquality([false, true, false, false, false, false, false, false, false, false, false, false, true, false],
+                   results);
+
+    results = [];
+    foreach any value in values {
+        results.push(value is SmallPrime|int[]);
+    }
+    assertEquality([false, false, true, false, false, false, false, false, false, false, false, true, false, true],
+                   results);
+}
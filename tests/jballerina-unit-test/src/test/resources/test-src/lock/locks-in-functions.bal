@@ -9,6 +9,8 @@ byte[] blobValue = [];
 
 boolean boolValue = false;
 
+map<int> readMostlyCache = {};
+
 function lockWithinLock() returns [int, string] {
     lock {
         lockWithinLockInt1 = 50;
@@ -358,6 +360,42 @@ function nextInsideLock() returns [int, string] {
     return [lockWithinLockInt1, lockWithinLockString1];
 }
 
+function readOnlyLocksWithWriter() returns [int, int] {
+    @strand{thread:"any"}
+    worker w1 {
+        int i = 0;
+        while (i < 100) {
+            lock {
+                readMostlyCache["count"] = i + 1;
+            }
+            i = i + 1;
+        }
+    }
+
+    int lastSeen = 0;
+    int i = 0;
+    while (i < 100) {
+        lock {
+            int? count = readMostlyCache["count"];
+            if (count is int && count >= lastSeen) {
+                lastSeen = count;
+            }
+        }
+        i = i + 1;
+    }
+    error? w1Result = wait w1;
+
+    int total = 0;
+    lock {
+        readMostlyCache["total"] = 0;
+        lock {
+            int? count = readMostlyCache["count"];
+            total = count is int ? count : -1;
+        }
+    }
+    return [total, lastSeen <= total ? 1 : 0];
+}
+
 public function sleep(int millis) = @java:Method {
     'class: "org.ballerinalang.test.utils.interop.Utils"
 } external;
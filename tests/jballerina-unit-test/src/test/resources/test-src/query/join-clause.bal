@@ -455,3 +455,26 @@ function getDeptName(int id) returns string {
         return "Operations";
     }
 }
+
+function testJoinClauseWithValueEqualKeys() returns boolean {
+    record {| decimal amount; string name; |}[] lhs = [{amount: 1.0, name: "A"}, {amount: 2.50, name: "B"}];
+    record {| decimal amount; string tag; |}[] rhs = [{amount: 1.00, tag: "x"}, {amount: 2.5, tag: "y"},
+                                                      {amount: 1, tag: "z"}];
+
+    string[] joined = from var l in lhs
+                      join var r in rhs
+                      on l.amount equals r.amount
+                      select l.name + r.tag;
+
+    map<int>[] lhsKeys = [{a: 1, b: 2}, {b: 3, a: 4}];
+    map<int>[] rhsKeys = [{b: 2, a: 1}, {a: 1, b: 3}];
+    int[] matches = from var l in lhsKeys
+                    outer join var r in rhsKeys
+                    on l equals r
+                    select r is () ? 0 : r.length();
+
+    boolean testPassed = true;
+    testPassed = testPassed && joined == ["Ax", "Az", "By"];
+    testPassed = testPassed && matches == [2, 0];
+    return testPassed;
+}
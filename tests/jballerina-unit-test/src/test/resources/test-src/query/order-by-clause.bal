@@ -498,6 +498,114 @@ function testQueryExprWithOrderByClauseAndInnerQueries2() returns CustomerProfil
     return customerProfileList;
 }
 
+const TOP_COUNT = 3;
+
+function testQueryExprWithOrderByClauseAndLimit() returns boolean {
+    boolean testPassed = true;
+
+    Student s1 = {id: 1, fname: "John", fee: 2000.56, impact: 0.4, isUndergrad: true};
+    Student s2 = {id: 2, fname: (), fee: 4000.56, impact: 0.4, isUndergrad: false};
+    Student s3 = {id: 3, fname: "Roger", fee: 6000.56, impact: 0.3, isUndergrad: true};
+    Student s4 = {id: 4, fname: "Kate", fee: 2000.56, impact: 0.2, isUndergrad: false};
+    Student s5 = {id: 5, fname: "Amy", fee: 4000.56, impact: 0.4, isUndergrad: true};
+    Student s6 = {id: 6, fname: (), fee: 1000.56, impact: 0.1, isUndergrad: false};
+
+    Student[] studentList = [s1, s2, s3, s4, s5, s6];
+
+    // Students with equal fees keep their order in the list.
+    int[] ids = from var student in studentList
+        order by student.fee descending
+        limit TOP_COUNT
+        select student.id;
+    testPassed = testPassed && ids == [3, 2, 5];
+
+    final int count = 4;
+    ids = from var student in studentList
+        order by student.fee
+        limit count
+        select student.id;
+    testPassed = testPassed && ids == [6, 1, 4, 2];
+
+    // () is ordered last in both directions.
+    ids = from var student in studentList
+        order by student.fname descending
+        limit 5
+        select student.id;
+    testPassed = testPassed && ids == [3, 4, 1, 5, 2];
+
+    ids = from var student in studentList
+        order by student.fname ascending, student.impact descending
+        limit 5
+        select student.id;
+    testPassed = testPassed && ids == [5, 1, 4, 3, 2];
+
+    int limitCount = 2;
+    ids = from var student in studentList
+        order by student.impact descending, student.id descending
+        limit limitCount
+        select student.id;
+    testPassed = testPassed && ids == [5, 2];
+
+    ids = from var student in studentList
+        order by student.id descending
+        limit 10
+        select student.id;
+    testPassed = testPassed && ids == [6, 5, 4, 3, 2, 1];
+
+    return testPassed;
+}
+
+function testQueryExprWithOrderByClauseWrittenToRuns() returns boolean {
+    boolean testPassed = true;
+
+    // Run with at most 3 frames held in memory, the frames holding simple values are written out in runs of 3.
+    string[] words = ["b7", "a3", "c9", "d3", "e1", "f8", "g2", "h7", "i5", "j0", "k6", "l4"];
+    string[] ordered = from var word in words
+        let int n = checkpanic int:fromString(word.substring(1)), float? odd = n % 2 == 0 ? () : <float>n,
+            decimal d = <decimal>n, boolean small = n < 5, byte b = <byte>n
+        order by odd descending
+        select string `${word}:${d}:${small}:${b}`;
+    testPassed = testPassed && ordered == ["c9:9:false:9", "b7:7:false:7", "h7:7:false:7", "i5:5:false:5",
+        "a3:3:true:3", "d3:3:true:3", "e1:1:true:1", "f8:8:false:8", "g2:2:true:2", "j0:0:true:0",
+        "k6:6:false:6", "l4:4:true:4"];
+
+    // Frames holding records are kept in memory.
+    Student s1 = {id: 1, fname: "John", fee: 2000.56, impact: 0.4, isUndergrad: true};
+    Student s2 = {id: 2, fname: (), fee: 4000.56, impact: 0.4, isUndergrad: false};
+    Student s3 = {id: 3, fname: "Roger", fee: 6000.56, impact: 0.3, isUndergrad: true};
+    Student s4 = {id: 4, fname: "Kate", fee: 2000.56, impact: 0.2, isUndergrad: false};
+    Student s5 = {id: 5, fname: "Amy", fee: 4000.56, impact: 0.4, isUndergrad: true};
+    Student[] studentList = [s1, s2, s3, s4, s5];
+    Student[] students = from var student in studentList
+        order by student.fee descending
+        select student;
+    testPassed = testPassed && students.length() == 5 && students[0] === s3 && students[1] === s2 &&
+        students[2] === s5 && students[3] === s1 && students[4] === s4;
+
+    return testPassed;
+}
+
+function testOrderByClauseStoppedEarly() returns boolean {
+    boolean testPassed = true;
+    string[] words = ["b7", "a3", "c9", "d3", "e1", "f8", "g2", "h7", "i5", "j0", "k6", "l4"];
+
+    stream<string> orderedWords = stream from var word in words
+        order by word descending
+        select word;
+    record {| string value; |}? first = orderedWords.next();
+    testPassed = testPassed && first?.value == "l4";
+    error? closed = orderedWords.close();
+    testPassed = testPassed && closed is ();
+
+    // Reading the ordered frames stops at the first word which is not parsed.
+    int[]|error ordered = from var word in words
+        order by word
+        select check int:fromString(word < "c" ? word.substring(1) : word);
+    testPassed = testPassed && ordered is error;
+
+    return testPassed;
+}
+
 function incrementCount(int i) returns int {
     int count = i + 2;
     return count;
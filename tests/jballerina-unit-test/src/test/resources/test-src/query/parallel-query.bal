@@ -0,0 +1,201 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+// Queries over arrays of at least this many elements are split across strands.
+const int SIZE = 50000;
+
+type Item record {|
+    int id;
+    string name;
+|};
+
+function getItems() returns Item[] {
+    Item[] items = [];
+    int i = 0;
+    while (i < SIZE) {
+        items.push({id: i, name: "item" + i.toString()});
+        i += 1;
+    }
+    return items;
+}
+
+function testParallelQueryOrder() {
+    Item[] items = getItems();
+    // A query binding a simple variable is desugared to a loop, so a binding pattern is used to get a pipeline.
+    int[] ids = from var {id} in items
+                where id % 3 == 0
+                select id * 2;
+
+    assertEquality((SIZE + 2) / 3, ids.length());
+    int i = 0;
+    while (i < ids.length()) {
+        assertEquality(i * 6, ids[i]);
+        i += 1;
+    }
+}
+
+function testParallelQueryWithLetAndFunctionCalls() {
+    Item[] items = getItems();
+    string[] names = from var {id, name} in items
+                     let int sq = int:abs(id * id)
+                     where sq % 2 == 1 && name.length() > 5
+                     select name.substring(4) + ":" + sq.toString();
+
+    assertEquality(SIZE / 2 - 5, names.length());
+    assertEquality("11:121", names[0]);
+    assertEquality("49999:2499900001", names[names.length() - 1]);
+}
+
+function testParallelQueryWithError() {
+    int[]|error ids = getValidIds(getItems());
+    assertEquality(true, ids is error);
+    // The error of the first invalid element is returned, as in the sequential run.
+    assertEquality(true, (<error> ids).toString().includes("'invalid id 40000'"));
+}
+
+function getValidIds(Item[] items) returns int[]|error {
+    int[] ids = from var item in items
+                select check int:fromString(item.id < 40000 ? item.id.toString() : "invalid id " + item.id.toString());
+    return ids;
+}
+
+function testParallelQueryWithOrderBy() {
+    Item[] items = getItems();
+    int[] ids = from var {id, name} in items
+                where name.length() > 5
+                order by id descending
+                limit 3
+                select id;
+    assertEquality([49999, 49998, 49997], ids);
+
+    // Frames with equal keys are kept in the order of the array.
+    ids = from var {id} in items
+          order by id % 10
+          select id;
+    assertEquality(SIZE, ids.length());
+    assertEquality([0, 10, 20], ids.slice(0, 3));
+    assertEquality([1, 11], ids.slice(SIZE / 10, SIZE / 10 + 2));
+    assertEquality(49999, ids[SIZE - 1]);
+}
+
+function testPartitionsRunConcurrently() {
+    Item[] items = getItems();
+    startObserver();
+    int runs = 0;
+    while (getMaxConcurrentPartitions() < 2 && runs < MAX_OBSERVED_RUNS) {
+        int[] ids = from var {id, name} in items
+                    where name.toUpperAscii().startsWith("ITEM")
+                    select id;
+        assertEquality(SIZE, ids.length());
+        runs += 1;
+    }
+    stopObserver();
+    assertEquality(isParallel(), getMaxConcurrentPartitions() > 1);
+
+    startObserver();
+    runs = 0;
+    while (getMaxConcurrentPartitions() < 2 && runs < MAX_OBSERVED_RUNS) {
+        int[] ids = from var {id, name} in items
+                    let string upperName = name.toUpperAscii()
+                    order by upperName.length() descending, id descending
+                    select id;
+        assertEquality(SIZE - 1, ids[0]);
+        runs += 1;
+    }
+    stopObserver();
+    assertEquality(isParallel(), getMaxConcurrentPartitions() > 1);
+}
+
+// Number of times a query is run at most, until its partitions are seen running at the same time.
+const int MAX_OBSERVED_RUNS = 200;
+
+isolated int[] visitedIds = [];
+
+isolated function visit(int id) returns int {
+    lock {
+        visitedIds.push(id);
+    }
+    return id;
+}
+
+function testIsolatedFunctionWithSideEffect() {
+    Item[] items = getItems();
+    startObserver();
+    // An isolated function may still have side effects, so the query is run sequentially.
+    int[] ids = from var {id} in items
+                select visit(id);
+    stopObserver();
+    assertEquality(0, getMaxConcurrentPartitions());
+
+    int[] visited;
+    lock {
+        visited = visitedIds.clone();
+    }
+    assertEquality(SIZE, ids.length());
+    assertEquality(ids, visited);
+}
+
+function startObserver() = @java:Method {
+    'class: "org.ballerinalang.nativeimpl.jvm.tests.PartitionObserver",
+    name: "start"
+} external;
+
+function stopObserver() = @java:Method {
+    'class: "org.ballerinalang.nativeimpl.jvm.tests.PartitionObserver",
+    name: "stop"
+} external;
+
+function getMaxConcurrentPartitions() returns int = @java:Method {
+    'class: "org.ballerinalang.nativeimpl.jvm.tests.PartitionObserver",
+    name: "getMaxConcurrentPartitions"
+} external;
+
+function isParallel() returns boolean = @java:Method {
+    'class: "org.ballerinalang.nativeimpl.jvm.tests.PartitionObserver",
+    name: "isParallel"
+} external;
+
+function testQueryWithSideEffects() {
+    Item[] items = getItems();
+    int[] seen = [];
+    int[] ids = from var item in items
+                where item.id < 5
+                select pushAndGet(seen, item.id);
+
+    assertEquality([0, 1, 2, 3, 4], ids);
+    assertEquality([0, 1, 2, 3, 4], seen);
+}
+
+function pushAndGet(int[] values, int value) returns int {
+    values.push(value);
+    return value;
+}
+
+function assertEquality(any|error expected, any|error actual) {
+    if expected is anydata && actual is anydata && expected == actual {
+        return;
+    }
+
+    if expected === actual {
+        return;
+    }
+
+    string expectedValAsString = expected is error ? expected.toString() : expected.toString();
+    string actualValAsString = actual is error ? actual.toString() : actual.toString();
+    panic error("expected '" + expectedValAsString + "', found '" + actualValAsString + "'");
+}
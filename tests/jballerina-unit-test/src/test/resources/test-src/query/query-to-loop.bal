@@ -0,0 +1,117 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+type Person record {|
+    string name;
+    int age;
+|};
+
+function testArrayQueryWithLetAndWhere() {
+    Person[] people = [{name: "Alex", age: 23}, {name: "Ranjan", age: 30}, {name: "John", age: 17}];
+    string[] names = from var person in people
+                     let int nextAge = person.age + 1
+                     where nextAge > 20
+                     let string name = person.name.toUpperAscii()
+                     where name.length() > 3
+                     select name + ":" + nextAge.toString();
+    assertEquality(["ALEX:24", "RANJAN:31"], names);
+
+    int[] empty = [];
+    int[] doubled = from int i in empty select i * 2;
+    assertEquality(0, doubled.length());
+}
+
+function testArrayQueryWithTypeNarrowing() {
+    (int|string)[] values = [1, "two", 3, "four"];
+    int[] ints = from var value in values
+                 where value is int
+                 select value * 10;
+    assertEquality([10, 30], ints);
+
+    float[] floats = from int i in [1, 2, 3] select <float>i / 2;
+    assertEquality([0.5, 1.0, 1.5], floats);
+}
+
+function testArrayModifiedWithinQuery() {
+    int[] values = [1, 2, 3];
+    // Elements added while iterating are not iterated, as with an iterator over the array.
+    int[] result = from int i in values select pushAndGet(values, i);
+    assertEquality([1, 2, 3], result);
+    assertEquality([1, 2, 3, 1, 2, 3], values);
+}
+
+function pushAndGet(int[] values, int value) returns int {
+    values.push(value);
+    return value;
+}
+
+function testRangeQuery() {
+    int[] halfOpen = from int i in 0 ..< 5 where i % 2 == 0 select i;
+    assertEquality([0, 2, 4], halfOpen);
+
+    int n = 3;
+    int[] closed = from var i in 1 ... n let int sq = i * i select sq;
+    assertEquality([1, 4, 9], closed);
+
+    int[] emptyRange = from int i in 5 ..< 5 select i;
+    assertEquality(0, emptyRange.length());
+
+    int[] reversed = from int i in 5 ... 1 select i;
+    assertEquality(0, reversed.length());
+
+    // The range ends at the largest int, which must not be incremented past.
+    int[] last = from int i in int:MAX_VALUE - 2 ... int:MAX_VALUE select int:MAX_VALUE - i;
+    assertEquality([2, 1, 0], last);
+    int[] single = from int i in int:MAX_VALUE ... int:MAX_VALUE select int:MAX_VALUE - i;
+    assertEquality([0], single);
+    int[] halfOpenLast = from int i in int:MAX_VALUE - 2 ..< int:MAX_VALUE select int:MAX_VALUE - i;
+    assertEquality([2, 1], halfOpenLast);
+
+    // The range ends at the smallest int, which must not be decremented past.
+    int[] toMin = from int i in 0 ..< int:MIN_VALUE select i;
+    assertEquality(0, toMin.length());
+    int[] fromMin = from int i in int:MIN_VALUE ..< int:MIN_VALUE + 2 select i - int:MIN_VALUE;
+    assertEquality([0, 1], fromMin);
+    int[] closedMin = from int i in int:MIN_VALUE ... int:MIN_VALUE select i - int:MIN_VALUE;
+    assertEquality([0], closedMin);
+}
+
+function testQueriesWithSameVariableName() {
+    int offset = 100;
+    int[] a = from int x in [1, 2] select x + offset;
+    string[] b = from string x in ["p", "q"] select x + offset.toString();
+    assertEquality([101, 102], a);
+    assertEquality(["p100", "q100"], b);
+
+    function () returns int[] f = function () returns int[] {
+        return from int x in 0 ..< 3 select x + offset;
+    };
+    assertEquality([100, 101, 102], f());
+}
+
+function assertEquality(any|error expected, any|error actual) {
+    if expected is anydata && actual is anydata && expected == actual {
+        return;
+    }
+
+    if expected === actual {
+        return;
+    }
+
+    string expectedValAsString = expected is error ? expected.toString() : expected.toString();
+    string actualValAsString = actual is error ? actual.toString() : actual.toString();
+    panic error("expected '" + expectedValAsString + "', found '" + actualValAsString + "'");
+}
@@ -0,0 +1,142 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+const HR = "HR";
+
+type Employee record {
+    readonly int id;
+    readonly string dept;
+    readonly float salary;
+    string name;
+};
+
+type Visit record {|
+    readonly string city;
+    int count;
+|};
+
+function createIndex(table<map<any|error>> t, string fieldName, boolean sorted) = @java:Method {
+    name: "createIndex",
+    'class: "io.ballerina.runtime.api.utils.TableIndexUtils"
+} external;
+
+function getEmployees() returns table<Employee> key(id) {
+    return table [
+        {id: 1, dept: "HR", salary: 1000.0, name: "Alex"},
+        {id: 2, dept: "Ops", salary: 2500.0, name: "Ranjan"},
+        {id: 3, dept: "HR", salary: 4000.0, name: "John"},
+        {id: 4, dept: "Eng", salary: 3000.0, name: "Anne"},
+        {id: 5, dept: "HR", salary: 2000.0, name: "Mary"}
+    ];
+}
+
+function getIds(Employee[] employees) returns int[] {
+    return from var e in employees select e.id;
+}
+
+function testHashIndexLookup() {
+    table<Employee> key(id) employees = getEmployees();
+    createIndex(employees, "dept", false);
+
+    Employee[] hr = from var e in employees where e.dept == "HR" select e;
+    assertEquality([1, 3, 5], getIds(hr));
+
+    final string ops = "Ops";
+    Employee[] opsEmployees = from var e in employees where ops == e.dept select e;
+    assertEquality([2], getIds(opsEmployees));
+
+    hr = from var e in employees where e.dept == HR && e.salary > 1500.0 select e;
+    assertEquality([3, 5], getIds(hr));
+
+    Employee[] none = from var e in employees where e.dept == "Sales" select e;
+    assertEquality(0, none.length());
+
+    // The index is maintained as the rows change.
+    employees.add({id: 6, dept: "HR", salary: 500.0, name: "Kim"});
+    _ = employees.remove(1);
+    employees.put({id: 3, dept: "Ops", salary: 4000.0, name: "John"});
+    hr = from var e in employees where e.dept == "HR" select e;
+    assertEquality([5, 6], getIds(hr));
+    opsEmployees = from var e in employees where e.dept == ops select e;
+    assertEquality([2, 3], getIds(opsEmployees));
+
+    employees.removeAll();
+    hr = from var e in employees where e.dept == "HR" select e;
+    assertEquality(0, hr.length());
+}
+
+function testSortedIndexLookup() {
+    table<Employee> key(id) employees = getEmployees();
+    createIndex(employees, "salary", true);
+
+    Employee[] result = from var e in employees where e.salary >= 2000.0 && e.salary < 4000.0 select e;
+    assertEquality([2, 4, 5], getIds(result));
+
+    final float threshold = 2500.0;
+    result = from var e in employees where threshold < e.salary select e;
+    assertEquality([3, 4], getIds(result));
+
+    result = from var e in employees where e.salary <= 1000.0 select e;
+    assertEquality([1], getIds(result));
+
+    result = from var e in employees where e.salary == 3000.0 select e;
+    assertEquality([4], getIds(result));
+
+    employees.add({id: 6, dept: "HR", salary: 2200.0, name: "Kim"});
+    result = from var e in employees where e.salary > 2000.0 && e.salary < 3000.0 select e;
+    assertEquality([2, 6], getIds(result));
+}
+
+function testIndexOnKeylessTable() {
+    table<Visit> visits = table [
+        {city: "Colombo", count: 3},
+        {city: "Kandy", count: 1},
+        {city: "Colombo", count: 2}
+    ];
+    createIndex(visits, "city", false);
+    visits.add({city: "Colombo", count: 5});
+
+    int[] counts = from var v in visits where v.city == "Colombo" select v.count;
+    assertEquality([3, 2, 5], counts);
+}
+
+function testIndexOnMutableField() {
+    table<Employee> key(id) employees = getEmployees();
+    error? err = trap createIndex(employees, "name", false);
+    assertEquality(true, err is error);
+    assertEquality("cannot create an index on field 'name': the field is not readonly",
+                   (<error> err).detail()["message"]);
+
+    table<Visit> visits = table [];
+    err = trap createIndex(visits, "count", true);
+    assertEquality(true, err is error);
+}
+
+function assertEquality(any|error expected, any|error actual) {
+    if expected is anydata && actual is anydata && expected == actual {
+        return;
+    }
+
+    if expected === actual {
+        return;
+    }
+
+    string expectedValAsString = expected is error ? expected.toString() : expected.toString();
+    string actualValAsString = actual is error ? actual.toString() : actual.toString();
+    panic error("expected '" + expectedValAsString + "', found '" + actualValAsString + "'");
+}
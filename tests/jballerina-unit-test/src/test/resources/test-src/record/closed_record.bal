@@ -380,3 +380,65 @@ function removeIfHasKeyRest() {
          panic error("Returned value should be nil.");
     }
 }
+
+type Coordinate record {|
+    int x;
+    int y;
+    string label?;
+|};
+
+type GeoPoint record {|
+    int x;
+    int y;
+    string label?;
+|};
+
+function testFieldAccessOnRecordsOfSameShape() {
+    Coordinate c = {x: 1, y: 2};
+    GeoPoint g = {x: 10, y: 20};
+    Coordinate[] coordinates = [c, g];
+
+    int sum = 0;
+    foreach Coordinate coordinate in coordinates {
+        coordinate.x += 1;
+        byte b = 5;
+        coordinate.y = b;
+        sum += coordinate.x + coordinate.y;
+        coordinate.label = "point";
+    }
+    assertEquality(23, sum);
+    assertEquality(2, c.x);
+    assertEquality(11, g.x);
+    assertEquality("point", c?.label);
+    assertEquality("point", g?.label);
+    assertEquality(true, c.hasKey("label"));
+}
+
+function testFieldStoreOnReadOnlyRecord() {
+    Coordinate c = {x: 1, y: 2};
+    Coordinate frozen = c.cloneReadOnly();
+    error? err = trap setX(frozen, 3);
+    assertEquality(true, err is error);
+    assertEquality(1, frozen.x);
+
+    setX(c, 4);
+    assertEquality(4, c.x);
+}
+
+function setX(Coordinate c, int x) {
+    c.x = x;
+}
+
+function assertEquality(any|error expected, any|error actual) {
+    if expected is anydata && actual is anydata && expected == actual {
+        return;
+    }
+
+    if expected === actual {
+        return;
+    }
+
+    string expectedValAsString = expected is error ? expected.toString() : expected.toString();
+    string actualValAsString = actual is error ? actual.toString() : actual.toString();
+    panic error("expected '" + expectedValAsString + "', found '" + actualValAsString + "'");
+}
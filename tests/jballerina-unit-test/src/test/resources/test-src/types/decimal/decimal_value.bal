@@ -164,6 +164,34 @@ function testDecimalFillerValue() {
     assertEquality(true, a == b);
 }
 
+function testDecimalArithmeticScaleAndOverflow() {
+    decimal price = 1.50;
+    assertEquality("3.75", (price + 2.25d).toString());
+    assertEquality("0.2", (0.3d - 0.1d).toString());
+    assertEquality("3.000", (price * 2.00d).toString());
+    assertEquality("0.25", (1.00d / 4d).toString());
+    assertEquality("0.3333333333333333333333333333333333", (1d / 3d).toString());
+
+    decimal large = 9000000000000000000;
+    assertEquality(18000000000000000000d, large + large);
+    assertEquality(-18000000000000000000d, -large - large);
+    decimal max = 999999999999999999;
+    assertEquality(9.99999999999999998e35d, max * max);
+
+    decimal total = 0;
+    foreach int i in 0 ..< 1000 {
+        total += price;
+    }
+    assertEquality(1500d, total);
+    assertEquality("1500.00", total.toString());
+
+    assertEquality(true, price < 1.50001d);
+    assertEquality(true, price <= 1.5d);
+    assertEquality(true, 10d > 9.99d);
+    assertEquality(false, price >= large);
+    assertEquality(true, 2.0d == 2.00d);
+}
+
 type AssertionError distinct error;
 
 const ASSERTION_ERROR_REASON = "AssertionError";
@@ -86,6 +86,44 @@ function anydataToStringCast() returns int {
     return k.length();
 }
 
+function repeat(string part, int count) returns string {
+    string s = "";
+    foreach int i in 0 ..< count {
+        s = s + part;
+    }
+    return s;
+}
+
+function testConcatInLoop() {
+    string s = repeat("ab👋", 100);
+    assert(s.length(), 300);
+    assert(s[2], "👋");
+    assert(s.substring(3, 6), "ab👋");
+    assert(s.indexOf("👋"), 2);
+    assert(s.lastIndexOf("b"), 298);
+    assert(s == repeat("ab👋", 100), true);
+    assert(s == repeat("ab👋", 99), false);
+
+    int count = 0;
+    foreach string:Char c in s {
+        count += 1;
+    }
+    assert(count, 300);
+
+    // Appending to the same string twice must not let the results share the appended parts.
+    string x = s + "x";
+    string y = s + "y";
+    assert(x.length(), 301);
+    assert(x[300], "x");
+    assert(y[300], "y");
+    assert(s.length(), 300);
+
+    string doubled = s + s;
+    assert(doubled.length(), 600);
+    assert(doubled.substring(297, 303), "ab👋ab👋");
+    assert(s.length(), 300);
+}
+
 function assert(anydata actual, anydata expected) {
     if (expected == actual) {
         return;
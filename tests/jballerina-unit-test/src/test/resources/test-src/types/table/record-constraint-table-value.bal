@@ -460,6 +460,27 @@ function testUnionConstrainedTableIteration() {
     assertEquality(expectedNames, names);
 }
 
+function testKeysWithSameHashCode() {
+    // "Aa" and "BB" have the same hash code
+    table<Person> key(name) tbl = table [
+      { name: "Aa", age: 31 },
+      { name: "BB", age: 34 }
+    ];
+
+    assertEquality(2, tbl.length());
+    assertEquality(31, tbl["Aa"]?.age);
+    assertEquality(34, tbl["BB"]?.age);
+
+    tbl.put({ name: "BB", age: 35 });
+    Person removed = tbl.remove("Aa");
+    assertEquality(31, removed.age);
+    assertFalse(tbl.hasKey("Aa"));
+    assertEquality(35, tbl["BB"]?.age);
+
+    tbl.add({ name: "Aa", age: 32 });
+    assertEquality(["BB", "Aa"], tbl.keys());
+}
+
 const ASSERTION_ERROR_REASON = "AssertionError";
 
 function assertTrue(any|error actual) {